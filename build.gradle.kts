@@ -49,7 +49,7 @@ dependencies {
 
     //Database
     implementation("org.springframework.boot:spring-boot-starter-data-jdbc")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql")
     implementation("org.liquibase:liquibase-core")
 
     // Cache
@@ -0,0 +1,227 @@
+package capitec.branch.appointment.appointment.app;
+
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort;
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort.BookingResult;
+import capitec.branch.appointment.appointment.domain.Appointment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Combines concurrent bookings of the same slot on this node into one statement.
+ *
+ * <p>A hot slot otherwise has every booking queue on its row lock for its own statement. Here the first
+ * booking of a batch leads it: it lingers for {@code appointment.booking.coalescing.window}, and bookings of
+ * the slot arriving meanwhile join its batch. The leader books the whole batch with
+ * {@link AppointmentBookingPort#bookAll}, which takes {@code booking_count + n} and inserts the granted
+ * appointments in one statement, granting in arrival order; the rest are answered as rejected by the slot.</p>
+ *
+ * <h2>Transactions:</h2>
+ * <ul>
+ *   <li>The batch runs in the leader's transaction, so every reservation commits or rolls back together with
+ *       its own appointment insert</li>
+ *   <li>Joined bookings are answered once the leader's transaction completes: with their result if it
+ *       committed, otherwise they book on their own</li>
+ *   <li>The batch runs under a savepoint: if it fails, e.g. a customer booked concurrently on another node,
+ *       nothing of it is kept and every booking of the batch books on its own</li>
+ *   <li>Each booking keeps its own connection, the leader needs no other</li>
+ * </ul>
+ *
+ * @see BookAppointmentUseCase
+ * @see AppointmentBookingPort#bookAll
+ */
+@Slf4j
+@Component
+public class AppointmentBookingCombiner {
+
+    private final AppointmentBookingPort appointmentBookingPort;
+    private final TransactionTemplate nested;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final ConcurrentHashMap<SlotKey, Batch> pending = new ConcurrentHashMap<>();
+
+    public AppointmentBookingCombiner(AppointmentBookingPort appointmentBookingPort,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${appointment.booking.coalescing.enabled:true}") boolean enabled,
+                                      @Value("${appointment.booking.coalescing.window:2ms}") Duration window,
+                                      @Value("${appointment.booking.coalescing.max-batch-size:64}") int maxBatchSize,
+                                      @Value("${appointment.booking.coalescing.timeout:5s}") Duration timeout) {
+        this.appointmentBookingPort = appointmentBookingPort;
+        this.nested = new TransactionTemplate(transactionManager);
+        this.nested.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Books the appointment together with the concurrent bookings of its slot, blocking until its result is known.
+     * @throws IllegalStateException if a joined booking got no result within {@code appointment.booking.coalescing.timeout}
+     */
+    public BookingResult book(Appointment appointment, LocalDateTime currentTime) {
+
+        if (!enabled) {
+            return appointmentBookingPort.book(appointment, currentTime);
+        }
+
+        var member = new Member(appointment, currentTime);
+        var key = new SlotKey(appointment.getSlotId(), appointment.getDateTime().toLocalDate());
+        Batch batch = pending.compute(key, (_, open) -> open != null && open.join(member, maxBatchSize) ? open : new Batch(member));
+
+        if (batch.leader() != member) {
+            return await(member);
+        }
+        if (windowNanos > 0) {
+            LockSupport.parkNanos(windowNanos);
+        }
+        batch.close();
+        pending.remove(key, batch);
+        return lead(batch);
+    }
+
+    private BookingResult lead(Batch batch) {
+
+        List<Member> members = batch.members();
+        if (members.size() == 1) {
+            return appointmentBookingPort.book(batch.leader().appointment(), batch.leader().currentTime());
+        }
+
+        // A customer is booked once per statement, their later bookings of the batch book on their own
+        Set<String> customers = new HashSet<>();
+        List<Member> combined = new ArrayList<>();
+        for (Member member : members) {
+            if (customers.add(member.appointment().getCustomerUsername())) {
+                combined.add(member);
+            }
+        }
+        // The latest arrival decides whether the slot has started, no booking is granted after its own time
+        LocalDateTime currentTime = combined.stream().map(Member::currentTime).max(LocalDateTime::compareTo).orElseThrow();
+
+        List<BookingResult> results;
+        try {
+            results = nested.execute(_ -> appointmentBookingPort.bookAll(combined.stream().map(Member::appointment).toList(), currentTime));
+        } catch (RuntimeException e) {
+            log.warn("Combined booking of {} appointments on slot {} failed, booking them one by one",
+                    combined.size(), batch.leader().appointment().getSlotId(), e);
+            members.stream().filter(member -> member != batch.leader()).forEach(member -> member.answer().complete(null));
+            return appointmentBookingPort.book(batch.leader().appointment(), batch.leader().currentTime());
+        }
+        log.debug("Combined {} bookings on slot {}", combined.size(), batch.leader().appointment().getSlotId());
+
+        List<BookingResult> answers = new ArrayList<>();
+        for (Member member : members) {
+            int index = combined.indexOf(member);
+            answers.add(index < 0 ? null : results.get(index));
+        }
+        answerAfterCompletion(members, answers);
+        return answers.getFirst();
+    }
+
+    /**
+     * Joined bookings are only written once the leader's transaction commits; until then they are not answered.
+     */
+    private void answerAfterCompletion(List<Member> members, List<BookingResult> answers) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // No surrounding transaction, the batch committed on its own
+            answer(members, answers, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                answer(members, answers, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static void answer(List<Member> members, List<BookingResult> answers, boolean committed) {
+        // The leader is first and answered by its return value
+        for (int i = 1; i < members.size(); i++) {
+            members.get(i).answer().complete(committed ? answers.get(i) : null);
+        }
+    }
+
+    /**
+     * @return the joined booking's result, or its own booking when the batch was not applied for it
+     */
+    private BookingResult await(Member member) {
+
+        BookingResult result;
+        try {
+            result = member.answer().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Combined booking of slot " + member.appointment().getSlotId() + " timed out", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Combined booking of slot " + member.appointment().getSlotId() + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Combined booking of slot " + member.appointment().getSlotId() + " interrupted", e);
+        }
+        return result != null ? result : appointmentBookingPort.book(member.appointment(), member.currentTime());
+    }
+
+    private record SlotKey(UUID slotId, LocalDate day) {
+    }
+
+    /**
+     * @param answer completed with the booking's result, or null when it has to book on its own
+     */
+    private record Member(Appointment appointment, LocalDateTime currentTime, CompletableFuture<BookingResult> answer) {
+        private Member(Appointment appointment, LocalDateTime currentTime) {
+            this(appointment, currentTime, new CompletableFuture<>());
+        }
+    }
+
+    private static final class Batch {
+        private final List<Member> members = new ArrayList<>();
+        private boolean closed;
+
+        private Batch(Member leader) {
+            members.add(leader);
+        }
+
+        private synchronized boolean join(Member member, int maxBatchSize) {
+            if (closed || members.size() >= maxBatchSize) {
+                return false;
+            }
+            members.add(member);
+            return true;
+        }
+
+        private synchronized void close() {
+            closed = true;
+        }
+
+        private synchronized List<Member> members() {
+            return List.copyOf(members);
+        }
+
+        private synchronized Member leader() {
+            return members.getFirst();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package capitec.branch.appointment.appointment.app;
+
+import capitec.branch.appointment.appointment.app.port.AppointmentQueryPort;
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Per-node cache of appointment listing totals.
+ *
+ * <p>Keyset pages do not count the filtered set, a total is a separate count query run only when the
+ * client asks for it. Counts are kept for {@code appointment.paging.count-cache.ttl}, so paging through a
+ * listing with totals counts it once; a total may lag writes by up to the ttl. Offset pages count exactly
+ * and do not use this cache.</p>
+ */
+@Component
+public class AppointmentCountCache {
+
+    private final Cache<CountKey, Integer> counts;
+    private final AppointmentQueryPort appointmentQueryPort;
+
+    public AppointmentCountCache(@Value("${appointment.paging.count-cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${appointment.paging.count-cache.ttl:30s}") Duration ttl,
+                                 AppointmentQueryPort appointmentQueryPort) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.appointmentQueryPort = appointmentQueryPort;
+    }
+
+    private sealed interface CountKey {
+    }
+
+    private record CustomerCount(String customerUsername, AppointmentStatus status) implements CountKey {
+    }
+
+    private record BranchDayCount(String branchId, LocalDate day, AppointmentStatus status) implements CountKey {
+    }
+
+    public int customerCount(String customerUsername, AppointmentStatus status) {
+        return counts.get(new CustomerCount(customerUsername, status),
+                _ -> appointmentQueryPort.countByCustomerUsername(customerUsername, status));
+    }
+
+    public int branchCount(String branchId, LocalDate day, AppointmentStatus status) {
+        return counts.get(new BranchDayCount(branchId, day, status),
+                _ -> appointmentQueryPort.countByBranchId(branchId, day, status));
+    }
+}
@@ -0,0 +1,15 @@
+package capitec.branch.appointment.appointment.app;
+
+import capitec.branch.appointment.appointment.app.port.AppointmentCursor;
+
+import java.util.List;
+
+/**
+ * One page of appointments.
+ *
+ * @param appointments the appointments of the page
+ * @param next         cursor of the next page, null on the last keyset page and on offset pages
+ * @param totalCount   total of the listing, null unless requested
+ */
+public record AppointmentsPage<T>(List<T> appointments, AppointmentCursor next, Integer totalCount) {
+}
@@ -1,5 +1,10 @@
 package capitec.branch.appointment.appointment.app;
 
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort;
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort.Booked;
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort.BookingResult;
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort.CustomerHasAppointment;
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort.SlotRejected;
 import capitec.branch.appointment.appointment.app.port.UpdateSlotStatePort;
 import capitec.branch.appointment.appointment.domain.Appointment;
 import capitec.branch.appointment.appointment.domain.AppointmentService;
@@ -8,6 +13,7 @@ import capitec.branch.appointment.utils.UseCase;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -35,8 +41,17 @@ import java.time.LocalDateTime;
  * <h2>Execution Flow:</h2>
  * <ol>
  *   <li>Creates an {@link Appointment} domain object with status BOOKED</li>
- *   <li>Reserves the slot (increments booking count, validates capacity)</li>
- *   <li>Persists the appointment to the database</li>
+ *   <li>Fast path ({@code appointment.booking.fast-path}, default on): a slot this node's capacity ledger knows
+ *       to be full is turned away with 409 without a database call. Otherwise checks the customer, reserves the
+ *       slot and inserts the appointment in one statement through {@link AppointmentBookingPort}; concurrent
+ *       bookings of the same slot are combined into one statement by the {@link AppointmentBookingCombiner}</li>
+ *   <li>When the slot is rejected (the ledger is re-synced from it first), or the fast path is off:
+ *     <ul>
+ *       <li>Reserves the slot with one conditional update (increments booking count, validates capacity),
+ *           which explains the rejection with the 404/409/400 below</li>
+ *       <li>Persists the appointment to the database</li>
+ *     </ul>
+ *   </li>
  *   <li>Publishes a booking event for email notifications</li>
  * </ol>
  *
@@ -79,6 +94,8 @@ import java.time.LocalDateTime;
  * @see AppointmentDTO
  * @see AppointmentService
  * @see UpdateSlotStatePort
+ * @see AppointmentBookingPort
+ * @see AppointmentBookingCombiner
  * @see AppointmentEventService
  */
 @UseCase
@@ -90,11 +107,18 @@ public class BookAppointmentUseCase {
     private final AppointmentService appointmentService;
     private final UpdateSlotStatePort updateSlotStatePort;
     private final AppointmentEventService appointmentEventService;
+    private final AppointmentBookingCombiner appointmentBookingCombiner;
 
+    @Value("${appointment.booking.fast-path:true}")
+    private boolean fastPath;
 
     @Transactional
     public Appointment execute(@Valid AppointmentDTO appointmentDTO){
 
+        if (fastPath) {
+            return bookInOneStatement(appointmentDTO);
+        }
+
        if(appointmentService.checkNoFutureAppointmentForCustomer(appointmentDTO.customerUsername(),LocalDateTime.now())){
               log.error("User already have existing booked appointment,customer {}", appointmentDTO.customerUsername());
               throw new ResponseStatusException(HttpStatus.CONFLICT, "User already have existing booked appointment.");
@@ -108,8 +132,7 @@ public class BookAppointmentUseCase {
                     appointmentDTO.serviceType(), dateTime);
             log.debug("Book appointment created: {}", appointment);
 
-            updateSlotStatePort.reserve(appointmentDTO.slotId(), LocalDateTime.now());
-            appointment= appointmentService.book(appointment);
+            appointment = reserveAndBook(appointment);
 
         }
         catch (IllegalStateException  | IllegalArgumentException e){
@@ -137,6 +160,70 @@ public class BookAppointmentUseCase {
         return appointment;
 
     }
+    private Appointment bookInOneStatement(AppointmentDTO appointmentDTO) {
+
+        LocalDateTime now = LocalDateTime.now();
+        Appointment appointment = null;
+        try {
+
+            if (!updateSlotStatePort.admit(appointmentDTO.slotId(), now)) {
+                log.warn("Slot with id: {} is fully booked according to capacity ledger", appointmentDTO.slotId());
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Slot is fully booked.");
+            }
+
+            appointment = new Appointment(appointmentDTO.slotId(), appointmentDTO.branchId(), appointmentDTO.customerUsername(),
+                    appointmentDTO.serviceType(), appointmentDTO.day().atTime(appointmentDTO.startTime()));
+            log.debug("Book appointment created: {}", appointment);
+
+            BookingResult result = appointmentBookingCombiner.book(appointment, now);
+            appointment = switch (result) {
+                case Booked booked -> {
+                    updateSlotStatePort.reserved(booked.slot());
+                    yield booked.appointment();
+                }
+                case CustomerHasAppointment _ -> {
+                    log.error("User already have existing booked appointment,customer {}", appointmentDTO.customerUsername());
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "User already have existing booked appointment.");
+                }
+                // Nothing was written: the ledger learns the slot's state, the reserve explains why, or books if
+                // the slot changed since
+                case SlotRejected _ -> {
+                    updateSlotStatePort.rejected(appointment.getSlotId(), appointment.getDateTime().toLocalDate());
+                    yield reserveAndBook(appointment);
+                }
+            };
+
+        }
+        catch (IllegalStateException  | IllegalArgumentException e){
+            log.error("Illegal state/argument exception. customer username {}", appointmentDTO.customerUsername(), e);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(),e);
+        }
+        catch (ResponseStatusException e) {
+
+            log.error("Failed to book slot: {}", appointmentDTO.slotId(),e);
+            throw e;
+        }
+        catch (EntityAlreadyExistException e) {
+
+            log.debug("Book appointment already exist: {}", appointment,e);
+            throw  new ResponseStatusException(HttpStatus.CONFLICT, "User have existing appointment on this day.", e);
+        }
+        catch (Exception e) {
+
+            log.error("Book appointment failed: {}", appointment, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Book appointment failed", e);
+        }
+
+        publishBookedEvent(appointment, appointmentDTO);
+
+        return appointment;
+    }
+
+    private Appointment reserveAndBook(Appointment appointment) {
+        updateSlotStatePort.reserve(appointment.getSlotId(), appointment.getDateTime().toLocalDate(), LocalDateTime.now());
+        return appointmentService.book(appointment);
+    }
+
     private void publishBookedEvent(Appointment appointment, AppointmentDTO dto) {
 
         log.info("Appointment booked: {}", dto);
@@ -115,8 +115,10 @@ public class CustomerUpdateAppointmentUseCase {
             LocalDateTime now = LocalDateTime.now();
 
             switch (action){
-                    case CustomerUpdateAppointmentAction.Reschedule sc -> updateSlotStatePort.reschedule(appointment.getSlotId(),sc.newSlotId(), now);
-                    case CustomerUpdateAppointmentAction.Cancel ignored -> updateSlotStatePort.release(appointment.getSlotId(), now);
+                    case CustomerUpdateAppointmentAction.Reschedule sc -> updateSlotStatePort.reschedule(appointment.getSlotId(),
+                            appointment.getDateTime().toLocalDate(), sc.newSlotId(), sc.newStartDateTime().toLocalDate(), now);
+                    case CustomerUpdateAppointmentAction.Cancel ignored -> updateSlotStatePort.release(appointment.getSlotId(),
+                            appointment.getDateTime().toLocalDate(), now);
              }
 
             action.execute(appointment, now);
@@ -1,9 +1,13 @@
 package capitec.branch.appointment.appointment.app;
 
+import capitec.branch.appointment.appointment.app.dto.GetBranchAppointmentsOffsetQuery;
+import capitec.branch.appointment.appointment.app.dto.GetBranchAppointmentsQuery;
+import capitec.branch.appointment.appointment.app.dto.GetCustomerAppointmentsPageQuery;
 import capitec.branch.appointment.appointment.app.dto.GetCustomerAppointmentsQuery;
 import capitec.branch.appointment.appointment.app.port.AppointmentQueryPort;
-import capitec.branch.appointment.appointment.app.port.AppointmentQueryResult;
+import capitec.branch.appointment.appointment.app.port.AppointmentSlice;
 import capitec.branch.appointment.appointment.app.port.BranchInfoPort;
+import capitec.branch.appointment.appointment.app.port.BranchInfoPort.BranchInfo;
 import capitec.branch.appointment.appointment.domain.Appointment;
 import capitec.branch.appointment.utils.UseCase;
 import jakarta.validation.Valid;
@@ -13,12 +17,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
- * Use case to retrieve appointments for a specific customer.
+ * Use case to retrieve appointments for a specific customer, and for a branch on a day.
  * Supports optional filtering by appointment status.
+ *
+ * <p>Listings are offset paginated by default, with an exact total. Keyset pages start after the cursor of
+ * the previous one, so deep pages cost the same as the first; their totals are optional and come from
+ * {@link AppointmentCountCache}.</p>
  */
 @Slf4j
 @UseCase
@@ -28,27 +39,30 @@ public class GetCustomerAppointmentsUseCase {
 
     private final AppointmentQueryPort appointmentQueryPort;
     private final BranchInfoPort branchInfoPort;
+    private final AppointmentCountCache appointmentCountCache;
 
+    /**
+     * Offset paginated listing, counted exactly.
+     */
     public CustomerAppointmentsResult execute(@Valid GetCustomerAppointmentsQuery query, String traceId) {
         log.info("Fetching appointments for customer: {}, status filter: {}, offset: {}, limit: {}, traceId: {}",
                 query.customerUsername(), query.status(), query.offset(), query.limit(), traceId);
 
         try {
-            AppointmentQueryResult queryResult = appointmentQueryPort.findByCustomerUsername(
+            List<Appointment> appointments = appointmentQueryPort.findByCustomerUsername(
                     query.customerUsername(),
                     query.status(),
                     query.offset(),
                     query.limit()
             );
+            int totalCount = appointmentQueryPort.countByCustomerUsername(query.customerUsername(), query.status());
 
             log.info("Found {} appointments for customer: {} (total: {}), traceId:{}",
-                    queryResult.appointments().size(), query.customerUsername(), queryResult.totalCount(),traceId);
+                    appointments.size(), query.customerUsername(), totalCount, traceId);
 
-            List<AppointmentWithBranchDTO> enrichedAppointments = queryResult.appointments().stream()
-                    .map(this::enrichWithBranchInfo)
-                    .toList();
+            List<AppointmentWithBranchDTO> enrichedAppointments = enrichWithBranchInfo(appointments);
 
-            return CustomerAppointmentsResult.of(enrichedAppointments, queryResult.totalCount());
+            return CustomerAppointmentsResult.of(enrichedAppointments, totalCount);
 
         }
         catch (ResponseStatusException e) {
@@ -63,20 +77,79 @@ public class GetCustomerAppointmentsUseCase {
         }
     }
 
-    private AppointmentWithBranchDTO enrichWithBranchInfo(Appointment appointment) {
-        var branchInfo = branchInfoPort.getBranchInfo(appointment.getBranchId()).orElse(null);
-        return AppointmentWithBranchDTO.from(
-                appointment,
-                branchInfo != null ? branchInfo.name() : null,
-                branchInfo != null ? branchInfo.address() : null
-        );
+    /**
+     * Enriches a page with branch name and address, looking up all its branches in one call.
+     */
+    private List<AppointmentWithBranchDTO> enrichWithBranchInfo(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return List.of();
+        }
+        Set<String> branchIds = appointments.stream()
+                .map(Appointment::getBranchId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, BranchInfo> branches = branchInfoPort.getBranchInfo(branchIds);
+
+        return appointments.stream()
+                .map(appointment -> {
+                    var branchInfo = appointment.getBranchId() != null ? branches.get(appointment.getBranchId()) : null;
+                    return AppointmentWithBranchDTO.from(
+                            appointment,
+                            branchInfo != null ? branchInfo.name() : null,
+                            branchInfo != null ? branchInfo.address() : null
+                    );
+                })
+                .toList();
+    }
+
+    public AppointmentsPage<AppointmentWithBranchDTO> execute(@Valid GetCustomerAppointmentsPageQuery query, String traceId) {
+        log.info("Fetching appointments page for customer: {}, status filter: {}, after: {}, limit: {}, traceId: {}",
+                query.customerUsername(), query.status(), query.after(), query.limit(), traceId);
+
+        try {
+            AppointmentSlice slice = appointmentQueryPort.findByCustomerUsername(
+                    query.customerUsername(), query.status(), query.after(), query.limit());
+            Integer totalCount = query.includeTotal()
+                    ? appointmentCountCache.customerCount(query.customerUsername(), query.status())
+                    : null;
+
+            List<AppointmentWithBranchDTO> enrichedAppointments = enrichWithBranchInfo(slice.appointments());
+
+            return new AppointmentsPage<>(enrichedAppointments, slice.next(), totalCount);
+        } catch (Exception e) {
+            log.error("Failed to fetch appointments page for customer: {}, traceId: {}", query.customerUsername(), traceId, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Failed to retrieve customer appointments", e);
+        }
+    }
+
+    public AppointmentsPage<Appointment> branchAppointments(@Valid GetBranchAppointmentsQuery query, String traceId) {
+        try {
+            AppointmentSlice slice = appointmentQueryPort.findByBranchId(
+                    query.branchId(), query.day(), query.status(), query.after(), query.limit());
+            Integer totalCount = query.includeTotal()
+                    ? appointmentCountCache.branchCount(query.branchId(), query.day(), query.status())
+                    : null;
+
+            return new AppointmentsPage<>(slice.appointments(), slice.next(), totalCount);
+        } catch (Exception e) {
+            log.error("Failed to fetch appointments for branch: {}, traceId: {}", query.branchId(), traceId, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to fetch branch appointments", e);
+        }
     }
 
-    public Collection<Appointment> branchAppointments(String branchId, int offset, int limit) {
+    /**
+     * Offset paginated listing of a branch's day, counted exactly.
+     */
+    public AppointmentsPage<Appointment> branchAppointments(@Valid GetBranchAppointmentsOffsetQuery query, String traceId) {
         try {
-            return appointmentQueryPort.findByBranchId(branchId, offset, limit);
+            List<Appointment> appointments = appointmentQueryPort.findByBranchId(
+                    query.branchId(), query.day(), query.status(), query.offset(), query.limit());
+            int totalCount = appointmentQueryPort.countByBranchId(query.branchId(), query.day(), query.status());
+
+            return new AppointmentsPage<>(appointments, null, totalCount);
         } catch (Exception e) {
-            log.error("Failed to fetch appointments for branch: {}", branchId, e);
+            log.error("Failed to fetch appointments for branch: {}, traceId: {}", query.branchId(), traceId, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to fetch branch appointments", e);
         }
     }
@@ -1,7 +1,11 @@
 package capitec.branch.appointment.appointment.app;
 
+import capitec.branch.appointment.appointment.app.port.NoShowMarkingPort;
+import capitec.branch.appointment.appointment.app.port.NoShowMarkingPort.MarkedNoShow;
 import capitec.branch.appointment.appointment.domain.Appointment;
 import capitec.branch.appointment.appointment.domain.AppointmentService;
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
+import capitec.branch.appointment.sharekernel.EventTrigger;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.retry.support.RetryTemplate;
@@ -14,6 +18,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -46,6 +51,13 @@ import java.util.UUID;
  *   <li>Continues until no more unattended appointments are found</li>
  * </ol>
  *
+ * <h2>Set-Based Mode:</h2>
+ * <p>With {@code appointment.unattended.set-based} (default) each batch is one {@code UPDATE ... RETURNING}
+ * through {@link NoShowMarkingPort}: the transition is applied in the database in keyset chunks, without
+ * loading and saving the appointments. Otherwise the appointments are loaded and marked one by one as below.
+ * Both modes publish a NO_SHOW status change event per marked appointment, triggered by
+ * {@link EventTrigger#SYSTEM}, which is sent once the batch commits.</p>
+ *
  * <h2>Unattended Criteria:</h2>
  * <p>An appointment is considered unattended if:</p>
  * <ul>
@@ -77,6 +89,7 @@ import java.util.UUID;
  *
  * @see Appointment#markAsNoShow(LocalDateTime)
  * @see AppointmentService#getUnAttendedAppointments(LocalDate, UUID, int)
+ * @see NoShowMarkingPort
  */
 @Component
 @Slf4j
@@ -86,20 +99,30 @@ public class NoShowBatchUseCase {
     private static final int BATCH_SIZE = 500;
 
     private final AppointmentService appointmentService;
+    private final NoShowMarkingPort noShowMarkingPort;
+    private final AppointmentEventService appointmentEventService;
     private final TransactionTemplate transactionTemplate;
     private final RetryTemplate retryTemplate;
     private final int markNoSinceInDays;
+    private final boolean setBased;
 
     public NoShowBatchUseCase(
             AppointmentService appointmentService,
+            NoShowMarkingPort noShowMarkingPort,
+            AppointmentEventService appointmentEventService,
             TransactionTemplate transactionTemplate,
             RetryTemplate retryTemplate,
             @Value("${appointment.unattended.since.in.days:3}")
-            int markNoSinceInDays) {
+            int markNoSinceInDays,
+            @Value("${appointment.unattended.set-based:true}")
+            boolean setBased) {
         this.appointmentService = appointmentService;
+        this.noShowMarkingPort = noShowMarkingPort;
+        this.appointmentEventService = appointmentEventService;
         this.transactionTemplate = transactionTemplate;
         this.retryTemplate = retryTemplate;
         this.markNoSinceInDays = markNoSinceInDays;
+        this.setBased = setBased;
     }
 
     /**
@@ -114,6 +137,12 @@ public class NoShowBatchUseCase {
 
         LocalDateTime processingTime = LocalDateTime.now();
 
+        if (setBased) {
+            int totalMarked = markNoShows(previousDay, processingTime);
+            log.info("Completed set-based no-show processing. Total marked as no-show: {}", totalMarked);
+            return;
+        }
+
         UUID lastProcessedId = null;
         List<Appointment> batch;
         int totalProcessed = 0;
@@ -155,8 +184,13 @@ public class NoShowBatchUseCase {
                     return Collections.emptyList();
                 }
 
+                List<MarkedNoShow> marked = candidates.stream()
+                        .map(apt -> new MarkedNoShow(apt.getId(), apt.getReference(), apt.getCustomerUsername(),
+                                apt.getBranchId(), apt.getStatus()))
+                        .toList();
                 candidates.forEach(apt -> apt.markAsNoShow(processingTime));
                 appointmentService.update(candidates);
+                publishNoShows(marked, processingTime);
 
                 return candidates.stream().toList();
             } catch (Exception e) {
@@ -166,4 +200,55 @@ public class NoShowBatchUseCase {
             }
         });
     }
+
+    /**
+     * Set-based mode: marks the no-shows a chunk per statement and publishes their events.
+     * @return the number of appointments marked as no-show
+     */
+    public int markNoShows(LocalDate appointmentDate, LocalDateTime processingTime) {
+
+        UUID lastMarkedId = null;
+        List<MarkedNoShow> chunk;
+        int totalMarked = 0;
+
+        do {
+            final UUID currentLastId = lastMarkedId;
+
+            chunk = retryTemplate.execute(context -> {
+                if (context.getRetryCount() > 0) {
+                    log.warn("Retry attempt {} for no-show chunk after {}", context.getRetryCount(), currentLastId);
+                }
+                return transactionTemplate.execute(_ -> {
+                    List<MarkedNoShow> marked = noShowMarkingPort.markNoShows(appointmentDate, processingTime, currentLastId, BATCH_SIZE);
+                    publishNoShows(marked, processingTime);
+                    return marked;
+                });
+            });
+
+            if (!chunk.isEmpty()) {
+                // UUID#compareTo is signed, the database orders uuids like their text form
+                lastMarkedId = chunk.stream().map(MarkedNoShow::id).max(Comparator.comparing(UUID::toString)).orElseThrow();
+                totalMarked += chunk.size();
+                log.debug("Marked chunk of {} appointments as no-show, total: {}", chunk.size(), totalMarked);
+            }
+        } while (chunk.size() == BATCH_SIZE);
+
+        return totalMarked;
+    }
+
+    /**
+     * Published in the batch's transaction, the event publisher sends them after commit.
+     */
+    private void publishNoShows(List<MarkedNoShow> marked, LocalDateTime processingTime) {
+        marked.forEach(noShow -> appointmentEventService.publishEventChangeStatus(
+                noShow.id(),
+                noShow.reference(),
+                noShow.customerUsername(),
+                noShow.branchId(),
+                noShow.previousStatus(),
+                AppointmentStatus.NO_SHOW,
+                EventTrigger.SYSTEM,
+                processingTime
+        ));
+    }
 }
@@ -0,0 +1,30 @@
+package capitec.branch.appointment.appointment.app.dto;
+
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Query to retrieve one offset page of the appointments of a branch on a day, in time order.
+ */
+public record GetBranchAppointmentsOffsetQuery(
+        @NotBlank(message = "Branch ID is required")
+        String branchId,
+
+        @NotNull(message = "Day is required")
+        LocalDate day,
+
+        AppointmentStatus status,
+
+        @Min(value = 0, message = "Offset cannot be negative")
+        int offset,
+
+        @Min(value = 1, message = "Limit must be at least 1")
+        @Max(value = 100, message = "Limit cannot exceed 100")
+        int limit
+) {
+}
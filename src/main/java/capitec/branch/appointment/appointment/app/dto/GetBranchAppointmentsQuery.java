@@ -0,0 +1,35 @@
+package capitec.branch.appointment.appointment.app.dto;
+
+import capitec.branch.appointment.appointment.app.port.AppointmentCursor;
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Query to retrieve one keyset page of the appointments of a branch on a day, in time order.
+ *
+ * @param after        cursor of the previous page, null for the first page
+ * @param includeTotal whether to count the listing as well
+ */
+public record GetBranchAppointmentsQuery(
+        @NotBlank(message = "Branch ID is required")
+        String branchId,
+
+        @NotNull(message = "Day is required")
+        LocalDate day,
+
+        AppointmentStatus status,
+
+        AppointmentCursor after,
+
+        @Min(value = 1, message = "Limit must be at least 1")
+        @Max(value = 100, message = "Limit cannot exceed 100")
+        int limit,
+
+        boolean includeTotal
+) {
+}
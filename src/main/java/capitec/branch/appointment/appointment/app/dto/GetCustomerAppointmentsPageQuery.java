@@ -0,0 +1,31 @@
+package capitec.branch.appointment.appointment.app.dto;
+
+import capitec.branch.appointment.appointment.app.port.AppointmentCursor;
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Query to retrieve one keyset page of the appointments of a customer, latest first.
+ *
+ * @param after        cursor of the previous page, null for the first page
+ * @param includeTotal whether to count the listing as well
+ */
+public record GetCustomerAppointmentsPageQuery(
+        @NotBlank(message = "Customer username is required")
+        @Size(min = 5, max = 50, message = "Customer username must be between 5 and 50 characters")
+        String customerUsername,
+
+        AppointmentStatus status,
+
+        AppointmentCursor after,
+
+        @Min(value = 1, message = "Limit must be at least 1")
+        @Max(value = 100, message = "Limit cannot exceed 100")
+        int limit,
+
+        boolean includeTotal
+) {
+}
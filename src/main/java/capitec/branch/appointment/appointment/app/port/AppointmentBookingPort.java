@@ -0,0 +1,59 @@
+package capitec.branch.appointment.appointment.app.port;
+
+import capitec.branch.appointment.appointment.domain.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port for booking an appointment in a single database round trip: the customer check,
+ * the slot reservation and the appointment insert are applied together or not at all.
+ */
+public interface AppointmentBookingPort {
+
+    /**
+     * @param appointment new appointment, status BOOKED
+     * @param currentTime the customer must have no active appointment from this time and the slot must not have started
+     */
+    BookingResult book(Appointment appointment, LocalDateTime currentTime);
+
+    /**
+     * Books appointments of one slot in one round trip: the slot takes {@code booking_count + n} for the
+     * appointments it has room for, granted in list order, and only those are inserted, in the same statement.
+     * @param appointments new appointments of the same slot and day, of different customers, in arrival order
+     * @param currentTime  as for {@link #book}
+     * @return the result of each appointment, in the same order: {@link SlotRejected} once the slot is full
+     */
+    List<BookingResult> bookAll(List<Appointment> appointments, LocalDateTime currentTime);
+
+    sealed interface BookingResult {
+    }
+
+    /**
+     * The slot was reserved and the appointment inserted.
+     */
+    record Booked(Appointment appointment, ReservedSlot slot) implements BookingResult {
+    }
+
+    /**
+     * The customer already has an active appointment, nothing was changed.
+     */
+    record CustomerHasAppointment() implements BookingResult {
+    }
+
+    /**
+     * The slot does not exist or cannot be reserved (not available, full or started), nothing was changed.
+     */
+    record SlotRejected() implements BookingResult {
+    }
+
+    /**
+     * State of the slot after the reservation.
+     */
+    record ReservedSlot(UUID id, LocalDate day, LocalTime startTime, LocalTime endTime, int maxBookingCapacity,
+                        int bookingCount, String branchId, String status, int version) {
+    }
+}
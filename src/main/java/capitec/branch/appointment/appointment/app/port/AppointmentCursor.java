@@ -0,0 +1,17 @@
+package capitec.branch.appointment.appointment.app.port;
+
+import capitec.branch.appointment.appointment.domain.Appointment;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Keyset position in an appointment listing: the {@code (date_time, id)} of the last appointment of a page.
+ * The next page starts right after it, so deep pages cost the same as the first.
+ */
+public record AppointmentCursor(LocalDateTime dateTime, UUID id) {
+
+    public static AppointmentCursor of(Appointment appointment) {
+        return new AppointmentCursor(appointment.getDateTime(), appointment.getId());
+    }
+}
@@ -3,23 +3,50 @@ package capitec.branch.appointment.appointment.app.port;
 import capitec.branch.appointment.appointment.domain.Appointment;
 import capitec.branch.appointment.appointment.domain.AppointmentStatus;
 
+import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Port for read-only appointment queries.
  * Queries are not business rules - they are data retrieval for presentation.
+ *
+ * <p>Listings are offset paginated, or keyset paginated on {@code (date_time, id)} so deep pages cost the same
+ * as the first; totals are separate count queries, so a page never counts the whole filtered set.</p>
  */
 public interface AppointmentQueryPort {
 
     Optional<Appointment> findById(UUID appointmentId);
 
     /**
-     * Find appointments by customer username with pagination.
-     * Returns both appointments and total count in single query.
+     * Find appointments by customer username, latest first, with offset pagination.
+     * Offset pages get slower the deeper they are, {@link #findByCustomerUsername(String, AppointmentStatus, AppointmentCursor, int)}
+     * pages by cursor instead.
      */
-    AppointmentQueryResult findByCustomerUsername(String customerUsername, AppointmentStatus status, int offset, int limit);
+    List<Appointment> findByCustomerUsername(String customerUsername, AppointmentStatus status, int offset, int limit);
+
+    /**
+     * Find appointments by customer username, latest first.
+     * @param after cursor of the previous page, null for the first page
+     */
+    AppointmentSlice findByCustomerUsername(String customerUsername, AppointmentStatus status, AppointmentCursor after, int limit);
+
+    int countByCustomerUsername(String customerUsername, AppointmentStatus status);
 
     Collection<Appointment> findByBranchId(String branchId, int offset, int limit);
+
+    /**
+     * Find appointments of a branch on a day, in time order.
+     * @param after cursor of the previous page, null for the first page
+     */
+    AppointmentSlice findByBranchId(String branchId, LocalDate day, AppointmentStatus status, AppointmentCursor after, int limit);
+
+    /**
+     * Find appointments of a branch on a day, in time order, with offset pagination.
+     */
+    List<Appointment> findByBranchId(String branchId, LocalDate day, AppointmentStatus status, int offset, int limit);
+
+    int countByBranchId(String branchId, LocalDate day, AppointmentStatus status);
 }
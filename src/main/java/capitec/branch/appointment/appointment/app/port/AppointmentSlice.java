@@ -0,0 +1,25 @@
+package capitec.branch.appointment.appointment.app.port;
+
+import capitec.branch.appointment.appointment.domain.Appointment;
+
+import java.util.List;
+
+/**
+ * One page of a keyset paginated appointment query.
+ *
+ * @param appointments the appointments of the page, in listing order
+ * @param next         cursor of the next page, null on the last page
+ */
+public record AppointmentSlice(List<Appointment> appointments, AppointmentCursor next) {
+
+    /**
+     * @param fetched up to {@code limit + 1} appointments, the extra one only tells that a next page exists
+     */
+    public static AppointmentSlice of(List<Appointment> fetched, int limit) {
+        if (fetched.size() <= limit) {
+            return new AppointmentSlice(fetched, null);
+        }
+        List<Appointment> page = fetched.subList(0, limit);
+        return new AppointmentSlice(List.copyOf(page), AppointmentCursor.of(page.getLast()));
+    }
+}
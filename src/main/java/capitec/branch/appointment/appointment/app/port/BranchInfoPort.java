@@ -1,6 +1,8 @@
 package capitec.branch.appointment.appointment.app.port;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Port to fetch branch information from location context.
@@ -9,5 +11,11 @@ public interface BranchInfoPort {
 
     Optional<BranchInfo> getBranchInfo(String branchId);
 
+    /**
+     * Looks up several branches at once, for enriching a page of appointments in one call.
+     * @return branch info by branch id, branches that are not found are left out
+     */
+    Map<String, BranchInfo> getBranchInfo(Set<String> branchIds);
+
     record BranchInfo(String branchId, String name, String address) {}
 }
@@ -0,0 +1,26 @@
+package capitec.branch.appointment.appointment.app.port;
+
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port for marking unattended appointments as NO_SHOW in the database, a chunk per statement,
+ * without loading the appointments.
+ */
+public interface NoShowMarkingPort {
+
+    /**
+     * Marks the next chunk of unattended appointments, in id order, as NO_SHOW.
+     * @param appointmentDate appointments from this day whose slot ended before {@code processingTime}
+     * @param afterId keyset cursor, the greatest id of the previous chunk or null for the first chunk
+     * @return the marked appointments, empty once none are left after {@code afterId}
+     */
+    List<MarkedNoShow> markNoShows(LocalDate appointmentDate, LocalDateTime processingTime, UUID afterId, int limit);
+
+    record MarkedNoShow(UUID id, String reference, String customerUsername, String branchId, AppointmentStatus previousStatus) {
+    }
+}
@@ -1,12 +1,34 @@
 package capitec.branch.appointment.appointment.app.port;
 
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort.ReservedSlot;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface UpdateSlotStatePort {
 
-    void reserve(UUID slotId, LocalDateTime timestamp);
-    void release(UUID slotId,LocalDateTime timestamp);
-    void reschedule(UUID OldSlotId,UUID newSlotId,LocalDateTime timestamp);
+    /**
+     * Slot state changes carry the slot's day, so the slot context only touches that day's partition.
+     */
+    void reserve(UUID slotId, LocalDate slotDay, LocalDateTime timestamp);
+    void release(UUID slotId, LocalDate slotDay, LocalDateTime timestamp);
+    void reschedule(UUID OldSlotId, LocalDate oldSlotDay, UUID newSlotId, LocalDate newSlotDay, LocalDateTime timestamp);
+
+    /**
+     * Propagates a reservation already persisted by {@link AppointmentBookingPort} to the slot context.
+     */
+    void reserved(ReservedSlot slot);
+
+    /**
+     * Takes one unit of the slot's capacity in this node's view before {@link AppointmentBookingPort} reserves it.
+     * @return false if the slot is known to be full, so the booking can be turned away without a database round trip
+     */
+    boolean admit(UUID slotId, LocalDateTime timestamp);
+
+    /**
+     * Lets the slot context re-read a slot {@link AppointmentBookingPort} was rejected on.
+     */
+    void rejected(UUID slotId, LocalDate slotDay);
 
 }
@@ -1,28 +1,31 @@
 package capitec.branch.appointment.appointment.infrastructure.adapter;
 
 import capitec.branch.appointment.appointment.app.port.BranchInfoPort;
+import capitec.branch.appointment.location.app.BranchDirectory;
 import capitec.branch.appointment.location.domain.BranchLocation;
-import capitec.branch.appointment.location.domain.BranchLocationFetcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Branch info from the location context, looked up by branch code in the {@link BranchDirectory}.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class BranchInfoAdapter implements BranchInfoPort {
 
-    private static final String SOUTH_AFRICA = "South Africa";
-    private final BranchLocationFetcher branchLocationFetcher;
+    private final BranchDirectory branchDirectory;
 
     @Override
     public Optional<BranchInfo> getBranchInfo(String branchId) {
         try {
-            return branchLocationFetcher.fetchByArea(SOUTH_AFRICA).stream()
-                    .filter(branch -> branchId.equals(branch.getBranchCode()))
-                    .findFirst()
+            return branchDirectory.index().findByBranchCode(branchId)
                     .map(this::toBranchInfo);
         } catch (Exception e) {
             log.warn("Failed to fetch branch info for branchId: {}", branchId, e);
@@ -30,6 +33,22 @@ public class BranchInfoAdapter implements BranchInfoPort {
         }
     }
 
+    @Override
+    public Map<String, BranchInfo> getBranchInfo(Set<String> branchIds) {
+        if (branchIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Map<String, BranchInfo> found = HashMap.newHashMap(branchIds.size());
+            branchDirectory.index().findByBranchCodes(branchIds)
+                    .forEach((branchId, branch) -> found.put(branchId, toBranchInfo(branch)));
+            return found;
+        } catch (Exception e) {
+            log.warn("Failed to fetch branch info for branchIds: {}", branchIds, e);
+            return Map.of();
+        }
+    }
+
     private BranchInfo toBranchInfo(BranchLocation branch) {
         return new BranchInfo(
                 branch.getBranchCode(),
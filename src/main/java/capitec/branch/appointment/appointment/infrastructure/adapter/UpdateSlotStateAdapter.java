@@ -1,14 +1,23 @@
 package capitec.branch.appointment.appointment.infrastructure.adapter;
 
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort.ReservedSlot;
 import capitec.branch.appointment.appointment.app.port.UpdateSlotStatePort;
 import capitec.branch.appointment.slots.app.SlotStatusTransitionAction;
 import capitec.branch.appointment.slots.app.UpdateSlotStatusUseCase;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Adapter from the appointment context to slot state transitions.
+ * Reserve and release are applied by the slot context as single conditional updates,
+ * so booking, cancelling and rescheduling never go through an optimistic-lock retry.
+ */
 @Component
 @RequiredArgsConstructor
 public class UpdateSlotStateAdapter implements UpdateSlotStatePort {
@@ -16,19 +25,36 @@ public class UpdateSlotStateAdapter implements UpdateSlotStatePort {
     private final UpdateSlotStatusUseCase updateSlotStatusUseCase;
 
     @Override
-    public void reserve(UUID slotId, LocalDateTime timestamp) {
-        updateSlotStatusUseCase.execute(new SlotStatusTransitionAction.Book(slotId, timestamp));
+    public void reserve(UUID slotId, LocalDate slotDay, LocalDateTime timestamp) {
+        updateSlotStatusUseCase.execute(new SlotStatusTransitionAction.Book(slotId, slotDay, timestamp));
     }
 
     @Override
-    public void release(UUID slotId,LocalDateTime timestamp) {
+    public void release(UUID slotId, LocalDate slotDay, LocalDateTime timestamp) {
 
-        updateSlotStatusUseCase.execute(new SlotStatusTransitionAction.Release(slotId,timestamp));
+        updateSlotStatusUseCase.execute(new SlotStatusTransitionAction.Release(slotId, slotDay, timestamp));
     }
 
     @Override
-    public void reschedule(UUID OldSlotId, UUID newSlotId, LocalDateTime timestamp) {
-        release(OldSlotId, timestamp);
-        reserve(newSlotId, timestamp);
+    public void reschedule(UUID OldSlotId, LocalDate oldSlotDay, UUID newSlotId, LocalDate newSlotDay, LocalDateTime timestamp) {
+        release(OldSlotId, oldSlotDay, timestamp);
+        reserve(newSlotId, newSlotDay, timestamp);
+    }
+
+    @Override
+    public void reserved(ReservedSlot slot) {
+        updateSlotStatusUseCase.applyReserved(Slot.reconstituteFromPersistence(slot.id(), slot.day(), slot.startTime(),
+                slot.endTime(), slot.maxBookingCapacity(), slot.bookingCount(), slot.branchId(),
+                SlotStatus.valueOf(slot.status()), slot.version()));
+    }
+
+    @Override
+    public boolean admit(UUID slotId, LocalDateTime timestamp) {
+        return updateSlotStatusUseCase.admit(slotId, timestamp);
+    }
+
+    @Override
+    public void rejected(UUID slotId, LocalDate slotDay) {
+        updateSlotStatusUseCase.resync(slotId, slotDay);
     }
 }
@@ -0,0 +1,48 @@
+package capitec.branch.appointment.appointment.infrastructure.controller;
+
+import capitec.branch.appointment.appointment.app.port.AppointmentCursor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque form of an {@link AppointmentCursor} handed to clients: base64url of {@code date_time|id}.
+ * Clients pass it back unchanged to get the next page.
+ */
+final class AppointmentCursorToken {
+
+    private static final char SEPARATOR = '|';
+
+    private AppointmentCursorToken() {
+    }
+
+    static String encode(AppointmentCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String value = cursor.dateTime().toString() + SEPARATOR + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the cursor, null for a missing token
+     * @throws ResponseStatusException 400 if the token was not issued by {@link #encode}
+     */
+    static AppointmentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new AppointmentCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+}
@@ -1,10 +1,27 @@
 package capitec.branch.appointment.appointment.infrastructure.controller;
 
+import capitec.branch.appointment.sharekernel.CursorPagination;
 import capitec.branch.appointment.sharekernel.Pagination;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.List;
 
+/**
+ * A page of appointments: {@code cursor} is set for keyset pages, {@code pagination} for offset pages.
+ * The one not set is left out, so offset pages keep the shape they had before keyset paging.
+ */
 public record AppointmentsResponse(
         List<AppointmentResponse> appointments,
-        Pagination pagination
-) {}
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Pagination pagination,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        CursorPagination cursor
+) {
+    public AppointmentsResponse(List<AppointmentResponse> appointments, Pagination pagination) {
+        this(appointments, pagination, null);
+    }
+
+    public AppointmentsResponse(List<AppointmentResponse> appointments, CursorPagination cursor) {
+        this(appointments, null, cursor);
+    }
+}
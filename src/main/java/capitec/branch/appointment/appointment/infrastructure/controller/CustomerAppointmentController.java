@@ -2,12 +2,15 @@ package capitec.branch.appointment.appointment.infrastructure.controller;
 
 import capitec.branch.appointment.appointment.app.*;
 import capitec.branch.appointment.appointment.app.dto.GetAppointmentByIdQuery;
+import capitec.branch.appointment.appointment.app.dto.GetCustomerAppointmentsPageQuery;
 import capitec.branch.appointment.appointment.app.dto.GetCustomerAppointmentsQuery;
 import capitec.branch.appointment.appointment.domain.Appointment;
 import capitec.branch.appointment.appointment.domain.AppointmentStatus;
 import capitec.branch.appointment.appointment.domain.AttendingAppointmentStateTransitionAction;
 import capitec.branch.appointment.appointment.domain.CustomerUpdateAppointmentAction;
+import capitec.branch.appointment.sharekernel.CursorPagination;
 import capitec.branch.appointment.sharekernel.Pagination;
+import capitec.branch.appointment.sharekernel.idempotency.app.IdempotentRequestHandler;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,12 +19,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * REST Controller for customer appointment operations.
  * Provides endpoints for booking, cancelling, rescheduling, and checking in to appointments.
+ * Write endpoints accept an optional {@code Idempotency-Key} header, a retry with the same key gets the
+ * stored response instead of running the use case again (see {@link IdempotentRequestHandler}).
  */
 @Slf4j
 @RestController
@@ -35,22 +41,31 @@ public class CustomerAppointmentController {
     private final AttendAppointmentUseCase attendAppointmentUseCase;
     private final GetAppointmentUseCase getAppointmentUseCase;
     private final GetCustomerAppointmentsUseCase getCustomerAppointmentsUseCase;
+    private final IdempotentRequestHandler idempotentRequestHandler;
 
     /**
      * Book a new appointment.
      *
-     * @param request  the appointment booking request
-     * @param traceId  unique trace identifier for request tracking
+     * @param request        the appointment booking request
+     * @param traceId        unique trace identifier for request tracking
+     * @param idempotencyKey optional key making retries of the request return the first response
      * @return the created appointment
      */
     @PostMapping("/create")
     public ResponseEntity<AppointmentResponse> createAppointment(
             @Valid @RequestBody CreateAppointmentRequest request,
-            @RequestHeader("Trace-Id") String traceId
+            @RequestHeader("Trace-Id") String traceId,
+            @RequestHeader(value = IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
         log.info("Creating appointment for customer: {}, branch: {}, traceId: {}",
                 request.customerUsername(), request.branchId(), traceId);
 
+        return idempotentRequestHandler.execute("appointment.create", idempotencyKey, request, AppointmentResponse.class,
+                () -> createAppointment(request, traceId));
+    }
+
+    private ResponseEntity<AppointmentResponse> createAppointment(CreateAppointmentRequest request, String traceId) {
+
         AppointmentDTO dto = new AppointmentDTO(
                 request.slotId(),
                 request.branchId(),
@@ -70,12 +85,18 @@ public class CustomerAppointmentController {
     }
 
     /**
-     * Get appointments for a customer.
+     * Get appointments for a customer, latest first.
+     *
+     * <p>Pages are offset paginated with {@code pagination} in the response. Passing {@code cursor} opts in to
+     * keyset pagination, with {@code cursor} in the response instead: an empty {@code cursor} gets the first page,
+     * the {@code cursor.nextCursor} of a page gets the next one.</p>
      *
      * @param customerUsername the customer username
      * @param status           optional status filter
-     * @param offset           offset for pagination (default 0)
+     * @param cursor           keyset pagination, empty for the first page or the cursor of the previous page
+     * @param offset           offset for offset pagination (default 0), ignored with {@code cursor}
      * @param limit            number of results per page (default 50, max 100)
+     * @param includeTotal     whether to count all appointments of the listing (keyset pages only, offset pages always count)
      * @param traceId          unique trace identifier for request tracking
      * @return list of appointments
      */
@@ -83,28 +104,45 @@ public class CustomerAppointmentController {
     public ResponseEntity<AppointmentsResponse> getCustomerAppointments(
             @PathVariable("customerUsername") String customerUsername,
             @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "offset", required = false, defaultValue = "0") int offset,
             @RequestParam(value = "limit", required = false, defaultValue = "50") int limit,
+            @RequestParam(value = "includeTotal", required = false, defaultValue = "false") boolean includeTotal,
             @RequestHeader("Trace-Id") String traceId
     ) {
         log.info("Getting appointments for customer: {}, status: {}, offset: {}, limit: {}, traceId: {}",
                 customerUsername, status, offset, limit, traceId);
 
         AppointmentStatus statusFilter = status != null ? AppointmentStatus.valueOf(status) : null;
-        GetCustomerAppointmentsQuery query = new GetCustomerAppointmentsQuery(customerUsername, statusFilter, offset, limit);
 
-        CustomerAppointmentsResult result = getCustomerAppointmentsUseCase.execute(query, traceId);
+        if (cursor == null) {
+            GetCustomerAppointmentsQuery query = new GetCustomerAppointmentsQuery(customerUsername, statusFilter, offset, limit);
+            CustomerAppointmentsResult result = getCustomerAppointmentsUseCase.execute(query, traceId);
+
+            List<AppointmentResponse> responses = result.appointments().stream()
+                    .map(this::toResponse)
+                    .toList();
+
+            log.info("Found {} appointments for customer: {} (total: {}), traceId: {}",
+                    responses.size(), customerUsername, result.totalCount(), traceId);
 
-        List<AppointmentResponse> responses = result.appointments().stream()
+            Pagination pagination = Pagination.ofOffset(offset, limit, result.totalCount());
+            return ResponseEntity.ok(new AppointmentsResponse(responses, pagination));
+        }
+
+        var query = new GetCustomerAppointmentsPageQuery(customerUsername, statusFilter,
+                AppointmentCursorToken.decode(cursor), limit, includeTotal);
+        AppointmentsPage<AppointmentWithBranchDTO> page = getCustomerAppointmentsUseCase.execute(query, traceId);
+
+        List<AppointmentResponse> responses = page.appointments().stream()
                 .map(this::toResponse)
                 .toList();
 
-        log.info("Found {} appointments for customer: {} (total: {}), traceId: {}",
-                responses.size(), customerUsername, result.totalCount(), traceId);
+        log.info("Found {} appointments for customer: {}, hasNext: {}, traceId: {}",
+                responses.size(), customerUsername, page.next() != null, traceId);
 
-        Pagination pagination = Pagination.ofOffset(offset, limit, result.totalCount());
-        AppointmentsResponse body = new AppointmentsResponse(responses, pagination);
-        return ResponseEntity.ok(body);
+        CursorPagination pagination = CursorPagination.of(AppointmentCursorToken.encode(page.next()), limit, page.totalCount());
+        return ResponseEntity.ok(new AppointmentsResponse(responses, pagination));
     }
 
     /**
@@ -131,18 +169,26 @@ public class CustomerAppointmentController {
      * Cancel an appointment.
      *
      * @param appointmentId the appointment ID
-     * @param request       optional cancellation request with reason
-     * @param traceId       unique trace identifier for request tracking
+     * @param request        optional cancellation request with reason
+     * @param traceId        unique trace identifier for request tracking
+     * @param idempotencyKey optional key making retries of the request return the first response
      * @return the cancelled appointment
      */
     @PatchMapping("/{appointmentId}/cancel")
     public ResponseEntity<AppointmentResponse> cancelAppointment(
             @PathVariable("appointmentId") UUID appointmentId,
             @RequestBody(required = false) CancelAppointmentRequest request,
-            @RequestHeader("Trace-Id") String traceId
+            @RequestHeader("Trace-Id") String traceId,
+            @RequestHeader(value = IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
         log.info("Cancelling appointment: {}, traceId: {}", appointmentId, traceId);
 
+        return idempotentRequestHandler.execute("appointment.cancel", idempotencyKey, Arrays.asList(appointmentId, request),
+                AppointmentResponse.class, () -> cancelAppointment(appointmentId, request, traceId));
+    }
+
+    private ResponseEntity<AppointmentResponse> cancelAppointment(UUID appointmentId, CancelAppointmentRequest request, String traceId) {
+
         String reason = request != null ? request.reason() : null;
         var action = new CustomerUpdateAppointmentAction.Cancel(appointmentId, reason);
 
@@ -158,19 +204,27 @@ public class CustomerAppointmentController {
      * Reschedule an appointment.
      *
      * @param appointmentId the appointment ID
-     * @param request       the reschedule request
-     * @param traceId       unique trace identifier for request tracking
+     * @param request        the reschedule request
+     * @param traceId        unique trace identifier for request tracking
+     * @param idempotencyKey optional key making retries of the request return the first response
      * @return the rescheduled appointment
      */
     @PatchMapping("/{appointmentId}/reschedule")
     public ResponseEntity<AppointmentResponse> rescheduleAppointment(
             @PathVariable("appointmentId") UUID appointmentId,
             @Valid @RequestBody RescheduleAppointmentRequest request,
-            @RequestHeader("Trace-Id") String traceId
+            @RequestHeader("Trace-Id") String traceId,
+            @RequestHeader(value = IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
         log.info("Rescheduling appointment: {} to new slot: {}, traceId: {}",
                 appointmentId, request.newSlotId(), traceId);
 
+        return idempotentRequestHandler.execute("appointment.reschedule", idempotencyKey, Arrays.asList(appointmentId, request),
+                AppointmentResponse.class, () -> rescheduleAppointment(appointmentId, request, traceId));
+    }
+
+    private ResponseEntity<AppointmentResponse> rescheduleAppointment(UUID appointmentId, RescheduleAppointmentRequest request, String traceId) {
+
         var action = new CustomerUpdateAppointmentAction.Reschedule(
                 appointmentId,
                 request.newSlotId(),
@@ -189,17 +243,25 @@ public class CustomerAppointmentController {
     /**
      * Check in for an appointment.
      *
-     * @param appointmentId the appointment ID
-     * @param traceId       unique trace identifier for request tracking
+     * @param appointmentId  the appointment ID
+     * @param traceId        unique trace identifier for request tracking
+     * @param idempotencyKey optional key making retries of the request return the first response
      * @return the checked-in appointment
      */
     @PatchMapping("/{appointmentId}/check-in")
     public ResponseEntity<AppointmentResponse> checkInAppointment(
             @PathVariable("appointmentId") UUID appointmentId,
-            @RequestHeader("Trace-Id") String traceId
+            @RequestHeader("Trace-Id") String traceId,
+            @RequestHeader(value = IdempotentRequestHandler.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
         log.info("Check-in for appointment: {}, traceId: {}", appointmentId, traceId);
 
+        return idempotentRequestHandler.execute("appointment.check-in", idempotencyKey, appointmentId,
+                AppointmentResponse.class, () -> checkInAppointment(appointmentId, traceId));
+    }
+
+    private ResponseEntity<AppointmentResponse> checkInAppointment(UUID appointmentId, String traceId) {
+
         Appointment appointmentData = getAppointmentUseCase.execute(new GetAppointmentByIdQuery(appointmentId));
 
         var action = new AttendingAppointmentStateTransitionAction.CheckIn(
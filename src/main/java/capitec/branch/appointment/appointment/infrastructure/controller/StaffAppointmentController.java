@@ -1,17 +1,24 @@
 package capitec.branch.appointment.appointment.infrastructure.controller;
 
+import capitec.branch.appointment.appointment.app.AppointmentsPage;
 import capitec.branch.appointment.appointment.app.AttendAppointmentUseCase;
 import capitec.branch.appointment.appointment.app.GetCustomerAppointmentsUseCase;
+import capitec.branch.appointment.appointment.app.dto.GetBranchAppointmentsOffsetQuery;
+import capitec.branch.appointment.appointment.app.dto.GetBranchAppointmentsQuery;
 import capitec.branch.appointment.appointment.domain.Appointment;
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
 import capitec.branch.appointment.appointment.domain.AttendingAppointmentStateTransitionAction;
+import capitec.branch.appointment.sharekernel.CursorPagination;
 import capitec.branch.appointment.sharekernel.Pagination;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -122,12 +129,20 @@ public class StaffAppointmentController {
     }
 
     /**
-     * Get appointments for a branch on a specific date.
+     * Get appointments for a branch on a specific date, in time order.
      *
-     * @param branchId the branch ID
-     * @param date     the date to filter appointments
-     * @param status   optional status filter
-     * @param traceId  unique trace identifier for request tracking
+     * <p>Pages are offset paginated with {@code pagination} in the response. Passing {@code cursor} opts in to
+     * keyset pagination, with {@code cursor} in the response instead: an empty {@code cursor} gets the first page,
+     * the {@code cursor.nextCursor} of a page gets the next one.</p>
+     *
+     * @param branchId     the branch ID
+     * @param date         the date to filter appointments
+     * @param status       optional status filter
+     * @param traceId      unique trace identifier for request tracking
+     * @param cursor       keyset pagination, empty for the first page or the cursor of the previous page
+     * @param offset       offset for offset pagination (default 0), ignored with {@code cursor}
+     * @param limit        number of results per page (default 50, max 100)
+     * @param includeTotal whether to count all appointments of the day (keyset pages only, offset pages always count)
      * @return list of branch appointments
      */
     @GetMapping("/branches/{branchId}")
@@ -136,35 +151,57 @@ public class StaffAppointmentController {
             @RequestParam("date") LocalDate date,
             @RequestParam(value = "status", required = false) String status,
             @RequestHeader("Trace-Id") String traceId,
+            @RequestParam(value = "cursor", required = false) String cursor,
             @RequestParam(value = "offset", required = false, defaultValue = "0")
             @Min(value = 0, message = "Minimum offset must positive value") int offset,
             @Min(value = 1, message = "Minimum limit must greater than zero")
-            @RequestParam(value = "limit", required = false, defaultValue = "50") int limit
+            @RequestParam(value = "limit", required = false, defaultValue = "50") int limit,
+            @RequestParam(value = "includeTotal", required = false, defaultValue = "false") boolean includeTotal
     ) {
         log.info("Getting appointments for branch: {}, date: {}, status: {}, traceId: {}",
                 branchId, date, status, traceId);
 
-        // Using existing method - may need pagination
-        var appointments = getCustomerAppointmentsUseCase.branchAppointments(branchId, offset, limit);
+        AppointmentStatus statusFilter = toStatus(status);
+
+        if (cursor == null) {
+            var query = new GetBranchAppointmentsOffsetQuery(branchId, date, statusFilter, offset, limit);
+            AppointmentsPage<Appointment> page = getCustomerAppointmentsUseCase.branchAppointments(query, traceId);
+
+            List<AppointmentResponse> responses = page.appointments().stream()
+                    .map(this::toResponse)
+                    .toList();
+
+            log.info("Found {} appointments for branch: {}, date: {} (total: {}), traceId: {}",
+                    responses.size(), branchId, date, page.totalCount(), traceId);
+
+            Pagination pagination = Pagination.ofOffset(offset, limit, page.totalCount());
+            return ResponseEntity.ok(new AppointmentsResponse(responses, pagination));
+        }
 
-        // Filter by date
-        List<AppointmentResponse> filtered = appointments.stream()
-                .filter(a -> a.getDateTime().toLocalDate().equals(date))
-                .filter(a -> status == null || a.getStatus().name().equals(status))
+        var query = new GetBranchAppointmentsQuery(branchId, date, statusFilter,
+                AppointmentCursorToken.decode(cursor), limit, includeTotal);
+        AppointmentsPage<Appointment> page = getCustomerAppointmentsUseCase.branchAppointments(query, traceId);
+
+        List<AppointmentResponse> responses = page.appointments().stream()
                 .map(this::toResponse)
                 .toList();
 
-        int totalCount = filtered.size();
-        log.info("Found {} appointments for branch: {}, date: {}, traceId: {}",
-                totalCount, branchId, date, traceId);
-        int totalPages = (int) Math.ceil((double) totalCount / offset);
-        boolean hasNext = offset < totalPages - 1;
-        boolean hasPrevious = offset > 0;
-        boolean isFirstPage = offset == 0;
-        boolean isLastPage = offset == totalPages - 1 || totalCount == 0;
-        AppointmentsResponse body = new AppointmentsResponse(filtered, new Pagination( totalCount, offset, limit, totalPages,
-                hasNext, hasPrevious, isFirstPage, isLastPage));
-        return ResponseEntity.ok(body);
+        log.info("Found {} appointments for branch: {}, date: {}, hasNext: {}, traceId: {}",
+                responses.size(), branchId, date, page.next() != null, traceId);
+
+        CursorPagination pagination = CursorPagination.of(AppointmentCursorToken.encode(page.next()), limit, page.totalCount());
+        return ResponseEntity.ok(new AppointmentsResponse(responses, pagination));
+    }
+
+    private static AppointmentStatus toStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return AppointmentStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown appointment status: " + status, e);
+        }
     }
 
     private AppointmentResponse toResponse(Appointment appointment) {
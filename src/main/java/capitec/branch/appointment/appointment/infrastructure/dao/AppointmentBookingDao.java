@@ -0,0 +1,240 @@
+package capitec.branch.appointment.appointment.infrastructure.dao;
+
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort;
+import capitec.branch.appointment.appointment.domain.Appointment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Books an appointment with one data-modifying CTE. The slot reservation has the same conditions as
+ * the slot context's single statement reserve, and the insert only runs when the reservation did.
+ * A concurrent booking of the same customer that passes the check is stopped by the unique index on
+ * active appointments, failing the whole statement, so the slot increment is never left behind.
+ * The slot is matched on its day as well, the appointment's date, so only that day's partition is scanned.
+ * Concurrent bookings of one slot can be applied together, see {@link #bookAll}.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class AppointmentBookingDao implements AppointmentBookingPort {
+
+    private static final String BOOK_APPOINTMENT = """
+            WITH existing AS (
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM appointment
+                    WHERE customer_username = :customerUsername
+                      AND date_time >= :currentTime AND status IN ('BOOKED', 'CHECKED_IN', 'IN_PROGRESS')
+                ) AS has_appointment
+            ),
+            reserved AS (
+                UPDATE slot
+                SET booking_count = booking_count + 1,
+                    status = CASE WHEN booking_count + 1 >= max_booking_capacity THEN 'FULLY_BOOKED' ELSE status END,
+                    version = version + 1
+                WHERE id = :slotId
+                  AND day = :slotDay
+                  AND status = 'AVAILABLE'
+                  AND booking_count < max_booking_capacity
+                  AND (day + start_time) >= :currentTime
+                  AND NOT (SELECT has_appointment FROM existing)
+                RETURNING id, day, start_time, end_time, max_booking_capacity, booking_count, branch_id, status, version
+            ),
+            booked AS (
+                INSERT INTO appointment (id, slot_id, branch_id, customer_username, service_type, status, reference,
+                                         date_time, version, created_at, updated_at, reschedule_count)
+                SELECT :id, reserved.id, :branchId, :customerUsername, :serviceType, :status, :reference,
+                       :dateTime, 1, :createdAt, :updatedAt, 0
+                FROM reserved
+                RETURNING id
+            )
+            SELECT existing.has_appointment,
+                   reserved.id, reserved.day, reserved.start_time, reserved.end_time, reserved.max_booking_capacity,
+                   reserved.booking_count, reserved.branch_id, reserved.status, reserved.version,
+                   (SELECT COUNT(*) FROM booked) AS booked
+            FROM existing
+            LEFT JOIN reserved ON TRUE
+            """;
+
+    /**
+     * Books several appointments on one slot: the slot row is locked, eligible requests are granted in arrival
+     * order up to the remaining capacity, the slot takes {@code booking_count + granted} and only the granted
+     * appointments are inserted. Returns one row per request, in arrival order.
+     */
+    private static final String BOOK_APPOINTMENTS = """
+            WITH requests AS (
+                SELECT r.id, r.branch_id, r.customer_username, r.service_type, r.reference, r.date_time,
+                       r.created_at, r.updated_at, r.ord
+                FROM unnest(CAST(:ids AS UUID[]), CAST(:branchIds AS VARCHAR[]), CAST(:customerUsernames AS VARCHAR[]),
+                            CAST(:serviceTypes AS VARCHAR[]), CAST(:references AS VARCHAR[]),
+                            CAST(:dateTimes AS TIMESTAMP[]), CAST(:createdAts AS TIMESTAMP[]),
+                            CAST(:updatedAts AS TIMESTAMP[]))
+                     WITH ORDINALITY AS r(id, branch_id, customer_username, service_type, reference, date_time,
+                                          created_at, updated_at, ord)
+            ),
+            eligible AS (
+                SELECT requests.id, requests.ord, ROW_NUMBER() OVER (ORDER BY requests.ord) AS position
+                FROM requests
+                WHERE NOT EXISTS (
+                    SELECT 1
+                    FROM appointment
+                    WHERE appointment.customer_username = requests.customer_username
+                      AND appointment.date_time >= :currentTime
+                      AND appointment.status IN ('BOOKED', 'CHECKED_IN', 'IN_PROGRESS')
+                )
+            ),
+            locked AS (
+                SELECT id, day, booking_count, max_booking_capacity
+                FROM slot
+                WHERE id = :slotId
+                  AND day = :slotDay
+                  AND status = 'AVAILABLE'
+                  AND booking_count < max_booking_capacity
+                  AND (day + start_time) >= :currentTime
+                FOR UPDATE
+            ),
+            granted AS (
+                SELECT eligible.id
+                FROM eligible
+                CROSS JOIN locked
+                WHERE eligible.position <= locked.max_booking_capacity - locked.booking_count
+            ),
+            reserved AS (
+                UPDATE slot
+                SET booking_count = slot.booking_count + (SELECT COUNT(*) FROM granted),
+                    status = CASE WHEN slot.booking_count + (SELECT COUNT(*) FROM granted) >= slot.max_booking_capacity
+                        THEN 'FULLY_BOOKED' ELSE slot.status END,
+                    version = slot.version + 1
+                FROM locked
+                WHERE slot.id = locked.id
+                  AND slot.day = locked.day
+                  AND EXISTS (SELECT 1 FROM granted)
+                RETURNING slot.id, slot.day, slot.start_time, slot.end_time, slot.max_booking_capacity,
+                          slot.booking_count, slot.branch_id, slot.status, slot.version
+            ),
+            booked AS (
+                INSERT INTO appointment (id, slot_id, branch_id, customer_username, service_type, status, reference,
+                                         date_time, version, created_at, updated_at, reschedule_count)
+                SELECT requests.id, reserved.id, requests.branch_id, requests.customer_username, requests.service_type,
+                       :status, requests.reference, requests.date_time, 1, requests.created_at, requests.updated_at, 0
+                FROM requests
+                INNER JOIN granted ON granted.id = requests.id
+                CROSS JOIN reserved
+                RETURNING id
+            )
+            SELECT requests.ord,
+                   eligible.id IS NULL AS has_appointment,
+                   booked.id IS NOT NULL AS booked,
+                   reserved.id AS slot_id, reserved.day, reserved.start_time, reserved.end_time,
+                   reserved.max_booking_capacity, reserved.booking_count, reserved.branch_id AS slot_branch_id,
+                   reserved.status, reserved.version
+            FROM requests
+            LEFT JOIN eligible ON eligible.ord = requests.ord
+            LEFT JOIN booked ON booked.id = requests.id
+            LEFT JOIN reserved ON TRUE
+            ORDER BY requests.ord
+            """;
+
+    private final JdbcClient jdbcClient;
+    private final AppointmentMapper appointmentMapper;
+
+    @Override
+    public BookingResult book(Appointment appointment, LocalDateTime currentTime) {
+
+        AppointmentEntity entity = appointmentMapper.toEntity(appointment);
+        try {
+            return jdbcClient.sql(BOOK_APPOINTMENT)
+                    .param("id", entity.id())
+                    .param("slotId", entity.slotId())
+                    .param("slotDay", entity.dateTime().toLocalDate(), Types.DATE)
+                    .param("branchId", entity.branchId())
+                    .param("customerUsername", entity.customerUsername())
+                    .param("serviceType", entity.serviceType())
+                    .param("status", entity.status())
+                    .param("reference", entity.reference())
+                    .param("dateTime", Timestamp.valueOf(entity.dateTime()), Types.TIMESTAMP)
+                    .param("createdAt", Timestamp.valueOf(entity.createdAt()), Types.TIMESTAMP)
+                    .param("updatedAt", Timestamp.valueOf(entity.updatedAt()), Types.TIMESTAMP)
+                    .param("currentTime", Timestamp.valueOf(currentTime), Types.TIMESTAMP)
+                    .query((rs, _) -> {
+                        if (rs.getBoolean("has_appointment")) {
+                            return new CustomerHasAppointment();
+                        }
+                        if (rs.getLong("booked") == 0) {
+                            return new SlotRejected();
+                        }
+                        var slot = new ReservedSlot(
+                                rs.getObject("id", UUID.class),
+                                rs.getObject("day", LocalDate.class),
+                                rs.getObject("start_time", LocalTime.class),
+                                rs.getObject("end_time", LocalTime.class),
+                                rs.getInt("max_booking_capacity"),
+                                rs.getInt("booking_count"),
+                                rs.getString("branch_id"),
+                                rs.getString("status"),
+                                rs.getInt("version"));
+                        return (BookingResult) new Booked(appointmentMapper.toDomain(entity.withVersion(1)), slot);
+                    })
+                    .single();
+        } catch (DuplicateKeyException e) {
+            log.debug("Customer {} booked another appointment concurrently", entity.customerUsername(), e);
+            return new CustomerHasAppointment();
+        }
+    }
+
+    /**
+     * A customer booking concurrently fails the whole statement with a {@link DuplicateKeyException}, which is
+     * thrown: unlike a single booking it cannot be attributed to one appointment.
+     */
+    @Override
+    public List<BookingResult> bookAll(List<Appointment> appointments, LocalDateTime currentTime) {
+
+        List<AppointmentEntity> entities = appointments.stream().map(appointmentMapper::toEntity).toList();
+        AppointmentEntity first = entities.getFirst();
+        return jdbcClient.sql(BOOK_APPOINTMENTS)
+                .param("ids", entities.stream().map(entity -> entity.id().toString()).toArray(String[]::new))
+                .param("branchIds", entities.stream().map(AppointmentEntity::branchId).toArray(String[]::new))
+                .param("customerUsernames", entities.stream().map(AppointmentEntity::customerUsername).toArray(String[]::new))
+                .param("serviceTypes", entities.stream().map(AppointmentEntity::serviceType).toArray(String[]::new))
+                .param("references", entities.stream().map(AppointmentEntity::reference).toArray(String[]::new))
+                .param("dateTimes", entities.stream().map(entity -> entity.dateTime().toString()).toArray(String[]::new))
+                .param("createdAts", entities.stream().map(entity -> entity.createdAt().toString()).toArray(String[]::new))
+                .param("updatedAts", entities.stream().map(entity -> entity.updatedAt().toString()).toArray(String[]::new))
+                .param("slotId", first.slotId())
+                .param("slotDay", first.dateTime().toLocalDate(), Types.DATE)
+                .param("status", first.status())
+                .param("currentTime", Timestamp.valueOf(currentTime), Types.TIMESTAMP)
+                .query((rs, _) -> {
+                    if (rs.getBoolean("has_appointment")) {
+                        return new CustomerHasAppointment();
+                    }
+                    if (!rs.getBoolean("booked")) {
+                        return new SlotRejected();
+                    }
+                    var slot = new ReservedSlot(
+                            rs.getObject("slot_id", UUID.class),
+                            rs.getObject("day", LocalDate.class),
+                            rs.getObject("start_time", LocalTime.class),
+                            rs.getObject("end_time", LocalTime.class),
+                            rs.getInt("max_booking_capacity"),
+                            rs.getInt("booking_count"),
+                            rs.getString("slot_branch_id"),
+                            rs.getString("status"),
+                            rs.getInt("version"));
+                    AppointmentEntity entity = entities.get(rs.getInt("ord") - 1);
+                    return (BookingResult) new Booked(appointmentMapper.toDomain(entity.withVersion(1)), slot);
+                })
+                .list();
+    }
+}
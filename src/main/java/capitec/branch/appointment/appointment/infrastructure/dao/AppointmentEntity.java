@@ -56,16 +56,12 @@ record AppointmentEntity(
         @Column("previous_slot_id")
         UUID previousSlotId,
         @Column("reschedule_count")
-        int rescheduleCount,
-
-
-        @ReadOnlyProperty
-        Long totalAppointmentsCount
+        int rescheduleCount
 ) {
     public AppointmentEntity withVersion(int version) {
         return  new AppointmentEntity(this.id,this.slotId,this.branchId,this.customerUsername,this.serviceType,this.status,reference,
                 this.dateTime,version, this.createdAt,this.updatedAt,this.checkedInAt,this.inProgressAt,this.completedAt,
                 this.terminatedAt, this.terminatedBy,this.terminationReason,this.terminationNotes,this.assignedConsultantId,
-                this.serviceNotes,this.previousSlotId,this.rescheduleCount, this.totalAppointmentsCount);
+                this.serviceNotes,this.previousSlotId,this.rescheduleCount);
     }
 }
\ No newline at end of file
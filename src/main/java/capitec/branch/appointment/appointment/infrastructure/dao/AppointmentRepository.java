@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -14,6 +15,13 @@ import java.util.UUID;
 @Repository
 interface AppointmentRepository extends CrudRepository<AppointmentEntity, UUID> {
 
+    String COLUMNS = """
+            id, slot_id, branch_id, customer_username, service_type, status, reference, date_time, version,
+            created_at, updated_at, checked_in_at, in_progress_at, completed_at, terminated_at, terminated_by,
+            termination_reason, termination_notes, assigned_consultant_id, service_notes, previous_slot_id,
+            reschedule_count
+            """;
+
     @Query("""
         
             SELECT
@@ -38,11 +46,10 @@ interface AppointmentRepository extends CrudRepository<AppointmentEntity, UUID>
             assigned_consultant_id,
             service_notes,
             previous_slot_id,
-            reschedule_count,
-            COUNT(*) OVER () AS total_appointments_count
+            reschedule_count
         FROM appointment
         WHERE branch_id =:branchId 
-        ORDER BY date_time DESC
+        ORDER BY date_time DESC, id DESC
         OFFSET :pageNumber LIMIT :pageSize
         """)
     Set<AppointmentEntity> getBranchAppointments(@Param("branchId") String branchId, @Param("pageNumber") int pageNumber ,@Param("pageSize") int pageSize);
@@ -69,8 +76,7 @@ interface AppointmentRepository extends CrudRepository<AppointmentEntity, UUID>
             assigned_consultant_id,
             service_notes,
             previous_slot_id,
-            reschedule_count,
-            1 AS total_appointments_count
+            reschedule_count
         FROM
         appointment
         WHERE  branch_id =:branchId AND customer_username=:customerUsername AND status IN('BOOKED', 'CHECKED_IN','IN_PROGRESS') AND day=:day 
@@ -100,8 +106,7 @@ interface AppointmentRepository extends CrudRepository<AppointmentEntity, UUID>
             assigned_consultant_id,
             service_notes,
             previous_slot_id,
-            reschedule_count,
-            1 AS total_appointments_count
+            reschedule_count
         FROM
         appointment
         WHERE  id = :appointmentId
@@ -132,9 +137,10 @@ interface AppointmentRepository extends CrudRepository<AppointmentEntity, UUID>
             a.assigned_consultant_id,
             a.service_notes,
             a.previous_slot_id,
-            a.reschedule_count,
-            COUNT(*) OVER () AS total_appointments_count
+            a.reschedule_count
             FROM appointment AS a INNER JOIN  slot AS s ON s.id = a.slot_id
+                -- Bound the slot day so only the partitions of the lookup range are scanned
+                AND s.day BETWEEN CAST(:appointmentDate AS DATE) - 1 AND CURRENT_DATE
                 AND a.status IN ('BOOKED', 'CHECKED_IN')
                 AND ( s.day + s.end_time) < NOW()
                 AND DATE(a.date_time) >= :appointmentDate
@@ -168,15 +174,14 @@ interface AppointmentRepository extends CrudRepository<AppointmentEntity, UUID>
             assigned_consultant_id,
             service_notes,
             previous_slot_id,
-            reschedule_count,
-            COUNT(*) OVER () AS total_appointments_count
+            reschedule_count
             FROM appointment
             WHERE customer_username = :customerUsername
             AND (CAST(:status AS VARCHAR) IS NULL OR status = :status)
-            ORDER BY date_time DESC
+            ORDER BY date_time DESC, id DESC
             OFFSET :offset LIMIT :limit
         """)
-    Set<AppointmentEntity> findByCustomerUsername(
+    List<AppointmentEntity> findByCustomerUsername(
             @Param("customerUsername") String customerUsername,
             @Param("status") String status,
             @Param("offset") int offset,
@@ -191,4 +196,88 @@ interface AppointmentRepository extends CrudRepository<AppointmentEntity, UUID>
     )
     """)
     boolean checkFutureAppointmentForCustomer(@Param("username") String username, @Param("fromDate") LocalDateTime fromDate);
+
+    // Keyset pages: the first page and the pages after a (date_time, id) cursor are separate statements,
+    // so the row comparison stays an index range condition
+
+    @Query("SELECT " + COLUMNS + """
+            FROM appointment
+            WHERE customer_username = :customerUsername
+            AND (CAST(:status AS VARCHAR) IS NULL OR status = :status)
+            ORDER BY date_time DESC, id DESC
+            LIMIT :limit
+            """)
+    List<AppointmentEntity> findCustomerFirstPage(@Param("customerUsername") String customerUsername,
+                                                  @Param("status") String status,
+                                                  @Param("limit") int limit);
+
+    @Query("SELECT " + COLUMNS + """
+            FROM appointment
+            WHERE customer_username = :customerUsername
+            AND (CAST(:status AS VARCHAR) IS NULL OR status = :status)
+            AND (date_time, id) < (:afterDateTime, :afterId)
+            ORDER BY date_time DESC, id DESC
+            LIMIT :limit
+            """)
+    List<AppointmentEntity> findCustomerPageAfter(@Param("customerUsername") String customerUsername,
+                                                  @Param("status") String status,
+                                                  @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                  @Param("afterId") UUID afterId,
+                                                  @Param("limit") int limit);
+
+    @Query("""
+            SELECT COUNT(*)
+            FROM appointment
+            WHERE customer_username = :customerUsername
+            AND (CAST(:status AS VARCHAR) IS NULL OR status = :status)
+            """)
+    int countByCustomerUsername(@Param("customerUsername") String customerUsername, @Param("status") String status);
+
+    @Query("SELECT " + COLUMNS + """
+            FROM appointment
+            WHERE branch_id = :branchId AND day = :day
+            AND (CAST(:status AS VARCHAR) IS NULL OR status = :status)
+            ORDER BY date_time, id
+            LIMIT :limit
+            """)
+    List<AppointmentEntity> findBranchDayFirstPage(@Param("branchId") String branchId,
+                                                   @Param("day") LocalDate day,
+                                                   @Param("status") String status,
+                                                   @Param("limit") int limit);
+
+    @Query("SELECT " + COLUMNS + """
+            FROM appointment
+            WHERE branch_id = :branchId AND day = :day
+            AND (CAST(:status AS VARCHAR) IS NULL OR status = :status)
+            AND (date_time, id) > (:afterDateTime, :afterId)
+            ORDER BY date_time, id
+            LIMIT :limit
+            """)
+    List<AppointmentEntity> findBranchDayPageAfter(@Param("branchId") String branchId,
+                                                   @Param("day") LocalDate day,
+                                                   @Param("status") String status,
+                                                   @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                   @Param("afterId") UUID afterId,
+                                                   @Param("limit") int limit);
+
+    @Query("SELECT " + COLUMNS + """
+            FROM appointment
+            WHERE branch_id = :branchId AND day = :day
+            AND (CAST(:status AS VARCHAR) IS NULL OR status = :status)
+            ORDER BY date_time, id
+            OFFSET :offset LIMIT :limit
+            """)
+    List<AppointmentEntity> findBranchDayPage(@Param("branchId") String branchId,
+                                              @Param("day") LocalDate day,
+                                              @Param("status") String status,
+                                              @Param("offset") int offset,
+                                              @Param("limit") int limit);
+
+    @Query("""
+            SELECT COUNT(*)
+            FROM appointment
+            WHERE branch_id = :branchId AND day = :day
+            AND (CAST(:status AS VARCHAR) IS NULL OR status = :status)
+            """)
+    int countByBranchIdAndDay(@Param("branchId") String branchId, @Param("day") LocalDate day, @Param("status") String status);
 }
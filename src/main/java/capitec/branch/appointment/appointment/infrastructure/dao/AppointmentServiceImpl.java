@@ -1,7 +1,8 @@
 package capitec.branch.appointment.appointment.infrastructure.dao;
 
+import capitec.branch.appointment.appointment.app.port.AppointmentCursor;
 import capitec.branch.appointment.appointment.app.port.AppointmentQueryPort;
-import capitec.branch.appointment.appointment.app.port.AppointmentQueryResult;
+import capitec.branch.appointment.appointment.app.port.AppointmentSlice;
 import capitec.branch.appointment.appointment.domain.Appointment;
 import capitec.branch.appointment.appointment.domain.AppointmentService;
 import capitec.branch.appointment.appointment.domain.AppointmentStatus;
@@ -172,27 +173,76 @@ public class AppointmentServiceImpl implements AppointmentService, AppointmentQu
     }
 
     @Override
-    public AppointmentQueryResult findByCustomerUsername(String customerUsername, AppointmentStatus status, int offset, int limit) {
+    public List<Appointment> findByCustomerUsername(String customerUsername, AppointmentStatus status, int offset, int limit) {
         try {
-            String statusValue = status != null ? status.name() : null;
-            Collection<AppointmentEntity> appointments = appointmentRepository.findByCustomerUsername(customerUsername, statusValue, offset, limit);
+            return appointmentRepository.findByCustomerUsername(customerUsername, statusValue(status), offset, limit).stream()
+                    .map(appointmentMapper::toDomain)
+                    .toList();
+        } catch (Exception e) {
+            log.error("Failed to get customer appointments from DB. Customer: {}, Status: {}", customerUsername, status, e);
+            throw e;
+        }
+    }
 
-            // Extract total count from first entity (all entities have same count due to window function)
-            int totalCount = appointments.stream()
-                    .findFirst()
-                    .map(AppointmentEntity::totalAppointmentsCount)
-                    .map(Long::intValue)
-                    .orElse(0);
+    @Override
+    public AppointmentSlice findByCustomerUsername(String customerUsername, AppointmentStatus status, AppointmentCursor after, int limit) {
+        try {
+            List<AppointmentEntity> appointments = after == null
+                    ? appointmentRepository.findCustomerFirstPage(customerUsername, statusValue(status), limit + 1)
+                    : appointmentRepository.findCustomerPageAfter(customerUsername, statusValue(status), after.dateTime(), after.id(), limit + 1);
+            return AppointmentSlice.of(appointments.stream().map(appointmentMapper::toDomain).toList(), limit);
+        } catch (Exception e) {
+            log.error("Failed to get customer appointments page from DB. Customer: {}, Status: {}", customerUsername, status, e);
+            throw e;
+        }
+    }
 
-            List<Appointment> appointmentList = appointments.stream()
+    @Override
+    public int countByCustomerUsername(String customerUsername, AppointmentStatus status) {
+        try {
+            return appointmentRepository.countByCustomerUsername(customerUsername, statusValue(status));
+        } catch (Exception e) {
+            log.error("Failed to count customer appointments in DB. Customer: {}, Status: {}", customerUsername, status, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public AppointmentSlice findByBranchId(String branchId, LocalDate day, AppointmentStatus status, AppointmentCursor after, int limit) {
+        try {
+            List<AppointmentEntity> appointments = after == null
+                    ? appointmentRepository.findBranchDayFirstPage(branchId, day, statusValue(status), limit + 1)
+                    : appointmentRepository.findBranchDayPageAfter(branchId, day, statusValue(status), after.dateTime(), after.id(), limit + 1);
+            return AppointmentSlice.of(appointments.stream().map(appointmentMapper::toDomain).toList(), limit);
+        } catch (Exception e) {
+            log.error("Failed to get branch appointments page from DB. BranchId: {}, day: {}", branchId, day, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Appointment> findByBranchId(String branchId, LocalDate day, AppointmentStatus status, int offset, int limit) {
+        try {
+            return appointmentRepository.findBranchDayPage(branchId, day, statusValue(status), offset, limit).stream()
                     .map(appointmentMapper::toDomain)
                     .toList();
+        } catch (Exception e) {
+            log.error("Failed to get branch appointments from DB. BranchId: {}, day: {}", branchId, day, e);
+            throw e;
+        }
+    }
 
-            return AppointmentQueryResult.of(appointmentList, totalCount);
+    @Override
+    public int countByBranchId(String branchId, LocalDate day, AppointmentStatus status) {
+        try {
+            return appointmentRepository.countByBranchIdAndDay(branchId, day, statusValue(status));
         } catch (Exception e) {
-            log.error("Failed to get customer appointments from DB. Customer: {}, Status: {}", customerUsername, status, e);
+            log.error("Failed to count branch appointments in DB. BranchId: {}, day: {}", branchId, day, e);
             throw e;
         }
     }
 
+    private static String statusValue(AppointmentStatus status) {
+        return status != null ? status.name() : null;
+    }
 }
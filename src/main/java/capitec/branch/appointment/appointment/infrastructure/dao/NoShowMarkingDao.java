@@ -0,0 +1,68 @@
+package capitec.branch.appointment.appointment.infrastructure.dao;
+
+import capitec.branch.appointment.appointment.app.port.NoShowMarkingPort;
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Marks no-shows with one {@code UPDATE ... FROM} per chunk. The chunk is picked with the same conditions
+ * as {@link AppointmentRepository#getUnAttendedAppointments}, locked, and updated with the values of
+ * {@link capitec.branch.appointment.appointment.domain.Appointment#markAsNoShow}; the previous status comes
+ * back from the locked candidate row, so no appointment is loaded.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NoShowMarkingDao implements NoShowMarkingPort {
+
+    private static final String MARK_NO_SHOWS = """
+            UPDATE appointment AS a
+            SET status = 'NO_SHOW',
+                termination_reason = 'CUSTOMER_NO_SHOW',
+                terminated_at = :processingTime,
+                terminated_by = 'SYSTEM_SCHEDULER',
+                updated_at = :processingTime,
+                version = a.version + 1
+            FROM (
+                SELECT candidate.id, candidate.status
+                FROM appointment AS candidate
+                INNER JOIN slot AS s ON s.id = candidate.slot_id
+                    -- Bound the slot day so only the partitions of the lookup range are scanned
+                    AND s.day BETWEEN CAST(:appointmentDate AS DATE) - 1 AND CAST(:processingDay AS DATE)
+                WHERE candidate.status IN ('BOOKED', 'CHECKED_IN')
+                  AND (s.day + s.end_time) < :processingTime
+                  AND candidate.date_time >= CAST(:appointmentDate AS DATE)
+                  AND (CAST(:afterId AS UUID) IS NULL OR candidate.id > :afterId)
+                ORDER BY candidate.id
+                LIMIT :limit
+                FOR UPDATE OF candidate
+            ) AS unattended
+            WHERE a.id = unattended.id
+            RETURNING a.id, a.reference, a.customer_username, a.branch_id, unattended.status AS previous_status
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    @Override
+    public List<MarkedNoShow> markNoShows(LocalDate appointmentDate, LocalDateTime processingTime, UUID afterId, int limit) {
+        return jdbcClient.sql(MARK_NO_SHOWS)
+                .param("appointmentDate", appointmentDate)
+                .param("processingDay", processingTime.toLocalDate())
+                .param("processingTime", processingTime)
+                .param("afterId", afterId)
+                .param("limit", limit)
+                .query((rs, _) -> new MarkedNoShow(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("reference"),
+                        rs.getString("customer_username"),
+                        rs.getString("branch_id"),
+                        AppointmentStatus.valueOf(rs.getString("previous_status"))))
+                .list();
+    }
+}
@@ -2,6 +2,7 @@ package capitec.branch.appointment.branch.app;
 
 import capitec.branch.appointment.branch.app.port.BranchOperationHoursPort;
 import capitec.branch.appointment.branch.app.port.BranchQueryPort;
+import capitec.branch.appointment.branch.app.port.BranchSlotsRegenerationPort;
 import capitec.branch.appointment.branch.app.port.OperationHourDetails;
 import capitec.branch.appointment.branch.domain.Branch;
 import capitec.branch.appointment.branch.domain.appointmentinfo.BranchAppointmentInfo;
@@ -23,7 +24,9 @@ import java.util.Comparator;
 import java.util.List;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Use case for configuring appointment slot settings for a specific branch and day type.
@@ -55,6 +58,8 @@ import java.util.function.Supplier;
  *   </li>
  *   <li>Validates the branch is open on that day</li>
  *   <li>Updates the branch with the appointment info and persists to database</li>
+ *   <li>Regenerates already generated slots of the matching days in the next
+ *       {@code REGENERATION_HORIZON_DAYS} days; only changed slots are written</li>
  * </ol>
  *
  * <h2>Business Rules:</h2>
@@ -87,6 +92,7 @@ import java.util.function.Supplier;
  * @see BranchAppointmentInfoDTO
  * @see OperationHoursOverride
  * @see BranchAppointmentInfoService
+ * @see BranchSlotsRegenerationPort
  */
 @Slf4j
 @UseCase
@@ -95,10 +101,12 @@ import java.util.function.Supplier;
 public class AddBranchAppointmentInfoUseCase {
 
     private static final String COUNTRY = "South Africa";
+    private static final int REGENERATION_HORIZON_DAYS = 7;
     private final BranchQueryPort branchQueryPort;
     private final BranchAppointmentInfoService branchAppointmentInfoService;
     private final BranchOperationHoursPort branchOperationHoursPort;
     private final GetDateOfNextDaysQuery getDateOfNextDaysQuery;
+    private final BranchSlotsRegenerationPort branchSlotsRegenerationPort;
 
 
     public boolean execute(String branchId, @Valid BranchAppointmentInfoDTO dto) {
@@ -161,10 +169,36 @@ public class AddBranchAppointmentInfoUseCase {
 
             branch.updateAppointmentInfo(dto.day(), info,openAt, closeAt);
 
-            return branchAppointmentInfoService.addBranchAppointmentConfigInfo(dto.day(), branch);
+            boolean saved = branchAppointmentInfoService.addBranchAppointmentConfigInfo(dto.day(), branch);
+            if (saved) {
+                regenerateSlots(branchId, affectedDays(dto.day()));
+            }
+            return saved;
         });
     }
 
+    private Set<LocalDate> affectedDays(DayType dayType) {
+        LocalDate now = LocalDate.now();
+        return getDateOfNextDaysQuery.execute(now, now.plusDays(REGENERATION_HORIZON_DAYS - 1))
+                .stream()
+                .filter(day -> dayType == DayType.PUBLIC_HOLIDAY ? day.isHoliday()
+                        : !day.isHoliday() && dayType.name().equals(day.getDate().getDayOfWeek().name()))
+                .map(Day::getDate)
+                .collect(Collectors.toSet());
+    }
+
+    private void regenerateSlots(String branchId, Set<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        try {
+            branchSlotsRegenerationPort.regenerate(branchId, days);
+        } catch (Exception e) {
+            // The configuration is saved, slots catch up on the next regeneration
+            log.error("Appointment info saved but slots were not regenerated, branchId:{} days:{}", branchId, days, e);
+        }
+    }
+
     private Branch getByBranchIdOrThrow(String branchId) {
         return branchQueryPort.findByBranchId(branchId)
                 .orElseThrow(() -> {
@@ -1,6 +1,7 @@
 package capitec.branch.appointment.branch.app;
 
 import capitec.branch.appointment.branch.app.port.BranchQueryPort;
+import capitec.branch.appointment.branch.app.port.BranchSlotsRegenerationPort;
 import capitec.branch.appointment.branch.domain.Branch;
 import capitec.branch.appointment.branch.domain.operationhours.OperationHoursOverride;
 import capitec.branch.appointment.branch.domain.operationhours.OperationHoursOverrideService;
@@ -13,6 +14,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -29,6 +32,7 @@ import java.util.function.Supplier;
  *   <li>Creates an {@link OperationHoursOverride} domain object with the override details</li>
  *   <li>Updates the branch with the new operation hours override</li>
  *   <li>Persists the override to the database</li>
+ *   <li>Regenerates already generated slots of the effective date; only changed slots are written</li>
  * </ol>
  *
  * <h2>Input ({@link BranchOperationHourOverrideDTO}):</h2>
@@ -63,6 +67,7 @@ import java.util.function.Supplier;
  * @see OperationHoursOverride
  * @see BranchOperationHourOverrideDTO
  * @see OperationHoursOverrideService
+ * @see BranchSlotsRegenerationPort
  */
 @UseCase
 @Slf4j
@@ -71,6 +76,7 @@ import java.util.function.Supplier;
 public class AddBranchOperationHourOverride {
     private final BranchQueryPort branchQueryPort;
     private final OperationHoursOverrideService operationHoursOverrideService;
+    private final BranchSlotsRegenerationPort branchSlotsRegenerationPort;
 
     public boolean execute(String branchId, @Valid BranchOperationHourOverrideDTO dto) {
 
@@ -85,11 +91,24 @@ public class AddBranchOperationHourOverride {
 
             branch.updateOperationHoursOverride(override);
 
-            return operationHoursOverrideService.addBranchOperationHoursOverride(
+            boolean saved = operationHoursOverrideService.addBranchOperationHoursOverride(
                     override.effectiveDate(), branch);
+            if (saved) {
+                regenerateSlots(branchId, override.effectiveDate());
+            }
+            return saved;
         });
     }
 
+    private void regenerateSlots(String branchId, LocalDate day) {
+        try {
+            branchSlotsRegenerationPort.regenerate(branchId, Set.of(day));
+        } catch (Exception e) {
+            // The override is saved, slots catch up on the next regeneration
+            log.error("Operation hours override saved but slots were not regenerated, branchId:{} day:{}", branchId, day, e);
+        }
+    }
+
 
     private Branch getByBranchIdOrThrow(String branchId) {
         return branchQueryPort.findByBranchId(branchId)
@@ -0,0 +1,12 @@
+package capitec.branch.appointment.branch.app.port;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Port for bringing already generated slots in line with a changed branch configuration.
+ */
+public interface BranchSlotsRegenerationPort {
+
+    void regenerate(String branchId, Set<LocalDate> days);
+}
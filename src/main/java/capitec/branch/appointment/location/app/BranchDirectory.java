@@ -0,0 +1,57 @@
+package capitec.branch.appointment.location.app;
+
+import capitec.branch.appointment.exeption.BranchLocationServiceException;
+import capitec.branch.appointment.location.domain.BranchLocation;
+import capitec.branch.appointment.location.domain.BranchLocationFetcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process directory of every branch in the country, for lookups by id, code, name or area and location
+ * without scanning the branch list.
+ *
+ * <p>The directory reads the nationwide list through {@link BranchLocationFetcher#fetchByArea}, which is cached,
+ * and builds a {@link BranchIndex} from it. The index is rebuilt only when the fetcher hands out a different list,
+ * that is once per refresh of the branch locator cache, and swapped in atomically: readers keep the index they
+ * started with.</p>
+ *
+ * @see BranchIndex
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BranchDirectory {
+
+    public static final String NATIONWIDE_AREA = "South Africa";
+
+    private final BranchLocationFetcher branchLocationFetcher;
+    private final AtomicReference<BranchIndex> current = new AtomicReference<>();
+
+    /**
+     * @return the index over the current nationwide branch list
+     * @throws BranchLocationServiceException if the branch list is not cached and the branch locator is unavailable
+     */
+    public BranchIndex index() {
+        List<BranchLocation> branches = branchLocationFetcher.fetchByArea(NATIONWIDE_AREA);
+        BranchIndex index = current.get();
+        if (index != null && index.isBuiltFrom(branches)) {
+            return index;
+        }
+        BranchIndex rebuilt = BranchIndex.of(branches);
+        // A concurrent refresh may have swapped in an index of the same list already, either is correct
+        current.set(rebuilt);
+        log.info("Branch directory indexed {} branches", rebuilt.size());
+        return rebuilt;
+    }
+
+    /**
+     * @return true if the area is the whole country the directory covers
+     */
+    public static boolean isNationwide(String area) {
+        return BranchIndex.normalize(area).equals(BranchIndex.normalize(NATIONWIDE_AREA));
+    }
+}
@@ -0,0 +1,167 @@
+package capitec.branch.appointment.location.app;
+
+import capitec.branch.appointment.location.domain.BranchAddress;
+import capitec.branch.appointment.location.domain.BranchLocation;
+import capitec.branch.appointment.location.domain.Coordinates;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable lookup structures over one fetched list of branches, built once and shared by every reader.
+ *
+ * <ul>
+ *   <li><b>Hash indexes:</b> branch by {@code branchId} and by {@code branchCode}</li>
+ *   <li><b>Prefix index:</b> branches by the start of any word of their name, city, province or address</li>
+ *   <li><b>Geo index:</b> a {@link BranchSpatialIndex} grid for nearest and radius queries</li>
+ * </ul>
+ *
+ * <p>Results keep the order of the fetched list, except radius queries which are ordered by distance.</p>
+ *
+ * @see BranchDirectory
+ */
+public final class BranchIndex {
+
+    private final List<BranchLocation> source;
+    private final List<BranchLocation> branches;
+    private final Map<String, BranchLocation> byBranchId;
+    private final Map<String, BranchLocation> byBranchCode;
+    private final NavigableMap<String, int[]> byPrefix;
+    private final BranchSpatialIndex spatial;
+
+    private BranchIndex(List<BranchLocation> source) {
+        this.source = source;
+        this.branches = List.copyOf(source);
+        this.byBranchId = HashMap.newHashMap(branches.size());
+        this.byBranchCode = HashMap.newHashMap(branches.size());
+
+        Map<String, List<Integer>> prefixes = new HashMap<>();
+        for (int position = 0; position < branches.size(); position++) {
+            BranchLocation branch = branches.get(position);
+            if (branch.getBranchId() != null) {
+                byBranchId.putIfAbsent(branch.getBranchId(), branch);
+            }
+            if (branch.getBranchCode() != null) {
+                byBranchCode.putIfAbsent(branch.getBranchCode(), branch);
+            }
+            for (String key : searchKeys(branch)) {
+                List<Integer> positions = prefixes.computeIfAbsent(key, _ -> new ArrayList<>(1));
+                if (positions.isEmpty() || positions.getLast() != position) {
+                    positions.add(position);
+                }
+            }
+        }
+        TreeMap<String, int[]> prefixIndex = new TreeMap<>();
+        prefixes.forEach((key, positions) -> prefixIndex.put(key, positions.stream().mapToInt(Integer::intValue).toArray()));
+        this.byPrefix = Collections.unmodifiableNavigableMap(prefixIndex);
+
+        this.spatial = BranchSpatialIndex.of(branches);
+    }
+
+    public static BranchIndex of(List<BranchLocation> branches) {
+        return new BranchIndex(branches);
+    }
+
+    /**
+     * @return true if this index was built from exactly this list instance
+     */
+    public boolean isBuiltFrom(List<BranchLocation> branches) {
+        return source == branches;
+    }
+
+    public List<BranchLocation> all() {
+        return branches;
+    }
+
+    public int size() {
+        return branches.size();
+    }
+
+    public Optional<BranchLocation> findByBranchId(String branchId) {
+        return Optional.ofNullable(branchId == null ? null : byBranchId.get(branchId));
+    }
+
+    public Optional<BranchLocation> findByBranchCode(String branchCode) {
+        return Optional.ofNullable(branchCode == null ? null : byBranchCode.get(branchCode));
+    }
+
+    /**
+     * @return branches by code, codes that are not found are left out
+     */
+    public Map<String, BranchLocation> findByBranchCodes(Set<String> branchCodes) {
+        Map<String, BranchLocation> found = HashMap.newHashMap(branchCodes.size());
+        for (String branchCode : branchCodes) {
+            BranchLocation branch = branchCode == null ? null : byBranchCode.get(branchCode);
+            if (branch != null) {
+                found.put(branchCode, branch);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return branches where a word of the name, city, province or address starts with the search text, case-insensitive
+     */
+    public List<BranchLocation> searchByPrefix(String searchText) {
+        String prefix = normalize(searchText);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        BitSet matches = new BitSet(branches.size());
+        for (int[] positions : byPrefix.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (int position : positions) {
+                matches.set(position);
+            }
+        }
+        List<BranchLocation> found = new ArrayList<>(matches.cardinality());
+        matches.stream().forEach(position -> found.add(branches.get(position)));
+        return found;
+    }
+
+    /**
+     * @return branches within {@code radiusKm} of the location, nearest first
+     */
+    public List<BranchLocation> findWithinRadius(Coordinates location, double radiusKm) {
+        return spatial.findWithinRadius(location, radiusKm).stream()
+                .map(BranchSpatialIndex.BranchDistance::branch)
+                .toList();
+    }
+
+    public BranchSpatialIndex spatial() {
+        return spatial;
+    }
+
+    private static List<String> searchKeys(BranchLocation branch) {
+        List<String> keys = new ArrayList<>();
+        BranchAddress address = branch.getAddress();
+        for (String field : new String[]{branch.getName(), address.city(), address.province(),
+                address.addressLine1(), address.addressLine2()}) {
+            String value = normalize(field);
+            if (value.isEmpty()) {
+                continue;
+            }
+            // Every word start, so "town" finds "Cape Town CBD" and "cape town" finds it too
+            keys.add(value);
+            for (int i = value.indexOf(' '); i >= 0; i = value.indexOf(' ', i + 1)) {
+                keys.add(value.substring(i + 1));
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,268 @@
+package capitec.branch.appointment.location.app;
+
+import capitec.branch.appointment.location.domain.BranchLocation;
+import capitec.branch.appointment.location.domain.Coordinates;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Immutable grid of branches by location, for k-nearest and radius queries that only visit nearby cells.
+ *
+ * <p>Branches are bucketed in cells of {@value #CELL_DEGREES} degrees (about 11 km north-south). A query walks rings
+ * of cells outwards from the customer's cell and stops once no unvisited cell can hold a closer branch than the
+ * ones found, or one within the maximum distance.</p>
+ *
+ * <h2>Distances:</h2>
+ * <ul>
+ *   <li>Candidates are pre-filtered with the equirectangular approximation, which needs no trigonometry per branch,
+ *       while the distance to beat is short enough for it to be accurate</li>
+ *   <li>Only candidates passing it get the exact haversine distance of {@link BranchLocation#distanceFrom}</li>
+ *   <li>Each distance is computed once per query and returned with the branch</li>
+ * </ul>
+ *
+ * @see BranchIndex
+ */
+public final class BranchSpatialIndex {
+
+    static final double CELL_DEGREES = 0.1;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double CELL_RADIANS = Math.toRadians(CELL_DEGREES);
+    // The equirectangular approximation stays within this factor of haversine up to APPROXIMATION_MAX_KM
+    private static final double APPROXIMATION_TOLERANCE = 1.02;
+    private static final double APPROXIMATION_MAX_KM = 1_000;
+    private static final BranchSpatialIndex EMPTY = new BranchSpatialIndex(List.of());
+
+    private final List<BranchLocation> branches;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] cosLatitudes;
+    private final Map<Long, int[]> cells;
+    private final double minCosLatitude;
+    private final int minRow;
+    private final int maxRow;
+    private final int minColumn;
+    private final int maxColumn;
+
+    /**
+     * A branch with its exact distance from the queried location.
+     */
+    public record BranchDistance(BranchLocation branch, double distanceKm) {
+    }
+
+    private BranchSpatialIndex(Collection<BranchLocation> source) {
+        this.branches = List.copyOf(source);
+        int size = branches.size();
+        this.latitudes = new double[size];
+        this.longitudes = new double[size];
+        this.cosLatitudes = new double[size];
+
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        double minCos = 1;
+        int lowRow = Integer.MAX_VALUE;
+        int highRow = Integer.MIN_VALUE;
+        int lowColumn = Integer.MAX_VALUE;
+        int highColumn = Integer.MIN_VALUE;
+        for (int position = 0; position < size; position++) {
+            Coordinates coordinates = branches.get(position).getCoordinates();
+            latitudes[position] = Math.toRadians(coordinates.latitude());
+            longitudes[position] = Math.toRadians(coordinates.longitude());
+            cosLatitudes[position] = Math.cos(latitudes[position]);
+            minCos = Math.min(minCos, cosLatitudes[position]);
+
+            int row = row(coordinates.latitude());
+            int column = column(coordinates.longitude());
+            lowRow = Math.min(lowRow, row);
+            highRow = Math.max(highRow, row);
+            lowColumn = Math.min(lowColumn, column);
+            highColumn = Math.max(highColumn, column);
+            buckets.computeIfAbsent(cell(row, column), _ -> new ArrayList<>()).add(position);
+        }
+        this.cells = HashMap.newHashMap(buckets.size());
+        buckets.forEach((cell, positions) -> cells.put(cell, positions.stream().mapToInt(Integer::intValue).toArray()));
+        this.minCosLatitude = minCos;
+        this.minRow = lowRow;
+        this.maxRow = highRow;
+        this.minColumn = lowColumn;
+        this.maxColumn = highColumn;
+    }
+
+    public static BranchSpatialIndex of(Collection<BranchLocation> branches) {
+        return branches.isEmpty() ? EMPTY : new BranchSpatialIndex(branches);
+    }
+
+    public static BranchSpatialIndex empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return branches.isEmpty();
+    }
+
+    public int size() {
+        return branches.size();
+    }
+
+    /**
+     * @param limit most branches to return
+     * @param maxDistanceKm furthest distance to return, null for any
+     * @param filter branches to consider, others are skipped before they count towards the limit
+     * @return the nearest matching branches, nearest first
+     */
+    public List<BranchDistance> findNearest(Coordinates location, int limit, Double maxDistanceKm,
+                                            Predicate<BranchLocation> filter) {
+        if (isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        var selection = new Selection(location, limit, maxDistanceKm);
+        int queryRow = row(location.latitude());
+        int queryColumn = column(location.longitude());
+        // Lower bound of the distance to a different cell column, for the widest latitude of query and branches
+        double cosBound = Math.min(minCosLatitude, selection.queryCos);
+        int lastRing = Math.max(Math.max(Math.abs(queryRow - minRow), Math.abs(queryRow - maxRow)),
+                Math.max(Math.abs(queryColumn - minColumn), Math.abs(queryColumn - maxColumn)));
+        int firstRing = Math.max(Math.max(minRow - queryRow, queryRow - maxRow),
+                Math.max(minColumn - queryColumn, queryColumn - maxColumn));
+
+        for (int ring = Math.max(0, firstRing); ring <= lastRing; ring++) {
+            double ringDistanceKm = ring == 0 ? 0
+                    : 2 * EARTH_RADIUS_KM * cosBound * Math.sin(Math.min(Math.PI, (ring - 1) * CELL_RADIANS) / 2);
+            if (ringDistanceKm > selection.bound()) {
+                break;
+            }
+            int fromRow = Math.max(minRow, queryRow - ring);
+            int toRow = Math.min(maxRow, queryRow + ring);
+            for (int row = fromRow; row <= toRow; row++) {
+                boolean edgeRow = Math.abs(row - queryRow) == ring;
+                int fromColumn = Math.max(minColumn, queryColumn - ring);
+                int toColumn = Math.min(maxColumn, queryColumn + ring);
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int column = edgeRow ? fromColumn : queryColumn - ring; column <= toColumn; column += step) {
+                    if (column < fromColumn) {
+                        continue;
+                    }
+                    int[] positions = cells.get(cell(row, column));
+                    if (positions == null) {
+                        continue;
+                    }
+                    for (int position : positions) {
+                        BranchLocation branch = branches.get(position);
+                        if (filter.test(branch)) {
+                            selection.offer(branch, approximateKm(selection, position));
+                        }
+                    }
+                }
+            }
+        }
+        return selection.nearestFirst();
+    }
+
+    /**
+     * @return the branches within {@code radiusKm} of the location, nearest first
+     */
+    public List<BranchDistance> findWithinRadius(Coordinates location, double radiusKm) {
+        return findNearest(location, Integer.MAX_VALUE, radiusKm, _ -> true);
+    }
+
+    /**
+     * Nearest branches of a list too small to index, such as one branch locator response, with each distance
+     * computed once and a bounded selection instead of sorting the whole list.
+     */
+    public static List<BranchDistance> nearest(Collection<BranchLocation> branches, Coordinates location, int limit,
+                                               Double maxDistanceKm, Predicate<BranchLocation> filter) {
+        if (branches.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        var selection = new Selection(location, limit, maxDistanceKm);
+        for (BranchLocation branch : branches) {
+            if (filter.test(branch)) {
+                Coordinates coordinates = branch.getCoordinates();
+                double latitude = Math.toRadians(coordinates.latitude());
+                selection.offer(branch, selection.approximateKm(latitude, Math.toRadians(coordinates.longitude()),
+                        Math.cos(latitude)));
+            }
+        }
+        return selection.nearestFirst();
+    }
+
+    private double approximateKm(Selection selection, int position) {
+        return selection.approximateKm(latitudes[position], longitudes[position], cosLatitudes[position]);
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEGREES);
+    }
+
+    private static int column(double longitude) {
+        return (int) Math.floor(longitude / CELL_DEGREES);
+    }
+
+    private static long cell(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    /**
+     * Bounded max-heap of the nearest branches offered so far.
+     */
+    private static final class Selection {
+
+        private final Coordinates location;
+        private final double queryLatitude;
+        private final double queryLongitude;
+        private final double queryCos;
+        private final int limit;
+        private final double maxDistanceKm;
+        private final PriorityQueue<BranchDistance> nearest;
+
+        private Selection(Coordinates location, int limit, Double maxDistanceKm) {
+            this.location = location;
+            this.queryLatitude = Math.toRadians(location.latitude());
+            this.queryLongitude = Math.toRadians(location.longitude());
+            this.queryCos = Math.cos(queryLatitude);
+            this.limit = limit;
+            this.maxDistanceKm = maxDistanceKm == null ? Double.POSITIVE_INFINITY : maxDistanceKm;
+            this.nearest = new PriorityQueue<>(Math.min(limit, 64) + 1,
+                    Comparator.comparingDouble(BranchDistance::distanceKm).reversed());
+        }
+
+        private double approximateKm(double latitude, double longitude, double cosLatitude) {
+            double x = (longitude - queryLongitude) * (queryCos + cosLatitude) / 2;
+            double y = latitude - queryLatitude;
+            return EARTH_RADIUS_KM * Math.sqrt(x * x + y * y);
+        }
+
+        /**
+         * @return the distance a branch must beat to be selected
+         */
+        private double bound() {
+            return nearest.size() < limit ? maxDistanceKm : Math.min(maxDistanceKm, nearest.peek().distanceKm());
+        }
+
+        private void offer(BranchLocation branch, double approximateKm) {
+            double bound = bound();
+            if (bound <= APPROXIMATION_MAX_KM && approximateKm > bound * APPROXIMATION_TOLERANCE) {
+                return;
+            }
+            double distanceKm = branch.distanceFrom(location);
+            if (distanceKm > maxDistanceKm || (nearest.size() >= limit && distanceKm >= bound)) {
+                return;
+            }
+            nearest.add(new BranchDistance(branch, distanceKm));
+            if (nearest.size() > limit) {
+                nearest.poll();
+            }
+        }
+
+        private List<BranchDistance> nearestFirst() {
+            List<BranchDistance> sorted = new ArrayList<>(nearest);
+            sorted.sort(Comparator.comparingDouble(BranchDistance::distanceKm));
+            return sorted;
+        }
+    }
+}
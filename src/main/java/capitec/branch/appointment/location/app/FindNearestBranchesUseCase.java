@@ -1,5 +1,6 @@
 package capitec.branch.appointment.location.app;
 
+import capitec.branch.appointment.location.app.BranchSpatialIndex.BranchDistance;
 import capitec.branch.appointment.location.domain.BranchLocation;
 import capitec.branch.appointment.exeption.BranchLocationServiceException;
 import capitec.branch.appointment.location.domain.BranchLocationFetcher;
@@ -11,9 +12,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.server.ResponseStatusException;
-import java.util.Comparator;
 import java.util.List;
 
+/**
+ * Use case to find the branches nearest to a customer's location.
+ *
+ * <p>The branch locator response is ranked with a bounded nearest selection, each distance computed once. When the
+ * branch locator is unavailable, the nearest cached branches within {@value #NEARBY_RADIUS_KM} km are served from the
+ * {@link BranchSpatialIndex} of {@link GetNearestCachedBranch}.</p>
+ */
 @Slf4j
 @UseCase
 @Validated
@@ -31,11 +38,11 @@ public class FindNearestBranchesUseCase {
         Coordinates customerLocation = new Coordinates(query.latitude(), query.longitude());
 
         try {
-            List<BranchLocation> nearestBranches = findNearestBranches(customerLocation, query);
+            List<BranchDistance> nearestBranches = findNearestBranches(customerLocation, query);
 
             log.info("Found {} nearby branches", nearestBranches.size());
 
-            return mapToDto(nearestBranches, customerLocation, false);
+            return mapToDto(nearestBranches, false);
 
         } catch (BranchLocationServiceException e) {
             log.warn("Branch location service unavailable, attempting cache fallback: {}", e.getMessage());
@@ -43,50 +50,32 @@ public class FindNearestBranchesUseCase {
         }
     }
 
-    private List<BranchLocation> findNearestBranches(Coordinates customerLocation, FindNearestBranchesQuery query) {
+    private List<BranchDistance> findNearestBranches(Coordinates customerLocation, FindNearestBranchesQuery query) {
         List<BranchLocation> branches = branchLocationFetcher.fetchByCoordinates(customerLocation);
 
-        var stream = branches.stream()
-                .filter(BranchLocation::isAvailableForBooking)
-                .sorted(Comparator.comparingDouble(branch -> branch.distanceFrom(customerLocation)));
-
-        if (query.maxDistanceKm() != null) {
-            stream = stream.filter(branch -> branch.distanceFrom(customerLocation) <= query.maxDistanceKm());
-        }
-
-        return stream.limit(query.limit()).toList();
+        return BranchSpatialIndex.nearest(branches, customerLocation, query.limit(), query.maxDistanceKm(),
+                BranchLocation::isAvailableForBooking);
     }
 
     private List<NearbyBranchDTO> handleFallback(Coordinates customerLocation,FindNearestBranchesQuery query) {
 
-        List<BranchLocation> nearByBranches = getNearestCachedBranch.findNearByBranches(customerLocation, NEARBY_RADIUS_KM);
+        BranchSpatialIndex cachedBranches = getNearestCachedBranch.cachedBranchIndex();
+        double radiusKm = query.maxDistanceKm() != null ? Math.min(NEARBY_RADIUS_KM, query.maxDistanceKm()) : NEARBY_RADIUS_KM;
+        List<BranchDistance> branches = cachedBranches.findNearest(customerLocation, query.limit(), radiusKm,
+                BranchLocation::isAvailableForBooking);
 
-        if (nearByBranches.isEmpty()) {
+        if (branches.isEmpty() && cachedBranches.findWithinRadius(customerLocation, NEARBY_RADIUS_KM).isEmpty()) {
             String exactCacheKey = customerLocation.latitude() + "_" + customerLocation.longitude();
 
             log.error("No cached data available for coordinates: {} or within {} km radius", exactCacheKey, NEARBY_RADIUS_KM);
             throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Branch locator service is temporarily unavailable. Please try again later.");
         }
-        List<BranchLocation> branches = filterAndLimit(nearByBranches, customerLocation, query);
-        return mapToDto(branches,customerLocation, true);
-    }
-
-
-    private List<BranchLocation> filterAndLimit(List<BranchLocation> branches, Coordinates customerLocation, FindNearestBranchesQuery query) {
-        var stream = branches.stream()
-                .filter(BranchLocation::isAvailableForBooking)
-                .sorted(Comparator.comparingDouble(branch -> branch.distanceFrom(customerLocation)));
-
-        if (query.maxDistanceKm() != null) {
-            stream = stream.filter(branch -> branch.distanceFrom(customerLocation) <= query.maxDistanceKm());
-        }
-
-        return stream.limit(query.limit()).toList();
+        return mapToDto(branches, true);
     }
 
-    private List<NearbyBranchDTO> mapToDto(List<BranchLocation> branches, Coordinates customerLocation, boolean fromNearbyCache) {
+    private List<NearbyBranchDTO> mapToDto(List<BranchDistance> branches, boolean fromNearbyCache) {
         return branches.stream()
-                .map(branch -> NearbyBranchDTO.from(branch, branch.distanceFrom(customerLocation), fromNearbyCache))
+                .map(nearby -> NearbyBranchDTO.from(nearby.branch(), nearby.distanceKm(), fromNearbyCache))
                 .toList();
     }
 
@@ -12,10 +12,17 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Use case to search branches by area text input.
  * Searches across city, province, suburb, address, postal code,and branch name.
+ *
+ * <p>Searches are answered from the {@link BranchDirectory} prefix index (name, city, province and address);
+ * text the directory does not match, such as a suburb or postal code, goes to the branch locator search.
+ * Lookups of single branches by id use the directory's hash index.</p>
  */
 @Slf4j
 @UseCase
@@ -24,19 +31,48 @@ import java.util.List;
 public class SearchBranchesByAreaUseCase {
 
     private final BranchLocationFetcher branchLocationFetcher;
+    private final BranchDirectory branchDirectory;
 
     public List<NearbyBranchDTO> execute(@Valid SearchBranchesByAreaQuery query) {
         log.info("Searching branches by area: {}", query.searchText());
 
-        try {
+        return withErrorMapping(query.searchText(), () -> {
             List<BranchLocation> branches = searchByArea(query.searchText());
 
             log.info("Found {} branches matching '{}'", branches.size(), query.searchText());
 
             return mapToDto(branches);
+        });
+    }
+
+    /**
+     * Finds a branch open for booking by its branch id.
+     */
+    public Optional<NearbyBranchDTO> findByBranchId(String branchId) {
+        return withErrorMapping(branchId, () -> branchDirectory.index().findByBranchId(branchId)
+                .filter(BranchLocation::isAvailableForBooking)
+                .map(branch -> NearbyBranchDTO.from(branch, null)));
+    }
+
+    /**
+     * Finds the branches open for booking among the branch ids, ids that are not found are left out.
+     */
+    public List<NearbyBranchDTO> findByBranchIds(Set<String> branchIds) {
+        return withErrorMapping(branchIds, () -> {
+            BranchIndex index = branchDirectory.index();
+            return mapToDto(branchIds.stream()
+                    .map(index::findByBranchId)
+                    .flatMap(Optional::stream)
+                    .filter(BranchLocation::isAvailableForBooking)
+                    .toList());
+        });
+    }
 
+    private <T> T withErrorMapping(Object search, Supplier<T> supplier) {
+        try {
+            return supplier.get();
         } catch (BranchLocationServiceException e) {
-            log.error("No cached data available for area: {}", query);
+            log.error("No cached data available for area: {}", search);
             throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Branch locator service is temporarily unavailable. Please try again later.");
         }
         catch (Exception e) {
@@ -46,15 +82,31 @@ public class SearchBranchesByAreaUseCase {
     }
 
     private List<BranchLocation> searchByArea(String searchText) {
-        return branchLocationFetcher.fetchByArea(searchText).stream()
+        List<BranchLocation> branches = searchDirectory(searchText);
+        if (branches.isEmpty()) {
+            branches = branchLocationFetcher.fetchByArea(searchText);
+        }
+        return branches.stream()
                 .filter(BranchLocation::isAvailableForBooking)
                 .toList();
     }
 
+    private List<BranchLocation> searchDirectory(String searchText) {
+        try {
+            BranchIndex index = branchDirectory.index();
+            return BranchDirectory.isNationwide(searchText) ? index.all() : index.searchByPrefix(searchText);
+        } catch (BranchLocationServiceException e) {
+            if (BranchDirectory.isNationwide(searchText)) {
+                throw e;
+            }
+            log.warn("Branch directory unavailable, searching branch locator for '{}': {}", searchText, e.getMessage());
+            return List.of();
+        }
+    }
+
     private List<NearbyBranchDTO> mapToDto(List<BranchLocation> branches) {
         return branches.stream()
                 .map(branch -> NearbyBranchDTO.from(branch, null))
                 .toList();
     }
 }
-
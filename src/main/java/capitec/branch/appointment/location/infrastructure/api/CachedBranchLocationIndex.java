@@ -0,0 +1,81 @@
+package capitec.branch.appointment.location.infrastructure.api;
+
+import capitec.branch.appointment.location.app.BranchSpatialIndex;
+import capitec.branch.appointment.location.domain.BranchLocation;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spatial index over every branch held in the branch locator caches, for the nearby fallback when the API is down.
+ *
+ * <p>Entries are registered by {@link CapitecBranchLocationFetcher} when a fetch or refresh is cached and dropped by the
+ * caches' removal listener on expiry, eviction, replacement or clear, so the index holds exactly what the caches hold.
+ * The grid is rebuilt lazily on the first query after a change: a fallback query costs the cells around the customer,
+ * not a walk over every cached coordinate key.</p>
+ *
+ * @see BranchSpatialIndex
+ */
+@Slf4j
+@Component
+public class CachedBranchLocationIndex {
+
+    private final Map<CacheEntry, List<BranchLocation>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(0, BranchSpatialIndex.empty());
+
+    void cached(String cacheName, Object key, List<BranchLocation> branches) {
+        if (branches == null || branches.isEmpty()) {
+            return;
+        }
+        entries.put(new CacheEntry(cacheName, key), branches);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Listener for the cache named {@code cacheName}, to run on the thread removing the entry.
+     */
+    public RemovalListener<Object, Object> removalListener(String cacheName) {
+        return (key, value, cause) -> {
+            if (key == null || value == null) {
+                return;
+            }
+            // Only that exact list: a replacement, stored or refreshed, was registered before the cache held it,
+            // while a refresh the cache discarded is removed here
+            boolean[] removed = new boolean[1];
+            entries.computeIfPresent(new CacheEntry(cacheName, key), (_, current) -> {
+                removed[0] = current == value;
+                return removed[0] ? null : current;
+            });
+            if (removed[0]) {
+                version.incrementAndGet();
+            }
+        };
+    }
+
+    public BranchSpatialIndex index() {
+        Snapshot current = snapshot;
+        long latest = version.get();
+        if (current.version() == latest) {
+            return current.index();
+        }
+        Map<String, BranchLocation> byBranchCode = new LinkedHashMap<>();
+        entries.values().forEach(branches -> branches.forEach(branch -> byBranchCode.putIfAbsent(branch.getBranchCode(), branch)));
+        Snapshot rebuilt = new Snapshot(latest, BranchSpatialIndex.of(byBranchCode.values()));
+        snapshot = rebuilt;
+        log.debug("Indexed {} cached branches from {} cache entries", rebuilt.index().size(), entries.size());
+        return rebuilt.index();
+    }
+
+    private record CacheEntry(String cacheName, Object key) {
+    }
+
+    private record Snapshot(long version, BranchSpatialIndex index) {
+    }
+}
@@ -3,6 +3,7 @@ package capitec.branch.appointment.location.infrastructure.api;
 import capitec.branch.appointment.sharekernel.day.app.GetDateOfNextDaysQuery;
 import capitec.branch.appointment.sharekernel.day.domain.Day;
 import capitec.branch.appointment.exeption.BranchLocationServiceException;
+import capitec.branch.appointment.location.app.BranchSpatialIndex;
 import capitec.branch.appointment.location.app.GetNearestCachedBranch;
 import capitec.branch.appointment.location.domain.BranchLocationFetcher;
 import capitec.branch.appointment.location.domain.*;
@@ -10,6 +11,8 @@ import com.github.benmanes.caffeine.cache.Cache;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,10 +26,10 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
-import  java.util.Map;
 import java.util.Collections;
-import  java.util.Collection;
+import java.util.Map;
 import  java.util.Objects;
 import  java.util.Set;
 import java.util.function.Supplier;
@@ -34,7 +37,8 @@ import java.util.function.Supplier;
 
 /**
  * Adapter to fetch branch locations from Capitec Branch Locator API.
- * Results are cached for 24 hours to reduce API calls.
+ * Results are cached to reduce API calls, coordinates searches per geohash cell, and refreshed ahead of expiry
+ * (see BranchLocationCacheConfig).
  * Uses Circuit Breaker and Retry with exponential backoff for resilience.
  * Returns actual branches only (filters out ATMs).
  */
@@ -51,30 +55,67 @@ public class CapitecBranchLocationFetcher implements BranchLocationFetcher, GetN
     private final String branchApiUrl;
     private final CircuitBreaker circuitBreaker;
     private final Retry retry;
+    private final CachedBranchLocationIndex cachedBranchLocationIndex;
     private final CacheManager cacheManager;
+    private final int geohashPrecision;
+    private final Counter cellHits;
+    private final Counter neighbourHits;
+    private final Counter misses;
 
     public CapitecBranchLocationFetcher(
             RestClient.Builder restClientBuilder,
             @Value("${capitec.branch-locator-api.url}") String branchApiUrl,
             CircuitBreaker branchLocatorCircuitBreaker,
-            Retry branchLocatorRetry, @Qualifier(CACHE_MANAGER) CacheManager cacheManager,
+            Retry branchLocatorRetry, CachedBranchLocationIndex cachedBranchLocationIndex,
+            @Qualifier(CACHE_MANAGER) CacheManager cacheManager,
+            @Value("${capitec.branch-locator-api.cache.geohash-precision:6}") int geohashPrecision,
+            MeterRegistry meterRegistry,
             GetDateOfNextDaysQuery getDateOfNextDaysQuery ) {
+        Geohash.checkPrecision(geohashPrecision);
         this.restClient = restClientBuilder.build();
         this.branchApiUrl = branchApiUrl;
         this.circuitBreaker = branchLocatorCircuitBreaker;
         this.retry = branchLocatorRetry;
+        this.cachedBranchLocationIndex = cachedBranchLocationIndex;
         this.cacheManager = cacheManager;
+        this.geohashPrecision = geohashPrecision;
         this.getDateOfNextDaysQuery = getDateOfNextDaysQuery;
+        this.cellHits = coordinatesLookups("cell", meterRegistry);
+        this.neighbourHits = coordinatesLookups("neighbour", meterRegistry);
+        this.misses = coordinatesLookups("miss", meterRegistry);
 
         // Log circuit breaker state changes
         circuitBreaker.getEventPublisher()
                 .onStateTransition(event -> log.warn("Circuit breaker state changed: {}", event.getStateTransition()));
     }
 
+    /**
+     * Branches near the coordinates, nearest first.
+     *
+     * <p>Results are cached per geohash cell of {@code capitec.branch-locator-api.cache.geohash-precision}, so customers
+     * in the same cell share one branch locator call. A cell not cached yet reuses the results of its cached
+     * neighbouring cells before calling the API. Either way the branches are ranked by true distance from these
+     * coordinates. Lookups are counted in {@code branch.locator.coordinates.lookups} by result (cell, neighbour, miss),
+     * next to the cache's own hit and miss statistics.</p>
+     */
     @Override
-    @Cacheable(value = BRANCH_LOCATIONS_BY_COORDINATES_CACHE,cacheManager = CACHE_MANAGER, key = "#coordinates.latitude() + '_' + #coordinates.longitude()"
-    ,unless = "#result == null || #result.isEmpty()" )
     public List<BranchLocation> fetchByCoordinates(Coordinates coordinates) {
+        String cell = Geohash.encode(coordinates.latitude(), coordinates.longitude(), geohashPrecision);
+        Cache<Object, Object> cache = coordinatesCache();
+
+        List<BranchLocation> cached = branchesOf(cache.getIfPresent(cell));
+        if (cached != null) {
+            cellHits.increment();
+            return rankByDistance(cached, coordinates);
+        }
+        List<BranchLocation> neighbouring = neighbouringBranches(cache, cell);
+        if (!neighbouring.isEmpty()) {
+            neighbourHits.increment();
+            log.debug("Reusing branches of cells neighbouring {} for lat={}, lon={}", cell, coordinates.latitude(), coordinates.longitude());
+            return rankByDistance(neighbouring, coordinates);
+        }
+        misses.increment();
+
         log.info("Fetching branches by coordinates: lat={}, lon={}", coordinates.latitude(), coordinates.longitude());
 
         var request = new CapitecBranchApiRequest.CoordinatesSearchRequest(
@@ -82,7 +123,12 @@ public class CapitecBranchLocationFetcher implements BranchLocationFetcher, GetN
                 coordinates.longitude()
         );
 
-        return executeWithResilience(() -> fetchBranches(request));
+        List<BranchLocation> branches = executeWithResilience(() -> fetchBranches(request));
+        if (!branches.isEmpty()) {
+            cachedBranchLocationIndex.cached(BRANCH_LOCATIONS_BY_COORDINATES_CACHE, cell, branches);
+            cache.put(cell, branches);
+        }
+        return rankByDistance(branches, coordinates);
     }
 
     @Override
@@ -93,10 +139,69 @@ public class CapitecBranchLocationFetcher implements BranchLocationFetcher, GetN
 
         var request = new CapitecBranchApiRequest.AreaSearchRequest(searchText);
 
-        return executeWithResilience(() -> fetchBranches(request));
+        List<BranchLocation> branches = executeWithResilience(() -> fetchBranches(request));
+        cachedBranchLocationIndex.cached(BRANCH_LOCATIONS_BY_AREA_CACHE, searchText.toLowerCase(), branches);
+        return branches;
+    }
+
+    /**
+     * Fetches the branches of a cache entry again, for the caches' refresh-ahead loader.
+     * A coordinates entry is refetched from the centre of its geohash cell.
+     *
+     * @throws BranchLocationServiceException if the branch locator API is unavailable
+     */
+    public List<BranchLocation> refresh(String cacheName, Object key) {
+        CapitecBranchApiRequest request = switch (cacheName) {
+            case BRANCH_LOCATIONS_BY_COORDINATES_CACHE -> {
+                Coordinates centre = Geohash.decode((String) key);
+                yield new CapitecBranchApiRequest.CoordinatesSearchRequest(centre.latitude(), centre.longitude());
+            }
+            case BRANCH_LOCATIONS_BY_AREA_CACHE -> new CapitecBranchApiRequest.AreaSearchRequest((String) key);
+            default -> throw new IllegalArgumentException("Not a branch locator cache: " + cacheName);
+        };
+        log.info("Refreshing cached branches of {} {}", cacheName, key);
+
+        List<BranchLocation> branches = executeWithResilience(() -> fetchBranches(request));
+        cachedBranchLocationIndex.cached(cacheName, key, branches);
+        return branches;
+    }
+
+    private Cache<Object, Object> coordinatesCache() {
+        var springCache = (CaffeineCache) cacheManager.getCache(BRANCH_LOCATIONS_BY_COORDINATES_CACHE);
+        return Objects.requireNonNull(springCache, BRANCH_LOCATIONS_BY_COORDINATES_CACHE).getNativeCache();
+    }
+
+    /**
+     * Union of the cached results of the cells around {@code cell}, read without counting as cache lookups.
+     */
+    private List<BranchLocation> neighbouringBranches(Cache<Object, Object> cache, String cell) {
+        Map<String, BranchLocation> byBranchCode = new LinkedHashMap<>();
+        for (String neighbour : Geohash.neighbours(cell)) {
+            List<BranchLocation> branches = branchesOf(cache.asMap().get(neighbour));
+            if (branches != null) {
+                branches.forEach(branch -> byBranchCode.putIfAbsent(branch.getBranchCode(), branch));
+            }
+        }
+        return List.copyOf(byBranchCode.values());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<BranchLocation> branchesOf(Object cached) {
+        return (List<BranchLocation>) cached;
     }
 
+    private static List<BranchLocation> rankByDistance(List<BranchLocation> branches, Coordinates coordinates) {
+        return BranchSpatialIndex.nearest(branches, coordinates, branches.size(), null, _ -> true).stream()
+                .map(BranchSpatialIndex.BranchDistance::branch)
+                .toList();
+    }
 
+    private static Counter coordinatesLookups(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("branch.locator.coordinates.lookups")
+                .description("Branch lookups by coordinates, by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
     /**
      * Executes the supplier with retry and circuit breaker protection.
@@ -160,53 +265,8 @@ public class CapitecBranchLocationFetcher implements BranchLocationFetcher, GetN
 
 
     @Override
-    public  List<BranchLocation> findNearByBranches(Coordinates customerLocation, double nearbyRadiusKM){
-        // Try finding nearby cached coordinates within radius
-        return findNearbyCachedCoordinates(customerLocation,nearbyRadiusKM);
-
-
+    public BranchSpatialIndex cachedBranchIndex() {
+        return cachedBranchLocationIndex.index();
     }
-    private List<BranchLocation> findNearbyCachedCoordinates(Coordinates customerLocation,double nearbyRadiusKM) {
-        org.springframework.cache.Cache springCache = cacheManager.getCache(BRANCH_LOCATIONS_BY_COORDINATES_CACHE);
-        if (springCache == null) {
-            return Collections.emptyList();
-        }
-
-        // Get underlying Caffeine cache to access all keys
-        Cache<Object, Object> caffeineCache = ((CaffeineCache) springCache).getNativeCache();
-        Map<Object, Object> cacheMap = caffeineCache.asMap();
-
-        return cacheMap.entrySet().stream()
-                .map(entry -> {
-                    String cacheKey = (String) entry.getKey();
-                    Coordinates cachedCoordinates = parseCacheKey(cacheKey);
-                    if (cachedCoordinates == null) {
-                        return null;
-                    }
-                    //double distance = customerLocation.distanceTo(cachedCoordinates);
-
-                    return (List<BranchLocation>) entry.getValue();
-
-                })
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .filter(nearby ->nearby.distanceFrom(customerLocation) <= nearbyRadiusKM)
-                .toList();
-    }
-
-    private Coordinates parseCacheKey(String cacheKey) {
-        try {
-            String[] parts = cacheKey.split("_");
-            if (parts.length != 2) {
-                return null;
-            }
-            return new Coordinates(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]));
-        } catch (Exception e) {
-            log.debug("Failed to parse cache key: {}", cacheKey);
-            return null;
-        }
-    }
-
-
 }
 
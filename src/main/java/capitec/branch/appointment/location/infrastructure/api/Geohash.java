@@ -0,0 +1,138 @@
+package capitec.branch.appointment.location.infrastructure.api;
+
+import capitec.branch.appointment.location.domain.Coordinates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geohash cells of coordinates, used as cache keys so nearby customers share one branch locator result.
+ *
+ * <p>Precision is the number of base32 characters: 5 is a cell of about 4.9 x 4.9 km, 6 about 1.2 x 0.6 km and
+ * 7 about 153 x 153 m.</p>
+ */
+final class Geohash {
+
+    static final int MAX_PRECISION = 12;
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            DECODE[BASE32[i]] = i;
+        }
+    }
+
+    private Geohash() {
+    }
+
+    static String encode(double latitude, double longitude, int precision) {
+        checkPrecision(precision);
+        double minLatitude = -90;
+        double maxLatitude = 90;
+        double minLongitude = -180;
+        double maxLongitude = 180;
+        char[] hash = new char[precision];
+        boolean longitudeBit = true;
+        for (int character = 0; character < precision; character++) {
+            int value = 0;
+            for (int bit = 0; bit < 5; bit++) {
+                if (longitudeBit) {
+                    double middle = (minLongitude + maxLongitude) / 2;
+                    if (longitude >= middle) {
+                        value = value << 1 | 1;
+                        minLongitude = middle;
+                    } else {
+                        value = value << 1;
+                        maxLongitude = middle;
+                    }
+                } else {
+                    double middle = (minLatitude + maxLatitude) / 2;
+                    if (latitude >= middle) {
+                        value = value << 1 | 1;
+                        minLatitude = middle;
+                    } else {
+                        value = value << 1;
+                        maxLatitude = middle;
+                    }
+                }
+                longitudeBit = !longitudeBit;
+            }
+            hash[character] = BASE32[value];
+        }
+        return new String(hash);
+    }
+
+    /**
+     * @return the centre of the cell
+     */
+    static Coordinates decode(String hash) {
+        double[] bounds = bounds(hash);
+        return new Coordinates((bounds[0] + bounds[1]) / 2, (bounds[2] + bounds[3]) / 2);
+    }
+
+    /**
+     * @return the up to 8 cells around this one, none past the poles
+     */
+    static List<String> neighbours(String hash) {
+        double[] bounds = bounds(hash);
+        double height = bounds[1] - bounds[0];
+        double width = bounds[3] - bounds[2];
+        double latitude = (bounds[0] + bounds[1]) / 2;
+        double longitude = (bounds[2] + bounds[3]) / 2;
+
+        List<String> neighbours = new ArrayList<>(8);
+        for (int row = -1; row <= 1; row++) {
+            double neighbourLatitude = latitude + row * height;
+            if (neighbourLatitude < -90 || neighbourLatitude > 90) {
+                continue;
+            }
+            for (int column = -1; column <= 1; column++) {
+                if (row == 0 && column == 0) {
+                    continue;
+                }
+                double neighbourLongitude = longitude + column * width;
+                // Wrap across the antimeridian
+                if (neighbourLongitude >= 180) {
+                    neighbourLongitude -= 360;
+                } else if (neighbourLongitude < -180) {
+                    neighbourLongitude += 360;
+                }
+                neighbours.add(encode(neighbourLatitude, neighbourLongitude, hash.length()));
+            }
+        }
+        return neighbours;
+    }
+
+    /**
+     * @return min latitude, max latitude, min longitude, max longitude of the cell
+     */
+    private static double[] bounds(String hash) {
+        checkPrecision(hash.length());
+        double[] bounds = {-90, 90, -180, 180};
+        boolean longitudeBit = true;
+        for (int i = 0; i < hash.length(); i++) {
+            char character = hash.charAt(i);
+            int value = character < DECODE.length ? DECODE[character] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + hash);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = (value >> bit & 1) == 1;
+                int index = longitudeBit ? 2 : 0;
+                double middle = (bounds[index] + bounds[index + 1]) / 2;
+                bounds[set ? index : index + 1] = middle;
+                longitudeBit = !longitudeBit;
+            }
+        }
+        return bounds;
+    }
+
+    static void checkPrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION + ": " + precision);
+        }
+    }
+}
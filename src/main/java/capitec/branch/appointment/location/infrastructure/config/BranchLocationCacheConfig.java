@@ -1,33 +1,95 @@
 package capitec.branch.appointment.location.infrastructure.config;
 
+import capitec.branch.appointment.location.domain.BranchLocation;
+import capitec.branch.appointment.location.infrastructure.api.CachedBranchLocationIndex;
 import capitec.branch.appointment.location.infrastructure.api.CapitecBranchLocationFetcher;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static capitec.branch.appointment.location.infrastructure.api.CapitecBranchLocationFetcher.BRANCH_LOCATIONS_BY_AREA_CACHE;
 import static capitec.branch.appointment.location.infrastructure.api.CapitecBranchLocationFetcher.BRANCH_LOCATIONS_BY_COORDINATES_CACHE;
 
+/**
+ * Branch locator caches, refreshed ahead of their readers.
+ *
+ * <p>An entry read after {@code capitec.branch-locator-api.cache.refresh-after} is still served as is while it is
+ * reloaded from the branch locator API on a virtual thread, so readers never wait on a refresh. A failed refresh keeps
+ * the last known good entry until {@code capitec.branch-locator-api.cache.max-stale} after it was loaded, which is what
+ * serves customers while the API or its circuit breaker is down.</p>
+ */
 @Configuration
 @EnableCaching
 public class BranchLocationCacheConfig {
 
+    private final ExecutorService refreshExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("branch-locator-refresh-", 0).factory());
+
     @Bean(CapitecBranchLocationFetcher.CACHE_MANAGER)
-    public CacheManager branchLocationCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                BRANCH_LOCATIONS_BY_COORDINATES_CACHE,
-                BRANCH_LOCATIONS_BY_AREA_CACHE
-        );
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(24, TimeUnit.HOURS)
-                .maximumSize(1000)
-                .recordStats());
+    public CacheManager branchLocationCacheManager(
+            CachedBranchLocationIndex cachedBranchLocationIndex,
+            // Lazy: the fetcher reads these caches, they only call it back on refresh
+            @Lazy CapitecBranchLocationFetcher branchLocationFetcher,
+            @Value("${capitec.branch-locator-api.cache.refresh-after:24h}") Duration refreshAfter,
+            @Value("${capitec.branch-locator-api.cache.max-stale:7d}") Duration maxStale) {
+        if (maxStale.compareTo(refreshAfter) <= 0) {
+            throw new IllegalArgumentException("Branch locator cache max-stale " + maxStale
+                    + " must be longer than refresh-after " + refreshAfter);
+        }
+        // No common caches: both are registered with the removal listener keeping the cached branch index in step
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        for (String cacheName : List.of(BRANCH_LOCATIONS_BY_COORDINATES_CACHE, BRANCH_LOCATIONS_BY_AREA_CACHE)) {
+            cacheManager.registerCustomCache(cacheName, Caffeine.newBuilder()
+                    .refreshAfterWrite(refreshAfter)
+                    .expireAfterWrite(maxStale)
+                    .maximumSize(1000)
+                    .recordStats()
+                    .executor(Runnable::run)
+                    .removalListener(cachedBranchLocationIndex.removalListener(cacheName))
+                    .build(new RefreshAheadLoader(cacheName, branchLocationFetcher, refreshExecutor)));
+        }
         return cacheManager;
     }
-}
 
+    @PreDestroy
+    void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Loads nothing: misses go through the fetcher, which leaves empty results uncached. Reloads run on the refresh
+     * executor rather than the cache's, which runs on the reading thread.
+     */
+    private record RefreshAheadLoader(String cacheName, CapitecBranchLocationFetcher branchLocationFetcher,
+                                      Executor refreshExecutor) implements CacheLoader<Object, Object> {
+
+        @Override
+        public Object load(Object key) {
+            return null;
+        }
+
+        @Override
+        public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor executor) {
+            return CompletableFuture.supplyAsync(() -> {
+                List<BranchLocation> branches = branchLocationFetcher.refresh(cacheName, key);
+                // An empty answer does not replace the branches known so far
+                return branches.isEmpty() ? oldValue : branches;
+            }, refreshExecutor);
+        }
+    }
+}
@@ -44,6 +44,9 @@ public class SendAppointmentEmailUseCase {
             "CANCEL_BY_STAFF", "Appointment Cancelled by Branch"
     );
 
+    // Status changes customers are not emailed about
+    private static final Set<String> SILENT_EVENT_TYPES = Set.of("NO_SHOW");
+
     private final BranchLookup branchLookup;
     private final CustomerLookup customerLookup;
     private final NotificationService notificationService;
@@ -87,10 +90,15 @@ public class SendAppointmentEmailUseCase {
     public void onAppointmentStatusUpdates(@Valid AppointmentStatusUpdatesEmail event) throws MailSenderException {
         log.info("Sending appointment status update email. eventType: {}, traceId: {}", event.eventType(), event.traceId());
 
+        String eventType = resolveStatusEventType(event);
+        if (SILENT_EVENT_TYPES.contains(eventType)) {
+            log.info("No email for appointment status update. eventType: {}, traceId: {}", eventType, event.traceId());
+            return;
+        }
+
         CustomerDetails user = customerLookup.findByUsername(event.customerUsername(),event.traceId());
         BranchDetails branch = getBranchDetails(event.branchId());
 
-        String eventType = resolveStatusEventType(event);
         validateEventType(eventType, event.traceId());
 
         String date = event.createdAt().toLocalDate().toString();
@@ -1,5 +1,6 @@
 package capitec.branch.appointment.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -14,6 +15,10 @@ import org.springframework.security.config.annotation.web.configurers.AuthorizeH
 import org.springframework.security.config.annotation.web.configurers.CorsConfigurer;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 
 import java.time.Duration;
@@ -26,6 +31,8 @@ import java.util.Set;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final String SLOT_AVAILABILITY_STREAM = "/api/v1/slots/branches/*/daily/stream";
+
     @Value("${allowed_origins.urls}")
     private Set<String> allowedOrigins;
     @Value("${allowed_origins.cache_period}")
@@ -79,6 +86,8 @@ public class SecurityConfig {
         return exchange -> {
 
             exchange
+                    // The slot availability stream completes on an async dispatch of an already authorized request
+                    .requestMatchers(slotAvailabilityStreamDispatch()).permitAll()
                     .requestMatchers("/actuator/**").permitAll()
                     .requestMatchers("/api/v1/users/auth/**").permitAll()
                     .requestMatchers("/api/v1/auth/login/**").permitAll()
@@ -87,6 +96,12 @@ public class SecurityConfig {
         };
     }
 
+    private static RequestMatcher slotAvailabilityStreamDispatch() {
+        return new AndRequestMatcher(
+                new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                PathPatternRequestMatcher.withDefaults().matcher(SLOT_AVAILABILITY_STREAM));
+    }
+
 
 
 }
@@ -0,0 +1,21 @@
+package capitec.branch.appointment.sharekernel;
+
+/**
+ * Pagination metadata for keyset paginated responses.
+ *
+ * @param nextCursor opaque cursor of the next page, null on the last page
+ * @param hasNext    whether a next page exists
+ * @param limit      number of items per page
+ * @param totalCount total number of items across all pages, null unless requested
+ */
+public record CursorPagination(
+        String nextCursor,
+        boolean hasNext,
+        int limit,
+        Integer totalCount
+) {
+
+    public static CursorPagination of(String nextCursor, int limit, Integer totalCount) {
+        return new CursorPagination(nextCursor, nextCursor != null, limit, totalCount);
+    }
+}
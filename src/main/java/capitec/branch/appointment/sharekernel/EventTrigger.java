@@ -2,5 +2,6 @@ package capitec.branch.appointment.sharekernel;
 
 public enum EventTrigger {
     CUSTOMER,
-    STAFF
+    STAFF,
+    SYSTEM
 }
@@ -0,0 +1,180 @@
+package capitec.branch.appointment.sharekernel.idempotency.app;
+
+import capitec.branch.appointment.sharekernel.idempotency.domain.IdempotencyRecord;
+import capitec.branch.appointment.sharekernel.idempotency.domain.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write request at most once per {@code Idempotency-Key}.
+ *
+ * <p>Mobile clients retry on network flaps. Without a key a retry runs the use case again: it takes slot
+ * locks and writes, and a booking that already succeeded ends in a 409. With a key the first request
+ * claims it and stores its response, a retry with the same key and request gets the stored response back
+ * without running the use case.</p>
+ *
+ * <h2>Per Key:</h2>
+ * <ul>
+ *   <li><b>Unused/expired:</b> the request runs; a successful response is stored for {@code idempotency.ttl},
+ *       a failed one frees the key so the retry runs again</li>
+ *   <li><b>Completed:</b> the stored response is replayed with an {@code Idempotent-Replayed} header</li>
+ *   <li><b>In progress:</b> 409, unless the request holding it ran past {@code idempotency.lock}, then it is taken over</li>
+ *   <li><b>Used with a different request:</b> 422</li>
+ * </ul>
+ *
+ * <p>Keys are chosen by clients, so a key is only claimed for the authenticated caller: two customers sending
+ * the same key neither get each other's response nor block each other.</p>
+ *
+ * <p>Requests without a key run as before.</p>
+ *
+ * @see IdempotencyService
+ */
+@Slf4j
+@Component
+public class IdempotentRequestHandler {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String ANONYMOUS_CALLER = "anonymous";
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lock;
+
+    public IdempotentRequestHandler(IdempotencyService idempotencyService,
+                                    ObjectMapper objectMapper,
+                                    @Value("${idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${idempotency.lock:30s}") Duration lock) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lock = lock;
+    }
+
+    /**
+     * @param operation    the operation, a key is only replayed for the same operation and caller
+     * @param key          the {@code Idempotency-Key} header, null to run without idempotency
+     * @param request      what identifies the request: path variables and body
+     * @param responseType type of the response body, to read a stored response back
+     * @param action       runs the use case
+     */
+    public <T> ResponseEntity<T> execute(String operation, String key, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scope = callerScope(operation);
+
+        String requestHash = hash(scope, request);
+        var existing = idempotencyService.find(scope, key);
+        if (existing.isPresent() && existing.get().isCompleted()) {
+            return replay(existing.get(), requestHash, responseType);
+        }
+
+        if (!idempotencyService.reserve(scope, key, requestHash, ttl, lock)) {
+            IdempotencyRecord record = idempotencyService.find(scope, key)
+                    .orElseThrow(() -> inProgress(key));
+            if (!record.isCompleted()) {
+                if (!record.matches(requestHash)) {
+                    throw mismatch(key);
+                }
+                throw inProgress(key);
+            }
+            return replay(record, requestHash, responseType);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            idempotencyService.release(scope, key);
+            throw e;
+        }
+
+        try {
+            idempotencyService.complete(new IdempotencyRecord(scope, key, requestHash,
+                    response.getStatusCode().value(), objectMapper.writeValueAsString(response.getBody())));
+        } catch (Exception e) {
+            // The request succeeded: a retry is answered 409 until the lock passes, then runs again
+            log.error("Failed to store response for idempotency key {} of {}", key, scope, e);
+        }
+        return response;
+    }
+
+    @Scheduled(cron = "${idempotency.cleanup-cron:0 0 * * * *}")
+    public void deleteExpired() {
+        try {
+            int deleted = idempotencyService.deleteExpired();
+            log.info("Deleted {} expired idempotency keys", deleted);
+        } catch (Exception e) {
+            log.error("Failed to delete expired idempotency keys", e);
+        }
+    }
+
+    /**
+     * The operation qualified by the authenticated caller, e.g. {@code appointment.create:<username>}.
+     */
+    private static String callerScope(String operation) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication == null || !authentication.isAuthenticated() ? ANONYMOUS_CALLER : authentication.getName();
+        return operation + ":" + caller;
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        if (!record.matches(requestHash)) {
+            throw mismatch(record.key());
+        }
+        log.info("Replaying stored response for idempotency key {} of {}", record.key(), record.scope());
+        try {
+            return ResponseEntity.status(record.statusCode())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readValue(record.responseBody(), responseType));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for idempotency key " + record.key() + " is unreadable", e);
+        }
+    }
+
+    private String hash(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to hash request of " + scope, e);
+        }
+    }
+
+    private static ResponseStatusException inProgress(String key) {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with " + IDEMPOTENCY_KEY_HEADER + " " + key + " is still in progress");
+    }
+
+    private static ResponseStatusException mismatch(String key) {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                IDEMPOTENCY_KEY_HEADER + " " + key + " was already used with a different request");
+    }
+}
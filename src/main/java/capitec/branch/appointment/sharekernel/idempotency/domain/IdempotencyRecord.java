@@ -0,0 +1,21 @@
+package capitec.branch.appointment.sharekernel.idempotency.domain;
+
+/**
+ * A request recorded under an {@code Idempotency-Key}.
+ *
+ * @param scope        the operation the key was used for, keys are unique per scope
+ * @param key          the client supplied key
+ * @param requestHash  SHA-256 of the request the key was first used with
+ * @param statusCode   HTTP status of the stored response, null while the request is in progress
+ * @param responseBody JSON of the stored response, null while the request is in progress
+ */
+public record IdempotencyRecord(String scope, String key, String requestHash, Integer statusCode, String responseBody) {
+
+    public boolean isCompleted() {
+        return statusCode != null;
+    }
+
+    public boolean matches(String requestHash) {
+        return this.requestHash.equals(requestHash);
+    }
+}
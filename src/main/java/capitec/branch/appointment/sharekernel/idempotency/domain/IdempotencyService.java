@@ -0,0 +1,32 @@
+package capitec.branch.appointment.sharekernel.idempotency.domain;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Domain service interface for the responses stored under idempotency keys.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Claims the key for a request about to run.
+     * @param ttl how long the key and its response are kept
+     * @param lock how long the claim holds while the request is in progress, a retry after it takes the key over
+     * @return true if the key was free, expired or abandoned by an unfinished request
+     */
+    boolean reserve(String scope, String key, String requestHash, Duration ttl, Duration lock);
+
+    Optional<IdempotencyRecord> find(String scope, String key);
+
+    /**
+     * Stores the response of the request holding the key.
+     */
+    void complete(IdempotencyRecord record);
+
+    /**
+     * Frees a key whose request failed, so a retry runs it again.
+     */
+    void release(String scope, String key);
+
+    int deleteExpired();
+}
@@ -0,0 +1,174 @@
+package capitec.branch.appointment.sharekernel.idempotency.infrastructure;
+
+import capitec.branch.appointment.sharekernel.idempotency.domain.IdempotencyRecord;
+import capitec.branch.appointment.sharekernel.idempotency.domain.IdempotencyService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Idempotency records kept in the {@code idempotency_record} table, with completed responses also held
+ * in a bounded per-node cache so replays are answered without a database round trip.
+ *
+ * <p>A cached response expires when its row does ({@code expires_at}), so a key that expired and was taken
+ * over by a new request is never answered from memory with the old response.</p>
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final String RESERVE = """
+            INSERT INTO idempotency_record (scope, idempotency_key, request_hash, locked_until, expires_at)
+            VALUES (:scope, :key, :requestHash,
+                    LOCALTIMESTAMP + make_interval(secs => :lockSeconds),
+                    LOCALTIMESTAMP + make_interval(secs => :ttlSeconds))
+            ON CONFLICT (scope, idempotency_key) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash,
+                status_code = NULL,
+                response_body = NULL,
+                completed_at = NULL,
+                locked_until = EXCLUDED.locked_until,
+                created_at = LOCALTIMESTAMP,
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_record.expires_at < LOCALTIMESTAMP
+               OR (idempotency_record.completed_at IS NULL AND idempotency_record.locked_until < LOCALTIMESTAMP)
+            """;
+
+    private static final String SELECT = """
+            SELECT scope, idempotency_key, request_hash, status_code, response_body,
+                   CAST(EXTRACT(EPOCH FROM expires_at - LOCALTIMESTAMP) * 1000 AS BIGINT) AS expires_in_millis
+            FROM idempotency_record
+            WHERE scope = :scope AND idempotency_key = :key AND expires_at >= LOCALTIMESTAMP
+            """;
+
+    private static final String COMPLETE = """
+            UPDATE idempotency_record
+            SET status_code = :statusCode, response_body = :responseBody, completed_at = LOCALTIMESTAMP, locked_until = NULL
+            WHERE scope = :scope AND idempotency_key = :key AND completed_at IS NULL
+            RETURNING CAST(EXTRACT(EPOCH FROM expires_at - LOCALTIMESTAMP) * 1000 AS BIGINT) AS expires_in_millis
+            """;
+
+    private static final String RELEASE = """
+            DELETE FROM idempotency_record
+            WHERE scope = :scope AND idempotency_key = :key AND completed_at IS NULL
+            """;
+
+    private static final String DELETE_EXPIRED = """
+            DELETE FROM idempotency_record WHERE expires_at < LOCALTIMESTAMP
+            """;
+
+    private final JdbcClient jdbcClient;
+    private final Cache<String, Completed> completed;
+
+    public IdempotencyServiceImpl(JdbcClient jdbcClient,
+                                  @Value("${idempotency.cache.maximum-size:10000}") long maximumSize) {
+        this.jdbcClient = jdbcClient;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilRecordExpires())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * A completed record with the time its row expires, on the cache's {@link System#nanoTime()} clock.
+     */
+    private record Completed(IdempotencyRecord record, long expiresAtNanos) {
+
+        private static Completed of(IdempotencyRecord record, long expiresInMillis) {
+            return new Completed(record, System.nanoTime() + Duration.ofMillis(expiresInMillis).toNanos());
+        }
+    }
+
+    private static final class UntilRecordExpires implements Expiry<String, Completed> {
+
+        @Override
+        public long expireAfterCreate(String key, Completed value, long currentTime) {
+            return Math.max(0, value.expiresAtNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Completed value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Completed value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    @Override
+    public boolean reserve(String scope, String key, String requestHash, Duration ttl, Duration lock) {
+        return jdbcClient.sql(RESERVE)
+                .param("scope", scope)
+                .param("key", key)
+                .param("requestHash", requestHash)
+                .param("lockSeconds", lock.toSeconds())
+                .param("ttlSeconds", ttl.toSeconds())
+                .update() == 1;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String scope, String key) {
+
+        Completed cached = completed.getIfPresent(cacheKey(scope, key));
+        if (cached != null) {
+            return Optional.of(cached.record());
+        }
+
+        Optional<Completed> found = jdbcClient.sql(SELECT)
+                .param("scope", scope)
+                .param("key", key)
+                .query((rs, _) -> Completed.of(new IdempotencyRecord(
+                        rs.getString("scope"),
+                        rs.getString("idempotency_key"),
+                        rs.getString("request_hash"),
+                        rs.getObject("status_code", Integer.class),
+                        rs.getString("response_body")), rs.getLong("expires_in_millis")))
+                .optional();
+        found.filter(record -> record.record().isCompleted())
+                .ifPresent(record -> completed.put(cacheKey(scope, key), record));
+        return found.map(Completed::record);
+    }
+
+    @Override
+    public void complete(IdempotencyRecord record) {
+        Optional<Long> expiresInMillis = jdbcClient.sql(COMPLETE)
+                .param("scope", record.scope())
+                .param("key", record.key())
+                .param("statusCode", record.statusCode())
+                .param("responseBody", record.responseBody())
+                .query(Long.class)
+                .optional();
+        if (expiresInMillis.isEmpty()) {
+            log.warn("Idempotency key {} of {} was no longer held when its response was stored", record.key(), record.scope());
+            return;
+        }
+        completed.put(cacheKey(record.scope(), record.key()), Completed.of(record, expiresInMillis.get()));
+    }
+
+    @Override
+    public void release(String scope, String key) {
+        jdbcClient.sql(RELEASE)
+                .param("scope", scope)
+                .param("key", key)
+                .update();
+    }
+
+    @Override
+    public int deleteExpired() {
+        return jdbcClient.sql(DELETE_EXPIRED).update();
+    }
+
+    private static String cacheKey(String scope, String key) {
+        return scope + ':' + key;
+    }
+}
@@ -0,0 +1,143 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.port.SlotColumns;
+import capitec.branch.appointment.slots.app.port.SlotQueryPort;
+import capitec.branch.appointment.slots.domain.Slot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-node cache of branch availability served to the week and daily slot endpoints.
+ *
+ * <p>Each branch is loaded from the database once, from today onwards, into an immutable
+ * {@link SlotColumns} sorted by day and start time. Browse requests are answered from those
+ * primitive columns without touching Postgres and without a domain object per slot.</p>
+ *
+ * <h2>Incremental Updates:</h2>
+ * <ul>
+ *   <li><b>Reserve/Release/Block/Unblock:</b> each committed {@link SlotAvailabilityChangedEvent} replaces the changed
+ *       slot with its persisted state</li>
+ *   <li><b>Generation:</b> {@link #addGenerated(Collection)} adds new slots, slots already present are kept</li>
+ *   <li><b>Regeneration:</b> {@link #invalidate(String)} drops the branch, it is reloaded on the next request</li>
+ * </ul>
+ *
+ * <p>Updates copy the branch columns and swap the branch entry atomically, so readers always
+ * see a consistent snapshot. Updates carry the slot version and an older version never replaces
+ * a newer one. Changes made by other nodes are picked up when the entry expires after
+ * {@code slot.availability-cache.ttl}.</p>
+ *
+ * @see GetNext7DaySlotsQuery
+ * @see GetDailySlotsQuery
+ */
+@Slf4j
+@Component
+public class BranchAvailabilityCache {
+
+    private final Cache<String, BranchAvailability> branches;
+    private final SlotQueryPort slotQueryPort;
+
+    public BranchAvailabilityCache(@Value("${slot.availability-cache.maximum-size:5000}") long maximumSize,
+                                   @Value("${slot.availability-cache.ttl:30s}") Duration ttl,
+                                   SlotQueryPort slotQueryPort) {
+        this.branches = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.slotQueryPort = slotQueryPort;
+    }
+
+    /**
+     * Slots of the branch from the given day onwards, sorted by day and start time.
+     * Days before today are not cached and are read from the database.
+     */
+    public SlotColumns fromDay(String branchId, LocalDate fromDay) {
+
+        LocalDate today = LocalDate.now();
+        if (fromDay.isBefore(today)) {
+            return slotQueryPort.findColumnsByBranchFromDate(branchId, fromDay);
+        }
+        return branches.get(branchId, id -> load(id, today)).slots().select(fromDay, null, null);
+    }
+
+    /**
+     * Slots of the branch on the given day, sorted by start time.
+     */
+    public SlotColumns onDay(String branchId, LocalDate day) {
+
+        LocalDate today = LocalDate.now();
+        if (day.isBefore(today)) {
+            return slotQueryPort.findColumnsByBranchAndDay(branchId, day);
+        }
+        return branches.get(branchId, id -> load(id, today)).slots().select(day, day.plusDays(1), null);
+    }
+
+    /**
+     * Applies the persisted state of a changed slot, if its branch is cached.
+     */
+    public void update(Slot slot) {
+        branches.asMap().computeIfPresent(slot.getBranchId(), (_, availability) -> availability.with(slot));
+    }
+
+    /**
+     * Applies the changed slot once its change committed, readers never see a change that rolls back.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSlotAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+        update(event.toSlot());
+    }
+
+    /**
+     * Adds newly generated slots to the cached branches. Slots with the same start and end time
+     * already cached are kept, generation does not overwrite existing slots.
+     */
+    public void addGenerated(Collection<Slot> slots) {
+
+        Map<String, List<Slot>> byBranch = slots.stream().collect(Collectors.groupingBy(Slot::getBranchId));
+        byBranch.forEach((branchId, generated) ->
+                branches.asMap().computeIfPresent(branchId, (_, availability) -> availability.withGenerated(generated)));
+    }
+
+    public void invalidate(String branchId) {
+        branches.invalidate(branchId);
+    }
+
+    private BranchAvailability load(String branchId, LocalDate today) {
+        SlotColumns slots = slotQueryPort.findColumnsByBranchFromDate(branchId, today);
+        log.debug("Loaded {} slots into availability cache for branch {}", slots.size(), branchId);
+        return new BranchAvailability(today, slots);
+    }
+
+    /**
+     * Immutable availability of one branch from {@code loadedFrom} onwards.
+     */
+    private record BranchAvailability(LocalDate loadedFrom, SlotColumns slots) {
+
+        BranchAvailability with(Slot slot) {
+
+            if (slot.getDay().isBefore(loadedFrom)) {
+                return this;
+            }
+            SlotColumns updated = slots.with(slot);
+            return updated == slots ? this : new BranchAvailability(loadedFrom, updated);
+        }
+
+        BranchAvailability withGenerated(List<Slot> generated) {
+
+            List<Slot> cacheable = generated.stream().filter(slot -> !slot.getDay().isBefore(loadedFrom)).toList();
+            SlotColumns updated = slots.withAbsent(cacheable);
+            return updated == slots ? this : new BranchAvailability(loadedFrom, updated);
+        }
+    }
+}
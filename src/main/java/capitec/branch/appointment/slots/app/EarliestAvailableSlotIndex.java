@@ -0,0 +1,168 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.port.SlotColumns;
+import capitec.branch.appointment.slots.app.port.SlotQueryPort;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Per-node index of the bookable slots of each branch, ordered by day and start time.
+ *
+ * <p>Each branch keeps a skip list holding only AVAILABLE slots with free capacity, so the next
+ * bookable slot after a point in time is an O(log n) ceiling lookup instead of loading and
+ * scanning every slot of the branch.</p>
+ *
+ * <h2>Maintenance:</h2>
+ * <ul>
+ *   <li><b>Reserve/Release/Block/Unblock/Capacity changes:</b> every {@link SlotAvailabilityChangedEvent}
+ *       adds or removes the slot once its change commits, older versions never replace newer ones</li>
+ *   <li><b>Generation:</b> {@link #addGenerated(Collection)} adds new slots</li>
+ *   <li><b>Expiry:</b> slots that started are skipped by the lookup; a {@link SlotsExpiredEvent} prunes them</li>
+ *   <li><b>Regeneration:</b> {@link #invalidate(String)} drops the branch, it is reloaded on the next lookup</li>
+ * </ul>
+ *
+ * <p>Like {@link BranchAvailabilityCache}, the index is a per-node view: branches expire after
+ * {@code slot.earliest-index.ttl} to pick up changes made by other nodes, and callers confirm the
+ * slot against the database ({@link GetNextAvailableSlotQuery}).</p>
+ */
+@Slf4j
+@Component
+public class EarliestAvailableSlotIndex {
+
+    private final Cache<String, BranchIndex> branches;
+    private final SlotQueryPort slotQueryPort;
+
+    public EarliestAvailableSlotIndex(@Value("${slot.earliest-index.maximum-size:5000}") long maximumSize,
+                                      @Value("${slot.earliest-index.ttl:5m}") Duration ttl,
+                                      SlotQueryPort slotQueryPort) {
+        this.branches = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.slotQueryPort = slotQueryPort;
+    }
+
+    /**
+     * Key of a bookable slot in the index.
+     */
+    public record FreeSlot(UUID slotId, LocalDate day, LocalTime startTime) {
+
+        private static final Comparator<FreeSlot> ORDER = Comparator.comparing(FreeSlot::day)
+                .thenComparing(FreeSlot::startTime)
+                .thenComparing(FreeSlot::slotId, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    /**
+     * @return the first bookable slot of the branch starting after {@code after}, per this node's view
+     */
+    public Optional<FreeSlot> next(String branchId, LocalDateTime after) {
+        LocalDateTime from = after.plusNanos(1);
+        // The index is shared by every lookup of the branch, so it always holds the branch from today on;
+        // a client's later 'after' only moves the ceiling lookup
+        BranchIndex index = branches.get(branchId, id -> load(id, LocalDate.now()));
+        return Optional.ofNullable(index.free.ceiling(new FreeSlot(null, from.toLocalDate(), from.toLocalTime())));
+    }
+
+    /**
+     * Applies the persisted state of a slot, if its branch is indexed.
+     */
+    public void update(Slot slot) {
+        branches.asMap().computeIfPresent(slot.getBranchId(), (_, index) -> {
+            index.apply(slot.getId(), slot.getDay(), slot.getStartTime(), slot.getVersion(),
+                    isBookable(slot.getStatus(), slot.getMaxBookingCapacity() - slot.getBookingCount()));
+            return index;
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSlotAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+        branches.asMap().computeIfPresent(event.branchId(), (_, index) -> {
+            index.apply(event.slotId(), event.day(), event.startTime(), event.version(), event.remainingCapacity() > 0);
+            return index;
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSlotsExpired(SlotsExpiredEvent event) {
+        BranchIndex index = branches.getIfPresent(event.branchId());
+        if (index != null) {
+            index.pruneBefore(event.expiredAt());
+        }
+    }
+
+    /**
+     * Adds newly generated slots to the indexed branches.
+     */
+    public void addGenerated(Collection<Slot> slots) {
+        for (Slot slot : slots) {
+            update(slot);
+        }
+    }
+
+    public void invalidate(String branchId) {
+        branches.invalidate(branchId);
+    }
+
+    private BranchIndex load(String branchId, LocalDate today) {
+        SlotColumns slots = slotQueryPort.findColumnsByBranchFromDate(branchId, today);
+        BranchIndex index = new BranchIndex();
+        for (int row = 0; row < slots.size(); row++) {
+            index.apply(slots.id(row), slots.day(row), slots.startTime(row), slots.version(row),
+                    slots.remainingCapacity(row) > 0);
+        }
+        log.debug("Indexed {} bookable of {} slots for branch {}", index.free.size(), slots.size(), branchId);
+        return index;
+    }
+
+    private static boolean isBookable(SlotStatus status, int remainingCapacity) {
+        return status == SlotStatus.AVAILABLE && remainingCapacity > 0;
+    }
+
+    /**
+     * Bookable slots of one branch. Reads are lock free, writes are serialized per branch.
+     */
+    private static final class BranchIndex {
+
+        private final ConcurrentSkipListSet<FreeSlot> free = new ConcurrentSkipListSet<>(FreeSlot.ORDER);
+        private final Map<UUID, Integer> versions = new HashMap<>();
+
+        synchronized void apply(UUID slotId, LocalDate day, LocalTime startTime, int version, boolean bookable) {
+            Integer known = versions.get(slotId);
+            if (known != null && known > version) {
+                return;
+            }
+            versions.put(slotId, version);
+            FreeSlot key = new FreeSlot(slotId, day, startTime);
+            if (bookable) {
+                free.add(key);
+            } else {
+                free.remove(key);
+            }
+        }
+
+        synchronized void pruneBefore(LocalDateTime time) {
+            var expired = free.headSet(new FreeSlot(null, time.toLocalDate(), time.toLocalTime()));
+            expired.forEach(slot -> versions.remove(slot.slotId()));
+            expired.clear();
+        }
+    }
+}
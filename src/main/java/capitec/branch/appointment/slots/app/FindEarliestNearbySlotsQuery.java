@@ -0,0 +1,97 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.port.NearbyBranchesPort;
+import capitec.branch.appointment.slots.app.port.NearbyBranchesPort.NearbyBranch;
+import capitec.branch.appointment.slots.app.port.SlotQueryPort;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.utils.UseCase;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Query for the earliest bookable slots across the branches near a customer.
+ *
+ * <p>Replaces a nearby branch lookup followed by one week query per branch: the nearby branches
+ * are resolved once and the slots of all of them are read in one set-based query
+ * ({@code branch_id = ANY(...)}), already merged in day and start time order.</p>
+ *
+ * <h2>Rules:</h2>
+ * <ul>
+ *   <li>Only AVAILABLE slots with free capacity that have not started are returned</li>
+ *   <li>The date range is at most {@value #MAX_RANGE_DAYS} days and may not start in the past</li>
+ *   <li>At most {@value #MAX_BRANCHES} nearest branches within the radius are searched</li>
+ * </ul>
+ *
+ * @see NearbyBranchesPort
+ * @see SlotQueryPort#findEarliestBookable
+ */
+@Slf4j
+@UseCase
+@Validated
+@RequiredArgsConstructor
+public class FindEarliestNearbySlotsQuery {
+
+    static final int MAX_RANGE_DAYS = 14;
+    static final int MAX_BRANCHES = 50;
+
+    private final NearbyBranchesPort nearbyBranchesPort;
+    private final SlotQueryPort slotQueryPort;
+
+    public List<NearbySlot> execute(@Valid NearbySlotSearch search) {
+
+        LocalDateTime now = LocalDateTime.now();
+        validateRange(search, now.toLocalDate());
+
+        List<NearbyBranch> branches = nearbyBranchesPort.findNearby(search.latitude(), search.longitude(),
+                search.radiusKm(), MAX_BRANCHES);
+        if (branches.isEmpty()) {
+            log.info("No branches within {} km of lat={}, lon={}", search.radiusKm(), search.latitude(), search.longitude());
+            return List.of();
+        }
+
+        Map<String, NearbyBranch> branchesById = branches.stream()
+                .collect(Collectors.toMap(NearbyBranch::branchId, Function.identity(), (first, _) -> first));
+        LocalDateTime from = search.fromDate().isAfter(now.toLocalDate()) ? search.fromDate().atStartOfDay() : now;
+
+        try {
+            List<Slot> slots = slotQueryPort.findEarliestBookable(branchesById.keySet(), from, search.toDate(), search.limit());
+
+            List<NearbySlot> nearbySlots = new ArrayList<>(slots.size());
+            for (Slot slot : slots) {
+                NearbyBranch branch = branchesById.get(slot.getBranchId());
+                nearbySlots.add(new NearbySlot(slot, branch.name(), branch.distanceKm()));
+            }
+            log.info("Found {} bookable slots across {} nearby branches", nearbySlots.size(), branchesById.size());
+            return nearbySlots;
+        } catch (Exception e) {
+            log.error("Error finding nearby slots for {}", search, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", e);
+        }
+    }
+
+    private static void validateRange(NearbySlotSearch search, LocalDate today) {
+        if (search.fromDate().isBefore(today)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "From date cannot be in the past.");
+        }
+        if (search.toDate().isBefore(search.fromDate())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "To date cannot be before from date.");
+        }
+        if (ChronoUnit.DAYS.between(search.fromDate(), search.toDate()) >= MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Date range cannot exceed " + MAX_RANGE_DAYS + " days.");
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package capitec.branch.appointment.slots.app;
-import capitec.branch.appointment.slots.app.port.AppointmentInfoDetails;
 import capitec.branch.appointment.slots.app.port.BranchOperationTimesDetails;
 import capitec.branch.appointment.slots.app.port.GetActiveBranchesForSlotGenerationPort;
-import capitec.branch.appointment.slots.app.port.OperationTimesDetails;
+import capitec.branch.appointment.slots.app.port.WorkingStaffPort;
 import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.slots.domain.SlotService;
 import capitec.branch.appointment.utils.UseCase;
@@ -10,11 +9,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.validation.annotation.Validated;
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Use case for generating bookable appointment slots for branches.
@@ -31,12 +36,26 @@ import java.util.*;
  *       <li>Checks if branch is open (has operation times and not closed)</li>
  *       <li>Checks if appointment info exists for that day type</li>
  *       <li>Calculates available capacity based on staff count and utilization factor</li>
- *       <li>Generates slots from opening time to closing time with configured duration</li>
+ *       <li>Scales the slot capacity to the staff rostered that day when the day already has a roster
+ *           ({@link WorkingStaffPort}), one roster read per branch</li>
+ *       <li>Generates slots from opening time to closing time with configured duration, stamped from a
+ *           template {@link SlotPlanner} builds once per distinct configuration</li>
  *     </ul>
  *   </li>
- *   <li>Persists all generated slots in bulk</li>
+ *   <li>Streams generated slots in fixed-size chunks to the database</li>
  * </ol>
  *
+ * <h2>Generation Pipeline:</h2>
+ * <ul>
+ *   <li>Branches are partitioned across a bounded pool of {@code slot.generation.parallelism} virtual threads</li>
+ *   <li>Each worker buffers at most {@code slot.generation.chunk-size} slots before flushing them</li>
+ *   <li>Each chunk commits independently and is idempotent on {@code unique_slot_per_branch_day},
+ *       so a retried or overlapping run only inserts what is missing</li>
+ *   <li>Progress (branches done, slots generated/inserted) is logged after every chunk and returned
+ *       as a {@link SlotGenerationReport}</li>
+ *   <li>Memory stays bounded by {@code parallelism × chunk-size} slots regardless of branches or days</li>
+ * </ul>
+ *
  * <h2>Capacity Calculation:</h2>
  * <pre>
  * workingMinutes = closingTime - openingTime
@@ -87,11 +106,17 @@ import java.util.*;
 @RequiredArgsConstructor
 public class GenerateSlotsUseCase {
     private final static String COUNTRY= "South Africa";
-    @Value("${slot.duration.factor}")
-    private   int SLOTS_DISTRIBUTION_FACTOR;
     private final GetActiveBranchesForSlotGenerationPort activeBranchesForSlotGenerationPort;
     private final SlotService slotStorage;
+    private final SlotPlanner slotPlanner;
+    private final WorkingStaffPort workingStaffPort;
+    private final BranchAvailabilityCache branchAvailabilityCache;
+    private final EarliestAvailableSlotIndex earliestAvailableSlotIndex;
     private static final int ROLLING_WINDOW_DAYS = 7;
+    @Value("${slot.generation.chunk-size:500}")
+    private int chunkSize;
+    @Value("${slot.generation.parallelism:4}")
+    private int parallelism;
 
     /**
      * Command to generate and save time slots for the next given days, by default 7 days.
@@ -99,8 +124,8 @@ public class GenerateSlotsUseCase {
      * @param nextDays default 7 days. The number of days of slots that will be generated starting from fromDate
      *
      */
-    public void createNext7DaySlots(LocalDate fromDate, int nextDays) {
-        createNext7DaySlots(Collections.emptySet(),fromDate, nextDays);
+    public SlotGenerationReport createNext7DaySlots(LocalDate fromDate, int nextDays) {
+        return createNext7DaySlots(Collections.emptySet(),fromDate, nextDays);
     }
     /**
      * Command to generate and save time slots for the next given days, by default 7 days.
@@ -108,31 +133,43 @@ public class GenerateSlotsUseCase {
      * @param nextDays default 7 days. The number of days of slots that will be generated starting from fromDate
      * @param branches  branches to generate slots for. Branches must exist in the system. If not provide, generate for
      *                  branches registered in the system
-     *
+     * @return counts of branches processed, slots generated and slots inserted
      */
-    public void createNext7DaySlots(Set<String> branches,LocalDate fromDate, int nextDays) {
+    public SlotGenerationReport createNext7DaySlots(Set<String> branches,LocalDate fromDate, int nextDays) {
+        return createNext7DaySlots(branches, _ -> true, fromDate, nextDays);
+    }
+
+    /**
+     * Command to generate and save time slots for the registered branches of one shard.
+     * @param shard  the shard of branches to generate slots for
+     * @param  fromDate default to the next day. The first day of slots that will be generated
+     * @param nextDays default 7 days. The number of days of slots that will be generated starting from fromDate
+     * @return counts of branches of the shard processed, slots generated and slots inserted
+     */
+    public SlotGenerationReport createNext7DaySlots(SlotGenerationShard shard, LocalDate fromDate, int nextDays) {
+        return createNext7DaySlots(Collections.emptySet(), shard::owns, fromDate, nextDays);
+    }
+
+    private SlotGenerationReport createNext7DaySlots(Set<String> branches, Predicate<String> branchFilter, LocalDate fromDate, int nextDays) {
        try {
            LocalDate date = fromDate == null ? LocalDate.now().plusDays(1) : fromDate;
 
-           Collection<BranchOperationTimesDetails> activeBranches = branches.isEmpty()? activeBranchesForSlotGenerationPort.execute(COUNTRY, date)
-           :activeBranchesForSlotGenerationPort.execute(branches,COUNTRY, date);
+           Collection<BranchOperationTimesDetails> activeBranches = (branches.isEmpty()? activeBranchesForSlotGenerationPort.execute(COUNTRY, date)
+           :activeBranchesForSlotGenerationPort.execute(branches,COUNTRY, date))
+                   .stream()
+                   .filter(branch -> branchFilter.test(branch.branchId()))
+                   .toList();
 
            int rolling_window = nextDays == 0 ? ROLLING_WINDOW_DAYS : nextDays;
 
+           SlotGenerationReport report = generateInParallel(List.copyOf(activeBranches), date, rolling_window);
 
-           List<Slot> allSlots = new ArrayList<>();
-           for (var branch : activeBranches) {
-               Map<LocalDate, List<Slot>> dayOfWeekListMap = generateTimeSlotsForRange(branch, date, rolling_window);
-               if (!dayOfWeekListMap.isEmpty()) {
-                   List<Slot> list = dayOfWeekListMap.values().stream().flatMap(Collection::stream).toList();
-                   allSlots.addAll(list);
-               }
-
-           }
-           if (allSlots.isEmpty()) {
+           if (report.generatedSlots() == 0) {
                log.warn("Failed to generate slots, current date:{}", LocalDateTime.now());
                //throw new RuntimeException("Failed to generate slots, current date:" + LocalDateTime.now());
-           } else slotStorage.save(allSlots);
+           }
+           log.info("Slot generation finished: {}", report);
+           return report;
        }catch (Exception e) {
            log.error("Failed to generate slots, current date:{}", fromDate);
            throw e;
@@ -141,117 +178,108 @@ public class GenerateSlotsUseCase {
 
     }
 
-    /**
-     * Generate Time Slots for a given dateOfSlots range.
-     * @param branch The branch of slots to generate
-     * @param startDate The starting dateOfSlots.
-     * @param days The bookingCount of days to generate slots for.
-     * @return A map of generated slots grouped by dateOfSlots.
-     */
-    private Map<LocalDate, List<Slot>> generateTimeSlotsForRange(BranchOperationTimesDetails branch, LocalDate startDate, int days) {
-
-        final Map<LocalDate, List<Slot>> weeklySlots = new HashMap<>();
-        
-        LocalDate day = startDate;
-
-        Map<LocalDate, OperationTimesDetails> localDateOperationTimesDtoMap = branch.operationTimes();
-        Map<LocalDate, AppointmentInfoDetails> AppointmentInfoDtoMap = branch.appointmentInfo();
-
-
-        if (localDateOperationTimesDtoMap ==null || localDateOperationTimesDtoMap.isEmpty()) {
-            log.error("Branch has no operation times found, branch:{}",branch);
-            return  Collections.emptyMap();
-        }
+    private SlotGenerationReport generateInParallel(List<BranchOperationTimesDetails> branches, LocalDate date, int days) {
 
-        if (AppointmentInfoDtoMap ==null || AppointmentInfoDtoMap.isEmpty()) {
-            log.error("Branch has no appointment information found, branch:{}",branch.branchId());
-            return  Collections.emptyMap();
+        var progress = new Progress(branches.size());
+        if (branches.isEmpty()) {
+            return progress.toReport();
         }
 
-
-        for (int numDays = 0; numDays < days; numDays++) {
-            log.debug("Creating slot for date {}", day.plusDays(numDays));
-            int slotGenerated = 0;
-
-            // Check if OperationTimes exist for this day
-            OperationTimesDetails operationTimesDetails = localDateOperationTimesDtoMap.get(day);
-            if (operationTimesDetails == null || operationTimesDetails.isClose()) {
-                log.warn("Branch {} has operation times detected for day {}",branch.branchId(), day);
-                day = day.plusDays(1);
-                continue;
+        int workers = Math.max(1, Math.min(parallelism, branches.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(workers, Thread.ofVirtual().name("slot-generation-", 0).factory());
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int worker = 0; worker < workers; worker++) {
+                List<BranchOperationTimesDetails> partition = partition(branches, worker, workers);
+                futures.add(executor.submit(() -> generatePartition(partition, date, days, progress)));
             }
-            // Check if appointmentInfo exist for this day
-            AppointmentInfoDetails appointmentInfoDetails = AppointmentInfoDtoMap.get(day);
-            if (appointmentInfoDetails == null) {
-                 log.warn("Branch {} has no appointment info found for day {}", branch.branchId(),day);
-                day = day.plusDays(1);
-                continue;
+            for (Future<?> future : futures) {
+                future.get();
             }
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Slot generation worker failed", e.getCause());
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Slot generation interrupted", e);
+        } finally {
+            executor.close();
+        }
+        return progress.toReport();
+    }
 
-            log.debug("Operation hours: {} ", operationTimesDetails);
-            log.debug("Branch appointment info : {} ", appointmentInfoDetails);
-
-            int availableCapacity = calculateAvailableCapacity(appointmentInfoDetails, operationTimesDetails);
-            Duration slotDuration = appointmentInfoDetails.slotDuration();
-            LocalTime closingTime = operationTimesDetails.closeAt();
-            LocalTime openTime = operationTimesDetails.openAt();
-            
-            List<Slot> slots = new ArrayList<>();
-
-            LocalDateTime openDateTime = day.atTime(openTime);
-            LocalDateTime closeDateTime = day.atTime(closingTime);
-            // Generate slots until the open time plus the slot duration exceeds closing time
-            while (true) {
-
-                if (!(openDateTime.isBefore(closeDateTime) && openDateTime.plus(slotDuration).isBefore(closeDateTime.plusSeconds(1)))) {
-                    break;
-                }
+    private static List<BranchOperationTimesDetails> partition(List<BranchOperationTimesDetails> branches, int worker, int workers) {
+        List<BranchOperationTimesDetails> partition = new ArrayList<>(branches.size() / workers + 1);
+        for (int i = worker; i < branches.size(); i += workers) {
+            partition.add(branches.get(i));
+        }
+        return partition;
+    }
 
-                if (slotGenerated < availableCapacity) {
+    private void generatePartition(List<BranchOperationTimesDetails> partition, LocalDate date, int days, Progress progress) {
 
-                    var slotClosingTime = openDateTime.plus(slotDuration);
-                    
-                    Slot slot = new Slot(day, openDateTime.toLocalTime(), slotClosingTime.toLocalTime(), appointmentInfoDetails.maxBookingCapacity(),branch.branchId());
-                    slots.add(slot);
-                    slotGenerated++;
+        List<Slot> chunk = new ArrayList<>(chunkSize);
+        Set<LocalDate> window = date.datesUntil(date.plusDays(days)).collect(Collectors.toSet());
+        for (var branch : partition) {
+            Map<LocalDate, Integer> workingStaff = workingStaffPort.countWorkingStaff(branch.branchId(), window);
+            slotPlanner.plan(branch, date, days, workingStaff, slot -> {
+                chunk.add(slot);
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, progress);
                 }
-                else {
-                    log.debug("Capacity reached for {}, breaking loop to save time", day);
-                    break;
-                }
-                
-                // Move to the next slot time, respecting the distribution factor
-                long minutesToAdd = slotDuration.toMinutes() * SLOTS_DISTRIBUTION_FACTOR;
-                // FORCE the increment to be at least 1 minute to prevent infinite loops
-                openDateTime = openDateTime.plusMinutes(Math.max(10, minutesToAdd));
-            }
-
-            weeklySlots.put(day, slots);
-            day = day.plusDays(1);
+            });
+            progress.branchCompleted();
         }
-       log.debug("Generated slots:{}", weeklySlots);
-        return weeklySlots;
+        flush(chunk, progress);
     }
 
-    private int calculateAvailableCapacity(AppointmentInfoDetails appointmentInfoDetails, OperationTimesDetails operationTimesDetails) {
+    private void flush(List<Slot> chunk, Progress progress) {
 
-        // 1. Calculate working duration in minutes
-        LocalTime openTime = operationTimesDetails.openAt();
-        LocalTime closingTime = operationTimesDetails.closeAt();
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int inserted = slotStorage.saveIfAbsent(chunk);
+        if (inserted == chunk.size()) {
+            branchAvailabilityCache.addGenerated(chunk);
+            earliestAvailableSlotIndex.addGenerated(chunk);
+        } else {
+            // Some slots already existed under other ids, reload those branches instead of guessing
+            chunk.stream().map(Slot::getBranchId).distinct().forEach(branchId -> {
+                branchAvailabilityCache.invalidate(branchId);
+                earliestAvailableSlotIndex.invalidate(branchId);
+            });
+        }
+        progress.chunkSaved(chunk.size(), inserted);
+        chunk.clear();
+    }
 
-        // Calculate the difference in hours/minutes (e.g., 17:00-08:00 = 9 hours)
-        long workingMinutes = Duration.between(openTime, closingTime).toMinutes();
+    private static final class Progress {
+        private final int totalBranches;
+        private final AtomicInteger completedBranches = new AtomicInteger();
+        private final AtomicLong generatedSlots = new AtomicLong();
+        private final AtomicLong insertedSlots = new AtomicLong();
 
-        // 2. Calculate theoretical slots per staff
-        long slotDurationMinutes = appointmentInfoDetails.slotDuration().toMinutes();
-        var theoreticalSlotsPerStaff = workingMinutes / slotDurationMinutes;
+        private Progress(int totalBranches) {
+            this.totalBranches = totalBranches;
+        }
 
-        // 3. Calculate total theoretical capacity
-        var totalCapacity = appointmentInfoDetails.staffCount() * theoreticalSlotsPerStaff;
+        private void branchCompleted() {
+            completedBranches.incrementAndGet();
+        }
 
-        // 4. Calculate available capacity using utilization factor
-        var availableCapacity = totalCapacity * appointmentInfoDetails.utilizationFactor();
+        private void chunkSaved(int generated, int inserted) {
+            long totalGenerated = generatedSlots.addAndGet(generated);
+            long totalInserted = insertedSlots.addAndGet(inserted);
+            log.info("Slot generation progress: branches {}/{}, slots generated {}, inserted {}",
+                    completedBranches.get(), totalBranches, totalGenerated, totalInserted);
+        }
 
-        return (int) Math.round(availableCapacity);
+        private SlotGenerationReport toReport() {
+            return new SlotGenerationReport(totalBranches, generatedSlots.get(), insertedSlots.get());
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package capitec.branch.appointment.slots.app;
 
+import capitec.branch.appointment.slots.app.port.SlotColumns;
 import capitec.branch.appointment.slots.app.port.SlotQueryPort;
 import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.utils.UseCase;
@@ -15,6 +16,7 @@ import java.util.List;
 public class GetDailySlotsQuery {
 
     private final SlotQueryPort slotQueryPort;
+    private final BranchAvailabilityCache branchAvailabilityCache;
 
     /**
      * Retrieves all scheduled slots for a specific day.
@@ -24,4 +26,22 @@ public class GetDailySlotsQuery {
     public List<Slot> execute(String branchId, LocalDate fromDay) {
         return slotQueryPort.findByBranchAndDay(branchId, fromDay);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves slot availability for a specific day without reading the database on a cache hit.
+     * @param day The dateOfSlots to query.
+     * @return The slots of the day in columnar form, sorted by start time.
+     */
+    public SlotColumns availability(String branchId, LocalDate day) {
+        return branchAvailabilityCache.onDay(branchId, day);
+    }
+
+    /**
+     * Reads slot availability for a specific day from the database, bypassing the per-node cache.
+     * @param day The dateOfSlots to query.
+     * @return The committed slots of the day in columnar form, sorted by start time.
+     */
+    public SlotColumns committedAvailability(String branchId, LocalDate day) {
+        return slotQueryPort.findColumnsByBranchAndDay(branchId, day);
+    }
+}
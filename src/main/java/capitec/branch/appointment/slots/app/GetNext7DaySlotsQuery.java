@@ -1,5 +1,6 @@
 package capitec.branch.appointment.slots.app;
 
+import capitec.branch.appointment.slots.app.port.SlotColumns;
 import capitec.branch.appointment.slots.app.port.SlotQueryPort;
 import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.slots.domain.SlotStatus;
@@ -23,6 +24,8 @@ import java.util.stream.Collectors;
  * <ul>
  *   <li><b>execute(branchId, fromDay)</b> - Retrieves all slots regardless of status</li>
  *   <li><b>execute(branchId, fromDay, status)</b> - Retrieves slots filtered by status (e.g., AVAILABLE only)</li>
+ *   <li><b>availability(branchId, fromDay, status)</b> - Read-only {@link SlotColumns} served from the
+ *       {@link BranchAvailabilityCache}, for browsing endpoints</li>
  * </ul>
  *
  * <h2>Response Format:</h2>
@@ -55,6 +58,7 @@ import java.util.stream.Collectors;
  * @see Slot
  * @see SlotStatus
  * @see SlotQueryPort
+ * @see BranchAvailabilityCache
  */
 @UseCase
 @Validated
@@ -62,6 +66,7 @@ import java.util.stream.Collectors;
 public class GetNext7DaySlotsQuery {
 
     private final SlotQueryPort slotQueryPort;
+    private final BranchAvailabilityCache branchAvailabilityCache;
 
     /**
      * Retrieves all scheduled slots for the next 7 days starting from a given dateOfSlots.
@@ -84,4 +89,15 @@ public class GetNext7DaySlotsQuery {
         List<Slot> slots = slotQueryPort.findByBranchFromDateAndStatus(branchId, fromDay, status);
         return slots.stream().collect(Collectors.groupingBy(Slot::getDay));
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves slot availability from a given day onwards without reading the database on a cache hit.
+     * @param fromDay The start dateOfSlots.
+     * @param status The status to filter, null for all slots.
+     * @return Slots in columnar form, sorted by day and start time.
+     */
+    public SlotColumns availability(String branchId, LocalDate fromDay, SlotStatus status) {
+        SlotColumns slots = branchAvailabilityCache.fromDay(branchId, fromDay);
+        return status == null ? slots : slots.select(fromDay, null, status);
+    }
+}
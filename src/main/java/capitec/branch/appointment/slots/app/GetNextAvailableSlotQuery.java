@@ -0,0 +1,77 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.EarliestAvailableSlotIndex.FreeSlot;
+import capitec.branch.appointment.slots.app.port.SlotQueryPort;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import capitec.branch.appointment.utils.UseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Query for the next bookable slot of a branch, for the booking UI and for rebooking.
+ *
+ * <p>The candidate comes from the {@link EarliestAvailableSlotIndex} and is confirmed with a
+ * primary key read. A candidate another node already filled or blocked is corrected in the
+ * index and the next one is tried, so a stale index costs an extra read, never a wrong answer.</p>
+ *
+ * @see EarliestAvailableSlotIndex
+ */
+@Slf4j
+@UseCase
+@Validated
+@RequiredArgsConstructor
+public class GetNextAvailableSlotQuery {
+
+    private static final int MAX_CANDIDATES = 10;
+
+    private final EarliestAvailableSlotIndex earliestAvailableSlotIndex;
+    private final SlotQueryPort slotQueryPort;
+
+    /**
+     * @param after only slots starting after this time are returned
+     * @return the next bookable slot of the branch
+     */
+    public Slot execute(String branchId, LocalDateTime after) {
+        return find(branchId, after).orElseThrow(() -> {
+            log.info("No available slot found for branch: {} after {}", branchId, after);
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "No available slot found");
+        });
+    }
+
+    public Optional<Slot> find(String branchId, LocalDateTime after) {
+
+        for (int candidate = 0; candidate < MAX_CANDIDATES; candidate++) {
+
+            Optional<FreeSlot> next = earliestAvailableSlotIndex.next(branchId, after);
+            if (next.isEmpty()) {
+                return Optional.empty();
+            }
+
+            Optional<Slot> slot = slotQueryPort.findById(next.get().slotId());
+            if (slot.isEmpty()) {
+                log.debug("Indexed slot {} of branch {} no longer exists, reloading branch", next.get().slotId(), branchId);
+                earliestAvailableSlotIndex.invalidate(branchId);
+                continue;
+            }
+            if (isBookable(slot.get())) {
+                return slot;
+            }
+            earliestAvailableSlotIndex.update(slot.get());
+        }
+
+        log.warn("Index of branch {} kept returning unavailable slots, reloading it", branchId);
+        earliestAvailableSlotIndex.invalidate(branchId);
+        return Optional.empty();
+    }
+
+    private static boolean isBookable(Slot slot) {
+        return slot.getStatus() == SlotStatus.AVAILABLE && slot.getBookingCount() < slot.getMaxBookingCapacity();
+    }
+}
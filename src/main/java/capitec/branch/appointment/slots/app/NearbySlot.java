@@ -0,0 +1,13 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.domain.Slot;
+
+/**
+ * A bookable slot found by {@link FindEarliestNearbySlotsQuery}, with the branch it belongs to.
+ */
+public record NearbySlot(
+        Slot slot,
+        String branchName,
+        Double distanceKm
+) {
+}
@@ -0,0 +1,46 @@
+package capitec.branch.appointment.slots.app;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record NearbySlotSearch(
+        @NotNull(message = "Latitude is required")
+        @Min(value = -90, message = "Latitude must be between -90 and 90")
+        @Max(value = 90, message = "Latitude must be between -90 and 90")
+        Double latitude,
+
+        @NotNull(message = "Longitude is required")
+        @Min(value = -180, message = "Longitude must be between -180 and 180")
+        @Max(value = 180, message = "Longitude must be between -180 and 180")
+        Double longitude,
+
+        @Min(value = 1, message = "Radius must be at least 1 km")
+        @Max(value = 500, message = "Radius cannot exceed 500 km")
+        Double radiusKm,
+
+        LocalDate fromDate,
+
+        LocalDate toDate,
+
+        @Min(value = 1, message = "Limit must be at least 1")
+        @Max(value = 100, message = "Limit cannot exceed 100")
+        Integer limit
+) {
+    public NearbySlotSearch {
+        if (radiusKm == null) {
+            radiusKm = 10.0;
+        }
+        if (fromDate == null) {
+            fromDate = LocalDate.now();
+        }
+        if (toDate == null) {
+            toDate = fromDate.plusDays(6);
+        }
+        if (limit == null) {
+            limit = 20;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.port.AppointmentInfoDetails;
+import capitec.branch.appointment.slots.app.port.GetActiveBranchesForSlotGenerationPort;
+import capitec.branch.appointment.slots.app.port.WorkingStaffPort;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotService;
+import capitec.branch.appointment.utils.UseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Use case for bringing the capacity of generated slots in line with the staff actually rostered.
+ *
+ * <p>Slots are generated with the capacity of the branch appointment info, which assumes its
+ * configured staff count, unless the day was already rostered when generated ({@link SlotPlanner}). When a roster changes, every future slot of the affected days gets the
+ * capacity scaled to the staff working that day:</p>
+ * <pre>
+ * capacity = round(maxBookingCapacity × workingStaff / staffCount)
+ * </pre>
+ *
+ * <h2>Rules:</h2>
+ * <ul>
+ *   <li>All slots of a branch are updated in one set-based statement; slots already at the target capacity are not written</li>
+ *   <li>Capacity never drops below a slot's bookings, a short-staffed slot becomes FULLY_BOOKED instead</li>
+ *   <li>Only AVAILABLE and FULLY_BOOKED slots that have not started are changed</li>
+ *   <li>Days without appointment info are skipped</li>
+ * </ul>
+ *
+ * <p>Changed slots are published as {@link SlotAvailabilityChangedEvent}s, which the {@link SlotCapacityLedger} and
+ * {@link BranchAvailabilityCache} apply once the roster change commits.</p>
+ *
+ * @see WorkingStaffPort
+ * @see SlotService#recomputeCapacity
+ */
+@Slf4j
+@UseCase
+@Validated
+@RequiredArgsConstructor
+public class RecomputeSlotCapacityUseCase {
+
+    private static final String COUNTRY = "South Africa";
+    private final GetActiveBranchesForSlotGenerationPort activeBranchesForSlotGenerationPort;
+    private final WorkingStaffPort workingStaffPort;
+    private final SlotService slotService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Recomputes the capacity of a branch's slots on the given days.
+     * @param branchId branch whose roster changed
+     * @param days days the roster changed for
+     * @return the number of slots whose capacity changed
+     */
+    public int execute(String branchId, Set<LocalDate> days) {
+
+        LocalDateTime now = LocalDateTime.now();
+        SortedSet<LocalDate> affectedDays = new TreeSet<>();
+        for (LocalDate day : days) {
+            if (!day.isBefore(now.toLocalDate())) {
+                affectedDays.add(day);
+            }
+        }
+        if (affectedDays.isEmpty()) {
+            log.info("No future days affected by roster change of branch {}, days: {}", branchId, days);
+            return 0;
+        }
+
+        var branch = activeBranchesForSlotGenerationPort.execute(Set.of(branchId), COUNTRY, affectedDays.first())
+                .stream()
+                .findFirst();
+        if (branch.isEmpty() || branch.get().appointmentInfo() == null) {
+            log.warn("Branch {} is not active for slot generation, slot capacity is not recomputed", branchId);
+            return 0;
+        }
+
+        Map<LocalDate, Integer> workingStaff = workingStaffPort.countWorkingStaff(branchId, affectedDays);
+        Map<LocalDate, Integer> capacityByDay = new HashMap<>();
+        for (LocalDate day : affectedDays) {
+            AppointmentInfoDetails appointmentInfo = branch.get().appointmentInfo().get(day);
+            if (appointmentInfo == null || appointmentInfo.staffCount() <= 0) {
+                log.debug("Branch {} has no appointment info for day {}, skipping", branchId, day);
+                continue;
+            }
+            // The roster changed for this day, a day no longer rostered has nobody working
+            capacityByDay.put(day, SlotPlanner.rosteredCapacity(appointmentInfo, workingStaff.getOrDefault(day, 0)));
+        }
+
+        List<Slot> changed = slotService.recomputeCapacity(branchId, capacityByDay, now);
+        // The ledger, caches and live watchers apply the changes once they commit
+        for (Slot slot : changed) {
+            applicationEventPublisher.publishEvent(SlotAvailabilityChangedEvent.of(slot));
+        }
+
+        log.info("Recomputed slot capacity of branch {} for {}: {} slots changed", branchId, capacityByDay, changed.size());
+        return changed.size();
+    }
+}
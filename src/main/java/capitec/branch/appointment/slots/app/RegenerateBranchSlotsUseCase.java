@@ -0,0 +1,190 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.port.BranchOperationTimesDetails;
+import capitec.branch.appointment.slots.app.port.GetActiveBranchesForSlotGenerationPort;
+import capitec.branch.appointment.slots.app.port.OperationTimesDetails;
+import capitec.branch.appointment.slots.app.port.SlotQueryPort;
+import capitec.branch.appointment.slots.app.port.WorkingStaffPort;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotService;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import capitec.branch.appointment.utils.UseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Use case for bringing a branch's already generated slots in line with a changed configuration.
+ *
+ * <p>{@link GenerateSlotsUseCase} only adds slots for new days. When a branch's appointment info or
+ * operation hours override changes, the days that already have slots are regenerated here by
+ * comparing what exists with what the new configuration produces ({@link SlotPlanner}) and
+ * writing only the difference. Days with a staff roster are planned with the capacity of their roster.</p>
+ *
+ * <h2>Diff per Day (slots are matched on start and end time):</h2>
+ * <ul>
+ *   <li><b>Planned, missing:</b> inserted</li>
+ *   <li><b>Existing, no longer planned, never booked:</b> deleted</li>
+ *   <li><b>Existing, no longer planned, booked before:</b> blocked, so the bookings are honoured and cancelled
+ *       or rescheduled appointments keep their slot</li>
+ *   <li><b>Existing and planned with another capacity:</b> capacity updated, unless it already has more bookings</li>
+ *   <li><b>Existing and planned unchanged:</b> untouched</li>
+ * </ul>
+ *
+ * <h2>Scope:</h2>
+ * <ul>
+ *   <li>Only days from today up to the latest generated day; later days are left to the scheduler</li>
+ *   <li>Days the branch configuration does not cover (e.g. outside the appointment info horizon) are skipped</li>
+ *   <li>Slots that already started and EXPIRED slots are never changed</li>
+ * </ul>
+ *
+ * <p>Every write is a conditional statement, so a booking racing with regeneration is either
+ * counted before the delete (and the slot gets blocked instead) or rejected by the blocked status.
+ * All writes run in one transaction: a failing step leaves the branch's slots as they were, and
+ * running the regeneration again starts from the same diff.</p>
+ *
+ * @see SlotPlanner
+ * @see GenerateSlotsUseCase
+ * @see SlotRegenerationReport
+ */
+@Slf4j
+@UseCase
+@Validated
+@RequiredArgsConstructor
+public class RegenerateBranchSlotsUseCase {
+
+    private static final String COUNTRY = "South Africa";
+    private final GetActiveBranchesForSlotGenerationPort activeBranchesForSlotGenerationPort;
+    private final SlotQueryPort slotQueryPort;
+    private final SlotService slotService;
+    private final SlotPlanner slotPlanner;
+    private final WorkingStaffPort workingStaffPort;
+    private final SlotCapacityLedger slotCapacityLedger;
+    private final BranchAvailabilityCache branchAvailabilityCache;
+    private final EarliestAvailableSlotIndex earliestAvailableSlotIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Regenerates the existing slots of a branch for the given days.
+     * @param branchId branch whose configuration changed
+     * @param days days affected by the change
+     * @return what was changed
+     */
+    public SlotRegenerationReport execute(String branchId, Set<LocalDate> days) {
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        Optional<LocalDate> latestGeneratedDate = slotQueryPort.findLatestGeneratedSlotDate(today);
+        if (latestGeneratedDate.isEmpty()) {
+            log.info("No slots generated yet, nothing to regenerate for branch {}", branchId);
+            return SlotRegenerationReport.none();
+        }
+
+        SortedSet<LocalDate> affectedDays = new TreeSet<>();
+        for (LocalDate day : days) {
+            if (!day.isBefore(today) && !day.isAfter(latestGeneratedDate.get())) {
+                affectedDays.add(day);
+            }
+        }
+        if (affectedDays.isEmpty()) {
+            log.info("No generated days affected for branch {}, days: {}", branchId, days);
+            return SlotRegenerationReport.none();
+        }
+
+        var branch = activeBranchesForSlotGenerationPort.execute(Set.of(branchId), COUNTRY, affectedDays.first())
+                .stream()
+                .findFirst();
+        if (branch.isEmpty()) {
+            log.warn("Branch {} is not active for slot generation, slots are not regenerated", branchId);
+            return SlotRegenerationReport.none();
+        }
+
+        // Rostered days keep the capacity of their roster, the configuration change does not reset it
+        Map<LocalDate, Integer> workingStaff = workingStaffPort.countWorkingStaff(branchId, affectedDays);
+        List<Slot> toInsert = new ArrayList<>();
+        List<UUID> toRemove = new ArrayList<>();
+        Map<UUID, Integer> toResize = new HashMap<>();
+        int comparedDays = 0;
+
+        for (LocalDate day : affectedDays) {
+
+            if (!isPlannable(branch.get(), day)) {
+                log.debug("Branch {} configuration does not cover day {}, skipping", branchId, day);
+                continue;
+            }
+            comparedDays++;
+
+            // Slot equality is branch, day, start and end time: the same key as unique_slot_per_branch_day
+            Map<Slot, Slot> planned = new HashMap<>();
+            slotPlanner.plan(branch.get(), day, 1, workingStaff, slot -> planned.put(slot, slot));
+
+            for (Slot existing : slotQueryPort.findByBranchAndDay(branchId, day)) {
+
+                Slot wanted = planned.remove(existing);
+                if (hasStarted(existing, now) || existing.getStatus() == SlotStatus.EXPIRED) {
+                    continue;
+                }
+                if (wanted == null) {
+                    toRemove.add(existing.getId());
+                } else if (!wanted.getMaxBookingCapacity().equals(existing.getMaxBookingCapacity())) {
+                    toResize.put(existing.getId(), wanted.getMaxBookingCapacity());
+                }
+            }
+
+            for (Slot slot : planned.values()) {
+                if (!hasStarted(slot, now)) {
+                    toInsert.add(slot);
+                }
+            }
+        }
+
+        int regeneratedDays = comparedDays;
+        var report = transactionTemplate.execute(_ -> {
+            int inserted = slotService.saveIfAbsent(toInsert);
+            // Delete first, whatever was booked in the meantime or before is blocked instead
+            int deleted = slotService.deleteUnbooked(toRemove);
+            int blocked = slotService.block(toRemove);
+            int resized = slotService.updateCapacity(toResize);
+            return new SlotRegenerationReport(regeneratedDays, inserted, deleted, blocked, resized);
+        });
+
+        toRemove.forEach(slotCapacityLedger::evict);
+        toResize.keySet().forEach(slotCapacityLedger::evict);
+        branchAvailabilityCache.invalidate(branchId);
+        earliestAvailableSlotIndex.invalidate(branchId);
+
+        log.info("Regenerated slots for branch {} on {}: {}", branchId, affectedDays, report);
+        return report;
+    }
+
+    private static boolean hasStarted(Slot slot, LocalDateTime now) {
+        return LocalDateTime.of(slot.getDay(), slot.getStartTime()).isBefore(now);
+    }
+
+    /**
+     * A day can be planned if its operation times are known and, when open, its appointment info
+     * was resolved. Appointment info is only resolved for a limited horizon, an open day past it is unknown.
+     */
+    private static boolean isPlannable(BranchOperationTimesDetails branch, LocalDate day) {
+
+        Map<LocalDate, OperationTimesDetails> operationTimes = branch.operationTimes();
+        var appointmentInfo = branch.appointmentInfo();
+
+        if (operationTimes == null || !operationTimes.containsKey(day)) {
+            return false;
+        }
+        if (operationTimes.get(day).isClose()) {
+            return true;
+        }
+        if (appointmentInfo == null) {
+            return false;
+        }
+        return appointmentInfo.containsKey(day) || appointmentInfo.keySet().stream().anyMatch(day::isBefore);
+    }
+}
@@ -0,0 +1,49 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Published when a slot's persisted capacity or status changed (reserve, release, block, unblock).
+ * Carries the state after the change; consumers keep the highest version per slot.
+ * The per-node read models and live watchers apply it once the change commits.
+ */
+public record SlotAvailabilityChangedEvent(
+        UUID slotId,
+        String branchId,
+        LocalDate day,
+        LocalTime startTime,
+        LocalTime endTime,
+        int maxBookingCapacity,
+        int bookingCount,
+        SlotStatus status,
+        int version
+) {
+
+    public static SlotAvailabilityChangedEvent of(Slot slot) {
+        return new SlotAvailabilityChangedEvent(
+                slot.getId(),
+                slot.getBranchId(),
+                slot.getDay(),
+                slot.getStartTime(),
+                slot.getEndTime(),
+                slot.getMaxBookingCapacity(),
+                slot.getBookingCount(),
+                slot.getStatus(),
+                slot.getVersion()
+        );
+    }
+
+    public Slot toSlot() {
+        return Slot.reconstituteFromPersistence(slotId, day, startTime, endTime, maxBookingCapacity, bookingCount,
+                branchId, status, version);
+    }
+
+    public int remainingCapacity() {
+        return status == SlotStatus.AVAILABLE ? maxBookingCapacity - bookingCount : 0;
+    }
+}
@@ -0,0 +1,188 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-node, in-memory view of slot capacity used to turn away bookings for full slots
+ * without a database round trip.
+ *
+ * <p>The ledger is a <b>hint</b>, not the source of truth. Every admitted reservation is still
+ * written through to {@code slot.booking_count} with a conditional update, and the database
+ * decides. The ledger only learns a slot's capacity from persisted state ({@link #sync(Slot)})
+ * and keeps primitive counters that are reserved and released with compare-and-set.</p>
+ *
+ * <h2>Admission Results:</h2>
+ * <ul>
+ *   <li><b>ADMITTED:</b> Slot is known and had free capacity; one unit was taken locally</li>
+ *   <li><b>REJECTED:</b> Slot is known to be full; no database call is needed</li>
+ *   <li><b>UNKNOWN:</b> Slot is not tracked (or its start time has passed); the database decides</li>
+ * </ul>
+ *
+ * <h2>Consistency:</h2>
+ * <ul>
+ *   <li>Only AVAILABLE and FULLY_BOOKED slots are tracked. BLOCKED/EXPIRED slots are answered as UNKNOWN so
+ *       the domain keeps producing the correct error for them.</li>
+ *   <li>Counters carry the slot version and an older version never replaces a newer one, so change events
+ *       committed concurrently and delivered out of order cannot leave a stale counter behind.</li>
+ *   <li>Other nodes can change a slot behind this ledger, so entries expire after
+ *       {@code slot.capacity-ledger.ttl} and are re-synced whenever the database disagrees.</li>
+ *   <li>An admission taken inside a transaction is given back if that transaction rolls back.</li>
+ * </ul>
+ *
+ * @see UpdateSlotStatusUseCase
+ */
+@Slf4j
+@Component
+public class SlotCapacityLedger {
+
+    public enum Admission {
+        ADMITTED,
+        REJECTED,
+        UNKNOWN
+    }
+
+    private final Cache<UUID, Counter> counters;
+
+    public SlotCapacityLedger(@Value("${slot.capacity-ledger.maximum-size:200000}") long maximumSize,
+                              @Value("${slot.capacity-ledger.ttl:30s}") Duration ttl) {
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Tries to take one unit of capacity for the slot.
+     * @param slotId the slot to reserve
+     * @param currentTime time of the booking, slots that already started are left to the database/domain
+     * @return the admission decision
+     */
+    public Admission tryReserve(UUID slotId, LocalDateTime currentTime) {
+
+        Counter counter = counters.getIfPresent(slotId);
+        if (counter == null || !counter.tracked || currentTime.isAfter(counter.startsAt)) {
+            return Admission.UNKNOWN;
+        }
+
+        AtomicInteger booked = counter.booked;
+        while (true) {
+            int current = booked.get();
+            if (current >= counter.capacity) {
+                log.debug("Slot {} rejected by capacity ledger, booked: {}, capacity: {}", slotId, current, counter.capacity);
+                return Admission.REJECTED;
+            }
+            if (booked.compareAndSet(current, current + 1)) {
+                releaseOnRollback(slotId, counter);
+                return Admission.ADMITTED;
+            }
+        }
+    }
+
+    /**
+     * The admitted booking is only written with the caller's transaction, so the unit is given back if it rolls back.
+     * It goes back to the counter it was taken from: a sync in between replaced that counter with persisted state.
+     */
+    private void releaseOnRollback(UUID slotId, Counter counter) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    counter.release();
+                    log.debug("Released capacity ledger admission of slot {} after rollback", slotId);
+                } else if (status == STATUS_UNKNOWN) {
+                    counters.asMap().remove(slotId, counter);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gives back one unit of capacity for the slot, if it is tracked.
+     * @param slotId the slot to release
+     */
+    public void release(UUID slotId) {
+
+        Counter counter = counters.getIfPresent(slotId);
+        if (counter != null) {
+            counter.release();
+        }
+    }
+
+    /**
+     * Replaces the tracked counter with the persisted state of the slot, unless the ledger already knows a newer version.
+     * @param slot the slot as last read from or written to the database
+     */
+    public void sync(Slot slot) {
+
+        SlotStatus status = slot.getStatus();
+        boolean tracked = status == SlotStatus.AVAILABLE || status == SlotStatus.FULLY_BOOKED;
+        var synced = new Counter(tracked, slot.getMaxBookingCapacity(), slot.getBookingCount(),
+                LocalDateTime.of(slot.getDay(), slot.getStartTime()), slot.getVersion());
+        counters.asMap().compute(slot.getId(), (_, known) -> {
+            if (known != null && known.version > synced.version) {
+                log.debug("Ignored version {} of slot {}, capacity ledger has version {}", synced.version, slot.getId(), known.version);
+                return known;
+            }
+            return synced;
+        });
+    }
+
+    /**
+     * Syncs the changed slot once its change committed, a rolled back change never reaches the ledger.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSlotAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+        sync(event.toSlot());
+    }
+
+    public void evict(UUID slotId) {
+        counters.invalidate(slotId);
+    }
+
+    /**
+     * @param tracked false for slots that are not bookable, kept only so an older version cannot bring them back
+     */
+    private static final class Counter {
+        private final boolean tracked;
+        private final int capacity;
+        private final AtomicInteger booked;
+        private final LocalDateTime startsAt;
+        private final int version;
+
+        private Counter(boolean tracked, int capacity, int booked, LocalDateTime startsAt, int version) {
+            this.tracked = tracked;
+            this.capacity = capacity;
+            this.booked = new AtomicInteger(booked);
+            this.startsAt = startsAt;
+            this.version = version;
+        }
+
+        private void release() {
+            while (true) {
+                int current = booked.get();
+                if (current == 0 || booked.compareAndSet(current, current - 1)) {
+                    return;
+                }
+            }
+        }
+    }
+}
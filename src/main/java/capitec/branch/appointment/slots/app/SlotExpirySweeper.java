@@ -0,0 +1,145 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Scheduled component marking slots that ended as EXPIRED in bulk.
+ *
+ * <p>Applies the {@link Slot#expire()} rule (AVAILABLE and BLOCKED slots expire, booked slots keep
+ * their status) with set-based updates instead of loading slots, so past slots stop showing up as
+ * bookable and leave the hot status indexes.</p>
+ *
+ * <h2>Each Run:</h2>
+ * <ol>
+ *   <li>Walks expirable slots that ended before now in (day, id) keyset order, {@code slot.expiry.batch-size} at a time</li>
+ *   <li>Every batch is one {@code UPDATE ... RETURNING} in its own transaction; rows locked by a booking are
+ *       skipped ({@code SKIP LOCKED}) and picked up by the next run, so the sweeper never waits on bookings
+ *       and holds its locks for one batch only</li>
+ *   <li>Stops when a batch comes back short or after {@code slot.expiry.max-batches}</li>
+ *   <li>Publishes one {@link SlotsExpiredEvent} per branch and day and drops the branches from the
+ *       {@link BranchAvailabilityCache}</li>
+ * </ol>
+ *
+ * <h2>Metrics:</h2>
+ * <ul>
+ *   <li><b>slot.expiry.expired</b> - counter of slots expired</li>
+ *   <li><b>slot.expiry.run.expired</b> - slots expired per run</li>
+ *   <li><b>slot.expiry.batch</b> - time per batch, i.e. how long the batch held its row locks</li>
+ * </ul>
+ *
+ * @see SlotService#expireBatch
+ * @see SlotsExpiredEvent
+ */
+@Slf4j
+@Component
+public class SlotExpirySweeper {
+
+    private final SlotService slotService;
+    private final BranchAvailabilityCache branchAvailabilityCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Counter expiredCounter;
+    private final DistributionSummary expiredPerRun;
+    private final Timer batchTimer;
+
+    @Value("${slot.expiry.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${slot.expiry.max-batches:1000}")
+    private int maxBatches;
+
+    public SlotExpirySweeper(SlotService slotService,
+                             BranchAvailabilityCache branchAvailabilityCache,
+                             ApplicationEventPublisher applicationEventPublisher,
+                             MeterRegistry meterRegistry) {
+        this.slotService = slotService;
+        this.branchAvailabilityCache = branchAvailabilityCache;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.expiredCounter = Counter.builder("slot.expiry.expired")
+                .description("Slots marked as expired")
+                .register(meterRegistry);
+        this.expiredPerRun = DistributionSummary.builder("slot.expiry.run.expired")
+                .description("Slots expired per sweeper run")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("slot.expiry.batch")
+                .description("Duration of one expiry batch transaction, the time its row locks are held")
+                .register(meterRegistry);
+    }
+
+    public record SlotExpiryReport(int batches, int expiredSlots, int branchDays) {
+    }
+
+    @Scheduled(cron = "${slot.expiry.cron:0 */15 * * * *}", zone = "Africa/Johannesburg")
+    public void execute() {
+        try {
+            execute(LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Slot expiry sweep failed", e);
+        }
+    }
+
+    public SlotExpiryReport execute(LocalDateTime now) {
+        return execute(now, batchSize);
+    }
+
+    SlotExpiryReport execute(LocalDateTime now, int batchSize) {
+
+        Map<BranchDay, Integer> expiredByBranchDay = new LinkedHashMap<>();
+        LocalDate afterDay = null;
+        UUID afterId = null;
+        int batches = 0;
+        int expired = 0;
+
+        while (batches < maxBatches) {
+
+            Timer.Sample sample = Timer.start();
+            List<Slot> batch = slotService.expireBatch(now, afterDay, afterId, batchSize);
+            sample.stop(batchTimer);
+            batches++;
+
+            for (Slot slot : batch) {
+                expiredByBranchDay.merge(new BranchDay(slot.getBranchId(), slot.getDay()), 1, Integer::sum);
+            }
+            expired += batch.size();
+            expiredCounter.increment(batch.size());
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+            Slot last = batch.getLast();
+            afterDay = last.getDay();
+            afterId = last.getId();
+        }
+
+        expiredByBranchDay.forEach((branchDay, count) -> applicationEventPublisher.publishEvent(
+                new SlotsExpiredEvent(branchDay.branchId(), branchDay.day(), count, now)));
+        expiredByBranchDay.keySet().stream()
+                .map(BranchDay::branchId)
+                .distinct()
+                .forEach(branchAvailabilityCache::invalidate);
+        expiredPerRun.record(expired);
+
+        var report = new SlotExpiryReport(batches, expired, expiredByBranchDay.size());
+        log.info("Slot expiry sweep finished: {}", report);
+        return report;
+    }
+
+    private record BranchDay(String branchId, LocalDate day) {
+    }
+}
@@ -0,0 +1,14 @@
+package capitec.branch.appointment.slots.app;
+
+/**
+ * Outcome of a slot generation run.
+ * @param branches number of branches processed
+ * @param generatedSlots number of slots generated from branch configuration
+ * @param insertedSlots number of slots inserted, generated slots that already existed are skipped
+ */
+public record SlotGenerationReport(
+        int branches,
+        long generatedSlots,
+        long insertedSlots
+) {
+}
@@ -0,0 +1,21 @@
+package capitec.branch.appointment.slots.app;
+
+/**
+ * A slice of the branches of a slot generation run, branches are assigned by the hash of their id.
+ * {@link String#hashCode()} is fixed by the language specification, so every node assigns a branch
+ * to the same shard.
+ * @param shard index of the shard, from 0 to {@code shardCount - 1}
+ * @param shardCount number of shards the branches are split into
+ */
+public record SlotGenerationShard(int shard, int shardCount) {
+
+    public SlotGenerationShard {
+        if (shardCount < 1 || shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("Invalid slot generation shard " + shard + " of " + shardCount);
+        }
+    }
+
+    public boolean owns(String branchId) {
+        return Math.floorMod(branchId.hashCode(), shardCount) == shard;
+    }
+}
@@ -1,5 +1,7 @@
 package capitec.branch.appointment.slots.app;
 
+import capitec.branch.appointment.slots.app.port.SlotGenerationLeasePort;
+import capitec.branch.appointment.slots.app.port.SlotGenerationLeasePort.SlotGenerationRun;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,13 +9,15 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Scheduled component for automated daily slot generation.
@@ -46,13 +50,14 @@ import java.util.Set;
  *     </ul>
  *   </li>
  *   <li>Delegates to {@link GenerateSlotsUseCase} for actual slot creation</li>
- *   <li>All operations run within a transaction with retry support</li>
+ *   <li>Generation runs with retry support; slots are committed in idempotent chunks</li>
  * </ol>
  *
  * <h2>Resilience Features:</h2>
  * <ul>
  *   <li><b>Retry Template:</b> Retries on transient failures with exponential backoff</li>
- *   <li><b>Transaction Template:</b> Ensures atomicity of slot generation</li>
+ *   <li><b>Idempotent Chunks:</b> Each chunk commits on its own and skips slots that already exist,
+ *       so a retry resumes where the failed attempt stopped instead of regenerating everything</li>
  *   <li><b>Failure Event:</b> Publishes {@link SlotGenerationSchedulerEventFailure} on failure for alerting</li>
  * </ul>
  *
@@ -63,16 +68,37 @@ import java.util.Set;
  *   rolling-window-days:
  *     init-value: 7                # Initial run: 7 days ahead
  *     daily-value: 1               # Daily run: 1 day ahead
+ *   generation:
+ *     shards:
+ *       count: 16                  # Branch shards per run
+ *       lease: PT15M               # Lease of a claimed shard
+ *       max-attempts: 5            # Claims of a shard before it is given up
+ *       reclaim-interval: PT1M     # Check for abandoned shards
+ *     chunk-size: 500              # Slots per insert batch/transaction
+ *     parallelism: 4               # Concurrent branch workers
+ *     write-mode: COPY             # COPY (staging table) or BATCH (per-row INSERT batch)
  * </pre>
  *
- * <h2>Distributed Systems Note:</h2>
- * <p>For deployments with multiple instances, use a distributed lock mechanism
- * (e.g., ShedLock) to ensure only one instance runs this scheduled task.
- * See: <a href="https://www.baeldung.com/shedlock-spring">ShedLock Spring Guide</a></p>
+ * <h2>Sharding Across Nodes:</h2>
+ * <p>The scheduled run executes on every node and is coordinated through leases in the database
+ * ({@link SlotGenerationLeasePort}):</p>
+ * <ul>
+ *   <li><b>Run:</b> the first node opens the day's run and fixes its window, later nodes reuse it</li>
+ *   <li><b>Shards:</b> branches are split into {@code slot.generation.shards.count} shards by the hash of
+ *       their id ({@link SlotGenerationShard}), nodes claim shards one at a time until none is left</li>
+ *   <li><b>Exactly Once:</b> a completed shard is never claimed again for the run, a second tick on the
+ *       same day generates nothing</li>
+ *   <li><b>Reclaim:</b> a shard of a crashed node is claimed again once its {@code slot.generation.shards.lease}
+ *       expired, by the node running {@link #reclaimAbandonedShards()}; a shard failing
+ *       {@code slot.generation.shards.max-attempts} times is left for an operator</li>
+ *   <li>A lease expiring while its shard is still generating only duplicates work: chunks are idempotent</li>
+ * </ul>
  *
  * @see GenerateSlotsUseCase
  * @see GetLastestGeneratedSlotDate
  * @see SlotGenerationSchedulerEventFailure
+ * @see SlotPartitionManager
+ * @see SlotGenerationLeasePort
  */
 @Component
 @Slf4j
@@ -81,9 +107,10 @@ public class SlotGeneratorScheduler {
 
     private final GenerateSlotsUseCase generateSlotsUseCase;
     private final GetLastestGeneratedSlotDate getLastestGeneratedSlotDate;
-    private final TransactionTemplate transactionTemplate;
     private final RetryTemplate slotGenerationRetryTemplate;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final SlotGenerationLeasePort slotGenerationLeasePort;
+    private final String owner = nodeName() + "-" + UUID.randomUUID().toString().substring(0, 8);
 
     @Value("${slot.rolling-window-days.init-value:7}")
     private int initRollingWindowDays;
@@ -91,22 +118,51 @@ public class SlotGeneratorScheduler {
     @Value("${slot.rolling-window-days.daily-value:1}")
     private int dailyRollingWindowDays;
 
+    @Value("${slot.generation.shards.count:16}")
+    private int shardCount;
+
+    @Value("${slot.generation.shards.lease:PT15M}")
+    private Duration lease;
+
+    @Value("${slot.generation.shards.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${slot.generation.shards.retention-days:30}")
+    private int retentionDays;
+
     /**
-     * ON DISTRIBUTED SYSTEMS, ENSURE ONLY ONE INSTANCE RUNS THIS SCHEDULED TASK AT A TIME
-     * source <a href='https://www.baeldung.com/shedlock-spring'/>
+     * Runs on every node: the first node to open the day's run fixes its window, then every node
+     * claims and generates shards until none is left.
      */
     @Scheduled(cron = "${slot.cron:0 30 0 * * *}", zone = "Africa/Johannesburg")
     public void execute() {
-        log.info("Starting daily slot generation");
+        log.info("Starting daily slot generation on node {}", owner);
+        try {
+            SlotGenerationRun run = openRun(LocalDate.now());
+            int generated = generateClaimedShards(run);
+            log.info("Completed daily slot generation, node {} generated {} of {} shards", owner, generated, run.shardCount());
+        } catch (Exception e) {
+            log.error("Daily slot generation failed", e);
+            publishFailure();
+        }
+    }
+
+    /**
+     * Picks up shards of recent runs left by crashed or failing nodes once their lease expired.
+     * Only runs opened at least one lease ago are looked at, so a run still being claimed is left alone.
+     */
+    @Scheduled(fixedDelayString = "${slot.generation.shards.reclaim-interval:PT1M}",
+            initialDelayString = "${slot.generation.shards.reclaim-interval:PT1M}")
+    public void reclaimAbandonedShards() {
         try {
-            executeWithRetry();
-            log.info("Completed daily slot generation");
+            for (SlotGenerationRun run : slotGenerationLeasePort.findOpenRuns(LocalDate.now().minusDays(1), lease)) {
+                int generated = generateClaimedShards(run);
+                if (generated > 0) {
+                    log.info("Node {} reclaimed and generated {} shards of slot generation run {}", owner, generated, run.runDate());
+                }
+            }
         } catch (Exception e) {
-            log.error("Daily slot generation failed after all retries", e);
-            // Future: Add alerting here (Slack, email, etc.)
-            var slotGenerationFailed = new SlotGenerationSchedulerEventFailure("Slot generation failed.",
-                    LocalDateTime.now(), LocalDate.now().plusDays(1));
-            applicationEventPublisher.publishEvent(slotGenerationFailed);
+            log.error("Reclaiming slot generation shards failed", e);
         }
     }
 
@@ -114,42 +170,106 @@ public class SlotGeneratorScheduler {
         executeWithRetry(Collections.emptySet(),null,null);
     }
 
+    /**
+     * Generates on this node only, without shard leases. Used for on demand generation.
+     */
     public void executeWithRetry(Set<String> branches, LocalDate fromDate,Integer rollingWindowDays) {
 
-        slotGenerationRetryTemplate.execute(context -> {
-            log.info("Attempt {} of slot generation", context.getRetryCount() + 1);
+        // Resolve the window once: chunks committed by a failed attempt must not move the start date of the retry
+        LocalDate startDate;
+        int windowDays;
+        if(fromDate == null) {
+            SlotGenerationRun run = resolveRun(LocalDate.now());
+            startDate = run.startDate();
+            windowDays = run.windowDays();
+        }
+        else{
 
-            transactionTemplate.executeWithoutResult(status -> {
-                try {
-                    LocalDate today =  LocalDate.now();
-                    LocalDate startDate;
-                    int windowDays;
-                    if(fromDate == null) {
-                        var latestDate = getLastestGeneratedSlotDate.execute(today);
-                         windowDays = latestDate.isPresent() ? dailyRollingWindowDays : initRollingWindowDays;
+            startDate = fromDate;
+            windowDays = rollingWindowDays;
+        }
 
-                        startDate = latestDate
-                                .map(date -> date.plusDays(1))
-                                .orElse(today.plusDays(1));
+        generateWithRetry(() -> generateSlotsUseCase.createNext7DaySlots(branches, startDate, windowDays), startDate, windowDays);
+    }
 
-                    }
-                    else{
+    SlotGenerationRun openRun(LocalDate today) {
 
-                        startDate = fromDate;
-                        windowDays = rollingWindowDays;
-                    }
+        int deleted = slotGenerationLeasePort.deleteRunsBefore(today.minusDays(retentionDays));
+        if (deleted > 0) {
+            log.debug("Deleted {} slot generation runs older than {} days", deleted, retentionDays);
+        }
+        // Nodes opening later get the stored run: their own window would start after the shards already generated
+        SlotGenerationRun run = slotGenerationLeasePort.openRun(resolveRun(today));
+        log.info("Slot generation run {}: from {} for {} days in {} shards", run.runDate(), run.startDate(), run.windowDays(), run.shardCount());
+        return run;
+    }
 
+    private SlotGenerationRun resolveRun(LocalDate today) {
 
-                    log.info("Generating slots from {} for {} days", startDate, windowDays);
-                    generateSlotsUseCase.createNext7DaySlots(branches,startDate, windowDays);
+        var latestDate = getLastestGeneratedSlotDate.execute(today);
+        int windowDays = latestDate.isPresent() ? dailyRollingWindowDays : initRollingWindowDays;
 
-                }catch (Exception e) {
-                    log.error("Failed to generate slot from day\n",e );
-                    throw e;
-                }
-            });
+        LocalDate startDate = latestDate
+                .map(date -> date.plusDays(1))
+                .orElse(today.plusDays(1));
+
+        return new SlotGenerationRun(today, startDate, windowDays, shardCount);
+    }
 
-            return null;
+    private int generateClaimedShards(SlotGenerationRun run) {
+
+        int generated = 0;
+        Optional<Integer> claimed;
+        while ((claimed = slotGenerationLeasePort.claimShard(run.runDate(), owner, lease, maxAttempts)).isPresent()) {
+
+            var shard = new SlotGenerationShard(claimed.get(), run.shardCount());
+            SlotGenerationReport report;
+            try {
+                report = generateWithRetry(() -> generateSlotsUseCase.createNext7DaySlots(shard, run.startDate(), run.windowDays()),
+                        run.startDate(), run.windowDays());
+            } catch (Exception e) {
+                // The lease is left to expire, the shard is retried by a node reclaiming it
+                log.error("Slot generation of shard {} of run {} failed after all retries", shard.shard(), run.runDate(), e);
+                publishFailure();
+                return generated;
+            }
+
+            if (slotGenerationLeasePort.completeShard(run.runDate(), shard.shard(), owner, report.insertedSlots())) {
+                generated++;
+            } else {
+                log.warn("Node {} lost the lease of shard {} of run {} before completing it", owner, shard.shard(), run.runDate());
+            }
+        }
+        return generated;
+    }
+
+    private SlotGenerationReport generateWithRetry(Supplier<SlotGenerationReport> generation, LocalDate startDate, int windowDays) {
+
+        return slotGenerationRetryTemplate.execute(context -> {
+            log.info("Attempt {} of slot generation", context.getRetryCount() + 1);
+
+            try {
+                log.info("Generating slots from {} for {} days", startDate, windowDays);
+                var report = generation.get();
+                log.info("Slot generation attempt {} inserted {} of {} generated slots", context.getRetryCount() + 1, report.insertedSlots(), report.generatedSlots());
+                return report;
+
+            }catch (Exception e) {
+                log.error("Failed to generate slot from day\n",e );
+                throw e;
+            }
         });
     }
-}
\ No newline at end of file
+
+    private void publishFailure() {
+        // Future: Add alerting here (Slack, email, etc.)
+        var slotGenerationFailed = new SlotGenerationSchedulerEventFailure("Slot generation failed.",
+                LocalDateTime.now(), LocalDate.now().plusDays(1));
+        applicationEventPublisher.publishEvent(slotGenerationFailed);
+    }
+
+    private static String nodeName() {
+        String hostname = System.getenv("HOSTNAME");
+        return hostname == null || hostname.isBlank() ? "node" : hostname;
+    }
+}
@@ -0,0 +1,131 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.port.SlotPartitionPort;
+import capitec.branch.appointment.slots.app.port.SlotPartitionPort.SlotPartition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Scheduled component keeping the monthly day range partitions of the slot table rolling.
+ *
+ * <p>The slot table is partitioned by {@code day}, one partition per month, so queries filtering
+ * on a day range (browse, latest generated date, expiry) only scan the months they need and
+ * history can be removed without deleting rows one by one.</p>
+ *
+ * <h2>Each Run:</h2>
+ * <ol>
+ *   <li>Creates partitions from the current month up to {@code slot.partitions.months-ahead} months ahead,
+ *       before {@link SlotGeneratorScheduler} generates slots for them</li>
+ *   <li>Slots that landed in the default partition for a missing month are moved into the new partition</li>
+ *   <li>Partitions ending more than {@code slot.partitions.retention-months} before the current month are
+ *       archived (detached and kept as {@code slot_archive_pYYYYMM}) or dropped, per {@code slot.partitions.expired-action}.
+ *       Appointments keep them attached: a partition is not archived while open appointments are booked on its
+ *       slots, and not dropped while any appointment is</li>
+ * </ol>
+ *
+ * <h2>Scheduling:</h2>
+ * <ul>
+ *   <li>On application start, so a node that was down does not generate into the default partition</li>
+ *   <li>Daily at {@code slot.partitions.cron} (default 00:00 Africa/Johannesburg, before slot generation)</li>
+ * </ul>
+ *
+ * <p>Partition DDL is serialized with an advisory lock and is idempotent, so it is safe to run on every node.</p>
+ *
+ * @see SlotPartitionPort
+ * @see SlotGeneratorScheduler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotPartitionManager {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final SlotPartitionPort slotPartitionPort;
+
+    @Value("${slot.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${slot.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${slot.partitions.expired-action:ARCHIVE}")
+    private ExpiredAction expiredAction;
+
+    public enum ExpiredAction {
+        ARCHIVE,
+        DROP
+    }
+
+    public record SlotPartitionReport(int created, int archived, int dropped) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        execute();
+    }
+
+    @Scheduled(cron = "${slot.partitions.cron:0 0 0 * * *}", zone = "Africa/Johannesburg")
+    public void execute() {
+        try {
+            execute(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Slot partition maintenance failed", e);
+        }
+    }
+
+    public SlotPartitionReport execute(LocalDate today) {
+
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        List<SlotPartition> partitions = slotPartitionPort.findPartitions();
+
+        int created = 0;
+        for (int month = 0; month <= monthsAhead; month++) {
+            LocalDate from = currentMonth.plusMonths(month);
+            boolean covered = partitions.stream()
+                    .anyMatch(partition -> !partition.from().isAfter(from) && partition.to().isAfter(from));
+            if (!covered && slotPartitionPort.createPartition(partitionName(from), from, from.plusMonths(1))) {
+                log.info("Created slot partition {} for {}", partitionName(from), from);
+                created++;
+            }
+        }
+
+        LocalDate retainFrom = currentMonth.minusMonths(retentionMonths);
+        int archived = 0;
+        int dropped = 0;
+        for (SlotPartition partition : partitions) {
+            if (partition.to().isAfter(retainFrom)) {
+                continue;
+            }
+            if (expiredAction == ExpiredAction.DROP) {
+                if (slotPartitionPort.dropPartition(partition.name())) {
+                    log.info("Dropped expired slot partition {} [{} - {})", partition.name(), partition.from(), partition.to());
+                    dropped++;
+                }
+            } else {
+                String archiveName = "slot_archive_p" + MONTH.format(partition.from());
+                if (slotPartitionPort.archivePartition(partition.name(), archiveName)) {
+                    log.info("Archived expired slot partition {} as {}", partition.name(), archiveName);
+                    archived++;
+                }
+            }
+        }
+
+        var report = new SlotPartitionReport(created, archived, dropped);
+        log.info("Slot partition maintenance finished: {}", report);
+        return report;
+    }
+
+    private static String partitionName(LocalDate month) {
+        return "slot_p" + MONTH.format(month);
+    }
+}
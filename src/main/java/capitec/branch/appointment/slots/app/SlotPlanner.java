@@ -0,0 +1,207 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.port.AppointmentInfoDetails;
+import capitec.branch.appointment.slots.app.port.BranchOperationTimesDetails;
+import capitec.branch.appointment.slots.app.port.OperationTimesDetails;
+import capitec.branch.appointment.slots.domain.Slot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Computes the slots a branch should have from its operation times and appointment info.
+ *
+ * <p>Pure planning, nothing is persisted. Shared by {@link GenerateSlotsUseCase} (rolling window)
+ * and {@link RegenerateBranchSlotsUseCase} (diff against existing slots after a configuration change),
+ * so both always agree on what a day looks like.</p>
+ *
+ * <p>A day's slots only depend on its opening hours, appointment info and the distribution factor,
+ * which most branches and days share. The planner builds a {@link SlotTemplate} once per distinct
+ * {@link TemplateKey}, caches it and stamps it onto every matching day, so planning cost scales with
+ * the number of distinct configurations instead of branches × days.</p>
+ *
+ * <p>Days with a staff roster get the template's capacity scaled to the staff rostered that day
+ * ({@link #rosteredCapacity}), the same capacity {@link RecomputeSlotCapacityUseCase} applies when the roster
+ * changes. Days without a roster keep the capacity of the appointment info.</p>
+ */
+@Slf4j
+@Component
+class SlotPlanner {
+
+    private final int slotsDistributionFactor;
+    private final Cache<TemplateKey, SlotTemplate> templates;
+
+    SlotPlanner(@Value("${slot.duration.factor}") int slotsDistributionFactor,
+                @Value("${slot.planner.template-cache-size:1024}") long templateCacheSize) {
+        this.slotsDistributionFactor = slotsDistributionFactor;
+        this.templates = Caffeine.newBuilder()
+                .maximumSize(templateCacheSize)
+                .build();
+    }
+
+    /**
+     * Configuration a day's slots are derived from.
+     */
+    record TemplateKey(
+            LocalTime openAt,
+            LocalTime closeAt,
+            Duration slotDuration,
+            int staffCount,
+            double utilizationFactor,
+            int maxBookingCapacity,
+            int slotsDistributionFactor
+    ) {
+    }
+
+    /**
+     * Generate Time Slots for a given dateOfSlots range, with the capacity of the appointment info.
+     * @see #plan(BranchOperationTimesDetails, LocalDate, int, Map, Consumer)
+     */
+    int plan(BranchOperationTimesDetails branch, LocalDate startDate, int days, Consumer<Slot> sink) {
+        return plan(branch, startDate, days, Map.of(), sink);
+    }
+
+    /**
+     * Generate Time Slots for a given dateOfSlots range.
+     * @param branch The branch of slots to generate
+     * @param startDate The starting dateOfSlots.
+     * @param days The bookingCount of days to generate slots for.
+     * @param workingStaff Staff rostered per day, only for days that have a roster.
+     * @param sink Receives every generated slot, in day and start time order.
+     * @return The number of generated slots.
+     */
+    int plan(BranchOperationTimesDetails branch, LocalDate startDate, int days, Map<LocalDate, Integer> workingStaff,
+             Consumer<Slot> sink) {
+
+        int generated = 0;
+
+        Map<LocalDate, OperationTimesDetails> localDateOperationTimesDtoMap = branch.operationTimes();
+        Map<LocalDate, AppointmentInfoDetails> AppointmentInfoDtoMap = branch.appointmentInfo();
+
+
+        if (localDateOperationTimesDtoMap ==null || localDateOperationTimesDtoMap.isEmpty()) {
+            log.error("Branch has no operation times found, branch:{}",branch);
+            return 0;
+        }
+
+        if (AppointmentInfoDtoMap ==null || AppointmentInfoDtoMap.isEmpty()) {
+            log.error("Branch has no appointment information found, branch:{}",branch.branchId());
+            return 0;
+        }
+
+        LocalDate day = startDate;
+        for (int numDays = 0; numDays < days; numDays++, day = day.plusDays(1)) {
+            log.debug("Creating slot for date {}", day);
+
+            // Check if OperationTimes exist for this day
+            OperationTimesDetails operationTimesDetails = localDateOperationTimesDtoMap.get(day);
+            if (operationTimesDetails == null || operationTimesDetails.isClose()) {
+                log.warn("Branch {} has operation times detected for day {}",branch.branchId(), day);
+                continue;
+            }
+            // Check if appointmentInfo exist for this day
+            AppointmentInfoDetails appointmentInfoDetails = AppointmentInfoDtoMap.get(day);
+            if (appointmentInfoDetails == null) {
+                 log.warn("Branch {} has no appointment info found for day {}", branch.branchId(),day);
+                continue;
+            }
+
+            SlotTemplate template = template(operationTimesDetails, appointmentInfoDetails);
+            Integer staff = workingStaff.get(day);
+            generated += staff == null
+                    ? template.stamp(day, branch.branchId(), sink)
+                    : template.stamp(day, branch.branchId(), rosteredCapacity(appointmentInfoDetails, staff), sink);
+        }
+       log.debug("Generated {} slots for branch:{}", generated, branch.branchId());
+        return generated;
+    }
+
+    /**
+     * @return the cached template of the configuration, built on first use
+     */
+    SlotTemplate template(OperationTimesDetails operationTimesDetails, AppointmentInfoDetails appointmentInfoDetails) {
+        var key = new TemplateKey(operationTimesDetails.openAt(), operationTimesDetails.closeAt(),
+                appointmentInfoDetails.slotDuration(), appointmentInfoDetails.staffCount(),
+                appointmentInfoDetails.utilizationFactor(), appointmentInfoDetails.maxBookingCapacity(),
+                slotsDistributionFactor);
+        return templates.get(key, this::buildTemplate);
+    }
+
+    /**
+     * @return the slot capacity of the appointment info scaled to the staff rostered:
+     * {@code round(maxBookingCapacity × workingStaff / staffCount)}
+     */
+    static int rosteredCapacity(AppointmentInfoDetails appointmentInfoDetails, int workingStaff) {
+        if (appointmentInfoDetails.staffCount() <= 0) {
+            return appointmentInfoDetails.maxBookingCapacity();
+        }
+        return (int) Math.round((double) appointmentInfoDetails.maxBookingCapacity() * workingStaff / appointmentInfoDetails.staffCount());
+    }
+
+    /**
+     * @return the number of distinct configurations templates are cached for
+     */
+    long templateCount() {
+        templates.cleanUp();
+        return templates.estimatedSize();
+    }
+
+    private SlotTemplate buildTemplate(TemplateKey key) {
+
+        log.debug("Building slot template for {}", key);
+
+        int availableCapacity = calculateAvailableCapacity(key);
+        if (availableCapacity <= 0 || !key.openAt().isBefore(key.closeAt())) {
+            return SlotTemplate.EMPTY;
+        }
+
+        long slotSeconds = key.slotDuration().toSeconds();
+        int closeSecond = key.closeAt().toSecondOfDay();
+        // Move to the next slot time, respecting the distribution factor
+        long minutesToAdd = key.slotDuration().toMinutes() * key.slotsDistributionFactor();
+        // FORCE the increment to be at least 10 minutes to prevent infinite loops
+        long stepSeconds = Math.max(10, minutesToAdd) * 60;
+
+        int maxSlots = (int) Math.min(availableCapacity, (closeSecond - key.openAt().toSecondOfDay()) / stepSeconds + 1);
+        int[] startSeconds = new int[maxSlots];
+        int[] endSeconds = new int[maxSlots];
+        int count = 0;
+        // Generate slots until the open time plus the slot duration exceeds closing time
+        for (long open = key.openAt().toSecondOfDay(); count < availableCapacity && open < closeSecond
+                && open + slotSeconds <= closeSecond; open += stepSeconds) {
+            startSeconds[count] = (int) open;
+            endSeconds[count] = (int) (open + slotSeconds);
+            count++;
+        }
+        return new SlotTemplate(Arrays.copyOf(startSeconds, count), Arrays.copyOf(endSeconds, count),
+                key.maxBookingCapacity());
+    }
+
+    private static int calculateAvailableCapacity(TemplateKey key) {
+
+        // 1. Calculate working duration in minutes
+        // Calculate the difference in hours/minutes (e.g., 17:00-08:00 = 9 hours)
+        long workingMinutes = Duration.between(key.openAt(), key.closeAt()).toMinutes();
+
+        // 2. Calculate theoretical slots per staff
+        long slotDurationMinutes = key.slotDuration().toMinutes();
+        var theoreticalSlotsPerStaff = workingMinutes / slotDurationMinutes;
+
+        // 3. Calculate total theoretical capacity
+        var totalCapacity = key.staffCount() * theoreticalSlotsPerStaff;
+
+        // 4. Calculate available capacity using utilization factor
+        var availableCapacity = totalCapacity * key.utilizationFactor();
+
+        return (int) Math.round(availableCapacity);
+    }
+}
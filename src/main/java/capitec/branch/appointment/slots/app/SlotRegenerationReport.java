@@ -0,0 +1,21 @@
+package capitec.branch.appointment.slots.app;
+
+/**
+ * Outcome of regenerating a branch's existing slots after a configuration change.
+ * @param days number of days compared against the new configuration
+ * @param inserted slots the new configuration adds
+ * @param deleted unbooked slots the new configuration no longer has
+ * @param blocked booked slots the new configuration no longer has, kept to honour their bookings
+ * @param resized slots whose max booking capacity changed
+ */
+public record SlotRegenerationReport(
+        int days,
+        int inserted,
+        int deleted,
+        int blocked,
+        int resized
+) {
+    public static SlotRegenerationReport none() {
+        return new SlotRegenerationReport(0, 0, 0, 0, 0);
+    }
+}
@@ -2,6 +2,7 @@ package capitec.branch.appointment.slots.app;
 
 import capitec.branch.appointment.slots.domain.Slot;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -10,12 +11,29 @@ public  sealed interface   SlotStatusTransitionAction  permits SlotStatusTransit
     UUID  getId();
     Slot execute(Slot slot);
 
-    record Book(UUID id,LocalDateTime currentTime) implements SlotStatusTransitionAction {
+    /**
+     * Day of the slot if the caller knows it, so the slot is looked up in that day's partition only.
+     */
+    default LocalDate getDay() {
+        return null;
+    }
+
+    record Book(UUID id, LocalDate day, LocalDateTime currentTime) implements SlotStatusTransitionAction {
+
+        public Book(UUID id, LocalDateTime currentTime) {
+            this(id, null, currentTime);
+        }
+
         @Override
         public UUID getId() {
             return id;
         }
 
+        @Override
+        public LocalDate getDay() {
+            return day;
+        }
+
         @Override
         public Slot execute(Slot slot) {
             slot.book(currentTime);
@@ -36,12 +54,22 @@ public  sealed interface   SlotStatusTransitionAction  permits SlotStatusTransit
         }
     }
 
-    record Release(UUID id,LocalDateTime currentTime) implements SlotStatusTransitionAction {
+    record Release(UUID id, LocalDate day, LocalDateTime currentTime) implements SlotStatusTransitionAction {
+
+        public Release(UUID id, LocalDateTime currentTime) {
+            this(id, null, currentTime);
+        }
+
         @Override
         public UUID getId() {
             return  id;
         }
 
+        @Override
+        public LocalDate getDay() {
+            return day;
+        }
+
         @Override
         public Slot execute(Slot slot) {
             slot.release(currentTime);
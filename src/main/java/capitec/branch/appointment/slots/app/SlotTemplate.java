@@ -0,0 +1,75 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.domain.Slot;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.function.Consumer;
+
+/**
+ * Immutable shape of one generated day: slot start/end times and capacity, without a date.
+ *
+ * <p>Built once per distinct configuration by {@link SlotPlanner} and stamped onto every day
+ * that shares it. Times are kept both as second-of-day arrays and as the {@link LocalTime}
+ * instances handed to slots, so stamping a day only allocates the slots themselves.</p>
+ */
+final class SlotTemplate {
+
+    static final SlotTemplate EMPTY = new SlotTemplate(new int[0], new int[0], 0);
+
+    private final int[] startSeconds;
+    private final int[] endSeconds;
+    private final LocalTime[] startTimes;
+    private final LocalTime[] endTimes;
+    private final int maxBookingCapacity;
+
+    SlotTemplate(int[] startSeconds, int[] endSeconds, int maxBookingCapacity) {
+        if (startSeconds.length != endSeconds.length) {
+            throw new IllegalArgumentException("Slot template needs one end time per start time");
+        }
+        this.startSeconds = startSeconds.clone();
+        this.endSeconds = endSeconds.clone();
+        this.maxBookingCapacity = maxBookingCapacity;
+        this.startTimes = new LocalTime[startSeconds.length];
+        this.endTimes = new LocalTime[endSeconds.length];
+        for (int i = 0; i < startSeconds.length; i++) {
+            startTimes[i] = LocalTime.ofSecondOfDay(startSeconds[i]);
+            endTimes[i] = LocalTime.ofSecondOfDay(endSeconds[i]);
+        }
+    }
+
+    int size() {
+        return startSeconds.length;
+    }
+
+    int startSecond(int index) {
+        return startSeconds[index];
+    }
+
+    int endSecond(int index) {
+        return endSeconds[index];
+    }
+
+    int maxBookingCapacity() {
+        return maxBookingCapacity;
+    }
+
+    /**
+     * Creates the template's slots on a day.
+     * @return the number of slots created
+     */
+    int stamp(LocalDate day, String branchId, Consumer<Slot> sink) {
+        return stamp(day, branchId, maxBookingCapacity, sink);
+    }
+
+    /**
+     * Creates the template's slots on a day with another capacity, e.g. scaled to the staff rostered that day.
+     * @return the number of slots created
+     */
+    int stamp(LocalDate day, String branchId, int maxBookingCapacity, Consumer<Slot> sink) {
+        for (int i = 0; i < startTimes.length; i++) {
+            sink.accept(new Slot(day, startTimes[i], endTimes[i], maxBookingCapacity, branchId));
+        }
+        return startTimes.length;
+    }
+}
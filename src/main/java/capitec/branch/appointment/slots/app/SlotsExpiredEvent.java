@@ -0,0 +1,15 @@
+package capitec.branch.appointment.slots.app;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Published once per branch and day by a {@link SlotExpirySweeper} run that expired slots of that day.
+ */
+public record SlotsExpiredEvent(
+        String branchId,
+        LocalDate day,
+        int expiredSlots,
+        LocalDateTime expiredAt
+) {
+}
@@ -3,16 +3,21 @@ package capitec.branch.appointment.slots.app;
 import capitec.branch.appointment.exeption.OptimisticLockConflictException;
 import capitec.branch.appointment.exeption.SlotFullyBookedException;
 import capitec.branch.appointment.slots.app.port.SlotQueryPort;
+import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.slots.domain.SlotService;
 import capitec.branch.appointment.utils.UseCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Use case for updating slot status with optimistic locking and retry support.
@@ -27,7 +32,22 @@ import java.util.UUID;
  *   <li><b>Release:</b> Decrements booking count when appointment is cancelled/rescheduled</li>
  * </ul>
  *
- * <h2>Execution Flow:</h2>
+ * <h2>Reserve/Release Fast Path:</h2>
+ * <ol>
+ *   <li>Book only: asks the per-node {@link SlotCapacityLedger} for admission; slots known to be
+ *       full are rejected with 409 without touching the database</li>
+ *   <li>Applies the transition with a single conditional {@code UPDATE ... RETURNING}
+ *       ({@link SlotService#reserve}/{@link SlotService#release}), no read and no version check; when the
+ *       action carries the slot's day, only that day's partition is touched</li>
+ *   <li>The returned row is published as a {@link SlotAvailabilityChangedEvent}; the ledger, the
+ *       {@link BranchAvailabilityCache} and live availability watchers apply it once the transaction commits</li>
+ *   <li>If the database rejects the update, the slot is re-read, the ledger re-synced and the
+ *       domain explains why (fully booked, blocked, expired, started, nothing to release)</li>
+ *   <li>If the domain still accepts the transition, the slot changed in between and the
+ *       optimistic flow below is used</li>
+ * </ol>
+ *
+ * <h2>Execution Flow (other actions):</h2>
  * <ol>
  *   <li>Fetches the slot by ID (throws 404 if not found)</li>
  *   <li>Executes the state transition on the slot domain object</li>
@@ -77,6 +97,9 @@ import java.util.UUID;
  * </ol>
  *
  * @see SlotStatusTransitionAction
+ * @see SlotCapacityLedger
+ * @see BranchAvailabilityCache
+ * @see SlotAvailabilityChangedEvent
  * @see SlotService
  * @see SlotQueryPort
  * @see OptimisticLockConflictException
@@ -90,16 +113,95 @@ public class UpdateSlotStatusUseCase {
 
     private final SlotService slotService;
     private final SlotQueryPort slotQueryPort;
+    private final SlotCapacityLedger slotCapacityLedger;
+    private final BranchAvailabilityCache branchAvailabilityCache;
+    private final EarliestAvailableSlotIndex earliestAvailableSlotIndex;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private static final int MAX_RETRY_ATTEMPTS = 3;
 
     public void execute(SlotStatusTransitionAction transitionAction) {
 
+        switch (transitionAction) {
+            case SlotStatusTransitionAction.Book book -> reserve(book);
+            case SlotStatusTransitionAction.Release release -> release(release);
+            default -> executeWithOptimisticLock(transitionAction);
+        }
+    }
+
+    private void reserve(SlotStatusTransitionAction.Book book) {
+
+        UUID slotId = book.id();
+        var admission = slotCapacityLedger.tryReserve(slotId, book.currentTime());
+
+        if (admission == SlotCapacityLedger.Admission.REJECTED) {
+            log.warn("Slot with id: {} is fully booked according to capacity ledger", slotId);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Slot is fully booked.");
+        }
+
+        executeAtomically(book, () -> book.day() == null
+                ? slotService.reserve(slotId, book.currentTime())
+                : slotService.reserve(slotId, book.day(), book.currentTime()));
+    }
+
+    private void release(SlotStatusTransitionAction.Release release) {
+
+        executeAtomically(release, () -> release.day() == null
+                ? slotService.release(release.id(), release.currentTime())
+                : slotService.release(release.id(), release.day(), release.currentTime()));
+    }
+
+    private void executeAtomically(SlotStatusTransitionAction transitionAction, Supplier<Optional<Slot>> update) {
+
+        UUID slotId = transitionAction.getId();
+        Optional<Slot> updated;
+        try {
+            updated = update.get();
+        } catch (Exception e) {
+            slotCapacityLedger.evict(slotId);
+            log.error("Unexpected error updating slot status for id: {}", slotId, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error.", e);
+        }
+
+        if (updated.isPresent()) {
+            applied(updated.get());
+            log.info("Successfully updated slot with id: {} in a single statement", slotId);
+            return;
+        }
+
+        // Database rejected the transition, so the row read is state this transaction did not change:
+        // re-sync the ledger and let the domain explain why
+        var slot = find(transitionAction).orElseThrow(() -> {
+            slotCapacityLedger.evict(slotId);
+            log.error("Slot not found for id: {}", slotId);
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Slot not found.");
+        });
+        slotCapacityLedger.sync(slot);
+        branchAvailabilityCache.update(slot);
+        earliestAvailableSlotIndex.update(slot);
+
+        try {
+            transitionAction.execute(slot);
+        } catch (SlotFullyBookedException ex) {
+            log.warn("Slot with id: {} is fully booked. Current bookings: {}, Max capacity: {}", slotId, slot.getBookingCount(), slot.getMaxBookingCapacity());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Slot is fully booked.", ex);
+        } catch (IllegalStateException | IllegalArgumentException ex) {
+            log.warn("Slot with id: {} is not updated", slotId, ex);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+
+        // Slot was changed between the update and the read, fall back to optimistic flow
+        log.info("Slot with id: {} changed during update, falling back to optimistic locking", slotId);
+        executeWithOptimisticLock(transitionAction);
+    }
+
+    private void executeWithOptimisticLock(SlotStatusTransitionAction transitionAction) {
+
         UUID slotId = transitionAction.getId();
         int retryCount = 0;
 
         while (retryCount < MAX_RETRY_ATTEMPTS) {
 
-            var slot = slotQueryPort.findById(slotId).orElseThrow(() -> {
+            var slot = find(transitionAction).orElseThrow(() -> {
                 log.error("Slot not found for id: {}", slotId);
                 return new ResponseStatusException(HttpStatus.NOT_FOUND, "Slot not found.");
             });
@@ -107,6 +209,7 @@ public class UpdateSlotStatusUseCase {
 
                 slot = transitionAction.execute(slot);
                 slotService.save(List.of(slot));
+                applied(slot);
                 log.info("Successfully updated slot with id: {} after {} attempts", slotId, retryCount + 1);
 
                 return;
@@ -142,6 +245,51 @@ public class UpdateSlotStatusUseCase {
         }
     }
 
+    /**
+     * Reads the slot from its day's partition when the action knows the day, otherwise by id from all partitions.
+     */
+    private Optional<Slot> find(SlotStatusTransitionAction transitionAction) {
+        LocalDate day = transitionAction.getDay();
+        return day == null
+                ? slotQueryPort.findById(transitionAction.getId())
+                : slotQueryPort.findById(transitionAction.getId(), day);
+    }
+
+    /**
+     * Admission of a booking the fast path reserves together with its appointment, see {@link SlotCapacityLedger#tryReserve}.
+     * @return false if the slot is known to be full on this node
+     */
+    public boolean admit(UUID slotId, LocalDateTime currentTime) {
+        return slotCapacityLedger.tryReserve(slotId, currentTime) != SlotCapacityLedger.Admission.REJECTED;
+    }
+
+    /**
+     * Re-reads a slot the booking fast path was rejected on, so the ledger and caches learn its persisted state.
+     */
+    public void resync(UUID slotId, LocalDate day) {
+        slotQueryPort.findById(slotId, day).ifPresentOrElse(slot -> {
+            slotCapacityLedger.sync(slot);
+            branchAvailabilityCache.update(slot);
+            earliestAvailableSlotIndex.update(slot);
+        }, () -> slotCapacityLedger.evict(slotId));
+    }
+
+    /**
+     * Applies a reservation persisted together with its appointment by the booking fast path,
+     * so the ledger, caches and live watchers see it like a reservation made here.
+     */
+    public void applyReserved(Slot slot) {
+        applied(slot);
+    }
+
+    /**
+     * Propagates a persisted change to the per-node read models and live watchers, which apply it after the
+     * caller's transaction commits.
+     */
+    private void applied(Slot slot) {
+        applicationEventPublisher.publishEvent(SlotAvailabilityChangedEvent.of(slot));
+    }
+
     private void retryBackOffThread(int retryCount) {
         try {
             Thread.sleep(50L * retryCount);
@@ -0,0 +1,17 @@
+package capitec.branch.appointment.slots.app.port;
+
+import java.util.List;
+
+/**
+ * Port for the bookable branches near a customer.
+ */
+public interface NearbyBranchesPort {
+
+    /**
+     * @return branches within {@code radiusKm}, nearest first, at most {@code limit}
+     */
+    List<NearbyBranch> findNearby(double latitude, double longitude, double radiusKm, int limit);
+
+    record NearbyBranch(String branchId, String name, Double distanceKm) {
+    }
+}
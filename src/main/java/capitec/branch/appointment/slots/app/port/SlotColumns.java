@@ -0,0 +1,377 @@
+package capitec.branch.appointment.slots.app.port;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Columnar, primitive-backed read model for bulk slot reads.
+ *
+ * <p>One array per field instead of one object per slot: the id as two longs, the day as an
+ * epoch day, start/end as minute of day, capacity and count as shorts, the status as a byte and
+ * the branch as an index into a small dictionary. Rows are kept sorted by day, start time and end
+ * time so a range of days is a contiguous index range.</p>
+ *
+ * <p>Instances are immutable. Changes return a new instance that shares nothing with the old one,
+ * so a reader holding a reference always sees a consistent snapshot.</p>
+ */
+public final class SlotColumns {
+
+    private static final SlotStatus[] STATUSES = SlotStatus.values();
+    private static final SlotColumns EMPTY = new Builder(0).build();
+
+    private final int size;
+    private final long[] idMostSignificantBits;
+    private final long[] idLeastSignificantBits;
+    private final int[] epochDays;
+    private final int[] startMinutes;
+    private final int[] endMinutes;
+    private final short[] maxBookingCapacities;
+    private final short[] bookingCounts;
+    private final byte[] statuses;
+    private final int[] versions;
+    private final int[] branches;
+    private final String[] branchDictionary;
+
+    private SlotColumns(int size, long[] idMostSignificantBits, long[] idLeastSignificantBits, int[] epochDays,
+                        int[] startMinutes, int[] endMinutes, short[] maxBookingCapacities, short[] bookingCounts,
+                        byte[] statuses, int[] versions, int[] branches, String[] branchDictionary) {
+        this.size = size;
+        this.idMostSignificantBits = idMostSignificantBits;
+        this.idLeastSignificantBits = idLeastSignificantBits;
+        this.epochDays = epochDays;
+        this.startMinutes = startMinutes;
+        this.endMinutes = endMinutes;
+        this.maxBookingCapacities = maxBookingCapacities;
+        this.bookingCounts = bookingCounts;
+        this.statuses = statuses;
+        this.versions = versions;
+        this.branches = branches;
+        this.branchDictionary = branchDictionary;
+    }
+
+    public static SlotColumns empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public static SlotColumns of(Collection<Slot> slots) {
+        Builder builder = new Builder(slots.size());
+        slots.stream()
+                .sorted(Comparator.comparing(Slot::getDay).thenComparing(Slot::getStartTime).thenComparing(Slot::getEndTime))
+                .forEach(builder::add);
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long idMostSignificantBits(int row) {
+        return idMostSignificantBits[row];
+    }
+
+    public long idLeastSignificantBits(int row) {
+        return idLeastSignificantBits[row];
+    }
+
+    public UUID id(int row) {
+        return new UUID(idMostSignificantBits[row], idLeastSignificantBits[row]);
+    }
+
+    public int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    public LocalDate day(int row) {
+        return LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    public int startMinute(int row) {
+        return startMinutes[row];
+    }
+
+    public LocalTime startTime(int row) {
+        return LocalTime.ofSecondOfDay(startMinutes[row] * 60L);
+    }
+
+    public int endMinute(int row) {
+        return endMinutes[row];
+    }
+
+    public LocalTime endTime(int row) {
+        return LocalTime.ofSecondOfDay(endMinutes[row] * 60L);
+    }
+
+    public int maxBookingCapacity(int row) {
+        return maxBookingCapacities[row];
+    }
+
+    public int bookingCount(int row) {
+        return bookingCounts[row];
+    }
+
+    public int remainingCapacity(int row) {
+        return status(row) == SlotStatus.AVAILABLE ? maxBookingCapacities[row] - bookingCounts[row] : 0;
+    }
+
+    public SlotStatus status(int row) {
+        return STATUSES[statuses[row]];
+    }
+
+    public int version(int row) {
+        return versions[row];
+    }
+
+    public String branchId(int row) {
+        return branchDictionary[branches[row]];
+    }
+
+    /**
+     * First row on or after the given day, {@link #size()} if there is none.
+     */
+    public int firstRowFrom(LocalDate day) {
+        long target = day.toEpochDay();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Rows from {@code fromDay} (inclusive) to {@code toDay} (exclusive, null for no limit),
+     * optionally only with the given status (null for all).
+     */
+    public SlotColumns select(LocalDate fromDay, LocalDate toDay, SlotStatus status) {
+
+        int from = firstRowFrom(fromDay);
+        int to = toDay == null ? size : firstRowFrom(toDay);
+        if (from == 0 && to == size && status == null) {
+            return this;
+        }
+        Builder builder = new Builder(to - from);
+        for (int row = from; row < to; row++) {
+            if (status == null || statuses[row] == status.ordinal()) {
+                builder.copy(this, row);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Row of the slot with the given id on the given day, -1 if it is not present.
+     */
+    public int rowOf(UUID id, LocalDate day) {
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+        int epochDay = (int) day.toEpochDay();
+        for (int row = firstRowFrom(day); row < size && epochDays[row] == epochDay; row++) {
+            if (idMostSignificantBits[row] == most && idLeastSignificantBits[row] == least) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Applies the persisted state of a slot: the row with the same id is replaced unless it has a
+     * newer version, otherwise the slot is inserted in order.
+     */
+    public SlotColumns with(Slot slot) {
+
+        int row = rowOf(slot.getId(), slot.getDay());
+        if (row >= 0) {
+            if (slot.getVersion() < versions[row]) {
+                return this;
+            }
+            SlotColumns copy = copy();
+            copy.maxBookingCapacities[row] = toShort(slot.getMaxBookingCapacity(), "max booking capacity");
+            copy.bookingCounts[row] = toShort(slot.getBookingCount(), "booking count");
+            copy.statuses[row] = (byte) slot.getStatus().ordinal();
+            copy.versions[row] = slot.getVersion();
+            return copy;
+        }
+        return withAll(List.of(slot));
+    }
+
+    /**
+     * Inserts slots in order, skipping slots whose branch, day, start and end time are already present.
+     */
+    public SlotColumns withAbsent(Collection<Slot> slots) {
+
+        List<Slot> absent = slots.stream().filter(slot -> !contains(slot)).toList();
+        return absent.isEmpty() ? this : withAll(absent);
+    }
+
+    private boolean contains(Slot slot) {
+        int day = (int) slot.getDay().toEpochDay();
+        int start = slot.getStartTime().toSecondOfDay() / 60;
+        int end = slot.getEndTime().toSecondOfDay() / 60;
+        for (int row = firstRowFrom(slot.getDay()); row < size && epochDays[row] == day; row++) {
+            if (startMinutes[row] == start && endMinutes[row] == end && branchId(row).equals(slot.getBranchId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SlotColumns withAll(List<Slot> slots) {
+
+        List<Slot> sorted = new ArrayList<>(slots);
+        sorted.sort(Comparator.comparing(Slot::getDay).thenComparing(Slot::getStartTime).thenComparing(Slot::getEndTime));
+
+        Builder builder = new Builder(size + sorted.size());
+        int row = 0;
+        for (Slot slot : sorted) {
+            int day = (int) slot.getDay().toEpochDay();
+            int start = slot.getStartTime().toSecondOfDay() / 60;
+            int end = slot.getEndTime().toSecondOfDay() / 60;
+            while (row < size && compare(row, day, start, end) <= 0) {
+                builder.copy(this, row++);
+            }
+            builder.add(slot);
+        }
+        while (row < size) {
+            builder.copy(this, row++);
+        }
+        return builder.build();
+    }
+
+    private int compare(int row, int day, int start, int end) {
+        int byDay = Integer.compare(epochDays[row], day);
+        if (byDay != 0) {
+            return byDay;
+        }
+        int byStart = Integer.compare(startMinutes[row], start);
+        return byStart != 0 ? byStart : Integer.compare(endMinutes[row], end);
+    }
+
+    /**
+     * Capacity and count are stored as shorts, a value out of range is refused instead of wrapping around.
+     * @throws IllegalArgumentException if the value does not fit a short
+     */
+    private static short toShort(int value, String field) {
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Slot " + field + " " + value + " exceeds the columnar read model range of "
+                    + Short.MAX_VALUE);
+        }
+        return (short) value;
+    }
+
+    private SlotColumns copy() {
+        return new SlotColumns(size, idMostSignificantBits.clone(), idLeastSignificantBits.clone(), epochDays.clone(),
+                startMinutes.clone(), endMinutes.clone(), maxBookingCapacities.clone(), bookingCounts.clone(),
+                statuses.clone(), versions.clone(), branches.clone(), branchDictionary);
+    }
+
+    /**
+     * Appends rows in the order they are given; callers add rows already sorted by day, start and end time.
+     */
+    public static final class Builder {
+
+        private int size;
+        private long[] idMostSignificantBits;
+        private long[] idLeastSignificantBits;
+        private int[] epochDays;
+        private int[] startMinutes;
+        private int[] endMinutes;
+        private short[] maxBookingCapacities;
+        private short[] bookingCounts;
+        private byte[] statuses;
+        private int[] versions;
+        private int[] branches;
+        private final List<String> branchDictionary = new ArrayList<>(1);
+        private final Map<String, Integer> branchIndex = new HashMap<>();
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 8);
+            idMostSignificantBits = new long[capacity];
+            idLeastSignificantBits = new long[capacity];
+            epochDays = new int[capacity];
+            startMinutes = new int[capacity];
+            endMinutes = new int[capacity];
+            maxBookingCapacities = new short[capacity];
+            bookingCounts = new short[capacity];
+            statuses = new byte[capacity];
+            versions = new int[capacity];
+            branches = new int[capacity];
+        }
+
+        public Builder add(long idMostSignificantBits, long idLeastSignificantBits, int epochDay, int startMinute,
+                           int endMinute, int maxBookingCapacity, int bookingCount, SlotStatus status,
+                           String branchId, int version) {
+            ensureCapacity();
+            this.idMostSignificantBits[size] = idMostSignificantBits;
+            this.idLeastSignificantBits[size] = idLeastSignificantBits;
+            this.epochDays[size] = epochDay;
+            this.startMinutes[size] = startMinute;
+            this.endMinutes[size] = endMinute;
+            this.maxBookingCapacities[size] = toShort(maxBookingCapacity, "max booking capacity");
+            this.bookingCounts[size] = toShort(bookingCount, "booking count");
+            this.statuses[size] = (byte) status.ordinal();
+            this.versions[size] = version;
+            this.branches[size] = branchIndex.computeIfAbsent(branchId, id -> {
+                branchDictionary.add(id);
+                return branchDictionary.size() - 1;
+            });
+            size++;
+            return this;
+        }
+
+        public Builder add(Slot slot) {
+            return add(slot.getId().getMostSignificantBits(), slot.getId().getLeastSignificantBits(),
+                    (int) slot.getDay().toEpochDay(), slot.getStartTime().toSecondOfDay() / 60,
+                    slot.getEndTime().toSecondOfDay() / 60, slot.getMaxBookingCapacity(), slot.getBookingCount(),
+                    slot.getStatus(), slot.getBranchId(), slot.getVersion());
+        }
+
+        private void copy(SlotColumns source, int row) {
+            add(source.idMostSignificantBits[row], source.idLeastSignificantBits[row], source.epochDays[row],
+                    source.startMinutes[row], source.endMinutes[row], source.maxBookingCapacities[row],
+                    source.bookingCounts[row], source.status(row), source.branchId(row), source.versions[row]);
+        }
+
+        private void ensureCapacity() {
+            if (size < epochDays.length) {
+                return;
+            }
+            int capacity = epochDays.length * 2;
+            idMostSignificantBits = Arrays.copyOf(idMostSignificantBits, capacity);
+            idLeastSignificantBits = Arrays.copyOf(idLeastSignificantBits, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            startMinutes = Arrays.copyOf(startMinutes, capacity);
+            endMinutes = Arrays.copyOf(endMinutes, capacity);
+            maxBookingCapacities = Arrays.copyOf(maxBookingCapacities, capacity);
+            bookingCounts = Arrays.copyOf(bookingCounts, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            branches = Arrays.copyOf(branches, capacity);
+        }
+
+        public SlotColumns build() {
+            return new SlotColumns(size,
+                    Arrays.copyOf(idMostSignificantBits, size), Arrays.copyOf(idLeastSignificantBits, size),
+                    Arrays.copyOf(epochDays, size), Arrays.copyOf(startMinutes, size), Arrays.copyOf(endMinutes, size),
+                    Arrays.copyOf(maxBookingCapacities, size), Arrays.copyOf(bookingCounts, size),
+                    Arrays.copyOf(statuses, size), Arrays.copyOf(versions, size), Arrays.copyOf(branches, size),
+                    branchDictionary.toArray(String[]::new));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package capitec.branch.appointment.slots.app.port;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port for coordinating the daily slot generation run across nodes.
+ * A run is split into branch shards, each shard is leased to one node at a time.
+ * Lease times are taken from the database clock so nodes do not need synchronized clocks.
+ */
+public interface SlotGenerationLeasePort {
+
+    /**
+     * Opens the run of a day with its shard leases, or returns the run another node already opened.
+     * The window and shard count of an existing run are kept.
+     */
+    SlotGenerationRun openRun(SlotGenerationRun run);
+
+    /**
+     * Runs from {@code fromRunDate} with shards not completed yet, opened at least {@code openedFor} ago.
+     */
+    List<SlotGenerationRun> findOpenRuns(LocalDate fromRunDate, Duration openedFor);
+
+    /**
+     * Leases one not completed shard of the run that is unleased or whose lease expired.
+     * Concurrent nodes never receive the same shard.
+     * @return the claimed shard, empty when none is left to claim
+     */
+    Optional<Integer> claimShard(LocalDate runDate, String owner, Duration lease, int maxAttempts);
+
+    /**
+     * Marks the shard completed if the owner still holds it.
+     * @return false if the lease was lost to another node
+     */
+    boolean completeShard(LocalDate runDate, int shard, String owner, long insertedSlots);
+
+    /**
+     * Deletes runs, with their shards, of days before {@code runDate}.
+     */
+    int deleteRunsBefore(LocalDate runDate);
+
+    record SlotGenerationRun(LocalDate runDate, LocalDate startDate, int windowDays, int shardCount) {
+    }
+}
@@ -0,0 +1,40 @@
+package capitec.branch.appointment.slots.app.port;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Port for maintaining the day range partitions of the slot table.
+ * Operations are idempotent so concurrent nodes can run them.
+ */
+public interface SlotPartitionPort {
+
+    /**
+     * Range partitions currently attached, ordered by their lower bound. The default partition is not included.
+     */
+    List<SlotPartition> findPartitions();
+
+    /**
+     * Creates and attaches a partition for [from, to). Slots of that range already in the default
+     * partition are moved into it. Does nothing if an attached partition already has the name.
+     * @return true if the partition was created
+     */
+    boolean createPartition(String name, LocalDate from, LocalDate to);
+
+    /**
+     * Detaches a partition and keeps it as a standalone table under the archive name.
+     * A partition with slots that open appointments are booked on stays attached.
+     * @return true if the partition was archived
+     */
+    boolean archivePartition(String name, String archiveName);
+
+    /**
+     * Detaches and drops a partition with its slots.
+     * A partition with slots that appointments are booked on stays attached.
+     * @return true if the partition was dropped
+     */
+    boolean dropPartition(String name);
+
+    record SlotPartition(String name, LocalDate from, LocalDate to) {
+    }
+}
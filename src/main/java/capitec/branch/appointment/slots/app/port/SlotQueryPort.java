@@ -4,6 +4,8 @@ import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.slots.domain.SlotStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +18,11 @@ public interface SlotQueryPort {
 
     Optional<Slot> findById(UUID slotId);
 
+    /**
+     * Finds a slot of a known day, only reading that day's partition.
+     */
+    Optional<Slot> findById(UUID slotId, LocalDate day);
+
     List<Slot> findByBranchAndDay(String branchId, LocalDate day);
 
     List<Slot> findByBranchFromDate(String branchId, LocalDate fromDate);
@@ -23,4 +30,20 @@ public interface SlotQueryPort {
     List<Slot> findByBranchFromDateAndStatus(String branchId, LocalDate fromDate, SlotStatus status);
 
     Optional<LocalDate> findLatestGeneratedSlotDate(LocalDate fromDate);
+
+    /**
+     * Bulk variant of {@link #findByBranchAndDay} filled straight from the result set, without domain objects.
+     */
+    SlotColumns findColumnsByBranchAndDay(String branchId, LocalDate day);
+
+    /**
+     * Bulk variant of {@link #findByBranchFromDate} filled straight from the result set, without domain objects.
+     */
+    SlotColumns findColumnsByBranchFromDate(String branchId, LocalDate fromDate);
+
+    /**
+     * Earliest bookable slots of several branches in one query: AVAILABLE with free capacity,
+     * starting after {@code from} and on or before {@code toDay}, ordered by day and start time.
+     */
+    List<Slot> findEarliestBookable(Collection<String> branchIds, LocalDateTime from, LocalDate toDay, int limit);
 }
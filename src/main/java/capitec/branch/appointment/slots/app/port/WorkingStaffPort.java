@@ -0,0 +1,17 @@
+package capitec.branch.appointment.slots.app.port;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Port for the staff rostered to work at a branch.
+ */
+public interface WorkingStaffPort {
+
+    /**
+     * @return the number of rostered staff per day that has a roster, zero for a rostered day nobody works;
+     * days without a roster are absent
+     */
+    Map<LocalDate, Integer> countWorkingStaff(String branchId, Set<LocalDate> days);
+}
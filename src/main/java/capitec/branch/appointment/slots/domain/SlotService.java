@@ -2,7 +2,13 @@ package capitec.branch.appointment.slots.domain;
 
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Domain service for slot business operations.
@@ -12,4 +18,77 @@ public interface SlotService {
 
     @Transactional
     void save(List<Slot> slot);
+
+    /**
+     * Inserts newly generated slots, skipping slots that already exist for the same branch, day and times.
+     * Joins the caller's transaction if there is one, otherwise each call commits on its own so callers can
+     * stream slots in chunks.
+     * @return the number of slots actually inserted
+     */
+    int saveIfAbsent(List<Slot> slots);
+
+    /**
+     * Atomically takes one booking on the slot in a single statement.
+     * The slot must be AVAILABLE, have capacity and not have started at {@code currentTime}.
+     * @return the slot as persisted after the booking, empty if the slot does not exist or rejected the booking
+     */
+    Optional<Slot> reserve(UUID slotId, LocalDateTime currentTime);
+
+    /**
+     * {@link #reserve(UUID, LocalDateTime)} of a slot on a known day, which only touches that day's partition.
+     */
+    Optional<Slot> reserve(UUID slotId, LocalDate day, LocalDateTime currentTime);
+
+    /**
+     * Atomically gives back one booking on the slot in a single statement.
+     * The slot must have a booking and not have started at {@code currentTime}.
+     * A FULLY_BOOKED slot becomes AVAILABLE, a BLOCKED slot stays BLOCKED.
+     * @return the slot as persisted after the release, empty if the slot does not exist or rejected the release
+     */
+    Optional<Slot> release(UUID slotId, LocalDateTime currentTime);
+
+    /**
+     * {@link #release(UUID, LocalDateTime)} of a slot on a known day, which only touches that day's partition.
+     */
+    Optional<Slot> release(UUID slotId, LocalDate day, LocalDateTime currentTime);
+
+    /**
+     * Deletes the slots that have no bookings and were never booked. Slots with bookings, or referenced by a
+     * cancelled or rescheduled appointment, are left untouched.
+     * @return the number of slots deleted
+     */
+    int deleteUnbooked(Collection<UUID> slotIds);
+
+    /**
+     * Blocks the slots that are AVAILABLE or FULLY_BOOKED. Existing bookings are kept.
+     * @return the number of slots blocked
+     */
+    int block(Collection<UUID> slotIds);
+
+    /**
+     * Changes the max booking capacity of slots, keyed by slot id.
+     * A slot is skipped if it already has more bookings than the new capacity.
+     * AVAILABLE and FULLY_BOOKED slots get the status matching the new capacity.
+     * @return the number of slots updated
+     */
+    int updateCapacity(Map<UUID, Integer> capacityBySlotId);
+
+    /**
+     * Sets the max booking capacity of a branch's future AVAILABLE and FULLY_BOOKED slots per day, in one statement.
+     * Capacity never drops below a slot's bookings, so existing bookings stay valid; the status follows the new
+     * capacity. Slots already at the target capacity are not written.
+     * @param capacityByDay target capacity of every slot on the day
+     * @return the slots as persisted after the change, only those that changed
+     */
+    List<Slot> recomputeCapacity(String branchId, Map<LocalDate, Integer> capacityByDay, LocalDateTime currentTime);
+
+    /**
+     * Expires one batch of AVAILABLE and BLOCKED slots that ended before {@code currentTime}, in its own
+     * short transaction. Slots are taken in (day, id) order after the given cursor; slots locked by
+     * a booking are skipped and left for the next sweep.
+     * @param afterDay day of the last slot of the previous batch, null for the first batch
+     * @param afterId id of the last slot of the previous batch, null for the first batch
+     * @return the expired slots in (day, id) order, the last one is the cursor of the next batch
+     */
+    List<Slot> expireBatch(LocalDateTime currentTime, LocalDate afterDay, UUID afterId, int batchSize);
 }
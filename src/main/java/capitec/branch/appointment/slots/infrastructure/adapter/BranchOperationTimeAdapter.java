@@ -5,6 +5,7 @@ import capitec.branch.appointment.branch.domain.Branch;
 import capitec.branch.appointment.branch.domain.appointmentinfo.BranchAppointmentInfo;
 import capitec.branch.appointment.branch.domain.appointmentinfo.DayType;
 import capitec.branch.appointment.branch.domain.operationhours.OperationHoursOverride;
+import capitec.branch.appointment.location.app.BranchDirectory;
 import capitec.branch.appointment.location.app.NearbyBranchDTO;
 import capitec.branch.appointment.location.app.SearchBranchesByAreaQuery;
 import capitec.branch.appointment.location.app.SearchBranchesByAreaUseCase;
@@ -70,7 +71,11 @@ public class BranchOperationTimeAdapter implements GetActiveBranchesForSlotGener
         // 1. Define Suppliers
 
         Supplier<List<Branch>> dbFetch = ()->branches.stream().map(getBranchQuery::execute).toList();
-        return getBranchesAggregated(dbFetch,country,date, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        // Only the requested branches, looked up in the branch directory instead of filtering the whole country
+        Supplier<List<NearbyBranchDTO>> apiFetch = BranchDirectory.isNationwide(country)
+                ? () -> searchBranchesByAreaUseCase.findByBranchIds(branches)
+                : () -> searchBranchesByAreaUseCase.execute(new SearchBranchesByAreaQuery(country));
+        return getBranchesAggregated(dbFetch, apiFetch, country, date, Duration.ofSeconds(5), Duration.ofSeconds(5));
 
     }
 
@@ -78,15 +83,19 @@ public class BranchOperationTimeAdapter implements GetActiveBranchesForSlotGener
      * Aggregates branches. If any source fails, the exception is thrown to the caller.
      */
     public Collection<BranchOperationTimesDetails> getBranchesAggregated(Supplier<List<Branch>> dbFetch , String country, LocalDate fromDate, Duration timeoutDb, Duration timeoutApi) {
-        log.info("Starting aggregation for {}. Fail-fast mode enabled.", country);
-        Instant start = Instant.now();
-
         Supplier<List<NearbyBranchDTO>> apiFetch = () -> {
             SearchBranchesByAreaQuery query = new SearchBranchesByAreaQuery(country);
             return searchBranchesByAreaUseCase.execute(query)
                     .stream()
                     .toList();
         };
+        return getBranchesAggregated(dbFetch, apiFetch, country, fromDate, timeoutDb, timeoutApi);
+    }
+
+    private Collection<BranchOperationTimesDetails> getBranchesAggregated(Supplier<List<Branch>> dbFetch, Supplier<List<NearbyBranchDTO>> apiFetch,
+                                                                         String country, LocalDate fromDate, Duration timeoutDb, Duration timeoutApi) {
+        log.info("Starting aggregation for {}. Fail-fast mode enabled.", country);
+        Instant start = Instant.now();
 
         // 2. Fork Tasks (Using Virtual Threads via taskExecutor)
         var dbFuture = CompletableFuture.supplyAsync(dbFetch, taskExecutor)
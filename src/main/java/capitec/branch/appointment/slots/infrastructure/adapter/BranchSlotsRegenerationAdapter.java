@@ -0,0 +1,24 @@
+package capitec.branch.appointment.slots.infrastructure.adapter;
+
+import capitec.branch.appointment.branch.app.port.BranchSlotsRegenerationPort;
+import capitec.branch.appointment.slots.app.RegenerateBranchSlotsUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Adapter from branch configuration changes to diff-based slot regeneration.
+ */
+@Component
+@RequiredArgsConstructor
+public class BranchSlotsRegenerationAdapter implements BranchSlotsRegenerationPort {
+
+    private final RegenerateBranchSlotsUseCase regenerateBranchSlotsUseCase;
+
+    @Override
+    public void regenerate(String branchId, Set<LocalDate> days) {
+        regenerateBranchSlotsUseCase.execute(branchId, days);
+    }
+}
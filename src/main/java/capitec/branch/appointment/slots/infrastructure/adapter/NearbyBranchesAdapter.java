@@ -0,0 +1,27 @@
+package capitec.branch.appointment.slots.infrastructure.adapter;
+
+import capitec.branch.appointment.location.app.FindNearestBranchesQuery;
+import capitec.branch.appointment.location.app.FindNearestBranchesUseCase;
+import capitec.branch.appointment.slots.app.port.NearbyBranchesPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adapter from the branch locator to the nearby slot search.
+ */
+@Component
+@RequiredArgsConstructor
+public class NearbyBranchesAdapter implements NearbyBranchesPort {
+
+    private final FindNearestBranchesUseCase findNearestBranchesUseCase;
+
+    @Override
+    public List<NearbyBranch> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        return findNearestBranchesUseCase.execute(new FindNearestBranchesQuery(latitude, longitude, limit, radiusKm))
+                .stream()
+                .map(branch -> new NearbyBranch(branch.branchId(), branch.name(), branch.distanceKm()))
+                .toList();
+    }
+}
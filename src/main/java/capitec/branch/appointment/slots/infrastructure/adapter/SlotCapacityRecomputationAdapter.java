@@ -0,0 +1,32 @@
+package capitec.branch.appointment.slots.infrastructure.adapter;
+
+import capitec.branch.appointment.slots.app.RecomputeSlotCapacityUseCase;
+import capitec.branch.appointment.staffschedular.app.port.SlotCapacityRecomputationPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Adapter from staff roster changes to slot capacity recomputation.
+ * The roster is saved before this is called, so a failed recomputation is logged rather than failing the roster
+ * change; slot capacity catches up on the next roster change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotCapacityRecomputationAdapter implements SlotCapacityRecomputationPort {
+
+    private final RecomputeSlotCapacityUseCase recomputeSlotCapacityUseCase;
+
+    @Override
+    public void recompute(String branchId, Set<LocalDate> days) {
+        try {
+            recomputeSlotCapacityUseCase.execute(branchId, days);
+        } catch (Exception e) {
+            log.error("Roster saved but slot capacity was not recomputed, branchId:{} days:{}", branchId, days, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package capitec.branch.appointment.slots.infrastructure.adapter;
+
+import capitec.branch.appointment.slots.app.port.WorkingStaffPort;
+import capitec.branch.appointment.staffschedular.domain.BranchStaffAssignment;
+import capitec.branch.appointment.staffschedular.domain.BranchStaffAssignmentService;
+import capitec.branch.appointment.staffschedular.domain.StaffRef;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adapter from the staff roster to slot capacity, reading the branch roster once for all days.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkingStaffAdapter implements WorkingStaffPort {
+
+    private final BranchStaffAssignmentService branchStaffAssignmentService;
+
+    @Override
+    public Map<LocalDate, Integer> countWorkingStaff(String branchId, Set<LocalDate> days) {
+
+        Map<LocalDate, Set<StaffRef>> roster = branchStaffAssignmentService.get(branchId)
+                .map(BranchStaffAssignment::getWeeklyStaff)
+                .orElse(Map.of());
+
+        Map<LocalDate, Integer> workingStaff = new HashMap<>();
+        for (LocalDate day : days) {
+            Set<StaffRef> staff = roster.get(day);
+            if (staff != null) {
+                workingStaff.put(day, staff.size());
+            }
+        }
+        return workingStaff;
+    }
+}
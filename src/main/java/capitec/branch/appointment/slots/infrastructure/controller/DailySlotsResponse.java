@@ -1,10 +1,50 @@
 package capitec.branch.appointment.slots.infrastructure.controller;
 
-import java.util.List;
+import capitec.branch.appointment.slots.app.port.SlotColumns;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
+import java.io.IOException;
+
+/**
+ * Slots of one day, serialized as {@code {"branchId", "date", "slots": [SlotResponse...], "totalCount"}}
+ * straight from the columns.
+ */
+@JsonSerialize(using = DailySlotsResponse.Serializer.class)
 public record DailySlotsResponse(
         String branchId,
         String date,
-        List<SlotResponse> slots,
-        int totalCount
-) {}
+        SlotColumns slots
+) {
+
+    public int totalCount() {
+        return slots.size();
+    }
+
+    static final class Serializer extends StdSerializer<DailySlotsResponse> {
+
+        Serializer() {
+            super(DailySlotsResponse.class);
+        }
+
+        @Override
+        public void serialize(DailySlotsResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+            SlotColumns slots = response.slots();
+            var writer = new SlotColumnsJsonWriter(gen);
+
+            gen.writeStartObject();
+            gen.writeStringField("branchId", response.branchId());
+            gen.writeStringField("date", response.date());
+            gen.writeArrayFieldStart("slots");
+            for (int row = 0; row < slots.size(); row++) {
+                writer.writeSlot(slots, row);
+            }
+            gen.writeEndArray();
+            gen.writeNumberField("totalCount", response.totalCount());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package capitec.branch.appointment.slots.infrastructure.controller;
+
+import java.util.List;
+
+public record NearbySlotsResponse(
+        List<NearbySlotResponse> slots,
+        int totalCount
+) {}
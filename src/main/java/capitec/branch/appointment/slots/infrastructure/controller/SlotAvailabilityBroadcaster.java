@@ -0,0 +1,149 @@
+package capitec.branch.appointment.slots.infrastructure.controller;
+
+import capitec.branch.appointment.slots.app.SlotAvailabilityChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process fan-out of slot availability changes to server-sent event watchers of a branch day.
+ *
+ * <p>Watchers subscribe per branch and day. Every {@link SlotAvailabilityChangedEvent} is serialized
+ * once and pushed to each watcher of its branch day on its own virtual thread, so neither the
+ * booking request that caused it nor the other watchers wait for a slow client. Events are
+ * delivered after the transaction that made the change commits.</p>
+ *
+ * <ul>
+ *   <li>Each event is sent as {@code slot} with the slot version as event id; clients keep the highest version per slot,
+ *       which also orders events that reach a watcher out of order</li>
+ *   <li>Watchers are dropped when they complete, time out ({@code slot.availability-stream.timeout}) or fail to receive</li>
+ *   <li>Changes made on other nodes are not pushed; clients resync from the snapshot when they reconnect</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class SlotAvailabilityBroadcaster {
+
+    static final String SLOT_EVENT = "slot";
+
+    private final Map<Watch, Set<SseEmitter>> watchers = new ConcurrentHashMap<>();
+    private final ExecutorService fanOut = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("slot-availability-fan-out-", 0).factory());
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public SlotAvailabilityBroadcaster(ObjectMapper objectMapper,
+                                       @Value("${slot.availability-stream.timeout:30m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Opens a stream of changes to the slots of the branch on the given day.
+     */
+    public SseEmitter subscribe(String branchId, LocalDate day) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribe(branchId, day, emitter);
+        return emitter;
+    }
+
+    public void subscribe(String branchId, LocalDate day, SseEmitter emitter) {
+
+        Watch watch = new Watch(branchId, day);
+        watchers.compute(watch, (_, emitters) -> {
+            Set<SseEmitter> current = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+            current.add(emitter);
+            return current;
+        });
+        emitter.onCompletion(() -> unsubscribe(watch, emitter));
+        emitter.onTimeout(() -> unsubscribe(watch, emitter));
+        emitter.onError(_ -> unsubscribe(watch, emitter));
+        log.debug("Availability watcher subscribed to branch {} on {}", branchId, day);
+    }
+
+    public int watcherCount(String branchId, LocalDate day) {
+        Set<SseEmitter> emitters = watchers.get(new Watch(branchId, day));
+        return emitters == null ? 0 : emitters.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+
+        Watch watch = new Watch(event.branchId(), event.day());
+        Set<SseEmitter> emitters = watchers.get(watch);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(toResponse(event));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize availability change of slot {}", event.slotId(), e);
+            return;
+        }
+        String eventId = String.valueOf(event.version());
+        // One task per watcher, so a slow client only holds up its own stream
+        emitters.forEach(emitter -> fanOut.execute(() -> send(watch, emitter, eventId, payload)));
+    }
+
+    private void send(Watch watch, SseEmitter emitter, String eventId, String payload) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(SLOT_EVENT)
+                    .id(eventId)
+                    .data(payload, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping availability watcher of branch {} on {}: {}", watch.branchId(), watch.day(), e.getMessage());
+            unsubscribe(watch, emitter);
+        }
+    }
+
+    private void unsubscribe(Watch watch, SseEmitter emitter) {
+        watchers.computeIfPresent(watch, (_, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        fanOut.shutdownNow();
+        watchers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        watchers.clear();
+    }
+
+    private static SlotChangeResponse toResponse(SlotAvailabilityChangedEvent event) {
+        return new SlotChangeResponse(
+                event.slotId(),
+                event.day(),
+                event.startTime(),
+                event.endTime(),
+                event.maxBookingCapacity(),
+                event.bookingCount(),
+                event.remainingCapacity(),
+                event.branchId(),
+                event.status().name(),
+                event.version()
+        );
+    }
+
+    private record Watch(String branchId, LocalDate day) {
+    }
+}
@@ -0,0 +1,131 @@
+package capitec.branch.appointment.slots.infrastructure.controller;
+
+import capitec.branch.appointment.slots.app.port.SlotColumns;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Writes {@link SlotColumns} rows as {@link SlotResponse} JSON straight from the primitive columns.
+ *
+ * <p>Ids, days and times are formatted into reusable char buffers, field names and statuses are
+ * pre-encoded, so serializing a slot allocates nothing. The output is the same as serializing a
+ * {@link SlotResponse}: ISO dates and {@code HH:mm:ss} times. One instance per response, not thread safe.</p>
+ */
+final class SlotColumnsJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString DAY = new SerializedString("day");
+    private static final SerializableString START_TIME = new SerializedString("startTime");
+    private static final SerializableString END_TIME = new SerializedString("endTime");
+    private static final SerializableString MAX_BOOKING_CAPACITY = new SerializedString("maxBookingCapacity");
+    private static final SerializableString BOOKING_COUNT = new SerializedString("bookingCount");
+    private static final SerializableString BRANCH_ID = new SerializedString("branchId");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString[] STATUSES = statuses();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final JsonGenerator gen;
+    private final char[] id = new char[36];
+    private final char[] day = new char[10];
+    private final char[] time = new char[8];
+    private int formattedDay = Integer.MIN_VALUE;
+
+    SlotColumnsJsonWriter(JsonGenerator gen) {
+        this.gen = gen;
+    }
+
+    void writeSlot(SlotColumns slots, int row) throws IOException {
+
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        formatId(slots.idMostSignificantBits(row), slots.idLeastSignificantBits(row));
+        gen.writeString(id, 0, id.length);
+        gen.writeFieldName(DAY);
+        formatDay(slots.epochDay(row));
+        gen.writeString(day, 0, day.length);
+        gen.writeFieldName(START_TIME);
+        formatTime(slots.startMinute(row));
+        gen.writeString(time, 0, time.length);
+        gen.writeFieldName(END_TIME);
+        formatTime(slots.endMinute(row));
+        gen.writeString(time, 0, time.length);
+        gen.writeFieldName(MAX_BOOKING_CAPACITY);
+        gen.writeNumber(slots.maxBookingCapacity(row));
+        gen.writeFieldName(BOOKING_COUNT);
+        gen.writeNumber(slots.bookingCount(row));
+        gen.writeFieldName(BRANCH_ID);
+        gen.writeString(slots.branchId(row));
+        gen.writeFieldName(STATUS);
+        gen.writeString(STATUSES[slots.status(row).ordinal()]);
+        gen.writeEndObject();
+    }
+
+    private void formatId(long most, long least) {
+        hex(most >>> 32, 8, 0);
+        id[8] = '-';
+        hex(most >>> 16, 4, 9);
+        id[13] = '-';
+        hex(most, 4, 14);
+        id[18] = '-';
+        hex(least >>> 48, 4, 19);
+        id[23] = '-';
+        hex(least, 12, 24);
+    }
+
+    private void hex(long value, int digits, int offset) {
+        for (int i = digits - 1; i >= 0; i--) {
+            id[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private void formatDay(int epochDay) {
+        if (epochDay == formattedDay) {
+            return;
+        }
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        int year = date.getYear();
+        day[0] = digit(year / 1000);
+        day[1] = digit(year / 100);
+        day[2] = digit(year / 10);
+        day[3] = digit(year);
+        day[4] = '-';
+        day[5] = digit(date.getMonthValue() / 10);
+        day[6] = digit(date.getMonthValue());
+        day[7] = '-';
+        day[8] = digit(date.getDayOfMonth() / 10);
+        day[9] = digit(date.getDayOfMonth());
+        formattedDay = epochDay;
+    }
+
+    private void formatTime(int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        time[0] = digit(hour / 10);
+        time[1] = digit(hour);
+        time[2] = ':';
+        time[3] = digit(minute / 10);
+        time[4] = digit(minute);
+        time[5] = ':';
+        time[6] = '0';
+        time[7] = '0';
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value % 10);
+    }
+
+    private static SerializableString[] statuses() {
+        SlotStatus[] values = SlotStatus.values();
+        SerializableString[] encoded = new SerializableString[values.length];
+        for (SlotStatus status : values) {
+            encoded[status.ordinal()] = new SerializedString(status.name());
+        }
+        return encoded;
+    }
+}
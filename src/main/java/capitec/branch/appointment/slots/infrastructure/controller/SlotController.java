@@ -1,26 +1,31 @@
 package capitec.branch.appointment.slots.infrastructure.controller;
 
+import capitec.branch.appointment.slots.app.FindEarliestNearbySlotsQuery;
 import capitec.branch.appointment.slots.app.GetDailySlotsQuery;
 import capitec.branch.appointment.slots.app.GetNext7DaySlotsQuery;
+import capitec.branch.appointment.slots.app.GetNextAvailableSlotQuery;
 import capitec.branch.appointment.slots.app.GetSlotQuery;
+import capitec.branch.appointment.slots.app.NearbySlot;
+import capitec.branch.appointment.slots.app.NearbySlotSearch;
 import capitec.branch.appointment.slots.app.SlotStatusTransitionAction;
 import capitec.branch.appointment.slots.app.UpdateSlotStatusUseCase;
+import capitec.branch.appointment.slots.app.port.SlotColumns;
 import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.slots.domain.SlotStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * REST Controller for slot operations.
@@ -36,7 +41,10 @@ public class SlotController {
     private final GetSlotQuery getSlotQuery;
     private final GetDailySlotsQuery getDailySlotsQuery;
     private final GetNext7DaySlotsQuery getNext7DaySlotsQuery;
+    private final FindEarliestNearbySlotsQuery findEarliestNearbySlotsQuery;
+    private final GetNextAvailableSlotQuery getNextAvailableSlotQuery;
     private final UpdateSlotStatusUseCase updateSlotStatusUseCase;
+    private final SlotAvailabilityBroadcaster slotAvailabilityBroadcaster;
 
     /**
      * Get a slot by ID.
@@ -77,22 +85,46 @@ public class SlotController {
     ) {
         log.info("Getting daily slots for branch: {}, date: {}, traceId: {}", branchId, date, traceId);
 
-        List<Slot> slots = getDailySlotsQuery.execute(branchId, date);
-
-        List<SlotResponse> slotResponses = slots.stream()
-                .map(this::toResponse)
-                .sorted(Comparator.comparing(SlotResponse::startTime)) // Sort by start time
-                .toList();
+        // Served from the availability cache, already sorted by start time and written straight from the columns
+        SlotColumns slots = getDailySlotsQuery.availability(branchId, date);
 
         log.info("Found {} slots for branch: {}, date: {}, traceId: {}",
-                slotResponses.size(), branchId, date, traceId);
-
-        return ResponseEntity.ok(new DailySlotsResponse(
-                branchId,
-                date.toString(),
-                slotResponses,
-                slotResponses.size()
-        ));
+                slots.size(), branchId, date, traceId);
+
+        return ResponseEntity.ok(new DailySlotsResponse(branchId, date.toString(), slots));
+    }
+
+    /**
+     * Stream live availability of a branch on a specific day as server-sent events.
+     * The first {@code snapshot} event holds the day's slots, followed by a {@code slot} event per change.
+     *
+     * @param branchId the branch ID
+     * @param date     the date to watch
+     * @param traceId  unique trace identifier for request tracking
+     * @return the event stream
+     */
+    @GetMapping(value = "/branches/{branchId}/daily/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('app_user')")
+    public SseEmitter streamDailySlots(
+            @PathVariable("branchId") String branchId,
+            @RequestParam("date") LocalDate date,
+            @RequestHeader("Trace-Id") String traceId
+    ) {
+        log.info("Streaming daily slots for branch: {}, date: {}, traceId: {}", branchId, date, traceId);
+
+        // Subscribe before reading the snapshot so no change falls in between, versions order the overlap
+        SseEmitter emitter = slotAvailabilityBroadcaster.subscribe(branchId, date);
+        try {
+            // Read from the database rather than the cache, the snapshot is what clients resync from
+            SlotColumns slots = getDailySlotsQuery.committedAvailability(branchId, date);
+            emitter.send(SseEmitter.event()
+                    .name("snapshot")
+                    .data(new DailySlotsResponse(branchId, date.toString(), slots), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            log.warn("Could not send slot snapshot for branch: {}, date: {}, traceId: {}", branchId, date, traceId, e);
+            emitter.completeWithError(e);
+        }
+        return emitter;
     }
 
     /**
@@ -116,31 +148,74 @@ public class SlotController {
         log.info("Getting weekly slots for branch: {}, fromDate: {}, status: {}, traceId: {}",
                 branchId, startDate, status, traceId);
 
-        Map<LocalDate, List<Slot>> slotsByDay;
+        SlotStatus slotStatus = status != null ? SlotStatus.valueOf(status.toUpperCase()) : null;
+        // Served from the availability cache, days in order and written straight from the columns
+        SlotColumns slots = getNext7DaySlotsQuery.availability(branchId, startDate, slotStatus);
 
-        if (status != null) {
-            SlotStatus slotStatus = SlotStatus.valueOf(status.toUpperCase());
-            slotsByDay = getNext7DaySlotsQuery.execute(branchId, startDate, slotStatus);
-        } else {
-            slotsByDay = getNext7DaySlotsQuery.execute(branchId, startDate);
-        }
+        log.info("Found {} total slots for branch: {}, traceId: {}", slots.size(), branchId, traceId);
+
+        return ResponseEntity.ok(new SlotsResponse(slots));
+    }
+
+    /**
+     * Get the earliest bookable slots across the branches near a location.
+     *
+     * @param latitude  customer latitude
+     * @param longitude customer longitude
+     * @param radiusKm  optional search radius (defaults to 10 km)
+     * @param fromDate  optional first day (defaults to today)
+     * @param toDate    optional last day (defaults to six days after fromDate)
+     * @param limit     optional maximum number of slots (defaults to 20)
+     * @param traceId   unique trace identifier for request tracking
+     * @return bookable slots of all nearby branches ordered by day and start time
+     */
+    @GetMapping("/nearby")
+    @PreAuthorize("hasAnyRole('app_user')")
+    public ResponseEntity<NearbySlotsResponse> getNearbySlots(
+            @RequestParam("latitude") Double latitude,
+            @RequestParam("longitude") Double longitude,
+            @RequestParam(value = "radiusKm", required = false) Double radiusKm,
+            @RequestParam(value = "fromDate", required = false) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false) LocalDate toDate,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestHeader("Trace-Id") String traceId
+    ) {
+        log.info("Searching nearby slots for lat: {}, lon: {}, radiusKm: {}, fromDate: {}, toDate: {}, traceId: {}",
+                latitude, longitude, radiusKm, fromDate, toDate, traceId);
+
+        var search = new NearbySlotSearch(latitude, longitude, radiusKm, fromDate, toDate, limit);
+        List<NearbySlotResponse> slots = findEarliestNearbySlotsQuery.execute(search)
+                .stream()
+                .map(this::toResponse)
+                .toList();
+
+        log.info("Found {} nearby slots, traceId: {}", slots.size(), traceId);
+
+        return ResponseEntity.ok(new NearbySlotsResponse(slots, slots.size()));
+    }
 
-        Map<LocalDate, List<SlotResponse>> responseMap = slotsByDay.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().stream()
-                                .map(this::toResponse)
-                                .sorted(Comparator.comparing(SlotResponse::startTime))
-                                .toList()
-                ));
+    /**
+     * Get the next bookable slot of a branch.
+     *
+     * @param branchId the branch ID
+     * @param after    only slots starting after this time, defaults to now
+     * @param traceId  unique trace identifier for request tracking
+     * @return the earliest available slot
+     */
+    @GetMapping("/branches/{branchId}/next-available")
+    @PreAuthorize("hasAnyRole('app_user')")
+    public ResponseEntity<SlotResponse> getNextAvailableSlot(
+            @PathVariable("branchId") String branchId,
+            @RequestParam(value = "after", required = false) LocalDateTime after,
+            @RequestHeader("Trace-Id") String traceId
+    ) {
+        log.info("Getting next available slot for branch: {}, after: {}, traceId: {}", branchId, after, traceId);
 
-        int totalCount = responseMap.values().stream()
-                .mapToInt(List::size)
-                .sum();
+        Slot slot = getNextAvailableSlotQuery.execute(branchId, after == null ? LocalDateTime.now() : after);
 
-        log.info("Found {} total slots for branch: {}, traceId: {}", totalCount, branchId, traceId);
+        log.info("Next available slot for branch: {} is {}, traceId: {}", branchId, slot.getId(), traceId);
 
-        return ResponseEntity.ok(new SlotsResponse(responseMap, totalCount));
+        return ResponseEntity.ok(toResponse(slot));
     }
 
     /**
@@ -193,6 +268,22 @@ public class SlotController {
         return ResponseEntity.ok(toResponse(slot));
     }
 
+    private NearbySlotResponse toResponse(NearbySlot nearbySlot) {
+        Slot slot = nearbySlot.slot();
+        return new NearbySlotResponse(
+                slot.getId(),
+                slot.getDay(),
+                slot.getStartTime(),
+                slot.getEndTime(),
+                slot.getMaxBookingCapacity(),
+                slot.getBookingCount(),
+                slot.getBranchId(),
+                nearbySlot.branchName(),
+                nearbySlot.distanceKm(),
+                slot.getStatus().name()
+        );
+    }
+
     private SlotResponse toResponse(Slot slot) {
         return new SlotResponse(
                 slot.getId(),
@@ -1,10 +1,58 @@
 package capitec.branch.appointment.slots.infrastructure.controller;
 
+import capitec.branch.appointment.slots.app.port.SlotColumns;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
 
+/**
+ * Slots grouped by day, serialized as {@code {"slotsByDay": {day: [SlotResponse...]}, "totalCount": n}}
+ * straight from the columns. Slots must be sorted by day.
+ */
+@JsonSerialize(using = SlotsResponse.Serializer.class)
 public record SlotsResponse(
-        Map<LocalDate, List<SlotResponse>> slotsByDay,
-        int totalCount
-) {}
+        SlotColumns slots
+) {
+
+    public int totalCount() {
+        return slots.size();
+    }
+
+    static final class Serializer extends StdSerializer<SlotsResponse> {
+
+        Serializer() {
+            super(SlotsResponse.class);
+        }
+
+        @Override
+        public void serialize(SlotsResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+            SlotColumns slots = response.slots();
+            var writer = new SlotColumnsJsonWriter(gen);
+
+            gen.writeStartObject();
+            gen.writeObjectFieldStart("slotsByDay");
+            int currentDay = Integer.MIN_VALUE;
+            for (int row = 0; row < slots.size(); row++) {
+                if (slots.epochDay(row) != currentDay) {
+                    if (row > 0) {
+                        gen.writeEndArray();
+                    }
+                    currentDay = slots.epochDay(row);
+                    gen.writeArrayFieldStart(LocalDate.ofEpochDay(currentDay).toString());
+                }
+                writer.writeSlot(slots, row);
+            }
+            if (!slots.isEmpty()) {
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+            gen.writeNumberField("totalCount", response.totalCount());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package capitec.branch.appointment.slots.infrastructure.dao;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Bulk writer for generated slots using PostgreSQL {@code COPY FROM STDIN}.
+ *
+ * <p>{@code COPY} cannot skip conflicting rows, so slots are streamed into a temporary
+ * staging table and moved into {@code slot} with a single set-based
+ * {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING}. This keeps generation idempotent on
+ * {@code unique_slot_per_branch_day} while sending one round trip for the whole chunk instead of
+ * one statement per row.</p>
+ *
+ * <p>The staging table is created once per database session with {@code ON COMMIT DELETE ROWS},
+ * so it must be used inside a transaction and is empty again after every commit.</p>
+ *
+ * @see SlotWriteMode
+ * @see SlotDaoImpl#saveIfAbsent
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotCopyWriter {
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE IF NOT EXISTS slot_copy_staging
+            (
+                id                   UUID,
+                day                  DATE,
+                start_time           TIME,
+                end_time             TIME,
+                booking_count        INTEGER,
+                max_booking_capacity INTEGER,
+                branch_id            VARCHAR(36),
+                status               VARCHAR(16)
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String COPY_INTO_STAGING = """
+            COPY slot_copy_staging (id, day, start_time, end_time, booking_count, max_booking_capacity, branch_id, status)
+            FROM STDIN WITH (FORMAT text)
+            """;
+
+    private static final String MOVE_STAGED_SLOTS = """
+            INSERT INTO slot (id, day, start_time, end_time, booking_count, max_booking_capacity, branch_id, status, version)
+            SELECT id, day, start_time, end_time, booking_count, max_booking_capacity, branch_id, status, 1
+            FROM slot_copy_staging
+            ON CONFLICT ON CONSTRAINT unique_slot_per_branch_day DO NOTHING
+            """;
+
+    private static final String CLEAR_STAGING_TABLE = "TRUNCATE slot_copy_staging";
+
+    private final DataSource dataSource;
+
+    /**
+     * Copies the slots into {@code slot}, skipping slots that already exist.
+     * @param slots generated slots
+     * @return the number of inserted slots
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int copyIfAbsent(List<Slot> slots) {
+
+        if (slots == null || slots.isEmpty()) {
+            return 0;
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement()) {
+
+            statement.execute(CREATE_STAGING_TABLE);
+
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            long copied = copyManager.copyIn(COPY_INTO_STAGING, new StringReader(toCopyText(slots)));
+
+            int inserted = statement.executeUpdate(MOVE_STAGED_SLOTS);
+            // Several chunks may share one transaction, do not let the next one see these rows
+            statement.execute(CLEAR_STAGING_TABLE);
+
+            log.debug("Copied {} slots, inserted {}", copied, inserted);
+            return inserted;
+
+        } catch (SQLException | IOException e) {
+            log.error("Could not copy generated slots into DB", e);
+            throw new IllegalStateException("Could not copy generated slots into DB", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static String toCopyText(List<Slot> slots) {
+
+        // ~100 characters per row: uuid, date, two times, two ints, branch id, status
+        StringBuilder text = new StringBuilder(slots.size() * 100);
+        for (Slot slot : slots) {
+            text.append(slot.getId()).append('\t')
+                    .append(slot.getDay()).append('\t')
+                    .append(slot.getStartTime()).append('\t')
+                    .append(slot.getEndTime()).append('\t')
+                    .append(slot.getBookingCount()).append('\t')
+                    .append(slot.getMaxBookingCapacity()).append('\t');
+            appendEscaped(text, slot.getBranchId());
+            text.append('\t')
+                    .append(slot.getStatus().name())
+                    .append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Escapes a value for the COPY text format: backslash, tab, newline and carriage return.
+     */
+    private static void appendEscaped(StringBuilder text, String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> text.append("\\\\");
+                case '\t' -> text.append("\\t");
+                case '\n' -> text.append("\\n");
+                case '\r' -> text.append("\\r");
+                default -> text.append(c);
+            }
+        }
+    }
+}
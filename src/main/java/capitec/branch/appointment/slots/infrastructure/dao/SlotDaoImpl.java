@@ -3,19 +3,35 @@ package capitec.branch.appointment.slots.infrastructure.dao;
 import capitec.branch.appointment.exeption.OptimisticLockConflictException;
 import capitec.branch.appointment.sharekernel.id.IdStore;
 import capitec.branch.appointment.slots.app.port.SlotCleanupPort;
+import capitec.branch.appointment.slots.app.port.SlotColumns;
 import capitec.branch.appointment.slots.app.port.SlotQueryPort;
 import capitec.branch.appointment.slots.domain.SlotService;
 import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.slots.domain.SlotStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,7 +44,177 @@ public class SlotDaoImpl implements SlotService, SlotQueryPort, SlotCleanupPort
     private final SloRepository sloRepository;
     private final SlotMapper slotMapper;
     private final IdStore idStore;
+    private final JdbcClient jdbcClient;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final SlotCopyWriter slotCopyWriter;
+    @Value("${slot.generation.write-mode:COPY}")
+    private SlotWriteMode writeMode;
 
+    private static final String INSERT_SLOT_IF_ABSENT = """
+            INSERT INTO slot (id, day, start_time, end_time, booking_count, max_booking_capacity, branch_id, status, version)
+            VALUES (:id, :day, :startTime, :endTime, :bookingCount, :maxBookingCapacity, :branchId, :status, 1)
+            ON CONFLICT ON CONSTRAINT unique_slot_per_branch_day DO NOTHING
+            """;
+
+    private static final String RETURNING_COLUMNS = """
+            RETURNING id, day, start_time, end_time, max_booking_capacity, booking_count,
+                      branch_id, status, created_at, last_modified_date, version
+            """;
+
+    // Every statement by slot id has a variant that also filters on day, so only that day's partition is scanned
+    private static final String BY_ID = "id = :id";
+    private static final String BY_ID_AND_DAY = "id = :id AND day = :day";
+
+    private static final String RESERVE_SLOT = """
+            UPDATE slot
+            SET booking_count = booking_count + 1,
+                status = CASE WHEN booking_count + 1 >= max_booking_capacity THEN 'FULLY_BOOKED' ELSE status END,
+                version = version + 1
+            WHERE %s
+              AND status = 'AVAILABLE'
+              AND booking_count < max_booking_capacity
+              AND (day + start_time) >= :currentTime
+            """ + RETURNING_COLUMNS;
+
+    private static final String RELEASE_SLOT = """
+            UPDATE slot
+            SET booking_count = booking_count - 1,
+                status = CASE WHEN status = 'FULLY_BOOKED' THEN 'AVAILABLE' ELSE status END,
+                version = version + 1
+            WHERE %s
+              AND booking_count > 0
+              AND (day + start_time) >= :currentTime
+            """ + RETURNING_COLUMNS;
+
+    private static final String SELECT_SLOT_BY_ID_AND_DAY = """
+            SELECT id, day, start_time, end_time, max_booking_capacity, booking_count, branch_id, status,
+                   created_at, last_modified_date, version
+            FROM slot
+            WHERE id = :id
+              AND day = :day
+            """;
+
+    private static final String UPDATE_SLOT = """
+            UPDATE slot
+            SET start_time = :startTime,
+                end_time = :endTime,
+                max_booking_capacity = :maxBookingCapacity,
+                booking_count = :bookingCount,
+                branch_id = :branchId,
+                status = :status,
+                version = version + 1
+            WHERE id = :id
+              AND day = :day
+              AND version = :version
+            """;
+
+    private static final String DELETE_UNBOOKED_SLOTS = """
+            DELETE FROM slot
+            WHERE id IN (:ids)
+              AND booking_count = 0
+              AND NOT EXISTS (SELECT 1 FROM appointment a WHERE a.slot_id = slot.id OR a.previous_slot_id = slot.id)
+            """;
+
+    private static final String BLOCK_SLOTS = """
+            UPDATE slot
+            SET status = 'BLOCKED',
+                version = version + 1
+            WHERE id IN (:ids)
+              AND status IN ('AVAILABLE', 'FULLY_BOOKED')
+            """;
+
+    private static final String UPDATE_SLOT_CAPACITY = """
+            UPDATE slot
+            SET max_booking_capacity = :maxBookingCapacity,
+                status = CASE
+                    WHEN status NOT IN ('AVAILABLE', 'FULLY_BOOKED') THEN status
+                    WHEN booking_count >= :maxBookingCapacity THEN 'FULLY_BOOKED'
+                    ELSE 'AVAILABLE' END,
+                version = version + 1
+            WHERE id = :id
+              AND booking_count <= :maxBookingCapacity
+              AND max_booking_capacity <> :maxBookingCapacity
+            """;
+
+    private static final String RECOMPUTE_SLOT_CAPACITY = """
+            WITH target AS (
+                SELECT t.day, t.capacity
+                FROM unnest(CAST(:days AS DATE[]), CAST(:capacities AS INTEGER[])) AS t(day, capacity)
+            )
+            UPDATE slot
+            SET max_booking_capacity = GREATEST(target.capacity, slot.booking_count),
+                status = CASE
+                    WHEN slot.booking_count >= GREATEST(target.capacity, slot.booking_count) THEN 'FULLY_BOOKED'
+                    ELSE 'AVAILABLE' END,
+                version = slot.version + 1
+            FROM target
+            WHERE slot.branch_id = :branchId
+              AND slot.day = target.day
+              AND slot.status IN ('AVAILABLE', 'FULLY_BOOKED')
+              AND (slot.day + slot.start_time) > :currentTime
+              AND slot.max_booking_capacity <> GREATEST(target.capacity, slot.booking_count)
+            RETURNING slot.id, slot.day, slot.start_time, slot.end_time, slot.max_booking_capacity,
+                      slot.booking_count, slot.branch_id, slot.status, slot.created_at,
+                      slot.last_modified_date, slot.version
+            """;
+
+    private static final String EXPIRE_SLOTS_BATCH = """
+            WITH batch AS (
+                SELECT id, day
+                FROM slot
+                WHERE status IN ('AVAILABLE', 'BLOCKED')
+                  AND day <= CAST(:currentTime AS DATE)
+                  AND (day + end_time) < :currentTime
+                  AND (CAST(:afterDay AS DATE) IS NULL OR (day, id) > (CAST(:afterDay AS DATE), CAST(:afterId AS UUID)))
+                ORDER BY day, id
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            ), expired AS (
+                UPDATE slot
+                SET status = 'EXPIRED',
+                    version = slot.version + 1
+                FROM batch
+                WHERE slot.id = batch.id
+                  AND slot.day = batch.day
+                RETURNING slot.id, slot.day, slot.start_time, slot.end_time, slot.max_booking_capacity,
+                          slot.booking_count, slot.branch_id, slot.status, slot.created_at,
+                          slot.last_modified_date, slot.version
+            )
+            SELECT * FROM expired ORDER BY day, id
+            """;
+
+    private static final String SELECT_SLOT_COLUMNS = """
+            SELECT id,
+                   (day - DATE '1970-01-01') AS epoch_day,
+                   (EXTRACT(HOUR FROM start_time) * 60 + EXTRACT(MINUTE FROM start_time))::int AS start_minute,
+                   (EXTRACT(HOUR FROM end_time) * 60 + EXTRACT(MINUTE FROM end_time))::int AS end_minute,
+                   max_booking_capacity, booking_count, status, branch_id, version
+            FROM slot
+            WHERE branch_id = :branchId
+              AND day >= :fromDate
+              AND (CAST(:toDate AS DATE) IS NULL OR day <= :toDate)
+            ORDER BY day, start_time, end_time
+            """;
+
+    private static final String SELECT_EARLIEST_BOOKABLE = """
+            SELECT id, day, start_time, end_time, max_booking_capacity, booking_count, branch_id, status,
+                   created_at, last_modified_date, version
+            FROM slot
+            WHERE branch_id = ANY(CAST(:branchIds AS VARCHAR[]))
+              AND day BETWEEN CAST(:fromTime AS DATE) AND :toDay
+              AND status = 'AVAILABLE'
+              AND booking_count < max_booking_capacity
+              AND (day + start_time) > :fromTime
+            ORDER BY day, start_time, branch_id
+            LIMIT :limit
+            """;
+
+    private static final RowMapper<SlotEntity> SLOT_ROW_MAPPER = SlotDaoImpl::mapSlotEntity;
+
+    /**
+     * Inserts new slots through Spring Data. Existing slots are updated by id and day, so only their partition is
+     * scanned, and by version, like Spring Data's optimistic lock.
+     */
     @Override
     @Transactional
     public void save( List<Slot> slots) {
@@ -41,9 +227,16 @@ public class SlotDaoImpl implements SlotService, SlotQueryPort, SlotCleanupPort
         try{
 
             var slotsEntities = slots.stream().map(slotMapper::toEntity).toList();
+            var newEntities = slotsEntities.stream().filter(entity -> entity.version() == 0).toList();
+            var existingEntities = slotsEntities.stream().filter(entity -> entity.version() != 0).toList();
 
-            idStore.setIdList(slotsEntities.stream().map(s->s.id().toString()).toList());
-            sloRepository.saveAll(slotsEntities);
+            if (!newEntities.isEmpty()) {
+                idStore.setIdList(newEntities.stream().map(s->s.id().toString()).toList());
+                sloRepository.saveAll(newEntities);
+            }
+            if (!existingEntities.isEmpty()) {
+                update(existingEntities);
+            }
 
         }
         catch (OptimisticLockingFailureException ex){
@@ -57,6 +250,278 @@ public class SlotDaoImpl implements SlotService, SlotQueryPort, SlotCleanupPort
         }
     }
 
+    private void update(List<SlotEntity> entities) {
+
+        SqlParameterSource[] batch = entities.stream()
+                .map(entity -> new MapSqlParameterSource()
+                        .addValue("id", entity.id())
+                        .addValue("day", entity.day())
+                        .addValue("startTime", entity.startTime())
+                        .addValue("endTime", entity.endTime())
+                        .addValue("maxBookingCapacity", entity.maxBookingCapacity())
+                        .addValue("bookingCount", entity.bookingCount())
+                        .addValue("branchId", entity.branchId())
+                        .addValue("status", entity.status())
+                        .addValue("version", entity.version()))
+                .toArray(SqlParameterSource[]::new);
+
+        int[] updated = namedParameterJdbcTemplate.batchUpdate(UPDATE_SLOT, batch);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new OptimisticLockingFailureException("Slot " + entities.get(i).id() + " with version "
+                        + entities.get(i).version() + " was changed or deleted concurrently");
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public int saveIfAbsent(List<Slot> slots) {
+        return saveIfAbsent(slots, writeMode);
+    }
+
+    /**
+     * Inserts generated slots with the given write mode, skipping slots that already exist.
+     * Rows carry their own ids, so unlike {@link #save(List)} nothing is handed to the {@link IdStore}: it only
+     * feeds {@link SlotDBIdGenerator} on Spring Data inserts, and setting it from parallel chunks would race.
+     * Joins the caller's transaction, so regeneration writes its diff atomically; generation workers have none
+     * and commit each chunk on its own.
+     * @param slots generated slots
+     * @param mode how rows are sent to the database
+     * @return the number of inserted slots
+     */
+    @Transactional
+    public int saveIfAbsent(List<Slot> slots, SlotWriteMode mode) {
+
+        if (slots == null || slots.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            int inserted = switch (mode) {
+                case COPY -> slotCopyWriter.copyIfAbsent(slots);
+                case BATCH -> batchInsertIfAbsent(slots);
+            };
+            log.debug("Inserted {} of {} generated slots using {}", inserted, slots.size(), mode);
+            return inserted;
+        } catch (Exception e) {
+            log.error("Could not save generated slots into DB", e);
+            throw e;
+        }
+    }
+
+    private int batchInsertIfAbsent(List<Slot> slots) {
+
+        SqlParameterSource[] batch = slots.stream()
+                .map(SlotDaoImpl::toInsertParameters)
+                .toArray(SqlParameterSource[]::new);
+
+        int inserted = 0;
+        for (int rows : namedParameterJdbcTemplate.batchUpdate(INSERT_SLOT_IF_ABSENT, batch)) {
+            if (rows > 0) {
+                inserted += rows;
+            }
+        }
+        return inserted;
+    }
+
+    private static SqlParameterSource toInsertParameters(Slot slot) {
+        return new MapSqlParameterSource()
+                .addValue("id", slot.getId())
+                .addValue("day", slot.getDay())
+                .addValue("startTime", slot.getStartTime())
+                .addValue("endTime", slot.getEndTime())
+                .addValue("bookingCount", slot.getBookingCount())
+                .addValue("maxBookingCapacity", slot.getMaxBookingCapacity())
+                .addValue("branchId", slot.getBranchId())
+                .addValue("status", slot.getStatus().name());
+    }
+
+    @Override
+    @Transactional
+    public Optional<Slot> reserve(UUID slotId, LocalDateTime currentTime) {
+        try {
+            return updateReturning(RESERVE_SLOT.formatted(BY_ID), slotId, null, currentTime);
+        } catch (Exception e) {
+            log.error("Could not reserve slot {}", slotId, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public Optional<Slot> release(UUID slotId, LocalDateTime currentTime) {
+        try {
+            return updateReturning(RELEASE_SLOT.formatted(BY_ID), slotId, null, currentTime);
+        } catch (Exception e) {
+            log.error("Could not release slot {}", slotId, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public Optional<Slot> reserve(UUID slotId, LocalDate day, LocalDateTime currentTime) {
+        try {
+            return updateReturning(RESERVE_SLOT.formatted(BY_ID_AND_DAY), slotId, day, currentTime);
+        } catch (Exception e) {
+            log.error("Could not reserve slot {} on {}", slotId, day, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public Optional<Slot> release(UUID slotId, LocalDate day, LocalDateTime currentTime) {
+        try {
+            return updateReturning(RELEASE_SLOT.formatted(BY_ID_AND_DAY), slotId, day, currentTime);
+        } catch (Exception e) {
+            log.error("Could not release slot {} on {}", slotId, day, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteUnbooked(Collection<UUID> slotIds) {
+
+        if (slotIds == null || slotIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            return jdbcClient.sql(DELETE_UNBOOKED_SLOTS)
+                    .param("ids", slotIds)
+                    .update();
+        } catch (Exception e) {
+            log.error("Could not delete unbooked slots {}", slotIds, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public int block(Collection<UUID> slotIds) {
+
+        if (slotIds == null || slotIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            return jdbcClient.sql(BLOCK_SLOTS)
+                    .param("ids", slotIds)
+                    .update();
+        } catch (Exception e) {
+            log.error("Could not block slots {}", slotIds, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public int updateCapacity(Map<UUID, Integer> capacityBySlotId) {
+
+        if (capacityBySlotId == null || capacityBySlotId.isEmpty()) {
+            return 0;
+        }
+        try {
+            SqlParameterSource[] batch = capacityBySlotId.entrySet().stream()
+                    .map(entry -> new MapSqlParameterSource()
+                            .addValue("id", entry.getKey())
+                            .addValue("maxBookingCapacity", entry.getValue()))
+                    .toArray(SqlParameterSource[]::new);
+
+            int updated = 0;
+            for (int rows : namedParameterJdbcTemplate.batchUpdate(UPDATE_SLOT_CAPACITY, batch)) {
+                if (rows > 0) {
+                    updated += rows;
+                }
+            }
+            return updated;
+        } catch (Exception e) {
+            log.error("Could not update slot capacity {}", capacityBySlotId, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<Slot> recomputeCapacity(String branchId, Map<LocalDate, Integer> capacityByDay, LocalDateTime currentTime) {
+
+        if (capacityByDay == null || capacityByDay.isEmpty()) {
+            return List.of();
+        }
+        try {
+            String[] days = new String[capacityByDay.size()];
+            Integer[] capacities = new Integer[capacityByDay.size()];
+            int i = 0;
+            for (var entry : capacityByDay.entrySet()) {
+                days[i] = entry.getKey().toString();
+                capacities[i] = entry.getValue();
+                i++;
+            }
+            return jdbcClient.sql(RECOMPUTE_SLOT_CAPACITY)
+                    .param("branchId", branchId)
+                    .param("days", days)
+                    .param("capacities", capacities)
+                    .param("currentTime", Timestamp.valueOf(currentTime), Types.TIMESTAMP)
+                    .query(SLOT_ROW_MAPPER)
+                    .list()
+                    .stream()
+                    .map(slotMapper::toDomain)
+                    .toList();
+        } catch (Exception e) {
+            log.error("Could not recompute capacity of branch {} slots for {}", branchId, capacityByDay, e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Slot> expireBatch(LocalDateTime currentTime, LocalDate afterDay, UUID afterId, int batchSize) {
+        try {
+            return jdbcClient.sql(EXPIRE_SLOTS_BATCH)
+                    .param("currentTime", Timestamp.valueOf(currentTime), Types.TIMESTAMP)
+                    .param("afterDay", afterDay, Types.DATE)
+                    .param("afterId", afterId, Types.OTHER)
+                    .param("batchSize", batchSize)
+                    .query(SLOT_ROW_MAPPER)
+                    .list()
+                    .stream()
+                    .map(slotMapper::toDomain)
+                    .toList();
+        } catch (Exception e) {
+            log.error("Could not expire slots after day {} and id {}", afterDay, afterId, e);
+            throw e;
+        }
+    }
+
+    private Optional<Slot> updateReturning(String sql, UUID slotId, LocalDate day, LocalDateTime currentTime) {
+        return jdbcClient.sql(sql)
+                .param("id", slotId)
+                .param("day", day, Types.DATE)
+                .param("currentTime", Timestamp.valueOf(currentTime), Types.TIMESTAMP)
+                .query(SLOT_ROW_MAPPER)
+                .optional()
+                .map(slotMapper::toDomain);
+    }
+
+    private static SlotEntity mapSlotEntity(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("last_modified_date");
+        return new SlotEntity(
+                rs.getObject("id", UUID.class),
+                rs.getObject("day", LocalDate.class),
+                rs.getObject("start_time", LocalTime.class),
+                rs.getObject("end_time", LocalTime.class),
+                rs.getInt("max_booking_capacity"),
+                rs.getInt("booking_count"),
+                rs.getString("branch_id"),
+                rs.getString("status"),
+                createdAt == null ? null : createdAt.toLocalDateTime(),
+                updatedAt == null ? null : updatedAt.toLocalDateTime(),
+                rs.getInt("version")
+        );
+    }
+
     // ==================== SlotCleanupPort Implementation ====================
 
     @Override
@@ -77,6 +542,16 @@ public class SlotDaoImpl implements SlotService, SlotQueryPort, SlotCleanupPort
                 .map(slotMapper::toDomain);
     }
 
+    @Override
+    public Optional<Slot> findById(UUID slotId, LocalDate day) {
+        return jdbcClient.sql(SELECT_SLOT_BY_ID_AND_DAY)
+                .param("id", slotId)
+                .param("day", day, Types.DATE)
+                .query(SLOT_ROW_MAPPER)
+                .optional()
+                .map(slotMapper::toDomain);
+    }
+
     @Override
     public List<Slot> findByBranchAndDay(String branchId, LocalDate day) {
         return sloRepository.dailySlot(branchId, day)
@@ -108,4 +583,63 @@ public class SlotDaoImpl implements SlotService, SlotQueryPort, SlotCleanupPort
         }
     }
 
+    @Override
+    public List<Slot> findEarliestBookable(Collection<String> branchIds, LocalDateTime from, LocalDate toDay, int limit) {
+
+        if (branchIds == null || branchIds.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return jdbcClient.sql(SELECT_EARLIEST_BOOKABLE)
+                    .param("branchIds", branchIds.toArray(String[]::new))
+                    .param("fromTime", Timestamp.valueOf(from), Types.TIMESTAMP)
+                    .param("toDay", toDay, Types.DATE)
+                    .param("limit", limit)
+                    .query(SLOT_ROW_MAPPER)
+                    .list()
+                    .stream()
+                    .map(slotMapper::toDomain)
+                    .toList();
+        } catch (Exception e) {
+            log.error("Could not find earliest bookable slots of branches {} from {} to {}", branchIds, from, toDay, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public SlotColumns findColumnsByBranchAndDay(String branchId, LocalDate day) {
+        return findColumns(branchId, day, day);
+    }
+
+    @Override
+    public SlotColumns findColumnsByBranchFromDate(String branchId, LocalDate fromDate) {
+        return findColumns(branchId, fromDate, null);
+    }
+
+    private SlotColumns findColumns(String branchId, LocalDate fromDate, LocalDate toDate) {
+
+        var params = new MapSqlParameterSource()
+                .addValue("branchId", branchId)
+                .addValue("fromDate", fromDate)
+                .addValue("toDate", toDate, Types.DATE);
+
+        // Rows go straight into the column arrays, no entity or domain object per slot
+        SlotColumns.Builder columns = SlotColumns.builder(64);
+        namedParameterJdbcTemplate.query(SELECT_SLOT_COLUMNS, params, (ResultSet rs) -> {
+            UUID id = rs.getObject("id", UUID.class);
+            columns.add(
+                    id.getMostSignificantBits(),
+                    id.getLeastSignificantBits(),
+                    rs.getInt("epoch_day"),
+                    rs.getInt("start_minute"),
+                    rs.getInt("end_minute"),
+                    rs.getInt("max_booking_capacity"),
+                    rs.getInt("booking_count"),
+                    SlotStatus.valueOf(rs.getString("status")),
+                    rs.getString("branch_id"),
+                    rs.getInt("version"));
+        });
+        return columns.build();
+    }
+
 }
@@ -0,0 +1,147 @@
+package capitec.branch.appointment.slots.infrastructure.dao;
+
+import capitec.branch.appointment.slots.app.port.SlotGenerationLeasePort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shard leases of the slot generation run. Claims use {@code FOR UPDATE SKIP LOCKED}, so nodes
+ * claiming at the same time each get a different shard without waiting on each other.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SlotGenerationLeaseDao implements SlotGenerationLeasePort {
+
+    private static final String INSERT_RUN = """
+            INSERT INTO slot_generation_run (run_date, start_date, window_days, shard_count)
+            VALUES (:runDate, :startDate, :windowDays, :shardCount)
+            ON CONFLICT (run_date) DO NOTHING
+            """;
+
+    private static final String INSERT_SHARDS = """
+            INSERT INTO slot_generation_shard (run_date, shard)
+            SELECT run_date, generate_series(0, shard_count - 1)
+            FROM slot_generation_run
+            WHERE run_date = :runDate
+            ON CONFLICT (run_date, shard) DO NOTHING
+            """;
+
+    private static final String SELECT_RUN = """
+            SELECT run_date, start_date, window_days, shard_count
+            FROM slot_generation_run
+            WHERE run_date = :runDate
+            """;
+
+    private static final String SELECT_OPEN_RUNS = """
+            SELECT run.run_date, run.start_date, run.window_days, run.shard_count
+            FROM slot_generation_run run
+            WHERE run.run_date >= :fromRunDate
+              AND run.created_at < LOCALTIMESTAMP - make_interval(secs => :openedForSeconds)
+              AND EXISTS (SELECT 1 FROM slot_generation_shard shard
+                          WHERE shard.run_date = run.run_date AND shard.completed_at IS NULL)
+            ORDER BY run.run_date
+            """;
+
+    private static final String CLAIM_SHARD = """
+            UPDATE slot_generation_shard
+            SET owner = :owner,
+                leased_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds),
+                attempts = attempts + 1
+            WHERE (run_date, shard) = (
+                SELECT run_date, shard
+                FROM slot_generation_shard
+                WHERE run_date = :runDate
+                  AND completed_at IS NULL
+                  AND attempts < :maxAttempts
+                  AND (leased_until IS NULL OR leased_until < LOCALTIMESTAMP)
+                ORDER BY shard
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED)
+            RETURNING shard
+            """;
+
+    private static final String COMPLETE_SHARD = """
+            UPDATE slot_generation_shard
+            SET completed_at = LOCALTIMESTAMP, leased_until = NULL, inserted_slots = :insertedSlots
+            WHERE run_date = :runDate AND shard = :shard AND owner = :owner AND completed_at IS NULL
+            """;
+
+    private static final String DELETE_RUNS_BEFORE = """
+            DELETE FROM slot_generation_run WHERE run_date < :runDate
+            """;
+
+    private static final RowMapper<SlotGenerationRun> RUN_ROW_MAPPER = (rs, _) -> new SlotGenerationRun(
+            rs.getObject("run_date", LocalDate.class),
+            rs.getObject("start_date", LocalDate.class),
+            rs.getInt("window_days"),
+            rs.getInt("shard_count"));
+
+    private final JdbcClient jdbcClient;
+
+    @Override
+    @Transactional
+    public SlotGenerationRun openRun(SlotGenerationRun run) {
+
+        jdbcClient.sql(INSERT_RUN)
+                .param("runDate", run.runDate())
+                .param("startDate", run.startDate())
+                .param("windowDays", run.windowDays())
+                .param("shardCount", run.shardCount())
+                .update();
+        jdbcClient.sql(INSERT_SHARDS)
+                .param("runDate", run.runDate())
+                .update();
+        return jdbcClient.sql(SELECT_RUN)
+                .param("runDate", run.runDate())
+                .query(RUN_ROW_MAPPER)
+                .single();
+    }
+
+    @Override
+    public List<SlotGenerationRun> findOpenRuns(LocalDate fromRunDate, Duration openedFor) {
+        return jdbcClient.sql(SELECT_OPEN_RUNS)
+                .param("fromRunDate", fromRunDate)
+                .param("openedForSeconds", openedFor.toSeconds())
+                .query(RUN_ROW_MAPPER)
+                .list();
+    }
+
+    @Override
+    @Transactional
+    public Optional<Integer> claimShard(LocalDate runDate, String owner, Duration lease, int maxAttempts) {
+        return jdbcClient.sql(CLAIM_SHARD)
+                .param("runDate", runDate)
+                .param("owner", owner)
+                .param("leaseSeconds", lease.toSeconds())
+                .param("maxAttempts", maxAttempts)
+                .query(Integer.class)
+                .optional();
+    }
+
+    @Override
+    @Transactional
+    public boolean completeShard(LocalDate runDate, int shard, String owner, long insertedSlots) {
+        return jdbcClient.sql(COMPLETE_SHARD)
+                .param("runDate", runDate)
+                .param("shard", shard)
+                .param("owner", owner)
+                .param("insertedSlots", insertedSlots)
+                .update() == 1;
+    }
+
+    @Override
+    @Transactional
+    public int deleteRunsBefore(LocalDate runDate) {
+        return jdbcClient.sql(DELETE_RUNS_BEFORE)
+                .param("runDate", runDate)
+                .update();
+    }
+}
@@ -0,0 +1,178 @@
+package capitec.branch.appointment.slots.infrastructure.dao;
+
+import capitec.branch.appointment.slots.app.port.SlotPartitionPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for the slot partitions. Every operation takes a transaction scoped advisory lock so nodes
+ * running the partition manager at the same time apply changes one after the other.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class SlotPartitionDao implements SlotPartitionPort {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("[a-z][a-z0-9_]{0,62}");
+    private static final Pattern RANGE_BOUND = Pattern.compile("FOR VALUES FROM \\('([0-9-]+)'\\) TO \\('([0-9-]+)'\\)");
+
+    private static final String LOCK_PARTITIONS = "SELECT pg_advisory_xact_lock(hashtext('slot_partitions'))";
+
+    private static final String FIND_PARTITIONS = """
+            SELECT child.relname AS name, pg_get_expr(child.relpartbound, child.oid) AS bound
+            FROM pg_inherits
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE pg_inherits.inhparent = 'slot'::regclass
+            """;
+
+    private static final String COUNT_DEFAULT_ROWS = """
+            SELECT COUNT(*) FROM slot_default WHERE day >= :from AND day < :to
+            """;
+
+    // Row delete triggers do not fire when a partition is detached, so the appointment references are checked here
+    private static final String REFERENCED_BY_OPEN_APPOINTMENTS = """
+            SELECT EXISTS (
+                SELECT 1
+                FROM appointment
+                JOIN %s s ON s.id = appointment.slot_id
+                WHERE appointment.status IN ('BOOKED', 'CHECKED_IN', 'IN_PROGRESS')
+            )
+            """;
+
+    private static final String REFERENCED_BY_APPOINTMENTS = """
+            SELECT EXISTS (SELECT 1 FROM appointment JOIN %s s ON s.id = appointment.slot_id)
+            """;
+
+    private static final String CLEAR_PREVIOUS_SLOT_REFERENCES = """
+            UPDATE appointment
+            SET previous_slot_id = NULL
+            WHERE previous_slot_id IN (SELECT id FROM %s)
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    @Override
+    public List<SlotPartition> findPartitions() {
+        return jdbcClient.sql(FIND_PARTITIONS)
+                .query((rs, _) -> toPartition(rs.getString("name"), rs.getString("bound")))
+                .list()
+                .stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(SlotPartition::from))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public boolean createPartition(String name, LocalDate from, LocalDate to) {
+
+        String table = identifier(name);
+        jdbcClient.sql(LOCK_PARTITIONS).query().singleRow();
+        if (isAttached(name)) {
+            return false;
+        }
+
+        long inDefault = jdbcClient.sql(COUNT_DEFAULT_ROWS)
+                .param("from", from)
+                .param("to", to)
+                .query(Long.class)
+                .single();
+
+        if (inDefault == 0) {
+            jdbcClient.sql("CREATE TABLE " + table + " PARTITION OF slot FOR VALUES FROM ('" + from + "') TO ('" + to + "')")
+                    .update();
+        } else {
+            // Attaching a range the default partition holds rows for is rejected, move them first
+            jdbcClient.sql("CREATE TABLE " + table + " (LIKE slot INCLUDING DEFAULTS INCLUDING CONSTRAINTS)").update();
+            jdbcClient.sql("""
+                            WITH moved AS (DELETE FROM slot_default WHERE day >= :from AND day < :to RETURNING *)
+                            INSERT INTO %s SELECT * FROM moved
+                            """.formatted(table))
+                    .param("from", from)
+                    .param("to", to)
+                    .update();
+            jdbcClient.sql("ALTER TABLE slot ATTACH PARTITION " + table + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')")
+                    .update();
+            log.warn("Moved {} slots from the default partition into new partition {}", inDefault, name);
+        }
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean archivePartition(String name, String archiveName) {
+
+        String table = identifier(name);
+        String archive = identifier(archiveName);
+        jdbcClient.sql(LOCK_PARTITIONS).query().singleRow();
+        if (!isAttached(name)) {
+            return false;
+        }
+        // Archived slots stay readable, but open appointments are still joined to their slot
+        if (isReferenced(REFERENCED_BY_OPEN_APPOINTMENTS, table)) {
+            log.warn("Slot partition {} is not archived, open appointments are booked on its slots", name);
+            return false;
+        }
+
+        jdbcClient.sql("ALTER TABLE slot DETACH PARTITION " + table).update();
+        jdbcClient.sql("ALTER TABLE " + table + " RENAME TO " + archive).update();
+        // Archived slots must not keep branches from being removed
+        jdbcClient.sql("ALTER TABLE " + archive + " DROP CONSTRAINT IF EXISTS fk_branch_id").update();
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean dropPartition(String name) {
+
+        String table = identifier(name);
+        jdbcClient.sql(LOCK_PARTITIONS).query().singleRow();
+        if (!isAttached(name)) {
+            return false;
+        }
+        // Same rules as deleting the slots one by one: restricted while booked on, previous slot references cleared
+        if (isReferenced(REFERENCED_BY_APPOINTMENTS, table)) {
+            log.warn("Slot partition {} is not dropped, appointments are booked on its slots", name);
+            return false;
+        }
+        jdbcClient.sql(CLEAR_PREVIOUS_SLOT_REFERENCES.formatted(table)).update();
+
+        jdbcClient.sql("ALTER TABLE slot DETACH PARTITION " + table).update();
+        jdbcClient.sql("DROP TABLE " + table).update();
+        return true;
+    }
+
+    private boolean isReferenced(String query, String table) {
+        return Boolean.TRUE.equals(jdbcClient.sql(query.formatted(table)).query(Boolean.class).single());
+    }
+
+    private boolean isAttached(String name) {
+        return findPartitions().stream().anyMatch(partition -> partition.name().equals(name));
+    }
+
+    private static SlotPartition toPartition(String name, String bound) {
+        Matcher matcher = RANGE_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            // The default partition
+            return null;
+        }
+        return new SlotPartition(name, LocalDate.parse(matcher.group(1)), LocalDate.parse(matcher.group(2)));
+    }
+
+    private static String identifier(String name) {
+        if (name == null || !PARTITION_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid slot partition name: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,14 @@
+package capitec.branch.appointment.slots.infrastructure.dao;
+
+/**
+ * How generated slots are written by {@link SlotDaoImpl#saveIfAbsent}.
+ * <ul>
+ *   <li><b>BATCH:</b> JDBC batch of single-row {@code INSERT ... ON CONFLICT DO NOTHING}</li>
+ *   <li><b>COPY:</b> {@code COPY FROM STDIN} into a session staging table, then one
+ *       {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING} (see {@link SlotCopyWriter})</li>
+ * </ul>
+ */
+public enum SlotWriteMode {
+    BATCH,
+    COPY
+}
@@ -1,6 +1,7 @@
 package capitec.branch.appointment.staffschedular.app;
 
 import capitec.branch.appointment.exeption.EntityAlreadyExistException;
+import capitec.branch.appointment.staffschedular.app.port.SlotCapacityRecomputationPort;
 import capitec.branch.appointment.staffschedular.domain.BranchStaffAssignmentService;
 import capitec.branch.appointment.staffschedular.domain.StaffRef;
 import capitec.branch.appointment.utils.UseCase;
@@ -11,6 +12,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Set;
+
 
 @Slf4j
 @UseCase
@@ -19,6 +22,7 @@ import org.springframework.web.server.ResponseStatusException;
 public class AssignStaffToDayUseCase {
 
     private final BranchStaffAssignmentService branchStaffAssignmentService;
+    private final SlotCapacityRecomputationPort slotCapacityRecomputationPort;
 
     public void execute(String branchId, @Valid BranchStaffAssignmentDTO assignmentDTO) {
 
@@ -50,5 +54,6 @@ public class AssignStaffToDayUseCase {
             log.error("Error assigning staff:{} at branch:{} at day:{}", assignmentDTO.username(), branchId, day, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",e);
         }
+        slotCapacityRecomputationPort.recompute(branchId, Set.of(day));
     }
 }
\ No newline at end of file
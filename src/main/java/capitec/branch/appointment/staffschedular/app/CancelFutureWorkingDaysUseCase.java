@@ -1,5 +1,6 @@
 package capitec.branch.appointment.staffschedular.app;
 
+import capitec.branch.appointment.staffschedular.app.port.SlotCapacityRecomputationPort;
 import capitec.branch.appointment.staffschedular.domain.BranchStaffAssignmentService;
 import capitec.branch.appointment.utils.UseCase;
 import jakarta.validation.constraints.NotEmpty;
@@ -23,6 +24,8 @@ import java.util.Set;
 public class CancelFutureWorkingDaysUseCase {
 
     private final BranchStaffAssignmentService branchStaffAssignmentService;
+    private final SlotCapacityRecomputationPort slotCapacityRecomputationPort;
+
     public void execute(String branchId, @NotEmpty @NotNull DayOfWeek... days) {
 
         LocalDate today = LocalDate.now();
@@ -51,5 +54,6 @@ public class CancelFutureWorkingDaysUseCase {
             log.error("Failed to cancel working days {} of branch {}", datesToCancel, branchId, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",e);
         }
+        slotCapacityRecomputationPort.recompute(branchId, datesToCancel);
     }
 }
\ No newline at end of file
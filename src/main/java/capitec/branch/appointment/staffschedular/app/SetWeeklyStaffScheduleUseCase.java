@@ -1,6 +1,7 @@
 package capitec.branch.appointment.staffschedular.app;
 
 import capitec.branch.appointment.exeption.EntityAlreadyExistException;
+import capitec.branch.appointment.staffschedular.app.port.SlotCapacityRecomputationPort;
 import capitec.branch.appointment.staffschedular.domain.BranchStaffAssignment;
 import capitec.branch.appointment.staffschedular.domain.BranchStaffAssignmentService;
 import capitec.branch.appointment.staffschedular.domain.StaffRef;
@@ -20,6 +21,7 @@ import java.util.Set;
 public class SetWeeklyStaffScheduleUseCase {
 
     private final BranchStaffAssignmentService branchStaffAssignmentService;
+    private final SlotCapacityRecomputationPort slotCapacityRecomputationPort;
 
     public void execute(String branchId, Map<LocalDate, Set<StaffRef>> weeklyStaff) {
         try {
@@ -46,5 +48,6 @@ public class SetWeeklyStaffScheduleUseCase {
             log.error("Error setting weekly working staff schedule for branch {}", branchId, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to set weekly schedule", e);
         }
+        slotCapacityRecomputationPort.recompute(branchId, weeklyStaff.keySet());
     }
 }
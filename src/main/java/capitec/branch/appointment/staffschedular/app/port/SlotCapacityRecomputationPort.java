@@ -0,0 +1,16 @@
+package capitec.branch.appointment.staffschedular.app.port;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Port for bringing generated slot capacity in line with a changed staff roster.
+ */
+public interface SlotCapacityRecomputationPort {
+
+    /**
+     * Recomputes the capacity of the branch's generated slots on the given days. Failures are not thrown,
+     * the roster change that triggered it stands.
+     */
+    void recompute(String branchId, Set<LocalDate> days);
+}
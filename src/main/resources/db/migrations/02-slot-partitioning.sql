@@ -0,0 +1,79 @@
+-- liquibase formatted sql
+
+-- changeset Lunga:21 splitStatements:false
+-- Range partition slot by month of day. Primary and unique keys of a partitioned table must include
+-- the partition key, so slot(id) alone can no longer be referenced: the appointment foreign keys to
+-- slot are dropped and slot ids are kept consistent by the booking flow.
+DO $$
+DECLARE
+    first_month DATE;
+    last_month  DATE;
+    month       DATE;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'public.slot'::regclass) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE appointment DROP CONSTRAINT IF EXISTS appointment_slot_id_fkey;
+    ALTER TABLE appointment DROP CONSTRAINT IF EXISTS appointment_previous_slot_id_fkey;
+
+    ALTER TABLE slot RENAME TO slot_unpartitioned;
+    ALTER INDEX IF EXISTS slot_pkey RENAME TO slot_unpartitioned_pkey;
+    ALTER INDEX IF EXISTS unique_slot_per_branch_day RENAME TO slot_unpartitioned_unique_slot_per_branch_day;
+    DROP INDEX IF EXISTS idx_branch_day_status;
+
+    CREATE TABLE slot
+    (
+        id                   UUID        NOT NULL,
+        day                  DATE        NOT NULL,
+        start_time           TIME        NOT NULL,
+        end_time             TIME        NOT NULL,
+        booking_count        INTEGER     NOT NULL,
+        max_booking_capacity INTEGER     NOT NULL,
+        branch_id            VARCHAR(36) NOT NULL,
+        status               VARCHAR(16) NOT NULL DEFAULT 'AVAILABLE',
+        created_at           TIMESTAMP   DEFAULT LOCALTIMESTAMP,
+        last_modified_date   TIMESTAMP,
+        version              INTEGER,
+        CONSTRAINT slot_pkey PRIMARY KEY (id, day),
+        CONSTRAINT positive_booking_count CHECK (booking_count >= 0),
+        CONSTRAINT positive_max_booking_capacity CHECK (max_booking_capacity >= 0),
+        CONSTRAINT positive_version CHECK (version >= 0),
+        CONSTRAINT booking_capacity_check CHECK (booking_count <= max_booking_capacity),
+        CONSTRAINT start_before_end CHECK (start_time < end_time),
+        CONSTRAINT unique_slot_per_branch_day UNIQUE (branch_id, day, start_time, end_time),
+        CONSTRAINT check_day_within_year CHECK (day <= CURRENT_DATE + INTERVAL '366 days')
+    ) PARTITION BY RANGE (day);
+
+    -- Safety net for days no partition covers yet, SlotPartitionManager moves them out
+    CREATE TABLE slot_default PARTITION OF slot DEFAULT;
+
+    first_month := date_trunc('month', LEAST(COALESCE((SELECT MIN(day) FROM slot_unpartitioned), CURRENT_DATE), CURRENT_DATE))::date;
+    last_month := date_trunc('month', GREATEST(COALESCE((SELECT MAX(day) FROM slot_unpartitioned), CURRENT_DATE), CURRENT_DATE + INTERVAL '2 months'))::date;
+    month := first_month;
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF slot FOR VALUES FROM (%L) TO (%L)',
+                       'slot_p' || to_char(month, 'YYYYMM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+
+    INSERT INTO slot (id, day, start_time, end_time, booking_count, max_booking_capacity, branch_id, status,
+                      created_at, last_modified_date, version)
+    SELECT id, day, start_time, end_time, booking_count, max_booking_capacity, branch_id, status,
+           created_at, last_modified_date, version
+    FROM slot_unpartitioned;
+
+    DROP TABLE slot_unpartitioned;
+
+    CREATE INDEX idx_branch_day_status ON slot (branch_id, day, status);
+    CREATE INDEX idx_slot_day ON slot (day);
+    ALTER TABLE slot ADD CONSTRAINT fk_branch_id FOREIGN KEY (branch_id) REFERENCES branch (branch_id) ON DELETE RESTRICT;
+    CREATE TRIGGER set_last_modified_date_slot
+        BEFORE UPDATE ON slot FOR EACH ROW
+        EXECUTE FUNCTION update_last_modified_date();
+END $$;
+
+-- changeset Lunga:22
+-- Only slots that can still expire, walked in (day, id) order by the expiry sweeper
+CREATE INDEX IF NOT EXISTS idx_slot_expirable ON slot (day, id) WHERE status IN ('AVAILABLE', 'BLOCKED');
+-- ROLLBACK DROP INDEX idx_slot_expirable;
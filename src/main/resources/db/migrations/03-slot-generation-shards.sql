@@ -0,0 +1,31 @@
+-- liquibase formatted sql
+
+-- changeset Lunga:23
+-- One row per daily generation run, the window is resolved once by the first node so every node generates the same days
+CREATE TABLE IF NOT EXISTS slot_generation_run
+(
+    run_date    DATE PRIMARY KEY,
+    start_date  DATE      NOT NULL,
+    window_days INTEGER   NOT NULL,
+    shard_count INTEGER   NOT NULL,
+    created_at  TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP,
+    CONSTRAINT positive_window_days CHECK (window_days > 0),
+    CONSTRAINT positive_shard_count CHECK (shard_count > 0)
+);
+-- rollback DROP TABLE slot_generation_run;
+
+-- changeset Lunga:24
+-- Lease of a branch shard of a run: claimed by one node at a time, reclaimed once leased_until has passed
+CREATE TABLE IF NOT EXISTS slot_generation_shard
+(
+    run_date       DATE    NOT NULL REFERENCES slot_generation_run (run_date) ON DELETE CASCADE,
+    shard          INTEGER NOT NULL,
+    owner          VARCHAR(128),
+    leased_until   TIMESTAMP,
+    attempts       INTEGER NOT NULL DEFAULT 0,
+    inserted_slots BIGINT,
+    completed_at   TIMESTAMP,
+    CONSTRAINT slot_generation_shard_pkey PRIMARY KEY (run_date, shard)
+);
+CREATE INDEX IF NOT EXISTS idx_slot_generation_shard_open ON slot_generation_shard (run_date, shard) WHERE completed_at IS NULL;
+-- rollback DROP TABLE slot_generation_shard;
@@ -0,0 +1,24 @@
+-- liquibase formatted sql
+
+-- changeset Lunga:25
+-- Responses of write requests by Idempotency-Key, a row without status_code is a request still in progress
+CREATE TABLE IF NOT EXISTS idempotency_record
+(
+    scope           VARCHAR(64)  NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash    CHAR(64)     NOT NULL,
+    status_code     INTEGER,
+    response_body   TEXT,
+    locked_until    TIMESTAMP,
+    completed_at    TIMESTAMP,
+    created_at      TIMESTAMP    NOT NULL DEFAULT LOCALTIMESTAMP,
+    expires_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT idempotency_record_pkey PRIMARY KEY (scope, idempotency_key)
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_record_expires_at ON idempotency_record (expires_at);
+-- rollback DROP TABLE idempotency_record;
+
+-- changeset Lunga:30
+-- Scopes hold the operation and the authenticated caller, e.g. appointment.create:<username>
+ALTER TABLE idempotency_record ALTER COLUMN scope TYPE VARCHAR(320);
+-- rollback ALTER TABLE idempotency_record ALTER COLUMN scope TYPE VARCHAR(64);
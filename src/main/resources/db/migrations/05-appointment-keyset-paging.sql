@@ -0,0 +1,11 @@
+-- liquibase formatted sql
+
+-- changeset Lunga:26
+-- Keyset pages of a customer's appointments, latest first: WHERE customer_username = ? AND (date_time, id) < (?, ?)
+CREATE INDEX IF NOT EXISTS idx_appointment_customer_date_time ON appointment (customer_username, date_time DESC, id DESC);
+-- rollback DROP INDEX idx_appointment_customer_date_time;
+
+-- changeset Lunga:27
+-- Keyset pages of a branch day in time order: WHERE branch_id = ? AND day = ? AND (date_time, id) > (?, ?)
+CREATE INDEX IF NOT EXISTS idx_appointment_branch_day_date_time ON appointment (branch_id, day, date_time, id);
+-- rollback DROP INDEX idx_appointment_branch_day_date_time;
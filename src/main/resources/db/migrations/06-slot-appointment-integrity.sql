@@ -0,0 +1,58 @@
+-- liquibase formatted sql
+
+-- changeset Lunga:28
+-- Appointments by slot, for the reference checks below and slot deletes
+CREATE INDEX IF NOT EXISTS idx_appointment_slot_id ON appointment (slot_id);
+CREATE INDEX IF NOT EXISTS idx_appointment_previous_slot_id ON appointment (previous_slot_id) WHERE previous_slot_id IS NOT NULL;
+-- rollback DROP INDEX idx_appointment_previous_slot_id; DROP INDEX idx_appointment_slot_id;
+
+-- changeset Lunga:29 splitStatements:false
+-- Stand in for appointment_slot_id_fkey and appointment_previous_slot_id_fkey, dropped by Lunga:21:
+-- a partitioned slot can only be referenced by (id, day), which appointments do not carry.
+-- Like a foreign key check it runs after the statement, so the booking statement's own slot update is
+-- visible, and key share locks the slot so it cannot be deleted concurrently.
+CREATE OR REPLACE FUNCTION check_appointment_slot_reference()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' OR NEW.slot_id IS DISTINCT FROM OLD.slot_id THEN
+        PERFORM 1 FROM slot WHERE id = NEW.slot_id FOR KEY SHARE;
+        IF NOT FOUND THEN
+            RAISE EXCEPTION 'slot % of appointment % does not exist', NEW.slot_id, NEW.id
+                USING ERRCODE = 'foreign_key_violation';
+        END IF;
+    END IF;
+    IF NEW.previous_slot_id IS NOT NULL AND (TG_OP = 'INSERT' OR NEW.previous_slot_id IS DISTINCT FROM OLD.previous_slot_id) THEN
+        PERFORM 1 FROM slot WHERE id = NEW.previous_slot_id FOR KEY SHARE;
+        IF NOT FOUND THEN
+            RAISE EXCEPTION 'previous slot % of appointment % does not exist', NEW.previous_slot_id, NEW.id
+                USING ERRCODE = 'foreign_key_violation';
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Deleting a slot is restricted while an appointment is booked on it, previous slot references are cleared
+CREATE OR REPLACE FUNCTION restrict_referenced_slot_delete()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM appointment WHERE slot_id = OLD.id) THEN
+        RAISE EXCEPTION 'slot % is still referenced from table appointment', OLD.id
+            USING ERRCODE = 'foreign_key_violation';
+    END IF;
+    UPDATE appointment SET previous_slot_id = NULL WHERE previous_slot_id = OLD.id;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS check_appointment_slot_reference ON appointment;
+CREATE TRIGGER check_appointment_slot_reference
+    AFTER INSERT OR UPDATE OF slot_id, previous_slot_id ON appointment FOR EACH ROW
+    EXECUTE FUNCTION check_appointment_slot_reference();
+
+-- Row triggers of a partitioned table are cloned to partitions created or attached later
+DROP TRIGGER IF EXISTS restrict_referenced_slot_delete ON slot;
+CREATE TRIGGER restrict_referenced_slot_delete
+    BEFORE DELETE ON slot FOR EACH ROW
+    EXECUTE FUNCTION restrict_referenced_slot_delete();
+-- rollback DROP TRIGGER restrict_referenced_slot_delete ON slot; DROP TRIGGER check_appointment_slot_reference ON appointment; DROP FUNCTION restrict_referenced_slot_delete(); DROP FUNCTION check_appointment_slot_reference();
@@ -0,0 +1,142 @@
+package capitec.branch.appointment.appointment.app;
+
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort;
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort.Booked;
+import capitec.branch.appointment.appointment.app.port.AppointmentBookingPort.BookingResult;
+import capitec.branch.appointment.appointment.domain.Appointment;
+import capitec.branch.appointment.slots.domain.Slot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AppointmentBookingCombiner Integration Test")
+class AppointmentBookingCombinerTest extends AppointmentTestBase {
+
+    @Autowired
+    private BookAppointmentUseCase bookAppointmentUseCase;
+    @Autowired
+    private AppointmentBookingPort appointmentBookingPort;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentBookings_OfOneSlot_AreGrantedUpToCapacity() throws Exception {
+
+        Slot slot = slots.getFirst();
+        int capacity = slot.getMaxBookingCapacity();
+        int customers = Math.min(guestClients.size(), capacity + 2);
+        var start = new CountDownLatch(1);
+        List<Future<Appointment>> bookings = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(customers)) {
+            for (int i = 0; i < customers; i++) {
+                String customerUsername = guestClients.get(i);
+                bookings.add(executor.submit(() -> {
+                    start.await();
+                    return bookAppointmentUseCase.execute(new AppointmentDTO(slot.getId(), branch.getBranchId(),
+                            customerUsername, "Deposit", slot.getDay(), slot.getStartTime(), slot.getEndTime()));
+                }));
+            }
+            start.countDown();
+
+            int booked = 0;
+            int fullyBooked = 0;
+            for (Future<Appointment> booking : bookings) {
+                try {
+                    assertThat(booking.get(30, TimeUnit.SECONDS)).isNotNull();
+                    booked++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ResponseStatusException.class);
+                    assertThat(((ResponseStatusException) e.getCause()).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    fullyBooked++;
+                }
+            }
+
+            assertThat(booked).isEqualTo(Math.min(customers, capacity));
+            assertThat(fullyBooked).isEqualTo(customers - booked);
+        }
+
+        // Every reservation has its appointment
+        assertThat(slotQueryPort.findById(slot.getId())).get().extracting(Slot::getBookingCount)
+                .isEqualTo(Math.min(customers, capacity));
+        long appointments = guestClients.subList(0, customers).stream()
+                .mapToInt(customer -> appointmentQueryPort.countByCustomerUsername(customer, null))
+                .sum();
+        assertThat(appointments).isEqualTo(Math.min(customers, capacity));
+    }
+
+    @Test
+    void book_WhenLeaderRollsBack_JoinedBookingIsBookedOnItsOwn() throws Exception {
+
+        Slot slot = slots.getFirst();
+        var combiner = new AppointmentBookingCombiner(appointmentBookingPort, transactionManager, true,
+                Duration.ofMillis(300), 64, Duration.ofSeconds(10));
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        Appointment first = appointment(slot, guestClients.get(0));
+        Appointment second = appointment(slot, guestClients.get(1));
+        LocalDateTime now = LocalDateTime.now();
+        var leaderResult = new AtomicReference<BookingResult>();
+
+        CompletableFuture<Void> leader = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            leaderResult.set(combiner.book(first, now));
+            status.setRollbackOnly();
+        }));
+        // Joins the leader's batch while it lingers
+        Thread.sleep(100);
+        BookingResult joined = transactionTemplate.execute(_ -> combiner.book(second, now));
+        leader.get(30, TimeUnit.SECONDS);
+
+        assertThat(leaderResult.get()).isInstanceOf(Booked.class);
+        assertThat(joined).isInstanceOf(Booked.class);
+        assertThat(appointmentQueryPort.findById(first.getId())).isEmpty();
+        assertThat(appointmentQueryPort.findById(second.getId())).isPresent();
+        assertThat(slotQueryPort.findById(slot.getId())).get().extracting(Slot::getBookingCount).isEqualTo(1);
+    }
+
+    @Test
+    void book_WhenLeaderCommits_JoinedBookingIsAnsweredFromTheBatch() throws Exception {
+
+        Slot slot = slots.getFirst();
+        var combiner = new AppointmentBookingCombiner(appointmentBookingPort, transactionManager, true,
+                Duration.ofMillis(300), 64, Duration.ofSeconds(10));
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        Appointment first = appointment(slot, guestClients.get(0));
+        Appointment second = appointment(slot, guestClients.get(1));
+        LocalDateTime now = LocalDateTime.now();
+
+        CompletableFuture<BookingResult> leader = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(_ -> combiner.book(first, now)));
+        Thread.sleep(100);
+        BookingResult joined = transactionTemplate.execute(_ -> combiner.book(second, now));
+
+        assertThat(leader.get(30, TimeUnit.SECONDS)).isInstanceOf(Booked.class);
+        assertThat(joined).isInstanceOf(Booked.class);
+        // Both were written by one statement, so they share the slot state after it
+        assertThat(((Booked) joined).slot().bookingCount()).isEqualTo(2);
+        assertThat(appointmentQueryPort.findById(first.getId())).isPresent();
+        assertThat(appointmentQueryPort.findById(second.getId())).isPresent();
+        assertThat(slotQueryPort.findById(slot.getId())).get().extracting(Slot::getBookingCount).isEqualTo(2);
+    }
+
+    private Appointment appointment(Slot slot, String customerUsername) {
+        return new Appointment(slot.getId(), branch.getBranchId(), customerUsername, "Deposit", slot.getDay().atTime(slot.getStartTime()));
+    }
+}
@@ -4,8 +4,12 @@ import capitec.branch.appointment.appointment.domain.Appointment;
 import capitec.branch.appointment.event.app.Topics;
 import capitec.branch.appointment.kafka.domain.EventValue;
 import capitec.branch.appointment.sharekernel.event.metadata.AppointmentMetadata;
+import capitec.branch.appointment.slots.app.GetDailySlotsQuery;
 import capitec.branch.appointment.slots.app.GetSlotQuery;
+import capitec.branch.appointment.slots.app.SlotCapacityLedger;
+import capitec.branch.appointment.slots.app.port.SlotColumns;
 import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotService;
 import capitec.branch.appointment.slots.domain.SlotStatus;
 import capitec.branch.appointment.user.app.GetUserQuery;
 import capitec.branch.appointment.user.app.dto.UsernameCommand;
@@ -28,6 +32,7 @@ import org.springframework.kafka.test.utils.KafkaTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +55,12 @@ class BookAppointmentUseCaseTest extends AppointmentTestBase {
     private AppointmentDTO validAppointmentDTO;
     @Autowired
     private GetSlotQuery getSlotQuery;
+    @Autowired
+    private GetDailySlotsQuery getDailySlotsQuery;
+    @Autowired
+    private SlotService slotService;
+    @Autowired
+    private SlotCapacityLedger slotCapacityLedger;
     private Consumer<String, String> testConsumer;
 
 
@@ -285,5 +296,63 @@ class BookAppointmentUseCaseTest extends AppointmentTestBase {
 
     }
 
+    @Test
+    @DisplayName("Should show a booking made in one statement in the cached slot availability")
+    void shouldPropagateSingleStatementBookingToSlotAvailability() {
+
+        Slot slot = slots.getFirst();
+        // Load the availability cache before booking
+        SlotColumns before = getDailySlotsQuery.availability(branch.getBranchId(), slot.getDay());
+        assertThat(bookingCountOf(before, slot.getId())).isZero();
+
+        validAppointmentDTO = new AppointmentDTO(slot.getId(), branch.getBranchId(), guestClients.getFirst(), "Deposit",
+                slot.getDay(), slot.getStartTime(), slot.getEndTime());
+        var result = bookAppointmentUseCase.execute(validAppointmentDTO);
 
+        assertThat(result.getVersion()).isEqualTo(1);
+        assertThat(appointmentQueryPort.findById(result.getId())).isPresent();
+        Slot bookedSlot = getSlotQuery.execute(slot.getId());
+        assertThat(bookedSlot.getBookingCount()).isEqualTo(1);
+        assertThat(bookedSlot.getVersion()).isEqualTo(slot.getVersion() + 1);
+
+        SlotColumns after = getDailySlotsQuery.availability(branch.getBranchId(), slot.getDay());
+        assertThat(bookingCountOf(after, slot.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should teach the capacity ledger a slot filled elsewhere, so later bookings are turned away without the database")
+    void shouldSyncCapacityLedgerWhenSlotIsRejected() {
+
+        Slot slot = slots.getFirst();
+        // Filled by another node: this node's ledger does not know
+        for (int booking = 0; booking < slot.getMaxBookingCapacity(); booking++) {
+            assertThat(slotService.reserve(slot.getId(), LocalDateTime.now())).isPresent();
+        }
+        assertThat(slotCapacityLedger.tryReserve(slot.getId(), LocalDateTime.now())).isEqualTo(SlotCapacityLedger.Admission.UNKNOWN);
+
+        validAppointmentDTO = new AppointmentDTO(slot.getId(), branch.getBranchId(), guestClients.getFirst(), "Deposit",
+                slot.getDay(), slot.getStartTime(), slot.getEndTime());
+        ResponseStatusException actual = assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> bookAppointmentUseCase.execute(validAppointmentDTO)).actual();
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(actual.getReason()).isEqualTo("Slot is fully booked.");
+
+        // The rejected booking synced the ledger, the next one is rejected before the booking statement
+        assertThat(slotCapacityLedger.tryReserve(slot.getId(), LocalDateTime.now())).isEqualTo(SlotCapacityLedger.Admission.REJECTED);
+        validAppointmentDTO = new AppointmentDTO(slot.getId(), branch.getBranchId(), guestClients.get(1), "Deposit",
+                slot.getDay(), slot.getStartTime(), slot.getEndTime());
+        actual = assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> bookAppointmentUseCase.execute(validAppointmentDTO)).actual();
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(appointmentQueryPort.countByCustomerUsername(guestClients.get(1), null)).isZero();
+    }
+
+    private static int bookingCountOf(SlotColumns slots, UUID slotId) {
+        for (int row = 0; row < slots.size(); row++) {
+            if (slots.id(row).equals(slotId)) {
+                return slots.bookingCount(row);
+            }
+        }
+        throw new AssertionError("Slot not in availability: " + slotId);
+    }
 }
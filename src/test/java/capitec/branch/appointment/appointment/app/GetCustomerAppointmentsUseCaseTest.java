@@ -0,0 +1,163 @@
+package capitec.branch.appointment.appointment.app;
+
+import capitec.branch.appointment.appointment.app.dto.GetBranchAppointmentsQuery;
+import capitec.branch.appointment.appointment.app.dto.GetCustomerAppointmentsPageQuery;
+import capitec.branch.appointment.appointment.domain.Appointment;
+import capitec.branch.appointment.appointment.infrastructure.controller.AppointmentResponse;
+import capitec.branch.appointment.appointment.infrastructure.controller.AppointmentsResponse;
+import capitec.branch.appointment.appointment.infrastructure.controller.CustomerAppointmentController;
+import capitec.branch.appointment.appointment.infrastructure.controller.StaffAppointmentController;
+import capitec.branch.appointment.slots.domain.Slot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GetCustomerAppointmentsUseCase keyset paging Integration Test")
+class GetCustomerAppointmentsUseCaseTest extends AppointmentTestBase {
+
+    @Autowired
+    private GetCustomerAppointmentsUseCase getCustomerAppointmentsUseCase;
+    @Autowired
+    private BookAppointmentUseCase bookAppointmentUseCase;
+    @Autowired
+    private CustomerAppointmentController customerAppointmentController;
+    @Autowired
+    private StaffAppointmentController staffAppointmentController;
+
+    @Test
+    void branchAppointments_PagesTheDayInTimeOrderWithCursor() {
+
+        LocalDate day = slots.getFirst().getDay();
+        List<Slot> daySlots = slots.stream()
+                .filter(slot -> slot.getDay().equals(day))
+                .limit(3)
+                .toList();
+        List<Appointment> booked = new ArrayList<>();
+        for (int i = 0; i < daySlots.size(); i++) {
+            Slot slot = daySlots.get(i);
+            booked.add(bookAppointmentUseCase.execute(new AppointmentDTO(slot.getId(), branch.getBranchId(),
+                    guestClients.get(i), "Deposit", slot.getDay(), slot.getStartTime(), slot.getEndTime())));
+        }
+        List<UUID> expectedOrder = booked.stream()
+                .sorted(Comparator.comparing(Appointment::getDateTime).thenComparing(appointment -> appointment.getId().toString()))
+                .map(Appointment::getId)
+                .toList();
+
+        String traceId = UUID.randomUUID().toString();
+        AppointmentsPage<Appointment> first = getCustomerAppointmentsUseCase.branchAppointments(
+                new GetBranchAppointmentsQuery(branch.getBranchId(), day, null, null, 2, true), traceId);
+
+        assertThat(first.appointments()).extracting(Appointment::getId).containsExactlyElementsOf(expectedOrder.subList(0, 2));
+        assertThat(first.next()).isNotNull();
+        assertThat(first.totalCount()).isEqualTo(booked.size());
+
+        AppointmentsPage<Appointment> second = getCustomerAppointmentsUseCase.branchAppointments(
+                new GetBranchAppointmentsQuery(branch.getBranchId(), day, null, first.next(), 2, false), traceId);
+
+        assertThat(second.appointments()).extracting(Appointment::getId).containsExactly(expectedOrder.get(2));
+        assertThat(second.next()).isNull();
+        assertThat(second.totalCount()).isNull();
+    }
+
+    @Test
+    void execute_PagesCustomerAppointmentsLatestFirst() {
+
+        Slot slot = slots.getFirst();
+        String customerUsername = guestClients.getFirst();
+        Appointment booked = bookAppointmentUseCase.execute(new AppointmentDTO(slot.getId(), branch.getBranchId(),
+                customerUsername, "Deposit", slot.getDay(), slot.getStartTime(), slot.getEndTime()));
+
+        AppointmentsPage<AppointmentWithBranchDTO> page = getCustomerAppointmentsUseCase.execute(
+                new GetCustomerAppointmentsPageQuery(customerUsername, null, null, 1, true), UUID.randomUUID().toString());
+
+        assertThat(page.appointments()).extracting(AppointmentWithBranchDTO::id).containsExactly(booked.getId());
+        assertThat(page.next()).isNull();
+        assertThat(page.totalCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getCustomerAppointments_PagesByOffsetUnlessCursorIsPassed() {
+
+        Slot slot = slots.getFirst();
+        String customerUsername = guestClients.getFirst();
+        Appointment booked = bookAppointmentUseCase.execute(new AppointmentDTO(slot.getId(), branch.getBranchId(),
+                customerUsername, "Deposit", slot.getDay(), slot.getStartTime(), slot.getEndTime()));
+
+        // Existing clients send neither offset nor cursor for the first page
+        AppointmentsResponse offsetPage = customerAppointmentController.getCustomerAppointments(
+                customerUsername, null, null, 0, 10, false, UUID.randomUUID().toString()).getBody();
+
+        assertThat(offsetPage).isNotNull();
+        assertThat(offsetPage.appointments()).extracting(AppointmentResponse::id).containsExactly(booked.getId());
+        assertThat(offsetPage.pagination()).isNotNull();
+        assertThat(offsetPage.pagination().totalCount()).isEqualTo(1);
+        assertThat(offsetPage.cursor()).isNull();
+
+        // An empty cursor opts in to keyset paging from the first page
+        AppointmentsResponse keysetPage = customerAppointmentController.getCustomerAppointments(
+                customerUsername, null, "", 0, 10, false, UUID.randomUUID().toString()).getBody();
+
+        assertThat(keysetPage).isNotNull();
+        assertThat(keysetPage.appointments()).extracting(AppointmentResponse::id).containsExactly(booked.getId());
+        assertThat(keysetPage.pagination()).isNull();
+        assertThat(keysetPage.cursor()).isNotNull();
+        assertThat(keysetPage.cursor().hasNext()).isFalse();
+    }
+
+    @Test
+    void getBranchAppointments_PagesByOffsetUnlessCursorIsPassed() {
+
+        LocalDate day = slots.getFirst().getDay();
+        List<Slot> daySlots = slots.stream()
+                .filter(slot -> slot.getDay().equals(day))
+                .limit(3)
+                .toList();
+        List<Appointment> booked = new ArrayList<>();
+        for (int i = 0; i < daySlots.size(); i++) {
+            Slot slot = daySlots.get(i);
+            booked.add(bookAppointmentUseCase.execute(new AppointmentDTO(slot.getId(), branch.getBranchId(),
+                    guestClients.get(i), "Deposit", slot.getDay(), slot.getStartTime(), slot.getEndTime())));
+        }
+        List<UUID> expectedOrder = booked.stream()
+                .sorted(Comparator.comparing(Appointment::getDateTime).thenComparing(appointment -> appointment.getId().toString()))
+                .map(Appointment::getId)
+                .toList();
+
+        // Existing clients page by offset, the second page starts after the first two
+        AppointmentsResponse offsetPage = staffAppointmentController.getBranchAppointments(
+                branch.getBranchId(), day, null, UUID.randomUUID().toString(), null, 2, 2, false).getBody();
+
+        assertThat(offsetPage).isNotNull();
+        assertThat(offsetPage.appointments()).extracting(AppointmentResponse::id).containsExactly(expectedOrder.get(2));
+        assertThat(offsetPage.pagination()).isNotNull();
+        assertThat(offsetPage.pagination().totalCount()).isEqualTo(booked.size());
+        assertThat(offsetPage.pagination().page()).isEqualTo(1);
+        assertThat(offsetPage.cursor()).isNull();
+
+        // An empty cursor opts in to keyset paging from the first page
+        AppointmentsResponse keysetPage = staffAppointmentController.getBranchAppointments(
+                branch.getBranchId(), day, null, UUID.randomUUID().toString(), "", 0, 2, false).getBody();
+
+        assertThat(keysetPage).isNotNull();
+        assertThat(keysetPage.appointments()).extracting(AppointmentResponse::id).containsExactlyElementsOf(expectedOrder.subList(0, 2));
+        assertThat(keysetPage.pagination()).isNull();
+        assertThat(keysetPage.cursor().hasNext()).isTrue();
+
+        // An unknown status is a bad request
+        assertThatThrownBy(() -> staffAppointmentController.getBranchAppointments(
+                branch.getBranchId(), day, "UNKNOWN", UUID.randomUUID().toString(), null, 0, 2, false))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
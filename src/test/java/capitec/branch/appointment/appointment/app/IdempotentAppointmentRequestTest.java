@@ -0,0 +1,149 @@
+package capitec.branch.appointment.appointment.app;
+
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
+import capitec.branch.appointment.appointment.infrastructure.controller.AppointmentResponse;
+import capitec.branch.appointment.appointment.infrastructure.controller.CancelAppointmentRequest;
+import capitec.branch.appointment.appointment.infrastructure.controller.CreateAppointmentRequest;
+import capitec.branch.appointment.appointment.infrastructure.controller.CustomerAppointmentController;
+import capitec.branch.appointment.sharekernel.idempotency.app.IdempotentRequestHandler;
+import capitec.branch.appointment.sharekernel.idempotency.domain.IdempotencyRecord;
+import capitec.branch.appointment.sharekernel.idempotency.domain.IdempotencyService;
+import capitec.branch.appointment.slots.domain.Slot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Idempotency-Key on customer appointment requests")
+class IdempotentAppointmentRequestTest extends AppointmentTestBase {
+
+    @Autowired
+    private CustomerAppointmentController customerAppointmentController;
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Test
+    void createAppointment_ReplaysStoredResponseForSameKey() {
+
+        Slot slot = slots.getFirst();
+        String customerUsername = guestClients.getFirst();
+        var request = new CreateAppointmentRequest(slot.getId(), branch.getBranchId(), customerUsername, "Deposit",
+                slot.getDay(), slot.getStartTime(), slot.getEndTime());
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        ResponseEntity<AppointmentResponse> first = customerAppointmentController.createAppointment(
+                request, UUID.randomUUID().toString(), idempotencyKey);
+        // The retry would end in a 409 if the booking ran again
+        ResponseEntity<AppointmentResponse> retry = customerAppointmentController.createAppointment(
+                request, UUID.randomUUID().toString(), idempotencyKey);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(IdempotentRequestHandler.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        assertThat(appointmentQueryPort.countByCustomerUsername(customerUsername, null)).isEqualTo(1);
+        assertThat(slotQueryPort.findById(slot.getId())).get().extracting(Slot::getBookingCount).isEqualTo(1);
+
+        // The same key with another request is rejected
+        var otherRequest = new CreateAppointmentRequest(slot.getId(), branch.getBranchId(), customerUsername, "Withdrawal",
+                slot.getDay(), slot.getStartTime(), slot.getEndTime());
+        assertThatThrownBy(() -> customerAppointmentController.createAppointment(
+                otherRequest, UUID.randomUUID().toString(), idempotencyKey))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void cancelAppointment_FailedRequestFreesKeyAndSucceededOneIsReplayed() {
+
+        Slot slot = slots.getFirst();
+        String customerUsername = guestClients.getFirst();
+        AppointmentResponse booked = customerAppointmentController.createAppointment(
+                new CreateAppointmentRequest(slot.getId(), branch.getBranchId(), customerUsername, "Deposit",
+                        slot.getDay(), slot.getStartTime(), slot.getEndTime()),
+                UUID.randomUUID().toString(), null).getBody();
+        assertThat(booked).isNotNull();
+        String idempotencyKey = UUID.randomUUID().toString();
+        var request = new CancelAppointmentRequest("Changed my plans");
+
+        // A failed request does not keep the key
+        UUID unknownAppointment = UUID.randomUUID();
+        assertThatThrownBy(() -> customerAppointmentController.cancelAppointment(
+                unknownAppointment, request, UUID.randomUUID().toString(), idempotencyKey))
+                .isInstanceOf(ResponseStatusException.class);
+
+        ResponseEntity<AppointmentResponse> first = customerAppointmentController.cancelAppointment(
+                booked.id(), request, UUID.randomUUID().toString(), idempotencyKey);
+        ResponseEntity<AppointmentResponse> retry = customerAppointmentController.cancelAppointment(
+                booked.id(), request, UUID.randomUUID().toString(), idempotencyKey);
+
+        assertThat(first.getBody()).isNotNull();
+        assertThat(first.getBody().status()).isEqualTo(AppointmentStatus.CANCELLED.name());
+        assertThat(first.getHeaders().containsKey(IdempotentRequestHandler.REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getHeaders().getFirst(IdempotentRequestHandler.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+    }
+
+    @Test
+    void createAppointment_SameKeyFromAnotherCustomerIsNotReplayed() {
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        String firstCustomer = guestClients.getFirst();
+        String secondCustomer = guestClients.get(1);
+        Slot firstSlot = slots.getFirst();
+        Slot secondSlot = slots.get(1);
+
+        try {
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(firstCustomer, null, "app_user"));
+            ResponseEntity<AppointmentResponse> first = customerAppointmentController.createAppointment(
+                    new CreateAppointmentRequest(firstSlot.getId(), branch.getBranchId(), firstCustomer, "Deposit",
+                            firstSlot.getDay(), firstSlot.getStartTime(), firstSlot.getEndTime()),
+                    UUID.randomUUID().toString(), idempotencyKey);
+
+            // Neither the first customer's response nor a 422 for the other request
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(secondCustomer, null, "app_user"));
+            ResponseEntity<AppointmentResponse> second = customerAppointmentController.createAppointment(
+                    new CreateAppointmentRequest(secondSlot.getId(), branch.getBranchId(), secondCustomer, "Withdrawal",
+                            secondSlot.getDay(), secondSlot.getStartTime(), secondSlot.getEndTime()),
+                    UUID.randomUUID().toString(), idempotencyKey);
+
+            assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(second.getHeaders().containsKey(IdempotentRequestHandler.REPLAYED_HEADER)).isFalse();
+            assertThat(second.getBody()).isNotNull();
+            assertThat(first.getBody()).isNotNull();
+            assertThat(second.getBody().id()).isNotEqualTo(first.getBody().id());
+            assertThat(appointmentQueryPort.countByCustomerUsername(firstCustomer, null)).isEqualTo(1);
+            assertThat(appointmentQueryPort.countByCustomerUsername(secondCustomer, null)).isEqualTo(1);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void find_CompletedRecordIsNotServedFromMemoryAfterItsRowExpired() throws InterruptedException {
+
+        String scope = "test:" + UUID.randomUUID();
+        String key = UUID.randomUUID().toString();
+        assertThat(idempotencyService.reserve(scope, key, "hash", Duration.ofSeconds(1), Duration.ofSeconds(1))).isTrue();
+        idempotencyService.complete(new IdempotencyRecord(scope, key, "hash", 201, "{}"));
+        assertThat(idempotencyService.find(scope, key)).get().extracting(IdempotencyRecord::statusCode).isEqualTo(201);
+
+        Thread.sleep(1_500);
+
+        // The row expired and may be taken over by a new request, the cached response expired with it
+        assertThat(idempotencyService.find(scope, key)).isEmpty();
+        assertThat(idempotencyService.reserve(scope, key, "other", Duration.ofHours(1), Duration.ofSeconds(30))).isTrue();
+        assertThat(idempotencyService.find(scope, key)).get().extracting(IdempotencyRecord::isCompleted).isEqualTo(false);
+    }
+}
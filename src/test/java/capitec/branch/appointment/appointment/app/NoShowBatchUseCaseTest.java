@@ -0,0 +1,86 @@
+package capitec.branch.appointment.appointment.app;
+
+import capitec.branch.appointment.appointment.domain.Appointment;
+import capitec.branch.appointment.appointment.domain.AppointmentStatus;
+import capitec.branch.appointment.appointment.domain.AppointmentTerminationReason;
+import capitec.branch.appointment.event.app.port.appointment.AppointmentStateChangedEvent;
+import capitec.branch.appointment.sharekernel.EventTrigger;
+import capitec.branch.appointment.slots.domain.Slot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RecordApplicationEvents
+@DisplayName("NoShowBatchUseCase Integration Test")
+class NoShowBatchUseCaseTest extends AppointmentTestBase {
+
+    @Autowired
+    private NoShowBatchUseCase noShowBatchUseCase;
+    @Autowired
+    private BookAppointmentUseCase bookAppointmentUseCase;
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void markNoShows_MarksUnattendedAppointmentsOfTheDayInOneStatementPerChunk() {
+
+        // One appointment per slot of the first day, for different customers
+        LocalDate day = slots.getFirst().getDay();
+        List<Slot> daySlots = slots.stream()
+                .filter(slot -> slot.getDay().equals(day))
+                .limit(3)
+                .collect(Collectors.toList());
+        List<Appointment> booked = new ArrayList<>();
+        for (int i = 0; i < daySlots.size(); i++) {
+            Slot slot = daySlots.get(i);
+            booked.add(bookAppointmentUseCase.execute(new AppointmentDTO(slot.getId(), branch.getBranchId(),
+                    guestClients.get(i), "Deposit", slot.getDay(), slot.getStartTime(), slot.getEndTime())));
+        }
+
+        // Before the slots end nothing is unattended
+        assertThat(noShowBatchUseCase.markNoShows(day, day.atStartOfDay())).isZero();
+
+        LocalDateTime processingTime = day.atTime(23, 59);
+        int marked = noShowBatchUseCase.markNoShows(day, processingTime);
+
+        assertThat(marked).isEqualTo(booked.size());
+        for (Appointment appointment : booked) {
+            Appointment noShow = appointmentQueryPort.findById(appointment.getId()).orElseThrow();
+            assertThat(noShow.getStatus()).isEqualTo(AppointmentStatus.NO_SHOW);
+            assertThat(noShow.getTerminationReason()).isEqualTo(AppointmentTerminationReason.CUSTOMER_NO_SHOW);
+            assertThat(noShow.getTerminatedBy()).isEqualTo("SYSTEM_SCHEDULER");
+            assertThat(noShow.getTerminatedAt()).isEqualTo(processingTime);
+            assertThat(noShow.getVersion()).isGreaterThan(appointment.getVersion());
+        }
+
+        // One status change event per marked appointment, fed from the returned rows
+        List<AppointmentStateChangedEvent> noShowEvents = applicationEvents.stream(AppointmentStateChangedEvent.class)
+                .filter(event -> "NO_SHOW".equals(event.toState()))
+                .toList();
+        assertThat(noShowEvents).extracting(AppointmentStateChangedEvent::appointmentId)
+                .containsExactlyInAnyOrderElementsOf(booked.stream().map(Appointment::getId).toList());
+        for (Appointment appointment : booked) {
+            AppointmentStateChangedEvent event = noShowEvents.stream()
+                    .filter(noShow -> noShow.appointmentId().equals(appointment.getId()))
+                    .findFirst().orElseThrow();
+            assertThat(event.appointmentReference()).isEqualTo(appointment.getReference());
+            assertThat(event.customerUsername()).isEqualTo(appointment.getCustomerUsername());
+            assertThat(event.branchId()).isEqualTo(appointment.getBranchId());
+            assertThat(event.fromState()).isEqualTo(AppointmentStatus.BOOKED.name());
+            assertThat(event.triggeredBy()).isEqualTo(EventTrigger.SYSTEM);
+        }
+
+        // Already marked appointments are not picked up again
+        assertThat(noShowBatchUseCase.markNoShows(day, processingTime)).isZero();
+    }
+}
@@ -0,0 +1,144 @@
+package capitec.branch.appointment.appointment.infrastructure.adapter;
+
+import capitec.branch.appointment.appointment.app.port.BranchInfoPort.BranchInfo;
+import capitec.branch.appointment.location.app.BranchDirectory;
+import capitec.branch.appointment.location.domain.BranchAddress;
+import capitec.branch.appointment.location.domain.BranchLocation;
+import capitec.branch.appointment.location.domain.BranchLocationFetcher;
+import capitec.branch.appointment.location.domain.Coordinates;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Branch enrichment benchmark: one batch lookup in the branch id directory against the previous
+ * per-appointment scan of the full branch list.
+ */
+@Slf4j
+class BranchInfoAdapterBenchmarkTest {
+
+    private static final int BRANCHES = 1_000;
+    private static final int APPOINTMENTS = 50;
+    private static final int WARM_UP = 2_000;
+    private static final int ITERATIONS = 2_000;
+
+    private List<BranchLocation> branches;
+    private List<String> pageBranchIds;
+    private AtomicInteger fetches;
+    private BranchInfoAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        branches = new ArrayList<>(BRANCHES);
+        for (int i = 0; i < BRANCHES; i++) {
+            branches.add(BranchLocation.reconstitute("BENCH" + i, "ID" + i, "Branch " + i,
+                    new Coordinates(-26.0 - i / 1_000.0, 28.0 + i / 1_000.0),
+                    new BranchAddress(i + " Main Road", null, "Johannesburg", "Gauteng"),
+                    Map.of(), false, false));
+        }
+        // A customer's page spreads over a handful of branches, towards the end of the list
+        pageBranchIds = new ArrayList<>(APPOINTMENTS);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            pageBranchIds.add("BENCH" + (BRANCHES - 1 - i % 10 * 37));
+        }
+        fetches = new AtomicInteger();
+        adapter = new BranchInfoAdapter(new BranchDirectory(new BranchLocationFetcher() {
+            @Override
+            public List<BranchLocation> fetchByCoordinates(Coordinates coordinates) {
+                return List.of();
+            }
+
+            @Override
+            public List<BranchLocation> fetchByArea(String searchText) {
+                fetches.incrementAndGet();
+                return branches;
+            }
+        }));
+    }
+
+    @Test
+    void getBranchInfo_BatchFindsSameBranchesAsPerRowScan() {
+
+        Set<String> branchIds = new LinkedHashSet<>(pageBranchIds);
+        branchIds.add("UNKNOWN");
+
+        Map<String, BranchInfo> batch = adapter.getBranchInfo(branchIds);
+
+        assertThat(batch).doesNotContainKey("UNKNOWN");
+        assertThat(batch).containsExactlyInAnyOrderEntriesOf(legacyPage(pageBranchIds));
+        assertThat(adapter.getBranchInfo("BENCH7")).contains(legacyLookup("BENCH7"));
+        assertThat(adapter.getBranchInfo(Set.of())).isEmpty();
+    }
+
+    @Test
+    void getBranchInfo_OneFetchPerPageInsteadOfOnePerAppointment() {
+
+        fetches.set(0);
+        adapter.getBranchInfo(new LinkedHashSet<>(pageBranchIds));
+        assertThat(fetches.get()).isOne();
+
+        fetches.set(0);
+        pageBranchIds.forEach(adapter::getBranchInfo);
+        assertThat(fetches.get()).isEqualTo(APPOINTMENTS);
+    }
+
+    @Test
+    void getBranchInfo_BatchLookupIsCheaperThanPerRowScan() {
+
+        long batch = nanosPerPage(() -> adapter.getBranchInfo(new LinkedHashSet<>(pageBranchIds)).size());
+        long perRow = nanosPerPage(() -> legacyPage(pageBranchIds).size());
+
+        log.info("Enriching {} appointments over {} branches: batch directory lookup {} ns, per-row scan {} ns",
+                APPOINTMENTS, BRANCHES, batch, perRow);
+
+        assertThat(batch).isLessThan(perRow);
+    }
+
+    private long nanosPerPage(Page page) {
+        long sink = 0;
+        for (int i = 0; i < WARM_UP; i++) {
+            sink += page.enrich();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += page.enrich();
+        }
+        long elapsed = (System.nanoTime() - begin) / ITERATIONS;
+        assertThat(sink).isPositive();
+        return elapsed;
+    }
+
+    /**
+     * The enrichment before the directory: every appointment scans the full branch list.
+     */
+    private Map<String, BranchInfo> legacyPage(List<String> branchIds) {
+        Map<String, BranchInfo> found = new HashMap<>();
+        for (String branchId : branchIds) {
+            found.put(branchId, legacyLookup(branchId));
+        }
+        return found;
+    }
+
+    private BranchInfo legacyLookup(String branchId) {
+        return branches.stream()
+                .filter(branch -> branchId.equals(branch.getBranchCode()))
+                .findFirst()
+                .map(branch -> new BranchInfo(branch.getBranchCode(), branch.getName(), branch.getAddress().getFullAddress()))
+                .orElse(null);
+    }
+
+    @FunctionalInterface
+    private interface Page {
+        int enrich();
+    }
+}
@@ -0,0 +1,117 @@
+package capitec.branch.appointment.location.app;
+
+import capitec.branch.appointment.location.domain.BranchAddress;
+import capitec.branch.appointment.location.domain.BranchLocation;
+import capitec.branch.appointment.location.domain.BranchLocationFetcher;
+import capitec.branch.appointment.location.domain.Coordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BranchDirectoryTest {
+
+    private static final BranchLocation RONDEBOSCH = branch("470010", "SAS293200", "Rondebosch", -33.960553, 18.470156,
+            "Shop G21, Cnr Main & Belmont Road, Fountain Centre", "Rondebosch", "Western Cape");
+    private static final BranchLocation CAPE_TOWN_CBD = branch("470020", "SAS29300", "Cape Town CBD", -33.925839, 18.423622,
+            "Shop 5, Cape Town Station Building, Adderley Street", "Cape Town", "Western Cape");
+    private static final BranchLocation SANDTON = branch("470040", "SAS29400", "Sandton City", -26.107567, 28.056702,
+            "Shop L12, Sandton City Mall", "Sandton", "Gauteng");
+
+    @Test
+    void index_FindsBranchesByIdAndCode() {
+
+        BranchIndex index = BranchIndex.of(List.of(RONDEBOSCH, CAPE_TOWN_CBD, SANDTON));
+
+        assertThat(index.findByBranchId("SAS29300")).contains(CAPE_TOWN_CBD);
+        assertThat(index.findByBranchCode("470040")).contains(SANDTON);
+        assertThat(index.findByBranchId("470040")).isEmpty();
+        assertThat(index.findByBranchCode(null)).isEmpty();
+        assertThat(index.findByBranchCodes(Set.of("470010", "470040", "UNKNOWN")))
+                .containsOnlyKeys("470010", "470040");
+    }
+
+    @Test
+    void searchByPrefix_MatchesWordStartsOfNameAndAreaInListOrder() {
+
+        BranchIndex index = BranchIndex.of(List.of(RONDEBOSCH, CAPE_TOWN_CBD, SANDTON));
+
+        assertThat(index.searchByPrefix("western cape")).containsExactly(RONDEBOSCH, CAPE_TOWN_CBD);
+        assertThat(index.searchByPrefix("  CAPE  town ")).containsExactly(CAPE_TOWN_CBD);
+        assertThat(index.searchByPrefix("town")).containsExactly(CAPE_TOWN_CBD);
+        assertThat(index.searchByPrefix("Rond")).containsExactly(RONDEBOSCH);
+        assertThat(index.searchByPrefix("mall")).containsExactly(SANDTON);
+        assertThat(index.searchByPrefix("ondebosch")).isEmpty();
+        assertThat(index.searchByPrefix(" ")).isEmpty();
+    }
+
+    @Test
+    void findWithinRadius_ReturnsSameBranchesAsFullScanNearestFirst() {
+
+        Random random = new Random(42);
+        List<BranchLocation> branches = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            branches.add(branch("B" + i, "ID" + i, "Branch " + i, -34.5 + random.nextDouble() * 12,
+                    17.5 + random.nextDouble() * 15, i + " Main Road", "City " + i % 50, "Province " + i % 9));
+        }
+        BranchIndex index = BranchIndex.of(branches);
+
+        for (int i = 0; i < 50; i++) {
+            Coordinates location = new Coordinates(-34.5 + random.nextDouble() * 12, 17.5 + random.nextDouble() * 15);
+            double radiusKm = 5 + random.nextDouble() * 100;
+            List<BranchLocation> scanned = branches.stream()
+                    .filter(branch -> branch.distanceFrom(location) <= radiusKm)
+                    .sorted(Comparator.comparingDouble(branch -> branch.distanceFrom(location)))
+                    .toList();
+
+            assertThat(index.findWithinRadius(location, radiusKm)).containsExactlyElementsOf(scanned);
+        }
+    }
+
+    @Test
+    void index_IsRebuiltOnlyWhenFetcherReturnsNewList() {
+
+        AtomicReference<List<BranchLocation>> nationwide = new AtomicReference<>(List.of(RONDEBOSCH, CAPE_TOWN_CBD));
+        AtomicInteger fetches = new AtomicInteger();
+        BranchDirectory directory = new BranchDirectory(new BranchLocationFetcher() {
+            @Override
+            public List<BranchLocation> fetchByCoordinates(Coordinates coordinates) {
+                return List.of();
+            }
+
+            @Override
+            public List<BranchLocation> fetchByArea(String searchText) {
+                assertThat(searchText).isEqualTo(BranchDirectory.NATIONWIDE_AREA);
+                fetches.incrementAndGet();
+                return nationwide.get();
+            }
+        });
+
+        BranchIndex first = directory.index();
+        assertThat(directory.index()).isSameAs(first);
+
+        // A refresh of the cached list swaps in a new index, readers holding the old one are unaffected
+        nationwide.set(List.of(RONDEBOSCH, CAPE_TOWN_CBD, SANDTON));
+        BranchIndex refreshed = directory.index();
+
+        assertThat(refreshed).isNotSameAs(first);
+        assertThat(refreshed.findByBranchCode("470040")).contains(SANDTON);
+        assertThat(first.findByBranchCode("470040")).isEmpty();
+        assertThat(fetches.get()).isEqualTo(3);
+        assertThat(BranchDirectory.isNationwide(" south AFRICA")).isTrue();
+    }
+
+    private static BranchLocation branch(String code, String id, String name, double latitude, double longitude,
+                                         String addressLine1, String city, String province) {
+        return BranchLocation.reconstitute(code, id, name, new Coordinates(latitude, longitude),
+                new BranchAddress(addressLine1, null, city, province), Map.of(), false, false);
+    }
+}
@@ -0,0 +1,110 @@
+package capitec.branch.appointment.location.app;
+
+import capitec.branch.appointment.location.app.BranchSpatialIndex.BranchDistance;
+import capitec.branch.appointment.location.domain.BranchAddress;
+import capitec.branch.appointment.location.domain.BranchLocation;
+import capitec.branch.appointment.location.domain.Coordinates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BranchSpatialIndexTest {
+
+    private static final int BRANCHES = 3_000;
+    private static final Predicate<BranchLocation> OPEN = BranchLocation::isAvailableForBooking;
+
+    private final Random random = new Random(7);
+    private List<BranchLocation> branches;
+    private BranchSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        branches = new ArrayList<>(BRANCHES);
+        for (int i = 0; i < BRANCHES; i++) {
+            // Clustered like branches in metros, with every fifth branch closed
+            double latitude = i % 3 == 0 ? -26.2 + random.nextGaussian() * 0.2 : -34.5 + random.nextDouble() * 12;
+            double longitude = i % 3 == 0 ? 28.0 + random.nextGaussian() * 0.2 : 17.5 + random.nextDouble() * 15;
+            branches.add(BranchLocation.reconstitute("B" + i, "ID" + i, "Branch " + i, new Coordinates(latitude, longitude),
+                    new BranchAddress(i + " Main Road", null, "City", "Province"), Map.of(), false, i % 5 == 0));
+        }
+        index = BranchSpatialIndex.of(branches);
+    }
+
+    @Test
+    void findNearest_MatchesFullScan() {
+
+        for (int i = 0; i < 200; i++) {
+            Coordinates location = randomLocation();
+            int limit = 1 + random.nextInt(50);
+            Double maxDistanceKm = i % 2 == 0 ? null : 1 + random.nextDouble() * 100;
+
+            assertThat(index.findNearest(location, limit, maxDistanceKm, OPEN))
+                    .containsExactlyElementsOf(fullScan(location, limit, maxDistanceKm));
+            assertThat(BranchSpatialIndex.nearest(branches, location, limit, maxDistanceKm, OPEN))
+                    .containsExactlyElementsOf(fullScan(location, limit, maxDistanceKm));
+        }
+    }
+
+    @Test
+    void findWithinRadius_MatchesFullScan() {
+
+        for (int i = 0; i < 100; i++) {
+            Coordinates location = randomLocation();
+            double radiusKm = random.nextDouble() * 60;
+
+            List<BranchLocation> scanned = branches.stream()
+                    .filter(branch -> branch.distanceFrom(location) <= radiusKm)
+                    .sorted(Comparator.comparingDouble(branch -> branch.distanceFrom(location)))
+                    .toList();
+
+            assertThat(index.findWithinRadius(location, radiusKm))
+                    .extracting(BranchDistance::branch)
+                    .containsExactlyElementsOf(scanned);
+        }
+    }
+
+    @Test
+    void findNearest_FromOutsideTheGridAndOnEmptyIndex() {
+
+        Coordinates farAway = new Coordinates(-60.0, -40.0);
+
+        assertThat(index.findNearest(farAway, 3, null, OPEN)).containsExactlyElementsOf(fullScan(farAway, 3, null));
+        assertThat(index.findNearest(farAway, 3, 500.0, OPEN)).isEmpty();
+        assertThat(BranchSpatialIndex.empty().findNearest(farAway, 3, null, OPEN)).isEmpty();
+        assertThat(BranchSpatialIndex.of(List.of()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void findNearest_ReturnsExactDistances() {
+
+        Coordinates location = new Coordinates(-26.1, 28.05);
+
+        assertThat(index.findNearest(location, 10, null, OPEN))
+                .hasSize(10)
+                .allSatisfy(nearby -> assertThat(nearby.distanceKm()).isEqualTo(nearby.branch().distanceFrom(location)));
+    }
+
+    private List<BranchDistance> fullScan(Coordinates location, int limit, Double maxDistanceKm) {
+        return branches.stream()
+                .filter(OPEN)
+                .map(branch -> new BranchDistance(branch, branch.distanceFrom(location)))
+                .filter(nearby -> maxDistanceKm == null || nearby.distanceKm() <= maxDistanceKm)
+                .sorted(Comparator.comparingDouble(BranchDistance::distanceKm))
+                .limit(limit)
+                .toList();
+    }
+
+    private Coordinates randomLocation() {
+        return random.nextBoolean()
+                ? new Coordinates(-26.2 + random.nextGaussian() * 0.3, 28.0 + random.nextGaussian() * 0.3)
+                : new Coordinates(-34.5 + random.nextDouble() * 12, 17.5 + random.nextDouble() * 15);
+    }
+}
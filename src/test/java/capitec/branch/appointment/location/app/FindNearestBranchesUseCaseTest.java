@@ -219,9 +219,10 @@ class FindNearestBranchesUseCaseTest extends LocationTestBase {
     @Test
     @DisplayName("Should return nearby cached data when API is unavailable and exact coordinates not cached")
     void shouldReturnNearbyCachedDataWhenExactCoordinatesNotCached() {
-        // Given - First call to populate cache with slightly different coordinates
-        double cachedLat = CAPE_TOWN_LAT + 0.01; // ~1km difference
-        double cachedLon = CAPE_TOWN_LON + 0.01;
+        // Given - First call to populate cache with different coordinates, outside the neighbouring geohash cells
+        // whose cached results would otherwise be reused as they are
+        double cachedLat = CAPE_TOWN_LAT + 0.03; // ~4km difference
+        double cachedLon = CAPE_TOWN_LON + 0.03;
 
         stubCapitecApiFailThenSucceed(capitecApiWireMock, CAPITEC_BRANCH_API_RESPONSE);
         FindNearestBranchesQuery cachePopulationQuery = new FindNearestBranchesQuery(
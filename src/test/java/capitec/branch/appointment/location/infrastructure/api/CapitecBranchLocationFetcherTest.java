@@ -7,6 +7,7 @@ import capitec.branch.appointment.location.domain.BranchLocation;
 import capitec.branch.appointment.exeption.BranchLocationServiceException;
 import capitec.branch.appointment.location.domain.Coordinates;
 import capitec.branch.appointment.location.domain.OperationTime;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
@@ -18,14 +19,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 
 @DisplayName("CapitecBranchLocationFetcher Integration Tests")
 class CapitecBranchLocationFetcherTest extends AppointmentBookingApplicationTests {
@@ -158,6 +163,81 @@ class CapitecBranchLocationFetcherTest extends AppointmentBookingApplicationTest
             // Then
             assertThat(firstResult).isEqualTo(secondResult);
         }
+
+        @Test
+        @DisplayName("Should reuse results cached for a neighbouring geohash cell")
+        void shouldReuseResultsOfNeighbouringCell() {
+            // Given
+            stubCapitecApiSuccess(capitecApiWireMock,CAPITEC_BRANCH_API_RESPONSE);
+            Coordinates coordinates = new Coordinates(CAPE_TOWN_LAT, CAPE_TOWN_LON);
+            List<BranchLocation> firstResult = branchLocationFetcher.fetchByCoordinates(coordinates);
+
+            capitecApiWireMock.resetMappings();
+            stubCapitecApiError(capitecApiWireMock); // This would fail if called
+
+            // When - a point in the adjacent cell
+            Coordinates neighbour = new Coordinates(CAPE_TOWN_LAT + 0.01, CAPE_TOWN_LON + 0.01);
+            List<BranchLocation> result = branchLocationFetcher.fetchByCoordinates(neighbour);
+
+            // Then - same branches, nearest to the new point first
+            assertThat(result).containsExactlyInAnyOrderElementsOf(firstResult);
+            assertThat(result).isSortedAccordingTo(
+                    Comparator.comparingDouble(branch -> branch.distanceFrom(neighbour)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh-ahead")
+    class RefreshAheadTests {
+
+        @Test
+        @DisplayName("Should replace cached branches when a refresh succeeds")
+        void shouldReplaceCachedBranchesWhenRefreshSucceeds() {
+            // Given
+            stubCapitecApiSuccess(capitecApiWireMock,CAPITEC_BRANCH_API_RESPONSE);
+            Coordinates coordinates = new Coordinates(CAPE_TOWN_LAT, CAPE_TOWN_LON);
+            branchLocationFetcher.fetchByCoordinates(coordinates);
+            Object cached = coordinatesCache().getIfPresent(cell(coordinates));
+
+            // When
+            coordinatesCache().refresh(cell(coordinates));
+
+            // Then - a new list with the same branches, also in the cached branch index
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                    assertThat(coordinatesCache().getIfPresent(cell(coordinates))).isNotSameAs(cached).isEqualTo(cached));
+            assertThat(branchLocationFetcher.cachedBranchIndex().findWithinRadius(coordinates, 5)).isNotEmpty();
+        }
+
+        @Test
+        @DisplayName("Should keep serving last known branches when a refresh fails")
+        void shouldKeepServingLastKnownBranchesWhenRefreshFails() {
+            // Given
+            stubCapitecApiSuccess(capitecApiWireMock,CAPITEC_BRANCH_API_RESPONSE);
+            Coordinates coordinates = new Coordinates(CAPE_TOWN_LAT, CAPE_TOWN_LON);
+            List<BranchLocation> firstResult = branchLocationFetcher.fetchByCoordinates(coordinates);
+            Object cached = coordinatesCache().getIfPresent(cell(coordinates));
+
+            capitecApiWireMock.resetMappings();
+            stubCapitecApiError(capitecApiWireMock);
+
+            // When
+            coordinatesCache().refresh(cell(coordinates)).handle((_, _) -> null).join();
+
+            // Then
+            assertThat(coordinatesCache().getIfPresent(cell(coordinates))).isSameAs(cached);
+            assertThat(branchLocationFetcher.fetchByCoordinates(coordinates)).isEqualTo(firstResult);
+            assertThat(branchLocationFetcher.cachedBranchIndex().findWithinRadius(coordinates, 5)).isNotEmpty();
+        }
+
+        @SuppressWarnings("unchecked")
+        private LoadingCache<Object, Object> coordinatesCache() {
+            var cache = (CaffeineCache) cacheManager.getCache(CapitecBranchLocationFetcher.BRANCH_LOCATIONS_BY_COORDINATES_CACHE);
+            return (LoadingCache<Object, Object>) cache.getNativeCache();
+        }
+
+        private String cell(Coordinates coordinates) {
+            return Geohash.encode(coordinates.latitude(), coordinates.longitude(), 6);
+        }
     }
 
     @Nested
@@ -0,0 +1,65 @@
+package capitec.branch.appointment.location.infrastructure.api;
+
+import capitec.branch.appointment.location.domain.Coordinates;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+class GeohashTest {
+
+    private static final double CAPE_TOWN_LAT = -33.9249;
+    private static final double CAPE_TOWN_LON = 18.4241;
+
+    @Test
+    @DisplayName("Should encode coordinates to their geohash cell")
+    void shouldEncodeCoordinates() {
+        assertThat(Geohash.encode(CAPE_TOWN_LAT, CAPE_TOWN_LON, 6)).isEqualTo("k3vp52");
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+    }
+
+    @Test
+    @DisplayName("Should decode a cell to its centre")
+    void shouldDecodeToCentreOfCell() {
+        Coordinates centre = Geohash.decode("k3vp52");
+
+        assertThat(Geohash.encode(centre.latitude(), centre.longitude(), 6)).isEqualTo("k3vp52");
+        assertThat(centre.latitude()).isCloseTo(CAPE_TOWN_LAT, offset(0.01));
+        assertThat(centre.longitude()).isCloseTo(CAPE_TOWN_LON, offset(0.01));
+    }
+
+    @Test
+    @DisplayName("Should return the eight cells around a cell")
+    void shouldReturnAdjacentCells() {
+        List<String> neighbours = Geohash.neighbours("k3vp52");
+
+        assertThat(neighbours).hasSize(8).doesNotHaveDuplicates().doesNotContain("k3vp52")
+                .allSatisfy(neighbour -> assertThat(neighbour).hasSize(6))
+                .contains(Geohash.encode(CAPE_TOWN_LAT + 0.01, CAPE_TOWN_LON + 0.01, 6));
+    }
+
+    @Test
+    @DisplayName("Should wrap neighbours across the antimeridian and skip the poles")
+    void shouldWrapAntimeridianAndSkipPoles() {
+        String east = Geohash.encode(0.5, 179.99, 5);
+        assertThat(Geohash.neighbours(east)).contains(Geohash.encode(0.5, -179.99, 5));
+
+        String north = Geohash.encode(89.99, 0.5, 5);
+        assertThat(Geohash.neighbours(north)).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should reject precision outside 1 to 12")
+    void shouldRejectInvalidPrecision() {
+        assertThatThrownBy(() -> Geohash.encode(CAPE_TOWN_LAT, CAPE_TOWN_LON, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Geohash.encode(CAPE_TOWN_LAT, CAPE_TOWN_LON, 13))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Geohash.decode("k3va"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
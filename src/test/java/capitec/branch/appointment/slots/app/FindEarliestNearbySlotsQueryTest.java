@@ -0,0 +1,73 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FindEarliestNearbySlotsQueryTest extends SlotTestBase {
+
+    // Cape Town, both test branches are within 10 km
+    private static final double CAPE_TOWN_LAT = -33.9249;
+    private static final double CAPE_TOWN_LON = 18.4241;
+
+    @Autowired
+    private GenerateSlotsUseCase generateSlotsUseCase;
+    @Autowired
+    private FindEarliestNearbySlotsQuery findEarliestNearbySlotsQuery;
+
+    @Test
+    void execute_MergesEarliestBookableSlotsOfNearbyBranchesInTimeOrder() {
+
+        wireMockGetHolidayByYearAndCountryCode(capitecWireMock, "" + LocalDate.now().getYear(), "ZA");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        generateSlotsUseCase.createNext7DaySlots(tomorrow, 0);
+
+        // The earliest slot of the first branch is blocked and must not be offered
+        LocalDate firstDay = tomorrow.datesUntil(tomorrow.plusDays(7))
+                .filter(day -> !slotQueryPort.findByBranchAndDay(branch.getBranchId(), day).isEmpty())
+                .findFirst()
+                .orElseThrow();
+        Slot earliest = slotQueryPort.findByBranchAndDay(branch.getBranchId(), firstDay).stream()
+                .min(Comparator.comparing(Slot::getStartTime))
+                .orElseThrow();
+        assertThat(slotService.block(List.of(earliest.getId()))).isEqualTo(1);
+
+        // ACT
+        List<NearbySlot> slots = findEarliestNearbySlotsQuery.execute(
+                new NearbySlotSearch(CAPE_TOWN_LAT, CAPE_TOWN_LON, 10.0, tomorrow, tomorrow.plusDays(6), 40));
+
+        // ASSERT
+        assertThat(slots).isNotEmpty().hasSizeLessThanOrEqualTo(40);
+        assertThat(slots).extracting(nearbySlot -> nearbySlot.slot().getBranchId())
+                .contains(branches.getFirst().getBranchId(), branches.getLast().getBranchId());
+        assertThat(slots).extracting(NearbySlot::slot)
+                .isSortedAccordingTo(Comparator.comparing(Slot::getDay).thenComparing(Slot::getStartTime))
+                .allSatisfy(slot -> assertThat(slot.getStatus()).isEqualTo(SlotStatus.AVAILABLE))
+                .extracting(Slot::getId)
+                .doesNotContain(earliest.getId());
+        assertThat(slots).allSatisfy(nearbySlot -> {
+            assertThat(nearbySlot.branchName()).isNotBlank();
+            assertThat(nearbySlot.distanceKm()).isLessThanOrEqualTo(10.0);
+        });
+    }
+
+    @Test
+    void execute_RangeLongerThanTwoWeeks_IsRejected() {
+
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> findEarliestNearbySlotsQuery.execute(
+                new NearbySlotSearch(CAPE_TOWN_LAT, CAPE_TOWN_LON, 10.0, today, today.plusDays(20), 10)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Date range cannot exceed");
+    }
+}
@@ -134,4 +134,37 @@ class GenerateSlotsUseCaseTest extends SlotTestBase {
            assertThat(weekendSlots.size()).as("Weekend slot count mismatch for " + day).isEqualTo(5);
        }
    }
+
+    @Test
+    public void createNext7DaySlots_WhenRunTwice_DoesNotDuplicateSlots() {
+
+        wireMockGetHolidayByYearAndCountryCode(capitecWireMock,""+LocalDate.now().getYear(), "ZA");
+        LocalDate date = LocalDate.now().plusDays(1);
+        Set<String> branches = Set.of(branch.getBranchId());
+
+        SlotGenerationReport first = generateSlotsUseCase.createNext7DaySlots(branches, date, 0);
+        int persisted = slotQueryPort.findColumnsByBranchFromDate(branch.getBranchId(), date).size();
+
+        SlotGenerationReport second = generateSlotsUseCase.createNext7DaySlots(branches, date, 0);
+
+        assertThat(second.generatedSlots()).as("The rerun plans the same slots").isEqualTo(first.generatedSlots());
+        assertThat(second.insertedSlots()).as("The rerun only inserts missing slots").isZero();
+        assertThat(slotQueryPort.findColumnsByBranchFromDate(branch.getBranchId(), date).size())
+                .as("No slot is duplicated")
+                .isEqualTo(persisted);
+    }
+
+    @Test
+    public void createNext7DaySlots_ReportsBranchesAndSlotCounts() {
+
+        wireMockGetHolidayByYearAndCountryCode(capitecWireMock,""+LocalDate.now().getYear(), "ZA");
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        SlotGenerationReport report = generateSlotsUseCase.createNext7DaySlots(Set.of(branch.getBranchId()), date, 0);
+
+        int persisted = slotQueryPort.findColumnsByBranchFromDate(branch.getBranchId(), date).size();
+        assertThat(report.branches()).isEqualTo(1);
+        assertThat(report.generatedSlots()).isPositive().isEqualTo(persisted);
+        assertThat(report.insertedSlots()).isEqualTo(report.generatedSlots());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GetNextAvailableSlotQueryTest extends SlotTestBase {
+
+    @Autowired
+    private GenerateSlotsUseCase generateSlotsUseCase;
+    @Autowired
+    private GetNextAvailableSlotQuery getNextAvailableSlotQuery;
+    @Autowired
+    private UpdateSlotStatusUseCase updateSlotStatusUseCase;
+    @Autowired
+    private EarliestAvailableSlotIndex earliestAvailableSlotIndex;
+
+    @Test
+    void execute_FollowsReservationsBlocksAndChangesMadeElsewhere() {
+
+        wireMockGetHolidayByYearAndCountryCode(capitecWireMock, "" + LocalDate.now().getYear(), "ZA");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        earliestAvailableSlotIndex.invalidate(branch.getBranchId());
+        generateSlotsUseCase.createNext7DaySlots(tomorrow, 0);
+
+        LocalDateTime after = tomorrow.atStartOfDay();
+        List<Slot> ordered = tomorrow.datesUntil(tomorrow.plusDays(7))
+                .flatMap(day -> slotQueryPort.findByBranchAndDay(branch.getBranchId(), day).stream())
+                .sorted(Comparator.comparing(Slot::getDay).thenComparing(Slot::getStartTime))
+                .toList();
+        assertThat(ordered).hasSizeGreaterThan(3);
+
+        // ACT & ASSERT: the earliest generated slot
+        assertThat(getNextAvailableSlotQuery.execute(branch.getBranchId(), after).getId())
+                .isEqualTo(ordered.get(0).getId());
+
+        // Blocking publishes the change, the index moves to the following slot
+        updateSlotStatusUseCase.execute(new SlotStatusTransitionAction.Block(ordered.get(0).getId(), LocalDateTime.now()));
+        assertThat(getNextAvailableSlotQuery.execute(branch.getBranchId(), after).getId())
+                .isEqualTo(ordered.get(1).getId());
+
+        // Filled without an event, as by another node: the stale candidate is confirmed, corrected and skipped
+        Slot second = ordered.get(1);
+        for (int booking = 0; booking < second.getMaxBookingCapacity(); booking++) {
+            assertThat(slotService.reserve(second.getId(), LocalDateTime.now())).isPresent();
+        }
+        assertThat(getNextAvailableSlotQuery.execute(branch.getBranchId(), after).getId())
+                .isEqualTo(ordered.get(2).getId());
+
+        // Only slots starting after the given time
+        Slot last = ordered.getLast();
+        assertThatThrownBy(() -> getNextAvailableSlotQuery.execute(branch.getBranchId(), last.getDay().atTime(last.getStartTime())))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("No available slot found");
+    }
+
+    @Test
+    void execute_AfterALaterLookup_StillFindsEarlierSlots() {
+
+        wireMockGetHolidayByYearAndCountryCode(capitecWireMock, "" + LocalDate.now().getYear(), "ZA");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        earliestAvailableSlotIndex.invalidate(branch.getBranchId());
+        generateSlotsUseCase.createNext7DaySlots(tomorrow, 0);
+        List<Slot> ordered = tomorrow.datesUntil(tomorrow.plusDays(7))
+                .flatMap(day -> slotQueryPort.findByBranchAndDay(branch.getBranchId(), day).stream())
+                .sorted(Comparator.comparing(Slot::getDay).thenComparing(Slot::getStartTime))
+                .toList();
+        Slot last = ordered.getLast();
+
+        // ACT: the branch is indexed by a lookup from its last generated day
+        getNextAvailableSlotQuery.find(branch.getBranchId(), last.getDay().atStartOfDay());
+
+        // ASSERT: the index still holds the earlier days
+        assertThat(getNextAvailableSlotQuery.execute(branch.getBranchId(), tomorrow.atStartOfDay()).getId())
+                .isEqualTo(ordered.getFirst().getId());
+    }
+}
@@ -1,15 +1,20 @@
 package capitec.branch.appointment.slots.app;
 
+import capitec.branch.appointment.slots.app.port.SlotColumns;
 import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.slots.domain.SlotStatus;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -19,6 +24,10 @@ class GetSlotQueriesTest extends SlotTestBase {
     private GetDailySlotsQuery getDailySlotsQuery;
     @Autowired
     private GetNext7DaySlotsQuery getNext7DaySlotsQuery;
+    @Autowired
+    private UpdateSlotStatusUseCase updateSlotStatusUseCase;
+    @Autowired
+    private BranchAvailabilityCache branchAvailabilityCache;
     private final LocalDate TODAY = LocalDate.now().plusDays(1);
     private final LocalDate TOMORROW = TODAY.plusDays(1);
     private final LocalDate DAY_AFTER = TODAY.plusDays(2);
@@ -45,6 +54,11 @@ class GetSlotQueriesTest extends SlotTestBase {
 
     }
 
+    @AfterEach
+    public void invalidateAvailability() {
+        branches.forEach(b -> branchAvailabilityCache.invalidate(b.getBranchId()));
+    }
+
 
     @Test
     void testGetDailySlotsQuery_RetrievesSlotsForSpecificDay() {
@@ -82,4 +96,54 @@ class GetSlotQueriesTest extends SlotTestBase {
         assertThat(filteredSlotsMap.get(TOMORROW)).as("TOMORROW should have 2 available slot").hasSize(2).contains(slot3);
         assertThat(filteredSlotsMap.get(DAY_AFTER)).as("DAY_AFTER should have 1 available slot").hasSize(1).contains(slot5);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAvailability_GroupsDaysInOrderAndSortsByStartTime() {
+
+        SlotColumns availability = getNext7DaySlotsQuery.availability(branch.getBranchId(), TODAY, null);
+
+        assertThat(ids(availability)).containsExactly(slot1.getId(), slot2.getId(), slot3.getId(), slot4.getId(), slot5.getId());
+        assertThat(days(availability)).containsExactly(TODAY, TODAY, TOMORROW, TOMORROW, DAY_AFTER);
+        assertThat(ids(getNext7DaySlotsQuery.availability(branch.getBranchId(), TOMORROW, null)))
+                .containsExactly(slot3.getId(), slot4.getId(), slot5.getId());
+        assertThat(ids(getDailySlotsQuery.availability(branch.getBranchId(), DAY_AFTER))).containsExactly(slot5.getId());
+
+        assertThat(availability.startTime(0)).isEqualTo(slot1.getStartTime());
+        assertThat(availability.endTime(0)).isEqualTo(slot1.getEndTime());
+        assertThat(availability.maxBookingCapacity(0)).isEqualTo(MAX_BOOKING_CAPACITY);
+        assertThat(availability.branchId(0)).isEqualTo(branch.getBranchId());
+    }
+
+    @Test
+    void testAvailability_IsUpdatedByBookingWithoutReloading() {
+
+        // Load the branch into the cache
+        assertThat(getNext7DaySlotsQuery.availability(branch.getBranchId(), TODAY, SlotStatus.AVAILABLE).size()).isEqualTo(5);
+
+        // A slot written behind the cache is not visible until it is reloaded: reads are served from memory
+        Slot behindCache = new Slot(TODAY, LocalTime.of(11, 0), LocalTime.of(11, 30), MAX_BOOKING_CAPACITY, branch.getBranchId());
+        slotService.save(List.of(behindCache));
+
+        updateSlotStatusUseCase.execute(new SlotStatusTransitionAction.Book(slot1.getId(), LocalDateTime.now()));
+
+        SlotColumns today = getDailySlotsQuery.availability(branch.getBranchId(), TODAY);
+        assertThat(ids(today)).containsExactly(slot1.getId(), slot2.getId());
+        assertThat(today.bookingCount(0)).isEqualTo(1);
+        assertThat(today.status(0)).isEqualTo(SlotStatus.FULLY_BOOKED);
+        assertThat(today.remainingCapacity(0)).isZero();
+        assertThat(ids(getNext7DaySlotsQuery.availability(branch.getBranchId(), TODAY, SlotStatus.AVAILABLE)))
+                .containsExactly(slot2.getId(), slot3.getId(), slot4.getId(), slot5.getId());
+
+        branchAvailabilityCache.invalidate(branch.getBranchId());
+        assertThat(ids(getDailySlotsQuery.availability(branch.getBranchId(), TODAY)))
+                .containsExactly(slot1.getId(), slot2.getId(), behindCache.getId());
+    }
+
+    private static List<UUID> ids(SlotColumns slots) {
+        return IntStream.range(0, slots.size()).mapToObj(slots::id).toList();
+    }
+
+    private static List<LocalDate> days(SlotColumns slots) {
+        return IntStream.range(0, slots.size()).mapToObj(slots::day).toList();
+    }
+}
@@ -0,0 +1,145 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.sharekernel.username.UsernameGenerator;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import capitec.branch.appointment.staffschedular.app.AssignStaffToDayUseCase;
+import capitec.branch.appointment.staffschedular.app.BranchStaffAssignmentDTO;
+import capitec.branch.appointment.staffschedular.app.SetWeeklyStaffScheduleUseCase;
+import capitec.branch.appointment.staffschedular.domain.StaffRef;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecomputeSlotCapacityUseCaseTest extends SlotTestBase {
+
+    @Autowired
+    private GenerateSlotsUseCase generateSlotsUseCase;
+    @Autowired
+    private RecomputeSlotCapacityUseCase recomputeSlotCapacityUseCase;
+    @Autowired
+    private RegenerateBranchSlotsUseCase regenerateBranchSlotsUseCase;
+    @Autowired
+    private SetWeeklyStaffScheduleUseCase setWeeklyStaffScheduleUseCase;
+    @Autowired
+    private AssignStaffToDayUseCase assignStaffToDayUseCase;
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @AfterEach
+    public void deleteRoster() {
+        jdbcClient.sql("DELETE FROM branch_staff_assignment WHERE branch_id = :branchId")
+                .param("branchId", branch.getBranchId())
+                .update();
+    }
+
+    @Test
+    void rosterChanges_ScaleCapacityOfFutureSlotsWithoutInvalidatingBookings() {
+
+        wireMockGetHolidayByYearAndCountryCode(capitecWireMock, "" + LocalDate.now().getYear(), "ZA");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        generateSlotsUseCase.createNext7DaySlots(tomorrow, 0);
+
+        // A week day generated for 6 staff with capacity 3 per slot
+        LocalDate weekDay = tomorrow.datesUntil(tomorrow.plusDays(7))
+                .filter(day -> slotQueryPort.findByBranchAndDay(branch.getBranchId(), day).size() == 9)
+                .findFirst()
+                .orElseThrow();
+        LocalDate otherDay = tomorrow.datesUntil(tomorrow.plusDays(7))
+                .filter(day -> !day.equals(weekDay))
+                .filter(day -> !slotQueryPort.findByBranchAndDay(branch.getBranchId(), day).isEmpty())
+                .findFirst()
+                .orElseThrow();
+        UUID booked = slotQueryPort.findByBranchAndDay(branch.getBranchId(), weekDay).getFirst().getId();
+        assertThat(slotService.reserve(booked, LocalDateTime.now())).isPresent();
+        int bookedVersion = slotService.reserve(booked, LocalDateTime.now()).orElseThrow().getVersion();
+
+        // ACT: only 2 of 6 staff rostered, capacity 3 x 2 / 6 = 1
+        setWeeklyStaffScheduleUseCase.execute(branch.getBranchId(), Map.of(weekDay, Set.of(staff(), staff())));
+
+        // ASSERT
+        List<Slot> shortStaffed = slotQueryPort.findByBranchAndDay(branch.getBranchId(), weekDay);
+        assertThat(shortStaffed).allSatisfy(slot -> {
+            if (slot.getId().equals(booked)) {
+                assertThat(slot.getMaxBookingCapacity()).as("Bookings are kept").isEqualTo(2);
+                assertThat(slot.getBookingCount()).isEqualTo(2);
+                assertThat(slot.getStatus()).isEqualTo(SlotStatus.FULLY_BOOKED);
+                assertThat(slot.getVersion()).isEqualTo(bookedVersion + 1);
+            } else {
+                assertThat(slot.getMaxBookingCapacity()).isEqualTo(1);
+                assertThat(slot.getStatus()).isEqualTo(SlotStatus.AVAILABLE);
+                assertThat(slot.getVersion()).isEqualTo(2);
+            }
+        });
+        assertThat(slotQueryPort.findByBranchAndDay(branch.getBranchId(), otherDay))
+                .allSatisfy(slot -> assertThat(slot.getVersion()).as("Other days are untouched").isEqualTo(1));
+
+        // ACT: a third staff member, capacity round(3 x 3 / 6) = 2
+        assignStaffToDayUseCase.execute(branch.getBranchId(), new BranchStaffAssignmentDTO(staff().username(), weekDay));
+
+        // ASSERT: the booked slot already has capacity 2 and is not written again
+        assertThat(slotQueryPort.findByBranchAndDay(branch.getBranchId(), weekDay)).allSatisfy(slot -> {
+            assertThat(slot.getMaxBookingCapacity()).isEqualTo(2);
+            assertThat(slot.getVersion()).isEqualTo(slot.getId().equals(booked) ? bookedVersion + 1 : 3);
+        });
+
+        // Recomputing an unchanged roster changes nothing
+        assertThat(recomputeSlotCapacityUseCase.execute(branch.getBranchId(), Set.of(weekDay))).isZero();
+    }
+
+    @Test
+    void rosteredDays_AreGeneratedAndRegeneratedWithTheRosterCapacity() {
+
+        wireMockGetHolidayByYearAndCountryCode(capitecWireMock, "" + LocalDate.now().getYear(), "ZA");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        generateSlotsUseCase.createNext7DaySlots(tomorrow, 0);
+        LocalDate weekDay = tomorrow.datesUntil(tomorrow.plusDays(7))
+                .filter(day -> slotQueryPort.findByBranchAndDay(branch.getBranchId(), day).size() == 9)
+                .findFirst()
+                .orElseThrow();
+        // The day is rostered before its slots are generated, as schedules are set ahead
+        jdbcClient.sql("DELETE FROM slot WHERE branch_id = :branchId AND day = :day")
+                .param("branchId", branch.getBranchId())
+                .param("day", weekDay)
+                .update();
+        setWeeklyStaffScheduleUseCase.execute(branch.getBranchId(), Map.of(weekDay, Set.of(staff(), staff())));
+
+        // ACT: 2 of 6 staff rostered, capacity 3 x 2 / 6 = 1
+        generateSlotsUseCase.createNext7DaySlots(tomorrow, 0);
+
+        // ASSERT
+        assertThat(slotQueryPort.findByBranchAndDay(branch.getBranchId(), weekDay))
+                .hasSize(9)
+                .allSatisfy(slot -> assertThat(slot.getMaxBookingCapacity()).isEqualTo(1));
+        LocalDate otherDay = tomorrow.datesUntil(tomorrow.plusDays(7))
+                .filter(day -> !day.equals(weekDay))
+                .filter(day -> slotQueryPort.findByBranchAndDay(branch.getBranchId(), day).size() == 9)
+                .findFirst()
+                .orElseThrow();
+        assertThat(slotQueryPort.findByBranchAndDay(branch.getBranchId(), otherDay))
+                .as("Days without a roster keep the appointment info capacity")
+                .allSatisfy(slot -> assertThat(slot.getMaxBookingCapacity()).isEqualTo(3));
+
+        // ACT: a configuration regeneration does not reset the rostered capacity
+        SlotRegenerationReport report = regenerateBranchSlotsUseCase.execute(branch.getBranchId(), Set.of(weekDay, otherDay));
+
+        // ASSERT
+        assertThat(report).isEqualTo(new SlotRegenerationReport(2, 0, 0, 0, 0));
+        assertThat(slotQueryPort.findByBranchAndDay(branch.getBranchId(), weekDay))
+                .allSatisfy(slot -> assertThat(slot.getMaxBookingCapacity()).isEqualTo(1));
+    }
+
+    private static StaffRef staff() {
+        return new StaffRef(new UsernameGenerator().getId());
+    }
+}
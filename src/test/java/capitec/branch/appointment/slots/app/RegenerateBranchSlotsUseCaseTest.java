@@ -0,0 +1,160 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.branch.app.AddBranchOperationHourOverride;
+import capitec.branch.appointment.branch.app.BranchOperationHourOverrideDTO;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegenerateBranchSlotsUseCaseTest extends SlotTestBase {
+
+    @Autowired
+    private GenerateSlotsUseCase generateSlotsUseCase;
+    @Autowired
+    private RegenerateBranchSlotsUseCase regenerateBranchSlotsUseCase;
+    @Autowired
+    private AddBranchOperationHourOverride addBranchOperationHourOverride;
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @AfterEach
+    public void deleteAppointments() {
+        jdbcClient.sql("DELETE FROM appointment WHERE branch_id = :branchId")
+                .param("branchId", branch.getBranchId())
+                .update();
+    }
+
+    @Test
+    void operationHoursOverride_OnGeneratedDay_OnlyChangesSlotsOutsideNewHours() {
+
+        wireMockGetHolidayByYearAndCountryCode(capitecWireMock, "" + LocalDate.now().getYear(), "ZA");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        generateSlotsUseCase.createNext7DaySlots(tomorrow, 0);
+
+        // A week day with the full 08:00-17:00 schedule (9 slots)
+        LocalDate weekDay = tomorrow.datesUntil(tomorrow.plusDays(7))
+                .filter(day -> slotQueryPort.findByBranchAndDay(branch.getBranchId(), day).size() == 9)
+                .findFirst()
+                .orElseThrow();
+        List<Slot> before = sorted(slotQueryPort.findByBranchAndDay(branch.getBranchId(), weekDay));
+
+        Slot bookedAfterNoon = before.getLast();
+        assertThat(slotService.reserve(bookedAfterNoon.getId(), LocalDateTime.now())).isPresent();
+
+        // ACT: branch closes at 12:00 that day
+        boolean added = addBranchOperationHourOverride.execute(branch.getBranchId(), new BranchOperationHourOverrideDTO(
+                weekDay, LocalTime.of(8, 0), LocalTime.of(12, 0), false, "Staff training - reduced hours"));
+
+        // ASSERT
+        assertThat(added).isTrue();
+        List<Slot> after = sorted(slotQueryPort.findByBranchAndDay(branch.getBranchId(), weekDay));
+
+        List<Slot> morning = after.stream().filter(slot -> !slot.getEndTime().isAfter(LocalTime.NOON)).toList();
+        assertThat(morning).hasSize(4);
+        assertThat(morning).extracting(Slot::getId)
+                .containsExactlyElementsOf(before.stream().limit(4).map(Slot::getId).toList());
+        assertThat(morning).allSatisfy(slot -> {
+            assertThat(slot.getVersion()).as("Unchanged slots are not rewritten").isEqualTo(1);
+            assertThat(slot.getStatus()).isEqualTo(SlotStatus.AVAILABLE);
+        });
+
+        // Unbooked afternoon slots are deleted, the booked one is kept but blocked
+        List<Slot> afternoon = after.stream().filter(slot -> slot.getEndTime().isAfter(LocalTime.NOON)).toList();
+        assertThat(afternoon).extracting(Slot::getId).containsExactly(bookedAfterNoon.getId());
+        assertThat(afternoon.getFirst().getStatus()).isEqualTo(SlotStatus.BLOCKED);
+        assertThat(afternoon.getFirst().getBookingCount()).isEqualTo(1);
+
+        // Other branches and other days are untouched
+        assertThat(slotQueryPort.findByBranchAndDay(branches.getLast().getBranchId(), weekDay)).hasSize(9);
+
+        // Regenerating again finds nothing to change
+        SlotRegenerationReport again = regenerateBranchSlotsUseCase.execute(branch.getBranchId(), Set.of(weekDay));
+        assertThat(again).isEqualTo(new SlotRegenerationReport(1, 0, 0, 0, 0));
+    }
+
+    @Test
+    void operationHoursOverride_WhenSlotHasCancelledAppointment_BlocksItAndFinishesRegeneration() {
+
+        wireMockGetHolidayByYearAndCountryCode(capitecWireMock, "" + LocalDate.now().getYear(), "ZA");
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        generateSlotsUseCase.createNext7DaySlots(tomorrow, 0);
+
+        LocalDate weekDay = tomorrow.datesUntil(tomorrow.plusDays(7))
+                .filter(day -> slotQueryPort.findByBranchAndDay(branch.getBranchId(), day).size() == 9)
+                .findFirst()
+                .orElseThrow();
+        List<Slot> before = sorted(slotQueryPort.findByBranchAndDay(branch.getBranchId(), weekDay));
+
+        // Booked and cancelled again: the booking count is back to 0, but the appointment still points at the slot
+        Slot cancelledAfterNoon = before.getLast();
+        assertThat(slotService.reserve(cancelledAfterNoon.getId(), LocalDateTime.now())).isPresent();
+        insertCancelledAppointment(cancelledAfterNoon);
+        assertThat(slotService.release(cancelledAfterNoon.getId(), LocalDateTime.now())).isPresent();
+
+        // ACT: branch closes at 12:00 that day
+        boolean added = addBranchOperationHourOverride.execute(branch.getBranchId(), new BranchOperationHourOverrideDTO(
+                weekDay, LocalTime.of(8, 0), LocalTime.of(12, 0), false, "Staff training - reduced hours"));
+
+        // ASSERT
+        assertThat(added).isTrue();
+        List<Slot> after = sorted(slotQueryPort.findByBranchAndDay(branch.getBranchId(), weekDay));
+
+        // The slot the cancelled appointment points at is blocked, not deleted, and the other steps still ran
+        List<Slot> afternoon = after.stream().filter(slot -> slot.getEndTime().isAfter(LocalTime.NOON)).toList();
+        assertThat(afternoon).extracting(Slot::getId).containsExactly(cancelledAfterNoon.getId());
+        assertThat(afternoon.getFirst().getStatus()).isEqualTo(SlotStatus.BLOCKED);
+        assertThat(afternoon.getFirst().getBookingCount()).isZero();
+        assertThat(after.stream().filter(slot -> !slot.getEndTime().isAfter(LocalTime.NOON))).hasSize(4);
+
+        SlotRegenerationReport again = regenerateBranchSlotsUseCase.execute(branch.getBranchId(), Set.of(weekDay));
+        assertThat(again).isEqualTo(new SlotRegenerationReport(1, 0, 0, 0, 0));
+    }
+
+    @Test
+    void execute_WhenNoSlotsGenerated_DoesNothing() {
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        SlotRegenerationReport report = regenerateBranchSlotsUseCase.execute(branch.getBranchId(), Set.of(tomorrow));
+
+        assertThat(report).isEqualTo(SlotRegenerationReport.none());
+        assertThat(slotQueryPort.findByBranchAndDay(branch.getBranchId(), tomorrow)).isEmpty();
+    }
+
+    private void insertCancelledAppointment(Slot slot) {
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        jdbcClient.sql("""
+                        INSERT INTO appointment (id, slot_id, branch_id, customer_username, service_type, status, reference,
+                                                 date_time, version, created_at, updated_at, terminated_at, terminated_by,
+                                                 termination_reason)
+                        VALUES (:id, :slotId, :branchId, '0123456789', 'DEPOSIT', 'CANCELLED', 'REF-REGEN-1',
+                                :dateTime, 2, :now, :now, :now, '0123456789', 'CUSTOMER_CANCELLATION')
+                        """)
+                .param("id", UUID.randomUUID())
+                .param("slotId", slot.getId())
+                .param("branchId", slot.getBranchId())
+                .param("dateTime", LocalDateTime.of(slot.getDay(), slot.getStartTime()).atOffset(ZoneOffset.UTC))
+                .param("now", now)
+                .update();
+    }
+
+    private static List<Slot> sorted(List<Slot> slots) {
+        return slots.stream().sorted(Comparator.comparing(Slot::getStartTime)).toList();
+    }
+}
@@ -0,0 +1,155 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.exeption.OptimisticLockConflictException;
+import capitec.branch.appointment.exeption.SlotFullyBookedException;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention benchmark: many customers booking the same slot at once.
+ * Compares the optimistic read-modify-write retry loop with the capacity ledger fast path.
+ */
+@Slf4j
+class SlotBookingContentionTest extends SlotTestBase {
+
+    private static final int CAPACITY = 10;
+    private static final int CONCURRENT_REQUESTS = 60;
+    private static final int MAX_RETRY_ATTEMPTS = 3;
+
+    @Autowired
+    private UpdateSlotStatusUseCase useCase;
+    @Autowired
+    private SlotCapacityLedger slotCapacityLedger;
+
+    private UUID legacySlotId;
+    private UUID ledgerSlotId;
+
+    @BeforeEach
+    public void setUp() {
+
+        setUpBranch();
+
+        LocalDate day = LocalDate.now().plusDays(1);
+        Slot legacySlot = new Slot(day, LocalTime.of(9, 0), LocalTime.of(9, 30), CAPACITY, branch.getBranchId());
+        Slot ledgerSlot = new Slot(day, LocalTime.of(10, 0), LocalTime.of(10, 30), CAPACITY, branch.getBranchId());
+        slotService.save(List.of(legacySlot, ledgerSlot));
+
+        legacySlotId = legacySlot.getId();
+        ledgerSlotId = ledgerSlot.getId();
+        // The ledger knows the slot, as it does once it has been read or booked before
+        slotCapacityLedger.sync(slotQueryPort.findById(ledgerSlotId).orElseThrow());
+    }
+
+    @Test
+    void ledgerFastPath_UnderContention_FillsSlotWithoutHighTrafficFailures() throws Exception {
+
+        Result legacy = run(() -> bookWithOptimisticRetry(legacySlotId));
+        Result ledger = run(() -> useCase.execute(new SlotStatusTransitionAction.Book(ledgerSlotId, LocalDateTime.now())));
+
+        log.info("Optimistic retry loop: {} booked, {} fully booked, {} high traffic, {}ms",
+                legacy.booked(), legacy.fullyBooked(), legacy.highTraffic(), legacy.elapsed().toMillis());
+        log.info("Capacity ledger path: {} booked, {} fully booked, {} high traffic, {}ms",
+                ledger.booked(), ledger.fullyBooked(), ledger.highTraffic(), ledger.elapsed().toMillis());
+
+        // Legacy path never oversells but may leave capacity unused
+        Slot legacySlot = slotQueryPort.findById(legacySlotId).orElseThrow();
+        assertThat(legacySlot.getBookingCount()).isEqualTo(legacy.booked()).isLessThanOrEqualTo(CAPACITY);
+
+        // Ledger path fills the slot exactly and only answers "fully booked" to the rest
+        Slot ledgerSlot = slotQueryPort.findById(ledgerSlotId).orElseThrow();
+        assertThat(ledger.booked()).isEqualTo(CAPACITY);
+        assertThat(ledger.fullyBooked()).isEqualTo(CONCURRENT_REQUESTS - CAPACITY);
+        assertThat(ledger.highTraffic()).isZero();
+        assertThat(ledgerSlot.getBookingCount()).isEqualTo(CAPACITY);
+        assertThat(ledgerSlot.getStatus()).isEqualTo(SlotStatus.FULLY_BOOKED);
+    }
+
+    private Result run(Runnable booking) throws InterruptedException {
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger fullyBooked = new AtomicInteger();
+        AtomicInteger highTraffic = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long begin;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        booking.run();
+                        booked.incrementAndGet();
+                    } catch (ResponseStatusException e) {
+                        if ("Slot is fully booked.".equals(e.getReason())) {
+                            fullyBooked.incrementAndGet();
+                        } else {
+                            highTraffic.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException | TimeoutException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return new Result(booked.get(), fullyBooked.get(), highTraffic.get(), Duration.ofNanos(System.nanoTime() - begin));
+    }
+
+    /**
+     * The booking loop as it was before the capacity ledger: read, mutate, save with version check, retry.
+     */
+    private void bookWithOptimisticRetry(UUID slotId) {
+
+        for (int retryCount = 1; ; retryCount++) {
+            Slot slot = slotQueryPort.findById(slotId).orElseThrow();
+            try {
+                slot.book(LocalDateTime.now());
+                slotService.save(List.of(slot));
+                return;
+            } catch (SlotFullyBookedException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Slot is fully booked.", e);
+            } catch (OptimisticLockConflictException e) {
+                if (retryCount >= MAX_RETRY_ATTEMPTS) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Unable to book slot due to high traffic. Please try again.", e);
+                }
+                try {
+                    Thread.sleep(50L * retryCount);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(ie);
+                }
+            }
+        }
+    }
+
+    private record Result(int booked, int fullyBooked, int highTraffic, Duration elapsed) {
+    }
+}
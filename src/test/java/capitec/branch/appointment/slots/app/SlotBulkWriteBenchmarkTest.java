@@ -0,0 +1,118 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.branch.domain.Branch;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.infrastructure.dao.SlotDaoImpl;
+import capitec.branch.appointment.slots.infrastructure.dao.SlotWriteMode;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput benchmark for writing a full regeneration worth of slots.
+ * Compares the Spring Data JDBC {@code saveAll} path with the BATCH and COPY generation write modes.
+ */
+@Slf4j
+class SlotBulkWriteBenchmarkTest extends SlotTestBase {
+
+    private static final int DAYS_PER_RUN = 3;
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private SlotDaoImpl slotDao;
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @AfterEach
+    public void deleteBenchmarkSlots() {
+        // Faster than deleting tens of thousands of slots one by one in SlotTestBase
+        jdbcClient.sql("DELETE FROM slot WHERE branch_id IN (:branchIds)")
+                .param("branchIds", branches.stream().map(Branch::getBranchId).toList())
+                .update();
+    }
+
+    @Test
+    void bulkWriteModes_RowsPerSecond() {
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+
+        List<Slot> saveAllSlots = regeneration(firstDay);
+        List<Slot> batchSlots = regeneration(firstDay.plusDays(DAYS_PER_RUN));
+        List<Slot> copySlots = regeneration(firstDay.plusDays(2L * DAYS_PER_RUN));
+
+        double saveAll = rowsPerSecond("saveAll", saveAllSlots, chunk -> {
+            slotService.save(chunk);
+            return chunk.size();
+        });
+        double batch = rowsPerSecond("BATCH", batchSlots, chunk -> slotDao.saveIfAbsent(chunk, SlotWriteMode.BATCH));
+        double copy = rowsPerSecond("COPY", copySlots, chunk -> slotDao.saveIfAbsent(chunk, SlotWriteMode.COPY));
+
+        log.info("Slot write throughput (rows/sec): saveAll={}, BATCH={}, COPY={}",
+                Math.round(saveAll), Math.round(batch), Math.round(copy));
+
+        // Regenerating the same slots again must not insert anything
+        int reinserted = 0;
+        for (List<Slot> chunk : chunks(copySlots)) {
+            reinserted += slotDao.saveIfAbsent(chunk, SlotWriteMode.COPY);
+        }
+        assertThat(reinserted).isZero();
+
+        for (Branch branch : branches) {
+            assertThat(slotQueryPort.findByBranchFromDate(branch.getBranchId(), firstDay))
+                    .hasSize(3 * saveAllSlots.size() / branches.size());
+        }
+    }
+
+    private double rowsPerSecond(String name, List<Slot> slots, ToIntFunction<List<Slot>> writer) {
+
+        long begin = System.nanoTime();
+        int written = 0;
+        for (List<Slot> chunk : chunks(slots)) {
+            written += writer.applyAsInt(chunk);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - begin);
+
+        assertThat(written).as(name + " should write every slot").isEqualTo(slots.size());
+        log.info("{}: {} slots in {}ms", name, written, elapsed.toMillis());
+        return written / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    /**
+     * Every branch, every day, a 30-minute slot starting on each minute of the day: a much denser
+     * schedule than any branch has, to reach regeneration volume with the test branches.
+     */
+    private List<Slot> regeneration(LocalDate fromDate) {
+
+        List<Slot> slots = new ArrayList<>();
+        for (Branch branch : branches) {
+            for (int day = 0; day < DAYS_PER_RUN; day++) {
+                LocalTime start = LocalTime.MIDNIGHT;
+                while (start.isBefore(LocalTime.of(23, 30))) {
+                    slots.add(new Slot(fromDate.plusDays(day), start, start.plusMinutes(30), 3, branch.getBranchId()));
+                    start = start.plusMinutes(1);
+                }
+            }
+        }
+        return slots;
+    }
+
+    private static List<List<Slot>> chunks(List<Slot> slots) {
+
+        List<List<Slot>> chunks = new ArrayList<>();
+        for (int from = 0; from < slots.size(); from += CHUNK_SIZE) {
+            chunks.add(slots.subList(from, Math.min(from + CHUNK_SIZE, slots.size())));
+        }
+        return chunks;
+    }
+}
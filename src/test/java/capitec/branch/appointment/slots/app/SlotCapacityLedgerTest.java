@@ -0,0 +1,89 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotCapacityLedgerTest {
+
+    private SlotCapacityLedger ledger;
+    private Slot slot;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new SlotCapacityLedger(100, Duration.ofMinutes(1));
+        slot = new Slot(LocalDate.now().plusDays(1), LocalTime.of(9, 0), LocalTime.of(9, 30), 1, "branch");
+        ledger.sync(slot);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tryReserve_WhenTransactionRollsBack_GivesAdmissionBack() {
+
+        assertThat(ledger.tryReserve(slot.getId(), LocalDateTime.now())).isEqualTo(SlotCapacityLedger.Admission.ADMITTED);
+        assertThat(ledger.tryReserve(slot.getId(), LocalDateTime.now())).isEqualTo(SlotCapacityLedger.Admission.REJECTED);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(ledger.tryReserve(slot.getId(), LocalDateTime.now())).isEqualTo(SlotCapacityLedger.Admission.ADMITTED);
+    }
+
+    @Test
+    void tryReserve_WhenTransactionCommits_KeepsAdmission() {
+
+        assertThat(ledger.tryReserve(slot.getId(), LocalDateTime.now())).isEqualTo(SlotCapacityLedger.Admission.ADMITTED);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(ledger.tryReserve(slot.getId(), LocalDateTime.now())).isEqualTo(SlotCapacityLedger.Admission.REJECTED);
+    }
+
+    @Test
+    void sync_WhenOlderVersionArrivesLate_KeepsNewerCounter() {
+
+        // A booking (version 2) and its release (version 3) committed concurrently, their events arrive out of order
+        ledger.sync(version(0, 3));
+        ledger.sync(version(1, 2));
+
+        assertThat(ledger.tryReserve(slot.getId(), LocalDateTime.now())).isEqualTo(SlotCapacityLedger.Admission.ADMITTED);
+    }
+
+    @Test
+    void sync_WhenOlderVersionArrivesAfterBlocking_KeepsSlotUntracked() {
+
+        ledger.sync(Slot.reconstituteFromPersistence(slot.getId(), slot.getDay(), slot.getStartTime(), slot.getEndTime(),
+                1, 0, slot.getBranchId(), SlotStatus.BLOCKED, 3));
+        ledger.sync(version(0, 2));
+
+        assertThat(ledger.tryReserve(slot.getId(), LocalDateTime.now())).isEqualTo(SlotCapacityLedger.Admission.UNKNOWN);
+    }
+
+    private Slot version(int bookingCount, int version) {
+        return Slot.reconstituteFromPersistence(slot.getId(), slot.getDay(), slot.getStartTime(), slot.getEndTime(),
+                1, bookingCount, slot.getBranchId(), bookingCount == 1 ? SlotStatus.FULLY_BOOKED : SlotStatus.AVAILABLE, version);
+    }
+
+    private static void complete(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
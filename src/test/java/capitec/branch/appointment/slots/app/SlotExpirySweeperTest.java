@@ -0,0 +1,80 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RecordApplicationEvents
+class SlotExpirySweeperTest extends SlotTestBase {
+
+    @Autowired
+    private SlotExpirySweeper slotExpirySweeper;
+    @Autowired
+    private JdbcClient jdbcClient;
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void execute_ExpiresEndedAvailableAndBlockedSlotsInBatches() {
+
+        LocalDate day = LocalDate.now().plusDays(1);
+        List<Slot> ended = new ArrayList<>();
+        for (int hour = 8; hour < 13; hour++) {
+            ended.add(new Slot(day, LocalTime.of(hour, 0), LocalTime.of(hour, 30), 2, branch.getBranchId()));
+        }
+        Slot blocked = ended.get(0);
+        Slot fullyBooked = ended.get(1);
+        Slot notEnded = new Slot(day, LocalTime.of(16, 0), LocalTime.of(16, 30), 2, branch.getBranchId());
+        slotService.save(ended);
+        slotService.save(List.of(notEnded));
+        setStatus(blocked, SlotStatus.BLOCKED, 0);
+        setStatus(fullyBooked, SlotStatus.FULLY_BOOKED, 2);
+
+        // ACT: at 15:00 every slot but the 16:00 one has ended, two per batch walks the keyset
+        SlotExpirySweeper.SlotExpiryReport report = slotExpirySweeper.execute(day.atTime(15, 0), 2);
+
+        // ASSERT
+        assertThat(report.expiredSlots()).isGreaterThanOrEqualTo(4);
+        assertThat(report.batches()).isGreaterThanOrEqualTo(3);
+        for (Slot slot : ended) {
+            SlotStatus expected = slot == fullyBooked ? SlotStatus.FULLY_BOOKED : SlotStatus.EXPIRED;
+            assertThat(slotQueryPort.findById(slot.getId()))
+                    .hasValueSatisfying(found -> assertThat(found.getStatus()).isEqualTo(expected));
+        }
+        assertThat(slotQueryPort.findById(notEnded.getId()))
+                .hasValueSatisfying(found -> assertThat(found.getStatus()).isEqualTo(SlotStatus.AVAILABLE));
+
+        List<SlotsExpiredEvent> events = applicationEvents.stream(SlotsExpiredEvent.class)
+                .filter(event -> event.branchId().equals(branch.getBranchId()))
+                .toList();
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.day()).isEqualTo(day);
+            assertThat(event.expiredSlots()).isEqualTo(4);
+        });
+
+        // Running again finds nothing left to expire for the branch
+        applicationEvents.clear();
+        slotExpirySweeper.execute(day.atTime(15, 0), 2);
+        assertThat(applicationEvents.stream(SlotsExpiredEvent.class)
+                .filter(event -> event.branchId().equals(branch.getBranchId()))).isEmpty();
+    }
+
+    private void setStatus(Slot slot, SlotStatus status, int bookingCount) {
+        jdbcClient.sql("UPDATE slot SET status = :status, booking_count = :bookingCount WHERE id = :id")
+                .param("status", status.name())
+                .param("bookingCount", bookingCount)
+                .param("id", slot.getId())
+                .update();
+    }
+}
@@ -0,0 +1,85 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.branch.domain.Branch;
+import capitec.branch.appointment.slots.app.port.SlotGenerationLeasePort.SlotGenerationRun;
+import capitec.branch.appointment.slots.domain.Slot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotGenerationShardingTest extends SlotTestBase {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Autowired
+    private SlotGeneratorScheduler slotGeneratorScheduler;
+
+    @Test
+    void claimShard_GivesEachShardToOneNodeAndReclaimsExpiredLeases() {
+
+        LocalDate today = LocalDate.now();
+        SlotGenerationRun run = slotGenerationLeasePort.openRun(new SlotGenerationRun(today, today.plusDays(1), 1, 2));
+        // A node opening later keeps the first node's window
+        assertThat(slotGenerationLeasePort.openRun(new SlotGenerationRun(today, today.plusDays(5), 3, 8))).isEqualTo(run);
+
+        Optional<Integer> first = slotGenerationLeasePort.claimShard(today, "node-a", HOUR, 5);
+        // node-b crashes right after claiming, its lease expires at once
+        Optional<Integer> second = slotGenerationLeasePort.claimShard(today, "node-b", Duration.ZERO, 5);
+        assertThat(first).contains(0);
+        assertThat(second).contains(1);
+
+        assertThat(slotGenerationLeasePort.completeShard(today, 0, "node-b", 0)).as("Not the owner").isFalse();
+        assertThat(slotGenerationLeasePort.completeShard(today, 0, "node-a", 10)).isTrue();
+
+        // ACT: the expired shard is reclaimed, the completed one never is
+        assertThat(slotGenerationLeasePort.claimShard(today, "node-c", HOUR, 5)).contains(1);
+        assertThat(slotGenerationLeasePort.claimShard(today, "node-d", HOUR, 5)).isEmpty();
+
+        assertThat(slotGenerationLeasePort.completeShard(today, 1, "node-b", 0)).as("Lease lost").isFalse();
+        assertThat(slotGenerationLeasePort.completeShard(today, 1, "node-c", 10)).isTrue();
+        assertThat(slotGenerationLeasePort.findOpenRuns(today, Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    void shards_SplitBranchesWithoutOverlap() {
+
+        int shardCount = 16;
+        for (String branchId : List.of("SAS293200", "SAS29300", "470010", "BR-1", "")) {
+            long owners = IntStream.range(0, shardCount)
+                    .filter(shard -> new SlotGenerationShard(shard, shardCount).owns(branchId))
+                    .count();
+            assertThat(owners).as(branchId).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void execute_GeneratesEachShardOncePerRun() {
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        slotGeneratorScheduler.execute();
+
+        for (Branch b : branches) {
+            assertThat(slotQueryPort.findByBranchFromDate(b.getBranchId(), tomorrow)).isNotEmpty();
+        }
+        assertThat(slotGenerationLeasePort.findOpenRuns(LocalDate.now(), Duration.ZERO)).isEmpty();
+
+        // ACT: a second node ticking the same day finds every shard completed
+        Slot removed = slotQueryPort.findByBranchFromDate(branch.getBranchId(), tomorrow).getFirst();
+        slotCleanupPort.deleteSlot(removed.getId());
+        slotGeneratorScheduler.execute();
+
+        // ASSERT
+        assertThat(slotQueryPort.findByBranchFromDate(branch.getBranchId(), tomorrow))
+                .extracting(Slot::getId)
+                .doesNotContain(removed.getId());
+        assertThat(slotQueryPort.findByBranchFromDate(branch.getBranchId(), tomorrow))
+                .noneMatch(slot -> slot.getDay().equals(removed.getDay()) && slot.getStartTime().equals(removed.getStartTime()));
+    }
+}
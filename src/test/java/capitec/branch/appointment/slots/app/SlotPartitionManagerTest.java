@@ -0,0 +1,167 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.port.SlotPartitionPort;
+import capitec.branch.appointment.slots.app.port.SlotPartitionPort.SlotPartition;
+import capitec.branch.appointment.slots.domain.Slot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlotPartitionManagerTest extends SlotTestBase {
+
+    private static final String EXPIRED_PARTITION = "slot_p200001";
+    private static final String EXPIRED_ARCHIVE = "slot_archive_p200001";
+
+    @Autowired
+    private SlotPartitionManager slotPartitionManager;
+    @Autowired
+    private SlotPartitionPort slotPartitionPort;
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @AfterEach
+    public void dropArchive() {
+        jdbcClient.sql("DELETE FROM appointment WHERE branch_id = :branchId")
+                .param("branchId", branch.getBranchId())
+                .update();
+        jdbcClient.sql("DROP TABLE IF EXISTS " + EXPIRED_PARTITION).update();
+        jdbcClient.sql("DROP TABLE IF EXISTS " + EXPIRED_ARCHIVE).update();
+    }
+
+    @Test
+    void execute_CreatesMissingMonthsAndMovesSlotsOutOfDefaultPartition() {
+
+        // A month past the pre-created partitions: the slot lands in the default partition
+        LocalDate farDay = LocalDate.now().plusMonths(6).withDayOfMonth(15);
+        assertThat(coveringPartition(farDay)).isNull();
+
+        Slot farSlot = new Slot(farDay, LocalTime.of(9, 0), LocalTime.of(9, 30), 2, branch.getBranchId());
+        slotService.save(List.of(farSlot));
+        assertThat(countInDefault(farDay)).isEqualTo(1);
+
+        // ACT: three months later the manager creates partitions up to six months ahead
+        SlotPartitionManager.SlotPartitionReport report = slotPartitionManager.execute(LocalDate.now().plusMonths(3));
+
+        // ASSERT
+        assertThat(report.created()).isPositive();
+        SlotPartition partition = coveringPartition(farDay);
+        assertThat(partition).isNotNull();
+        assertThat(partition.from()).isEqualTo(farDay.withDayOfMonth(1));
+        assertThat(partition.to()).isEqualTo(farDay.withDayOfMonth(1).plusMonths(1));
+        assertThat(countInDefault(farDay)).isZero();
+        assertThat(slotQueryPort.findById(farSlot.getId())).isPresent();
+
+        // Running again changes nothing
+        assertThat(slotPartitionManager.execute(LocalDate.now().plusMonths(3)).created()).isZero();
+    }
+
+    @Test
+    void execute_ArchivesPartitionsPastRetention() {
+
+        LocalDate expiredMonth = LocalDate.of(2000, 1, 1);
+        assertThat(slotPartitionPort.createPartition(EXPIRED_PARTITION, expiredMonth, expiredMonth.plusMonths(1))).isTrue();
+        assertThat(slotPartitionPort.createPartition(EXPIRED_PARTITION, expiredMonth, expiredMonth.plusMonths(1))).isFalse();
+
+        SlotPartitionManager.SlotPartitionReport report = slotPartitionManager.execute(LocalDate.now());
+
+        assertThat(report.archived()).isEqualTo(1);
+        assertThat(slotPartitionPort.findPartitions()).extracting(SlotPartition::name).doesNotContain(EXPIRED_PARTITION);
+        assertThat(jdbcClient.sql("SELECT to_regclass(:name) IS NOT NULL")
+                .param("name", EXPIRED_ARCHIVE)
+                .query(Boolean.class)
+                .single()).isTrue();
+        // Current months are kept
+        assertThat(coveringPartition(LocalDate.now())).isNotNull();
+    }
+
+    @Test
+    void execute_KeepsExpiredPartitionWithOpenAppointments() {
+
+        LocalDate expiredMonth = LocalDate.of(2000, 1, 1);
+        assertThat(slotPartitionPort.createPartition(EXPIRED_PARTITION, expiredMonth, expiredMonth.plusMonths(1))).isTrue();
+        UUID slotId = insertSlot(expiredMonth.plusDays(9));
+        insertAppointment(slotId, LocalDateTime.of(expiredMonth.plusDays(9), LocalTime.of(9, 0)));
+
+        SlotPartitionManager.SlotPartitionReport report = slotPartitionManager.execute(LocalDate.now());
+
+        assertThat(report.archived()).isZero();
+        assertThat(slotPartitionPort.findPartitions()).extracting(SlotPartition::name).contains(EXPIRED_PARTITION);
+        assertThat(slotPartitionPort.dropPartition(EXPIRED_PARTITION)).isFalse();
+        assertThat(slotQueryPort.findById(slotId)).isPresent();
+    }
+
+    @Test
+    void appointmentSlotReferences_AreCheckedAcrossPartitions() {
+
+        LocalDate day = LocalDate.now().plusDays(1);
+        UUID slotId = insertSlot(day);
+        LocalDateTime dateTime = LocalDateTime.of(day, LocalTime.of(9, 0));
+
+        assertThatThrownBy(() -> insertAppointment(UUID.randomUUID(), dateTime))
+                .as("An appointment cannot point at a slot that does not exist")
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        insertAppointment(slotId, dateTime);
+        assertThatThrownBy(() -> slotCleanupPort.deleteSlot(slotId))
+                .as("A slot cannot be deleted while an appointment is booked on it")
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(slotQueryPort.findById(slotId, day)).isPresent();
+    }
+
+    private UUID insertSlot(LocalDate day) {
+
+        UUID slotId = UUID.randomUUID();
+        jdbcClient.sql("""
+                        INSERT INTO slot (id, day, start_time, end_time, booking_count, max_booking_capacity, branch_id, status, version)
+                        VALUES (:id, :day, '09:00', '09:30', 1, 2, :branchId, 'AVAILABLE', 1)
+                        """)
+                .param("id", slotId)
+                .param("day", day)
+                .param("branchId", branch.getBranchId())
+                .update();
+        return slotId;
+    }
+
+    private void insertAppointment(UUID slotId, LocalDateTime dateTime) {
+
+        var now = LocalDateTime.now().atOffset(ZoneOffset.UTC);
+        jdbcClient.sql("""
+                        INSERT INTO appointment (id, slot_id, branch_id, customer_username, service_type, status, reference,
+                                                 date_time, version, created_at, updated_at)
+                        VALUES (:id, :slotId, :branchId, '0123456789', 'DEPOSIT', 'BOOKED', 'REF-PART-1',
+                                :dateTime, 1, :now, :now)
+                        """)
+                .param("id", UUID.randomUUID())
+                .param("slotId", slotId)
+                .param("branchId", branch.getBranchId())
+                .param("dateTime", dateTime.atOffset(ZoneOffset.UTC))
+                .param("now", now)
+                .update();
+    }
+
+    private SlotPartition coveringPartition(LocalDate day) {
+        return slotPartitionPort.findPartitions().stream()
+                .filter(partition -> !partition.from().isAfter(day) && partition.to().isAfter(day))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private long countInDefault(LocalDate day) {
+        return jdbcClient.sql("SELECT COUNT(*) FROM slot_default WHERE day = :day")
+                .param("day", day)
+                .query(Long.class)
+                .single();
+    }
+}
@@ -0,0 +1,174 @@
+package capitec.branch.appointment.slots.app;
+
+import capitec.branch.appointment.slots.app.port.AppointmentInfoDetails;
+import capitec.branch.appointment.slots.app.port.BranchOperationTimesDetails;
+import capitec.branch.appointment.slots.app.port.OperationTimesDetails;
+import capitec.branch.appointment.slots.domain.Slot;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Planning benchmark: template stamping against the previous walk of every branch and day,
+ * and how planning cost follows distinct configurations rather than branches × days.
+ */
+@Slf4j
+class SlotPlannerBenchmarkTest {
+
+    private static final int DISTRIBUTION_FACTOR = 2;
+    private static final int BRANCHES = 1_000;
+    private static final int DAYS = 30;
+    private static final int WARM_UP = 3;
+    private static final int ITERATIONS = 5;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void plan_StampsSameSlotsAsDayByDayWalk() {
+
+        SlotPlanner planner = new SlotPlanner(DISTRIBUTION_FACTOR, 1024);
+        List<BranchOperationTimesDetails> branches = branches(50, 7);
+
+        for (BranchOperationTimesDetails branch : branches) {
+            List<String> stamped = new ArrayList<>();
+            List<String> walked = new ArrayList<>();
+            int planned = planner.plan(branch, FIRST_DAY, DAYS, slot -> stamped.add(describe(slot)));
+            int legacy = legacyPlan(branch, FIRST_DAY, DAYS, slot -> walked.add(describe(slot)));
+
+            assertThat(planned).isEqualTo(legacy);
+            assertThat(stamped).containsExactlyElementsOf(walked);
+        }
+    }
+
+    @Test
+    void plan_BuildsOneTemplatePerDistinctConfiguration() {
+
+        SlotPlanner planner = new SlotPlanner(DISTRIBUTION_FACTOR, 1024);
+        // 7 distinct configurations: 5 weekday variants, Saturday and Sunday hours
+        List<BranchOperationTimesDetails> shared = branches(BRANCHES, 5);
+
+        long stamping = nanosPerRun(() -> planAll(planner, shared));
+        long walking = nanosPerRun(() -> {
+            long slots = 0;
+            for (BranchOperationTimesDetails branch : shared) {
+                slots += legacyPlan(branch, FIRST_DAY, DAYS, _ -> { });
+            }
+            return slots;
+        });
+
+        log.info("Planning {} branches x {} days: templates {} ms, day-by-day walk {} ms, templates built {}",
+                BRANCHES, DAYS, stamping / 1_000_000, walking / 1_000_000, planner.templateCount());
+
+        assertThat(planner.templateCount()).isEqualTo(7);
+
+        // Every branch on its own configuration: one template per branch and day type
+        SlotPlanner distinctPlanner = new SlotPlanner(DISTRIBUTION_FACTOR, 1024 * 1024);
+        planAll(distinctPlanner, branches(BRANCHES, BRANCHES));
+        assertThat(distinctPlanner.templateCount()).isEqualTo(BRANCHES + 2L);
+    }
+
+    private static long planAll(SlotPlanner planner, List<BranchOperationTimesDetails> branches) {
+        long slots = 0;
+        for (BranchOperationTimesDetails branch : branches) {
+            slots += planner.plan(branch, FIRST_DAY, DAYS, _ -> { });
+        }
+        return slots;
+    }
+
+    private static long nanosPerRun(Run run) {
+        long sink = 0;
+        for (int i = 0; i < WARM_UP; i++) {
+            sink += run.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += run.run();
+        }
+        long elapsed = (System.nanoTime() - begin) / ITERATIONS;
+        assertThat(sink).isPositive();
+        return elapsed;
+    }
+
+    /**
+     * Branches over {@code variants} weekday configurations, Saturdays open shorter and Sundays closed
+     * on a shared configuration.
+     */
+    private static List<BranchOperationTimesDetails> branches(int count, int variants) {
+        List<BranchOperationTimesDetails> branches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int variant = i % variants;
+            Map<LocalDate, OperationTimesDetails> operationTimes = new HashMap<>();
+            Map<LocalDate, AppointmentInfoDetails> appointmentInfo = new HashMap<>();
+            for (int day = 0; day < DAYS; day++) {
+                LocalDate date = FIRST_DAY.plusDays(day);
+                DayOfWeek dayOfWeek = date.getDayOfWeek();
+                if (dayOfWeek == DayOfWeek.SATURDAY) {
+                    operationTimes.put(date, new OperationTimesDetails(LocalTime.of(8, 0), LocalTime.of(13, 0), false));
+                    appointmentInfo.put(date, new AppointmentInfoDetails(Duration.ofMinutes(30), 2, 0.8, 2));
+                } else if (dayOfWeek == DayOfWeek.SUNDAY) {
+                    operationTimes.put(date, new OperationTimesDetails(LocalTime.of(9, 0), LocalTime.of(12, 0), false));
+                    appointmentInfo.put(date, new AppointmentInfoDetails(Duration.ofMinutes(15), 1, 0.5, 1));
+                } else {
+                    operationTimes.put(date, new OperationTimesDetails(LocalTime.of(8, 0), LocalTime.of(17, 0), false));
+                    appointmentInfo.put(date, new AppointmentInfoDetails(Duration.ofMinutes(20 + variant % 3 * 5),
+                            3 + variant / 3, 0.8, 3));
+                }
+            }
+            branches.add(new BranchOperationTimesDetails("BENCH" + i, operationTimes, appointmentInfo));
+        }
+        return branches;
+    }
+
+    private static String describe(Slot slot) {
+        return slot.getDay() + " " + slot.getStartTime() + "-" + slot.getEndTime() + " x" + slot.getMaxBookingCapacity();
+    }
+
+    /**
+     * The planner before templates: walks every day with date-time arithmetic and recomputes capacity.
+     */
+    private static int legacyPlan(BranchOperationTimesDetails branch, LocalDate startDate, int days,
+                                  java.util.function.Consumer<Slot> sink) {
+        int generated = 0;
+        LocalDate day = startDate;
+        for (int numDays = 0; numDays < days; numDays++, day = day.plusDays(1)) {
+            OperationTimesDetails operationTimes = branch.operationTimes().get(day);
+            AppointmentInfoDetails appointmentInfo = branch.appointmentInfo().get(day);
+            if (operationTimes == null || operationTimes.isClose() || appointmentInfo == null) {
+                continue;
+            }
+            long workingMinutes = Duration.between(operationTimes.openAt(), operationTimes.closeAt()).toMinutes();
+            long theoreticalSlotsPerStaff = workingMinutes / appointmentInfo.slotDuration().toMinutes();
+            int availableCapacity = (int) Math.round(appointmentInfo.staffCount() * theoreticalSlotsPerStaff
+                    * appointmentInfo.utilizationFactor());
+            Duration slotDuration = appointmentInfo.slotDuration();
+            LocalDateTime openDateTime = day.atTime(operationTimes.openAt());
+            LocalDateTime closeDateTime = day.atTime(operationTimes.closeAt());
+            int slotGenerated = 0;
+            while (openDateTime.isBefore(closeDateTime)
+                    && openDateTime.plus(slotDuration).isBefore(closeDateTime.plusSeconds(1))
+                    && slotGenerated < availableCapacity) {
+                sink.accept(new Slot(day, openDateTime.toLocalTime(), openDateTime.plus(slotDuration).toLocalTime(),
+                        appointmentInfo.maxBookingCapacity(), branch.branchId()));
+                slotGenerated++;
+                openDateTime = openDateTime.plusMinutes(Math.max(10, slotDuration.toMinutes() * DISTRIBUTION_FACTOR));
+            }
+            generated += slotGenerated;
+        }
+        return generated;
+    }
+
+    @FunctionalInterface
+    private interface Run {
+        long run();
+    }
+}
@@ -10,6 +10,7 @@ import capitec.branch.appointment.sharekernel.day.app.GetDateOfNextDaysQuery;
 import capitec.branch.appointment.sharekernel.day.domain.Day;
 import capitec.branch.appointment.location.infrastructure.api.CapitecBranchLocationFetcher;
 import capitec.branch.appointment.slots.app.port.SlotCleanupPort;
+import capitec.branch.appointment.slots.app.port.SlotGenerationLeasePort;
 import capitec.branch.appointment.slots.app.port.SlotQueryPort;
 import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.slots.domain.SlotService;
@@ -43,6 +44,8 @@ abstract class SlotTestBase extends AppointmentBookingApplicationTests {
     @Autowired
     protected SlotCleanupPort slotCleanupPort;
     @Autowired
+    protected SlotGenerationLeasePort slotGenerationLeasePort;
+    @Autowired
     private BranchService branchService;
     protected  Branch branch;
     protected  List<Branch> branches = new ArrayList<>();
@@ -73,6 +76,8 @@ abstract class SlotTestBase extends AppointmentBookingApplicationTests {
             }
         }
 
+        // Today's generation run would keep the next test's scheduled run from generating
+        slotGenerationLeasePort.deleteRunsBefore(LocalDate.now().plusDays(1));
         deleteBranches();
     }
 
@@ -1,14 +1,19 @@
 package capitec.branch.appointment.slots.app;
 
 
+import capitec.branch.appointment.slots.app.port.SlotColumns;
 import capitec.branch.appointment.slots.domain.Slot;
 import capitec.branch.appointment.slots.domain.SlotService;
 import capitec.branch.appointment.slots.domain.SlotStatus;
+import capitec.branch.appointment.slots.infrastructure.controller.SlotAvailabilityBroadcaster;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -28,6 +33,15 @@ class UpdateSlotStatusUseCaseTest extends SlotTestBase {
     @Autowired
     private SlotService slotService;
 
+    @Autowired
+    private SlotAvailabilityBroadcaster slotAvailabilityBroadcaster;
+
+    @Autowired
+    private BranchAvailabilityCache branchAvailabilityCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     // --- Test Data ---
     private UUID existingSlotId;
     private LocalDateTime pastTime;
@@ -98,6 +112,125 @@ class UpdateSlotStatusUseCaseTest extends SlotTestBase {
                 .isGreaterThan(beforeSlot.getVersion())
                 .isEqualTo(2);
     }
+    @Test
+    void execute_WhenBookActionCarriesSlotDay_OnlyMatchesSlotOnThatDay() {
+
+        Slot slot = slotQueryPort.findById(existingSlotId).orElseThrow();
+
+        useCase.execute(new SlotStatusTransitionAction.Book(existingSlotId, slot.getDay(), LocalDateTime.now()));
+        assertThat(slotQueryPort.findById(existingSlotId, slot.getDay()).orElseThrow().getBookingCount()).isEqualTo(1);
+
+        var wrongDay = new SlotStatusTransitionAction.Book(existingSlotId, slot.getDay().plusDays(1), LocalDateTime.now());
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> useCase.execute(wrongDay));
+        assertThat(exception.getStatusCode().value()).isEqualTo(404);
+        assertThat(slotQueryPort.findById(existingSlotId).orElseThrow().getBookingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_WhenBookAction_PushesChangeToBranchDayWatchers() throws InterruptedException {
+
+        Slot slot = slotQueryPort.findById(existingSlotId).orElseThrow();
+        var watcher = new CapturingEmitter();
+        var otherDayWatcher = new CapturingEmitter();
+        slotAvailabilityBroadcaster.subscribe(branch.getBranchId(), slot.getDay(), watcher);
+        slotAvailabilityBroadcaster.subscribe(branch.getBranchId(), slot.getDay().plusDays(1), otherDayWatcher);
+
+        useCase.execute(new SlotStatusTransitionAction.Book(existingSlotId, LocalDateTime.now()));
+
+        String change = watcher.events.poll(5, TimeUnit.SECONDS);
+        assertThat(change).as("Watcher of the slot's day receives the change").isNotNull()
+                .contains(existingSlotId.toString())
+                .contains("\"bookingCount\":1")
+                .contains("\"remainingCapacity\":" + (MAX_BOOKING_CAPACITY - 1))
+                .contains("\"version\":2");
+        assertThat(otherDayWatcher.events.poll(200, TimeUnit.MILLISECONDS)).as("Other days are not notified").isNull();
+
+        watcher.complete();
+        otherDayWatcher.complete();
+    }
+
+    @Test
+    void execute_WhenOneWatcherIsStalled_OtherWatchersStillReceiveChange() throws InterruptedException {
+
+        Slot slot = slotQueryPort.findById(existingSlotId).orElseThrow();
+        var stalled = new StalledEmitter();
+        var watcher = new CapturingEmitter();
+        slotAvailabilityBroadcaster.subscribe(branch.getBranchId(), slot.getDay(), stalled);
+        slotAvailabilityBroadcaster.subscribe(branch.getBranchId(), slot.getDay(), watcher);
+
+        try {
+            useCase.execute(new SlotStatusTransitionAction.Book(existingSlotId, LocalDateTime.now()));
+
+            assertThat(watcher.events.poll(5, TimeUnit.SECONDS))
+                    .as("A stalled watcher does not hold up the others")
+                    .isNotNull()
+                    .contains(existingSlotId.toString());
+        } finally {
+            stalled.release.countDown();
+            stalled.complete();
+            watcher.complete();
+        }
+    }
+
+    @Test
+    void execute_WhenBookActionRollsBack_CachedAvailabilityKeepsCommittedState() {
+
+        Slot slot = slotQueryPort.findById(existingSlotId).orElseThrow();
+        // Load the branch day into the availability cache
+        assertThat(bookingCount(branchAvailabilityCache.onDay(branch.getBranchId(), slot.getDay()))).isZero();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            useCase.execute(new SlotStatusTransitionAction.Book(existingSlotId, LocalDateTime.now()));
+            status.setRollbackOnly();
+        });
+
+        assertThat(slotQueryPort.findById(existingSlotId).orElseThrow().getBookingCount()).isZero();
+        assertThat(bookingCount(branchAvailabilityCache.onDay(branch.getBranchId(), slot.getDay())))
+                .as("A booking that rolled back is never served from the cache")
+                .isZero();
+    }
+
+    private int bookingCount(SlotColumns slots) {
+        for (int row = 0; row < slots.size(); row++) {
+            if (slots.id(row).equals(existingSlotId)) {
+                return slots.bookingCount(row);
+            }
+        }
+        throw new AssertionError("Slot " + existingSlotId + " is not cached");
+    }
+
+    /**
+     * Records the data of every event sent, instead of writing to a response.
+     */
+    private static class CapturingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder data = new StringBuilder();
+            builder.build().forEach(part -> data.append(part.getData()));
+            events.add(data.toString());
+        }
+    }
+
+    /**
+     * Blocks on every send until released, like a client that stopped reading.
+     */
+    private static class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Test
     void execute_WhenMultipleBookAction_UntilSlotIsBook_Successfully() {
         // Act
@@ -236,6 +369,29 @@ class UpdateSlotStatusUseCaseTest extends SlotTestBase {
                 .isEqualTo(3)
                 .isGreaterThan(slotToBook.getVersion());
     }
+    @Test
+    void execute_WhenReleaseAction_OnBlockedSlot_DecrementsBookingAndStaysBlocked() {
+
+        useCase.execute(new SlotStatusTransitionAction.Book(existingSlotId, LocalDateTime.now()));
+        useCase.execute(new SlotStatusTransitionAction.Block(existingSlotId, LocalDateTime.now()));
+        Slot blockedSlot = slotQueryPort.findById(existingSlotId).orElseThrow();
+
+        // Act
+        useCase.execute(new SlotStatusTransitionAction.Release(existingSlotId, LocalDateTime.now()));
+
+        // Assert
+        Slot releasedSlot = slotQueryPort.findById(existingSlotId).orElseThrow();
+        assertThat(releasedSlot.getStatus())
+                .as("Blocked slot should remain BLOCKED after releasing")
+                .isEqualTo(SlotStatus.BLOCKED);
+        assertThat(releasedSlot.getBookingCount())
+                .as("Slot booking count should be updated to zero")
+                .isZero();
+        assertThat(releasedSlot.getVersion())
+                .as("Slot version should be updated")
+                .isEqualTo(blockedSlot.getVersion() + 1);
+    }
+
     @Test
     void execute_WhenExpireAction_UpdatesStatusInDatabase() {
         // Act
@@ -0,0 +1,48 @@
+package capitec.branch.appointment.slots.app.port;
+
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlotColumnsTest {
+
+    private final Slot slot = new Slot(LocalDate.now().plusDays(1), LocalTime.of(9, 0), LocalTime.of(9, 30), 4, "branch");
+
+    @Test
+    void of_KeepsCapacityUpToTheShortRange() {
+
+        SlotColumns columns = SlotColumns.of(List.of(withCapacity(Short.MAX_VALUE, 1)));
+
+        assertThat(columns.maxBookingCapacity(0)).isEqualTo(Short.MAX_VALUE);
+        assertThat(columns.bookingCount(0)).isEqualTo(1);
+    }
+
+    @Test
+    void of_WhenCapacityExceedsTheShortRange_Fails() {
+
+        assertThatThrownBy(() -> SlotColumns.of(List.of(withCapacity(Short.MAX_VALUE + 1, 0))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("max booking capacity");
+    }
+
+    @Test
+    void with_WhenCapacityExceedsTheShortRange_Fails() {
+
+        SlotColumns columns = SlotColumns.of(List.of(withCapacity(4, 0)));
+
+        assertThatThrownBy(() -> columns.with(withCapacity(40_000, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Slot withCapacity(int maxBookingCapacity, int bookingCount) {
+        return Slot.reconstituteFromPersistence(slot.getId(), slot.getDay(), slot.getStartTime(), slot.getEndTime(),
+                maxBookingCapacity, bookingCount, slot.getBranchId(), SlotStatus.AVAILABLE, 2);
+    }
+}
@@ -0,0 +1,183 @@
+package capitec.branch.appointment.slots.infrastructure.controller;
+
+import capitec.branch.appointment.slots.app.port.SlotColumns;
+import capitec.branch.appointment.slots.domain.Slot;
+import capitec.branch.appointment.slots.domain.SlotStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation profile of the week/daily slot responses: the columnar path against the
+ * previous path of domain slots mapped to {@link SlotResponse} records.
+ */
+@Slf4j
+class SlotColumnsAllocationTest {
+
+    private static final String BRANCH_ID = "SAS293200";
+    private static final int DAYS = 7;
+    private static final int SLOTS_PER_DAY = 24;
+    private static final int WARM_UP = 2_000;
+    private static final int ITERATIONS = 2_000;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private List<Slot> slots;
+    private SlotColumns columns;
+    // Keeps measured results reachable so they are not optimized away
+    private volatile Object retained;
+
+    @BeforeEach
+    void setUp() {
+        slots = new ArrayList<>(DAYS * SLOTS_PER_DAY);
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        SlotStatus[] statuses = SlotStatus.values();
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = 0; hour < SLOTS_PER_DAY; hour++) {
+                SlotStatus status = statuses[(day + hour) % statuses.length];
+                int bookingCount = status == SlotStatus.FULLY_BOOKED ? 3 : hour % 3;
+                slots.add(Slot.reconstituteFromPersistence(UUID.randomUUID(), firstDay.plusDays(day),
+                        LocalTime.of(hour, 0), LocalTime.of(hour, 30), 3, bookingCount, BRANCH_ID, status, 1));
+            }
+        }
+        columns = SlotColumns.of(slots);
+    }
+
+    @Test
+    void weekResponse_IsSameJsonAsSlotResponses() throws IOException {
+
+        String columnar = objectMapper.writeValueAsString(new SlotsResponse(columns));
+        String legacy = objectMapper.writeValueAsString(legacyWeek(slots));
+
+        assertThat(objectMapper.readTree(columnar)).isEqualTo(objectMapper.readTree(legacy));
+    }
+
+    @Test
+    void dailyResponse_IsSameJsonAsSlotResponses() throws IOException {
+
+        LocalDate day = slots.getFirst().getDay();
+        SlotColumns daily = columns.select(day, day.plusDays(1), null);
+        List<Slot> dailySlots = slots.stream().filter(slot -> slot.getDay().equals(day)).toList();
+
+        String columnar = objectMapper.writeValueAsString(new DailySlotsResponse(BRANCH_ID, day.toString(), daily));
+        String legacy = objectMapper.writeValueAsString(legacyDaily(day, dailySlots));
+
+        assertThat(objectMapper.readTree(columnar)).isEqualTo(objectMapper.readTree(legacy));
+    }
+
+    @Test
+    void weekResponse_AllocatesLessPerSlotServedThanDomainObjects() throws IOException {
+
+        OutputStream sink = OutputStream.nullOutputStream();
+        long columnarBytes = bytesPerSlot(() -> objectMapper.writeValue(sink, new SlotsResponse(columns)));
+        long legacyBytes = bytesPerSlot(() -> objectMapper.writeValue(sink, legacyWeek(slots)));
+
+        log.info("Week response allocation per slot served: columnar {} bytes, domain objects {} bytes",
+                columnarBytes, legacyBytes);
+
+        assertThat(columnarBytes).isLessThan(legacyBytes);
+    }
+
+    @Test
+    void readModel_AllocatesFewerBytesPerSlotReadThanDomainObjects() {
+
+        // Both fill from the same primitive row values a result set provides
+        long columnarBytes = bytesPerSlot(() -> {
+            SlotColumns.Builder builder = SlotColumns.builder(columns.size());
+            for (int row = 0; row < columns.size(); row++) {
+                builder.add(columns.idMostSignificantBits(row), columns.idLeastSignificantBits(row),
+                        columns.epochDay(row), columns.startMinute(row), columns.endMinute(row),
+                        columns.maxBookingCapacity(row), columns.bookingCount(row), columns.status(row),
+                        columns.branchId(row), columns.version(row));
+            }
+            retained = builder.build();
+        });
+        long legacyBytes = bytesPerSlot(() -> {
+            List<Slot> read = new ArrayList<>(columns.size());
+            for (int row = 0; row < columns.size(); row++) {
+                read.add(Slot.reconstituteFromPersistence(
+                        new UUID(columns.idMostSignificantBits(row), columns.idLeastSignificantBits(row)),
+                        LocalDate.ofEpochDay(columns.epochDay(row)),
+                        LocalTime.ofSecondOfDay(columns.startMinute(row) * 60L),
+                        LocalTime.ofSecondOfDay(columns.endMinute(row) * 60L),
+                        columns.maxBookingCapacity(row), columns.bookingCount(row), columns.branchId(row),
+                        columns.status(row), columns.version(row)));
+            }
+            retained = read;
+        });
+
+        log.info("Slot read model allocation per slot read: columnar {} bytes, domain objects {} bytes",
+                columnarBytes, legacyBytes);
+
+        assertThat(columnarBytes).isLessThan(legacyBytes);
+    }
+
+    private long bytesPerSlot(Serving serving) {
+        try {
+            for (int i = 0; i < WARM_UP; i++) {
+                serving.serve();
+            }
+            long threadId = Thread.currentThread().threadId();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++) {
+                serving.serve();
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            return allocated / ((long) ITERATIONS * slots.size());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Object> legacyWeek(List<Slot> slots) {
+        Map<LocalDate, List<SlotResponse>> slotsByDay = slots.stream()
+                .collect(Collectors.groupingBy(Slot::getDay, LinkedHashMap::new,
+                        Collectors.mapping(SlotColumnsAllocationTest::toResponse, Collectors.toList())));
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("slotsByDay", slotsByDay);
+        response.put("totalCount", slots.size());
+        return response;
+    }
+
+    private static Map<String, Object> legacyDaily(LocalDate day, List<Slot> slots) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("branchId", BRANCH_ID);
+        response.put("date", day.toString());
+        response.put("slots", slots.stream().map(SlotColumnsAllocationTest::toResponse).toList());
+        response.put("totalCount", slots.size());
+        return response;
+    }
+
+    private static SlotResponse toResponse(Slot slot) {
+        return new SlotResponse(slot.getId(), slot.getDay(), slot.getStartTime(), slot.getEndTime(),
+                slot.getMaxBookingCapacity(), slot.getBookingCount(), slot.getBranchId(), slot.getStatus().name());
+    }
+
+    @FunctionalInterface
+    private interface Serving {
+        void serve() throws IOException;
+    }
+}